@@ -0,0 +1,37 @@
+package com.example.userapi.application.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * 一括変更の1操作（NDJSONの1行）
+ *
+ * @param op           操作の種類
+ * @param id           更新・削除するユーザーID
+ * @param version      読み込み時のバージョン（更新・削除で指定した場合、一致するときのみ実行する）
+ * @param name         名前（登録時は必須、更新時は変更する場合のみ）
+ * @param email        メールアドレス（登録時は必須、更新時は変更する場合のみ）
+ * @param password     パスワード（登録時はpasswordHashと択一、更新時は変更する場合のみ）
+ * @param passwordHash BCryptでハッシュ化済みのパスワード（登録時のみ）
+ */
+public record BulkOperation(
+        Type op,
+        Long id,
+        Long version,
+        String name,
+        String email,
+        String password,
+        String passwordHash
+) {
+
+    /**
+     * 操作の種類
+     */
+    public enum Type {
+        @JsonProperty("create")
+        CREATE,
+        @JsonProperty("update")
+        UPDATE,
+        @JsonProperty("delete")
+        DELETE
+    }
+}
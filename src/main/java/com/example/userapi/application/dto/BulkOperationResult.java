@@ -0,0 +1,41 @@
+package com.example.userapi.application.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * 一括変更の1操作の結果（NDJSONの1行）
+ * statusとerrorは個別のAPIで同じ操作をした場合のHTTPステータスとエラー種別に合わせる
+ *
+ * @param index   リクエスト内の操作の位置（空行を除く、0から開始）
+ * @param op      操作の種類（解析できなかった行はnull）
+ * @param status  結果（201 / 200 / 204、失敗時は4xx / 5xx）
+ * @param id      ユーザーID
+ * @param version 実行後のバージョン（登録・更新時）
+ * @param error   エラー種別（失敗時のみ）
+ * @param message エラーメッセージ（失敗時のみ）
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BulkOperationResult(
+        int index,
+        BulkOperation.Type op,
+        int status,
+        Long id,
+        Long version,
+        String error,
+        String message
+) {
+
+    public static BulkOperationResult success(int index, BulkOperation.Type op, int status, Long id, Long version) {
+        return new BulkOperationResult(index, op, status, id, version, null, null);
+    }
+
+    public static BulkOperationResult failure(int index, BulkOperation operation, int status,
+                                              String error, String message) {
+        return new BulkOperationResult(index, operation != null ? operation.op() : null, status,
+                operation != null ? operation.id() : null, null, error, message);
+    }
+
+    public boolean succeeded() {
+        return status < 300;
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.userapi.application.dto;
+
+import com.example.userapi.infrastructure.persistence.entity.UserImportEntity;
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.time.LocalDateTime;
+
+/**
+ * インポート進捗レスポンスDTO
+ * 件数・読み込み位置はコミット済みの値
+ */
+public record ImportProgressResponse(
+        String jobId,
+        String file,
+        String format,
+        String status,
+        long committedOffset,
+        long fileSize,
+        double percent,
+        long rowsRead,
+        long imported,
+        long duplicates,
+        long rejected,
+        // このノードで実行中の場合の今回の実行開始からの処理速度（行/秒）
+        Double rowsPerSecond,
+        String error,
+
+        @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+        LocalDateTime createdAt,
+
+        @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+        LocalDateTime updatedAt
+) {
+    public static ImportProgressResponse from(UserImportEntity job, long fileSize, Double rowsPerSecond) {
+        double percent = fileSize > 0 ? Math.min(100.0, job.getCommittedOffset() * 100.0 / fileSize) : 0.0;
+        return new ImportProgressResponse(
+                job.getJobId(),
+                job.getFilePath(),
+                job.getFormat(),
+                job.getStatus(),
+                job.getCommittedOffset(),
+                fileSize,
+                Math.round(percent * 10) / 10.0,
+                job.getRowsRead(),
+                job.getImported(),
+                job.getDuplicates(),
+                job.getRejected(),
+                rowsPerSecond,
+                job.getError(),
+                job.getCreatedAt(),
+                job.getUpdatedAt()
+        );
+    }
+}
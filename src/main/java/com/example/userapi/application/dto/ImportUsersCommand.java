@@ -0,0 +1,18 @@
+package com.example.userapi.application.dto;
+
+import com.example.userapi.infrastructure.importer.ImportFormat;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * ユーザー一括インポートコマンド（単項目チェック用）
+ */
+public record ImportUsersCommand(
+
+        @NotBlank(message = "ファイルは必須です")
+        String file,
+
+        @NotNull(message = "形式は必須です")
+        ImportFormat format
+) {
+}
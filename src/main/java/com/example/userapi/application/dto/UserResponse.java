@@ -18,7 +18,9 @@ public record UserResponse(
         LocalDateTime createdAt,
 
         @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
-        LocalDateTime updatedAt
+        LocalDateTime updatedAt,
+
+        Long version
 ) {
     public static UserResponse from(User user) {
         return new UserResponse(
@@ -26,7 +28,8 @@ public record UserResponse(
                 user.getName(),
                 user.getEmail().getValue(),
                 user.getCreatedAt(),
-                user.getUpdatedAt()
+                user.getUpdatedAt(),
+                user.getVersion()
         );
     }
 }
\ No newline at end of file
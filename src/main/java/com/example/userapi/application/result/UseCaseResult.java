@@ -0,0 +1,67 @@
+package com.example.userapi.application.result;
+
+/**
+ * ユースケースの処理結果
+ * 未検出・重複・バージョン不一致といった想定内の結果は例外ではなく値で返す（例外は障害にのみ使う）。
+ * 呼び出し側は結果の種類ごとに分岐し、失敗をレスポンスに変換する
+ */
+public sealed interface UseCaseResult<T> {
+
+    static <T> UseCaseResult<T> success(T value) {
+        return new Success<>(value);
+    }
+
+    static <T> UseCaseResult<T> notFound(String message) {
+        return new NotFound<>(message);
+    }
+
+    static <T> UseCaseResult<T> duplicateEmail(String message) {
+        return new DuplicateEmail<>(message);
+    }
+
+    static <T> UseCaseResult<T> versionMismatch(String message) {
+        return new VersionMismatch<>(message);
+    }
+
+    /**
+     * 成功時の値を返す（呼び出し側で失敗を想定しない場合に使う）
+     * @throws IllegalStateException 失敗の場合
+     */
+    default T orElseThrow() {
+        if (this instanceof Success<T> success) {
+            return success.value();
+        }
+        throw new IllegalStateException(((Failure<T>) this).message());
+    }
+
+    /**
+     * 成功
+     */
+    record Success<T>(T value) implements UseCaseResult<T> {
+    }
+
+    /**
+     * 想定内の失敗
+     */
+    sealed interface Failure<T> extends UseCaseResult<T> {
+        String message();
+    }
+
+    /**
+     * 対象のユーザーが存在しない
+     */
+    record NotFound<T>(String message) implements Failure<T> {
+    }
+
+    /**
+     * メールアドレスが他のユーザーで使用されている
+     */
+    record DuplicateEmail<T>(String message) implements Failure<T> {
+    }
+
+    /**
+     * クライアントが保持しているバージョンが最新ではない（If-Matchの不一致）
+     */
+    record VersionMismatch<T>(String message) implements Failure<T> {
+    }
+}
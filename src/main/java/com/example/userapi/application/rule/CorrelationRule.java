@@ -0,0 +1,25 @@
+package com.example.userapi.application.rule;
+
+/**
+ * コンパイル済みの相関チェックルール
+ *
+ * @param id        ルールID
+ * @param field     チェック対象
+ * @param predicate 判定（チェック対象の範囲を受け取り、満たす場合true）
+ * @param message   違反時のメッセージ
+ */
+public record CorrelationRule(
+        String id,
+        RuleDefinition.Field field,
+        ValuePredicate predicate,
+        String message
+) {
+
+    /**
+     * 文字列の範囲に対する判定（部分文字列を生成せずに評価する）
+     */
+    @FunctionalInterface
+    public interface ValuePredicate {
+        boolean test(CharSequence value, int start, int end);
+    }
+}
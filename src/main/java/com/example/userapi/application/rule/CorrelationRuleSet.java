@@ -0,0 +1,302 @@
+package com.example.userapi.application.rule;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * コンパイル済みの相関チェックルール一式（不変）
+ * ルールをメールアドレスのドメインで索引付けし、リクエストのドメインに該当するルールだけを評価する。
+ * 索引の検索と判定は部分文字列を生成せずに行うため、評価時のメモリ割り当てがない（REGEXを除く）
+ */
+public final class CorrelationRuleSet {
+
+    private static final CorrelationRule[] NO_RULES = new CorrelationRule[0];
+
+    /** 空のルールセット */
+    public static final CorrelationRuleSet EMPTY = compile(List.of());
+
+    // 全ドメインに適用するルール
+    private final CorrelationRule[] globalRules;
+    // ドメイン完全一致（"example.com"）
+    private final DomainTable exactRules;
+    // サブドメイン一致（"*.example.com" は "example.com" として登録し、サブドメイン部分を除いて検索する）
+    private final DomainTable wildcardRules;
+    private final int size;
+
+    private CorrelationRuleSet(CorrelationRule[] globalRules, DomainTable exactRules,
+                               DomainTable wildcardRules, int size) {
+        this.globalRules = globalRules;
+        this.exactRules = exactRules;
+        this.wildcardRules = wildcardRules;
+        this.size = size;
+    }
+
+    /**
+     * ルール定義をコンパイルする
+     * @throws IllegalArgumentException ルール定義が正しくない場合
+     */
+    public static CorrelationRuleSet compile(List<RuleDefinition> definitions) {
+        List<CorrelationRule> global = new ArrayList<>();
+        Map<String, List<CorrelationRule>> exact = new LinkedHashMap<>();
+        Map<String, List<CorrelationRule>> wildcard = new LinkedHashMap<>();
+        Set<String> ids = new HashSet<>();
+
+        for (RuleDefinition definition : definitions) {
+            CorrelationRule rule = compileRule(definition);
+            if (!ids.add(rule.id())) {
+                throw invalid(definition, "ルールIDが重複しています");
+            }
+            if (definition.domains() == null || definition.domains().isEmpty()) {
+                throw invalid(definition, "domainsは必須です");
+            }
+            for (String domain : definition.domains()) {
+                String normalized = domain == null ? "" : domain.trim().toLowerCase(Locale.ROOT);
+                if (normalized.equals("*")) {
+                    global.add(rule);
+                } else if (normalized.startsWith("*.") && normalized.length() > 2) {
+                    wildcard.computeIfAbsent(normalized.substring(2), key -> new ArrayList<>()).add(rule);
+                } else if (!normalized.isEmpty() && !normalized.contains("*") && !normalized.contains("@")) {
+                    exact.computeIfAbsent(normalized, key -> new ArrayList<>()).add(rule);
+                } else {
+                    throw invalid(definition, "ドメインの形式が正しくありません: " + domain);
+                }
+            }
+        }
+        return new CorrelationRuleSet(global.toArray(NO_RULES), new DomainTable(exact),
+                new DomainTable(wildcard), ids.size());
+    }
+
+    /**
+     * 名前とメールアドレスに適用されるルールのうち、最初に違反したルールを返す
+     * @param name 名前（nullの場合は名前のルールを評価しない）
+     * @param email メールアドレス（nullの場合はどのルールも評価しない）
+     * @return 違反したルール（違反がない場合はnull）
+     */
+    public CorrelationRule findViolation(String name, String email) {
+        if (email == null) {
+            return null;
+        }
+        int at = email.lastIndexOf('@');
+        if (at < 0) {
+            return null;
+        }
+        int end = email.length();
+
+        CorrelationRule violation = evaluate(globalRules, name, email, at);
+        if (violation != null) {
+            return violation;
+        }
+        violation = evaluate(exactRules.find(email, at + 1, end), name, email, at);
+        if (violation != null) {
+            return violation;
+        }
+        // サブドメインを1階層ずつ除いて検索する（a.b.example.com → b.example.com → example.com → com）
+        for (int i = at + 1; i < end; i++) {
+            if (email.charAt(i) == '.') {
+                violation = evaluate(wildcardRules.find(email, i + 1, end), name, email, at);
+                if (violation != null) {
+                    return violation;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * ルール数
+     */
+    public int size() {
+        return size;
+    }
+
+    private static CorrelationRule evaluate(CorrelationRule[] rules, String name, String email, int at) {
+        for (CorrelationRule rule : rules) {
+            boolean satisfied;
+            if (rule.field() == RuleDefinition.Field.NAME) {
+                satisfied = name == null || rule.predicate().test(name, 0, name.length());
+            } else {
+                satisfied = rule.predicate().test(email, 0, at);
+            }
+            if (!satisfied) {
+                return rule;
+            }
+        }
+        return null;
+    }
+
+    private static CorrelationRule compileRule(RuleDefinition definition) {
+        if (definition.id() == null || definition.id().isBlank()) {
+            throw new IllegalArgumentException("ルールIDは必須です");
+        }
+        if (definition.field() == null || definition.type() == null) {
+            throw invalid(definition, "fieldとtypeは必須です");
+        }
+        if (definition.message() == null || definition.message().isBlank()) {
+            throw invalid(definition, "messageは必須です");
+        }
+        return new CorrelationRule(definition.id(), definition.field(),
+                compilePredicate(definition), definition.message());
+    }
+
+    private static CorrelationRule.ValuePredicate compilePredicate(RuleDefinition definition) {
+        String value = definition.value();
+        switch (definition.type()) {
+            case NO_DIGITS:
+                return (text, start, end) -> {
+                    for (int i = start; i < end; i++) {
+                        char c = text.charAt(i);
+                        if (c >= '0' && c <= '9') {
+                            return false;
+                        }
+                    }
+                    return true;
+                };
+            case MAX_LENGTH: {
+                int max = parseLength(definition);
+                return (text, start, end) -> end - start <= max;
+            }
+            case MIN_LENGTH: {
+                int min = parseLength(definition);
+                return (text, start, end) -> end - start >= min;
+            }
+            case ALLOWED_CHARS: {
+                BitSet allowed = parseCharacters(definition);
+                return (text, start, end) -> {
+                    for (int i = start; i < end; i++) {
+                        if (!allowed.get(text.charAt(i))) {
+                            return false;
+                        }
+                    }
+                    return true;
+                };
+            }
+            case FORBIDDEN_CHARS: {
+                BitSet forbidden = parseCharacters(definition);
+                return (text, start, end) -> {
+                    for (int i = start; i < end; i++) {
+                        if (forbidden.get(text.charAt(i))) {
+                            return false;
+                        }
+                    }
+                    return true;
+                };
+            }
+            case REGEX: {
+                if (value == null || value.isEmpty()) {
+                    throw invalid(definition, "valueに正規表現を指定してください");
+                }
+                Pattern pattern;
+                try {
+                    pattern = Pattern.compile(value);
+                } catch (IllegalArgumentException ex) {
+                    throw invalid(definition, "正規表現が正しくありません: " + ex.getMessage());
+                }
+                return (text, start, end) -> pattern.matcher(text).region(start, end).matches();
+            }
+            default:
+                throw invalid(definition, "未対応のtypeです: " + definition.type());
+        }
+    }
+
+    private static int parseLength(RuleDefinition definition) {
+        try {
+            int length = Integer.parseInt(definition.value() == null ? "" : definition.value().trim());
+            if (length < 0) {
+                throw invalid(definition, "valueには0以上の文字数を指定してください");
+            }
+            return length;
+        } catch (NumberFormatException ex) {
+            throw invalid(definition, "valueには文字数を指定してください");
+        }
+    }
+
+    /**
+     * 文字集合を解析する（"a-z" は範囲、それ以外は1文字ずつ。"-" は先頭か末尾に置く）
+     */
+    private static BitSet parseCharacters(RuleDefinition definition) {
+        String spec = definition.value();
+        if (spec == null || spec.isEmpty()) {
+            throw invalid(definition, "valueに文字集合を指定してください");
+        }
+        BitSet characters = new BitSet();
+        for (int i = 0; i < spec.length(); i++) {
+            char from = spec.charAt(i);
+            if (i + 2 < spec.length() && spec.charAt(i + 1) == '-') {
+                char to = spec.charAt(i + 2);
+                if (to < from) {
+                    throw invalid(definition, "文字の範囲が正しくありません: " + from + "-" + to);
+                }
+                characters.set(from, to + 1);
+                i += 2;
+            } else {
+                characters.set(from);
+            }
+        }
+        return characters;
+    }
+
+    private static IllegalArgumentException invalid(RuleDefinition definition, String reason) {
+        return new IllegalArgumentException("ルール定義が正しくありません: id=" + definition.id() + ": " + reason);
+    }
+
+    /**
+     * ドメインをキーとするオープンアドレス法のハッシュ表
+     * 大文字小文字を区別せず、文字列の範囲のまま検索する
+     */
+    private static final class DomainTable {
+
+        private final String[] keys;
+        private final CorrelationRule[][] values;
+        private final int mask;
+
+        DomainTable(Map<String, List<CorrelationRule>> rulesByDomain) {
+            int capacity = Integer.highestOneBit(Math.max(1, rulesByDomain.size()) * 2 - 1) << 1;
+            this.keys = new String[capacity];
+            this.values = new CorrelationRule[capacity][];
+            this.mask = capacity - 1;
+            for (Map.Entry<String, List<CorrelationRule>> entry : rulesByDomain.entrySet()) {
+                String key = entry.getKey();
+                int index = hash(key, 0, key.length()) & mask;
+                while (keys[index] != null) {
+                    index = (index + 1) & mask;
+                }
+                keys[index] = key;
+                values[index] = entry.getValue().toArray(NO_RULES);
+            }
+        }
+
+        CorrelationRule[] find(String text, int start, int end) {
+            int length = end - start;
+            int index = hash(text, start, end) & mask;
+            String key;
+            while ((key = keys[index]) != null) {
+                if (key.length() == length && key.regionMatches(true, 0, text, start, length)) {
+                    return values[index];
+                }
+                index = (index + 1) & mask;
+            }
+            return NO_RULES;
+        }
+
+        private static int hash(String text, int start, int end) {
+            int hash = 0;
+            for (int i = start; i < end; i++) {
+                char c = text.charAt(i);
+                if (c >= 'A' && c <= 'Z') {
+                    c = (char) (c + ('a' - 'A'));
+                } else if (c >= 0x80) {
+                    c = Character.toLowerCase(c);
+                }
+                hash = 31 * hash + c;
+            }
+            return hash ^ (hash >>> 16);
+        }
+    }
+}
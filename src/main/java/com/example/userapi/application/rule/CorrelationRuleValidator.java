@@ -0,0 +1,43 @@
+package com.example.userapi.application.rule;
+
+import com.example.userapi.application.usecase.UserUseCase;
+import org.springframework.stereotype.Component;
+
+/**
+ * 相関チェック（名前とメールアドレスの整合性）
+ * 設定から読み込んだルールセットで判定する。ルールセットは再読み込み時に丸ごと差し替える
+ */
+@Component
+public class CorrelationRuleValidator {
+
+    private volatile CorrelationRuleSet rules = CorrelationRuleSet.EMPTY;
+
+    /**
+     * 名前とメールアドレスの整合性をチェックする
+     * @param name 名前（更新で変更しない場合はnull）
+     * @param email メールアドレス（更新で変更しない場合はnull）
+     * @throws UserUseCase.InvalidNameFormatException 名前のルールに違反した場合
+     * @throws IllegalArgumentException メールアドレスのルールに違反した場合
+     */
+    public void validate(String name, String email) {
+        CorrelationRule violation = rules.findViolation(name, email);
+        if (violation == null) {
+            return;
+        }
+        if (violation.field() == RuleDefinition.Field.NAME) {
+            throw new UserUseCase.InvalidNameFormatException(violation.message());
+        }
+        throw new IllegalArgumentException(violation.message());
+    }
+
+    /**
+     * ルールセットを差し替える
+     */
+    public void replace(CorrelationRuleSet rules) {
+        this.rules = rules;
+    }
+
+    public CorrelationRuleSet rules() {
+        return rules;
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.userapi.application.rule;
+
+import java.util.List;
+
+/**
+ * 相関チェックルールの定義（設定ファイルの1件）
+ *
+ * @param id      ルールID（重複不可）
+ * @param domains 適用するメールアドレスのドメイン（"example.com"、サブドメインのみの "*.example.com"、全ドメインの "*"）
+ * @param field   チェック対象
+ * @param type    チェック方法
+ * @param value   チェック方法ごとのパラメータ（文字数、文字集合 "a-zA-Z0-9._-"、正規表現）
+ * @param message 違反時のメッセージ
+ */
+public record RuleDefinition(
+        String id,
+        List<String> domains,
+        Field field,
+        Type type,
+        String value,
+        String message
+) {
+
+    /**
+     * チェック対象
+     */
+    public enum Field {
+        /** 名前 */
+        NAME,
+        /** メールアドレスの@より前 */
+        EMAIL_LOCAL_PART
+    }
+
+    /**
+     * チェック方法
+     */
+    public enum Type {
+        /** 数字（0-9）を含まない */
+        NO_DIGITS,
+        /** value文字以下 */
+        MAX_LENGTH,
+        /** value文字以上 */
+        MIN_LENGTH,
+        /** valueの文字集合の文字のみ */
+        ALLOWED_CHARS,
+        /** valueの文字集合の文字を含まない */
+        FORBIDDEN_CHARS,
+        /** 正規表現に一致する（評価のたびにMatcherを生成するため、他の方法で表せない場合のみ使う） */
+        REGEX
+    }
+}
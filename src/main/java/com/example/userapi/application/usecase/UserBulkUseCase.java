@@ -0,0 +1,491 @@
+package com.example.userapi.application.usecase;
+
+import com.example.userapi.application.dto.BulkOperation;
+import com.example.userapi.application.dto.BulkOperationResult;
+import com.example.userapi.application.dto.CreateUserCommand;
+import com.example.userapi.application.dto.UpdateUserCommand;
+import com.example.userapi.application.rule.CorrelationRuleValidator;
+import com.example.userapi.domain.event.DomainEventPublisher;
+import com.example.userapi.domain.model.Email;
+import com.example.userapi.domain.model.HashedPassword;
+import com.example.userapi.domain.model.User;
+import com.example.userapi.domain.repository.UserBatchResult;
+import com.example.userapi.domain.repository.UserRepository;
+import com.example.userapi.infrastructure.bulk.BulkOperationParser;
+import com.example.userapi.infrastructure.bulk.BulkProperties;
+import com.example.userapi.infrastructure.bulkhead.BulkheadFullException;
+import com.example.userapi.infrastructure.bulkhead.Bulkheads;
+import com.example.userapi.infrastructure.bulkhead.Workload;
+import com.example.userapi.infrastructure.importer.ImportJobExecutor;
+import com.example.userapi.infrastructure.security.PasswordEncoder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * ユーザー一括変更ユースケース
+ * NDJSONの操作を1行ずつ読み、チャンク（設定操作数）ごとに事前読み込み・検証を行ったうえで、
+ * 登録・更新・削除を種類ごとにまとめてバッチ実行してコミットする。結果はチャンクのコミットごとに返す。
+ * チャンクのトランザクション（コネクションの保持）は、更新系のバルクヘッドの許可を取得してから開始する。
+ * パスワードのハッシュ化は、事前読み込みの前にインポートと共用のハッシュ化用スレッドプールで並列に行う
+ */
+@Service
+public class UserBulkUseCase {
+
+    private static final Logger log = LoggerFactory.getLogger(UserBulkUseCase.class);
+
+    private final UserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final CorrelationRuleValidator correlationRules;
+    private final DomainEventPublisher eventPublisher;
+    private final BulkOperationParser parser;
+    private final Validator validator;
+    private final BulkProperties properties;
+    // チャンク単位でコミットするため、宣言的トランザクションではなくテンプレートで境界を制御する
+    private final TransactionTemplate transactionTemplate;
+    // nullの場合はバルクヘッドなし（bulkhead.enabled=false）
+    private final Bulkheads bulkheads;
+    // インポートと共用（BCryptの同時計算数をスレッド数で抑える）
+    private final ExecutorService hashExecutor;
+
+    private final Counter succeededOperations;
+    private final Counter failedOperations;
+    private final Timer chunkTimer;
+
+    public UserBulkUseCase(UserRepository userRepository,
+                           PasswordEncoder passwordEncoder,
+                           CorrelationRuleValidator correlationRules,
+                           DomainEventPublisher eventPublisher,
+                           BulkOperationParser parser,
+                           Validator validator,
+                           BulkProperties properties,
+                           PlatformTransactionManager transactionManager,
+                           ObjectProvider<Bulkheads> bulkheads,
+                           ImportJobExecutor jobExecutor,
+                           MeterRegistry meterRegistry) {
+        if (properties.chunkSize() < 1) {
+            throw new IllegalArgumentException("bulk.chunk-sizeは正の値で指定してください");
+        }
+        this.userRepository = userRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.correlationRules = correlationRules;
+        this.eventPublisher = eventPublisher;
+        this.parser = parser;
+        this.validator = validator;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.bulkheads = bulkheads.getIfAvailable();
+        this.hashExecutor = jobExecutor.hashExecutor();
+        this.succeededOperations = operationCounter(meterRegistry, "success");
+        this.failedOperations = operationCounter(meterRegistry, "failure");
+        this.chunkTimer = Timer.builder("userapi.bulk.chunk")
+                .description("1チャンクの事前読み込み・バッチ実行・コミットにかかった時間")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 一括変更を実行する
+     * 同じユーザーID・メールアドレスを対象にする操作が現れた場合は、その手前でチャンクを区切って順序を保つ。
+     * チャンクの実行に失敗した場合は、そのチャンクの操作を失敗として返し、以降の行は実行しない
+     * @param reader NDJSON（1行1操作）
+     * @param sink チャンクごとの結果（操作の位置順）
+     */
+    public void execute(BufferedReader reader, Consumer<List<BulkOperationResult>> sink) throws IOException {
+        List<PendingOperation> chunk = new ArrayList<>(properties.chunkSize());
+        List<BulkOperationResult> results = new ArrayList<>();
+        Set<Object> touched = new HashSet<>();
+        int index = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            PendingOperation pending = prepare(index++, line, results);
+            if (pending == null) {
+                // 不正な行が続く場合も、結果はチャンクの操作数ごとに返す
+                if (results.size() >= properties.chunkSize()) {
+                    if (!flush(chunk, results, sink)) {
+                        return;
+                    }
+                    touched.clear();
+                }
+                continue;
+            }
+            if (chunk.size() >= properties.chunkSize() || !pending.keys().stream().allMatch(touched::add)) {
+                if (!flush(chunk, results, sink)) {
+                    return;
+                }
+                touched.clear();
+                touched.addAll(pending.keys());
+            }
+            chunk.add(pending);
+        }
+        flush(chunk, results, sink);
+    }
+
+    /**
+     * 1行を解析して単項目・相関チェックを行う（失敗時は結果に追加してnullを返す）
+     */
+    private PendingOperation prepare(int index, String line, List<BulkOperationResult> results) {
+        BulkOperation operation = null;
+        try {
+            operation = parser.parse(line);
+            String violation = firstViolation(operation);
+            if (violation != null) {
+                results.add(BulkOperationResult.failure(index, operation, 400, "Validation Error", violation));
+                return null;
+            }
+            correlationRules.validate(operation.name(), operation.email());
+            Email email = operation.email() != null ? new Email(operation.email()) : null;
+            HashedPassword passwordHash = operation.passwordHash() != null
+                    ? passwordEncoder.fromEncoded(operation.passwordHash())
+                    : null;
+            return new PendingOperation(index, operation, email, passwordHash);
+        } catch (UserUseCase.InvalidNameFormatException ex) {
+            results.add(BulkOperationResult.failure(index, operation, 400, "Invalid Name Format", ex.getMessage()));
+        } catch (IllegalArgumentException ex) {
+            results.add(BulkOperationResult.failure(index, operation, 400, "Invalid Argument", ex.getMessage()));
+        }
+        return null;
+    }
+
+    private String firstViolation(BulkOperation operation) {
+        Set<? extends ConstraintViolation<?>> violations;
+        switch (operation.op()) {
+            case CREATE: {
+                CreateUserCommand command = new CreateUserCommand(
+                        operation.name(), operation.email(), operation.password());
+                Set<ConstraintViolation<CreateUserCommand>> found = new HashSet<>(validator.validateProperty(command, "name"));
+                found.addAll(validator.validateProperty(command, "email"));
+                // ハッシュ化済みのパスワードを指定した場合は、平文のパスワードは不要
+                if (operation.passwordHash() == null) {
+                    found.addAll(validator.validateProperty(command, "password"));
+                }
+                violations = found;
+                break;
+            }
+            case UPDATE:
+                if (operation.passwordHash() != null) {
+                    return "ハッシュ化済みのパスワードは登録時のみ指定できます";
+                }
+                violations = validator.validate(new UpdateUserCommand(
+                        operation.name(), operation.email(), operation.password()));
+                break;
+            default:
+                return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .findFirst()
+                .orElse(null);
+    }
+
+    /**
+     * チャンクを実行して結果を返す
+     * @return 以降の行を続けて実行する場合true
+     */
+    private boolean flush(List<PendingOperation> chunk, List<BulkOperationResult> results,
+                          Consumer<List<BulkOperationResult>> sink) {
+        boolean completed = true;
+        if (!chunk.isEmpty()) {
+            long start = System.nanoTime();
+            try {
+                results.addAll(executeChunk(chunk));
+            } catch (BulkheadFullException ex) {
+                log.debug("更新系のバルクヘッドに空きがないためチャンクを実行しません: operations={}, first={}",
+                        chunk.size(), chunk.get(0).index);
+                for (PendingOperation pending : chunk) {
+                    results.add(BulkOperationResult.failure(pending.index, pending.operation, 503,
+                            "Service Unavailable", ex.getMessage()));
+                }
+                completed = false;
+            } catch (RuntimeException ex) {
+                log.error("一括変更のチャンク実行に失敗しました: operations={}, first={}",
+                        chunk.size(), chunk.get(0).index, ex);
+                for (PendingOperation pending : chunk) {
+                    results.add(BulkOperationResult.failure(pending.index, pending.operation, 500,
+                            "Bulk Chunk Failed", "処理に失敗したため、この操作以降は実行していません"));
+                }
+                completed = false;
+            }
+            chunkTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        if (results.isEmpty()) {
+            return completed;
+        }
+        results.sort(Comparator.comparingInt(BulkOperationResult::index));
+        long succeeded = results.stream().filter(BulkOperationResult::succeeded).count();
+        succeededOperations.increment(succeeded);
+        failedOperations.increment(results.size() - succeeded);
+        sink.accept(List.copyOf(results));
+        results.clear();
+        chunk.clear();
+        return completed;
+    }
+
+    private List<BulkOperationResult> executeChunk(List<PendingOperation> chunk) {
+        hashPasswords(chunk);
+        for (int attempt = 1; ; attempt++) {
+            // 事前読み込みと判定はトランザクション外で行い、トランザクションはバッチ実行の間だけにする
+            ChunkPlan plan = plan(chunk);
+            try {
+                UserBatchResult batch = withWritePermit(() -> transactionTemplate.execute(status -> {
+                    UserBatchResult result = userRepository.applyBatch(plan.creates, plan.updates, plan.deletes);
+                    // ドメインイベント（コミット後に配信される）
+                    result.created().forEach(user -> eventPublisher.publish(user.created()));
+                    for (User user : plan.updates) {
+                        if (!result.conflicts().contains(user.getId())) {
+                            eventPublisher.publishAll(user.getDomainEvents());
+                        }
+                    }
+                    for (User user : plan.deletes) {
+                        if (!result.conflicts().contains(user.getId())) {
+                            eventPublisher.publish(user.deleted());
+                        }
+                    }
+                    return result;
+                }));
+                return plan.results(batch);
+            } catch (DuplicateKeyException ex) {
+                // 事前読み込み後に同じメールアドレスが登録された場合は、チャンクを読み込み直してやり直す
+                if (attempt >= properties.maxRetries()) {
+                    throw ex;
+                }
+                log.debug("メールアドレスの一意制約違反のためチャンクを再試行: operations={}, attempt={}",
+                        chunk.size(), attempt);
+            }
+        }
+    }
+
+    /**
+     * 対象ユーザーと登録済みメールアドレスをまとめて読み込み、操作ごとに実行可否を判定する
+     * （チャンク内の判定はすべてチャンク開始時点のデータに対して行う）
+     */
+    private ChunkPlan plan(List<PendingOperation> chunk) {
+        Set<Long> ids = new HashSet<>();
+        Set<Email> emails = new HashSet<>();
+        for (PendingOperation pending : chunk) {
+            if (pending.operation.op() != BulkOperation.Type.CREATE) {
+                ids.add(pending.operation.id());
+            }
+            if (pending.email != null) {
+                emails.add(pending.email);
+            }
+        }
+        Map<Long, User> current = new HashMap<>();
+        userRepository.findAllById(ids).forEach(user -> current.put(user.getId(), user));
+        Set<String> existingEmails = userRepository.findExistingEmails(emails);
+
+        ChunkPlan plan = new ChunkPlan(chunk.size());
+        for (PendingOperation pending : chunk) {
+            BulkOperation operation = pending.operation;
+            if (operation.op() == BulkOperation.Type.CREATE) {
+                if (existingEmails.contains(pending.email.getValue())) {
+                    plan.reject(pending, 409, "Duplicate Email",
+                            "このメールアドレスは既に登録されています: " + pending.email.getValue());
+                    continue;
+                }
+                plan.create(pending, new User(operation.name(), pending.email, hash(pending)));
+                continue;
+            }
+
+            User existing = current.get(operation.id());
+            if (existing == null) {
+                plan.reject(pending, 404, "User Not Found", "ユーザーが見つかりません: ID=" + operation.id());
+                continue;
+            }
+            if (operation.version() != null && !operation.version().equals(existing.getVersion())) {
+                plan.reject(pending, 412, "Precondition Failed",
+                        "ユーザーは他の処理により更新されています: ID=" + operation.id());
+                continue;
+            }
+            if (operation.op() == BulkOperation.Type.DELETE) {
+                plan.delete(pending, existing);
+                continue;
+            }
+
+            User updated = existing;
+            if (operation.name() != null && !operation.name().equals(existing.getName())) {
+                updated = updated.updateName(operation.name());
+            }
+            if (pending.email != null && !pending.email.equals(existing.getEmail())) {
+                if (existingEmails.contains(pending.email.getValue())) {
+                    plan.reject(pending, 409, "Duplicate Email", "このメールアドレスは既に使用されています");
+                    continue;
+                }
+                updated = updated.updateEmail(pending.email);
+            }
+            if (operation.password() != null && !operation.password().isBlank()) {
+                updated = updated.updatePassword(hash(pending));
+            }
+            plan.update(pending, updated);
+        }
+        return plan;
+    }
+
+    /**
+     * 更新系のバルクヘッドの許可を取得して実行する（リクエスト全体ではなくチャンクごとに取得し、
+     * NDJSONの読み込み中は許可を保持しない）
+     */
+    private <T> T withWritePermit(Supplier<T> action) {
+        return bulkheads != null ? bulkheads.execute(Workload.WRITE, action) : action.get();
+    }
+
+    /**
+     * チャンクのパスワードを並列にハッシュ化する（実行計画の作成前に行い、チャンクの再試行時は再計算しない）。
+     * 判定で失敗になる操作（未検出・重複など）の分も計算する
+     */
+    private void hashPasswords(List<PendingOperation> chunk) {
+        List<CompletableFuture<Void>> hashing = chunk.stream()
+                .filter(pending -> pending.password == null && pending.operation.op() != BulkOperation.Type.DELETE
+                        && pending.operation.password() != null && !pending.operation.password().isBlank())
+                .map(pending -> CompletableFuture.runAsync(() ->
+                        pending.password = passwordEncoder.encode(pending.operation.password()), hashExecutor))
+                .toList();
+        try {
+            CompletableFuture.allOf(hashing.toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException ex) {
+            throw ex.getCause() instanceof RuntimeException cause ? cause : ex;
+        }
+    }
+
+    /**
+     * ハッシュ化済みのパスワード
+     */
+    private static HashedPassword hash(PendingOperation pending) {
+        if (pending.password == null) {
+            throw new IllegalStateException("パスワードがハッシュ化されていません: index=" + pending.index);
+        }
+        return pending.password;
+    }
+
+    private static Counter operationCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("userapi.bulk.operations")
+                .description("一括変更で処理した操作数")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 検証済みでチャンクの実行を待つ操作
+     */
+    private static final class PendingOperation {
+        private final int index;
+        private final BulkOperation operation;
+        private final Email email;
+        private HashedPassword password;
+
+        PendingOperation(int index, BulkOperation operation, Email email, HashedPassword password) {
+            this.index = index;
+            this.operation = operation;
+            this.email = email;
+            this.password = password;
+        }
+
+        /**
+         * 操作の対象（ユーザーID・メールアドレス）。同じ対象の操作は同じチャンクに入れない
+         */
+        List<Object> keys() {
+            List<Object> keys = new ArrayList<>(2);
+            if (operation.id() != null && operation.op() != BulkOperation.Type.CREATE) {
+                keys.add(operation.id());
+            }
+            if (email != null) {
+                keys.add(email.getValue().toLowerCase(Locale.ROOT));
+            }
+            return keys;
+        }
+    }
+
+    /**
+     * チャンクの実行計画（種類ごとの対象と、実行前に確定した結果）
+     */
+    private static final class ChunkPlan {
+        private final List<User> creates = new ArrayList<>();
+        private final List<User> updates = new ArrayList<>();
+        private final List<User> deletes = new ArrayList<>();
+        private final List<PendingOperation> created = new ArrayList<>();
+        private final List<PendingOperation> updated = new ArrayList<>();
+        private final List<PendingOperation> deleted = new ArrayList<>();
+        private final List<BulkOperationResult> rejected;
+
+        ChunkPlan(int size) {
+            this.rejected = new ArrayList<>(size);
+        }
+
+        void create(PendingOperation pending, User user) {
+            created.add(pending);
+            creates.add(user);
+        }
+
+        void update(PendingOperation pending, User user) {
+            updated.add(pending);
+            updates.add(user);
+        }
+
+        void delete(PendingOperation pending, User user) {
+            deleted.add(pending);
+            deletes.add(user);
+        }
+
+        void reject(PendingOperation pending, int status, String error, String message) {
+            rejected.add(BulkOperationResult.failure(pending.index, pending.operation, status, error, message));
+        }
+
+        List<BulkOperationResult> results(UserBatchResult batch) {
+            List<BulkOperationResult> results = new ArrayList<>(rejected);
+            for (int i = 0; i < created.size(); i++) {
+                User user = batch.created().get(i);
+                results.add(BulkOperationResult.success(created.get(i).index, BulkOperation.Type.CREATE, 201,
+                        user.getId(), user.getVersion()));
+            }
+            for (int i = 0; i < updated.size(); i++) {
+                User user = updates.get(i);
+                results.add(batch.conflicts().contains(user.getId())
+                        ? conflict(updated.get(i))
+                        : BulkOperationResult.success(updated.get(i).index, BulkOperation.Type.UPDATE, 200,
+                        user.getId(), user.getVersion() + 1));
+            }
+            for (int i = 0; i < deleted.size(); i++) {
+                User user = deletes.get(i);
+                results.add(batch.conflicts().contains(user.getId())
+                        ? conflict(deleted.get(i))
+                        : BulkOperationResult.success(deleted.get(i).index, BulkOperation.Type.DELETE, 204,
+                        user.getId(), null));
+            }
+            return results;
+        }
+
+        private static BulkOperationResult conflict(PendingOperation pending) {
+            return BulkOperationResult.failure(pending.index, pending.operation, 409, "Concurrent Modification",
+                    "ユーザーは他の処理により更新されています: ID=" + pending.operation.id());
+        }
+    }
+}
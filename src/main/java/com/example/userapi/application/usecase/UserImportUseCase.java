@@ -0,0 +1,450 @@
+package com.example.userapi.application.usecase;
+
+import com.example.userapi.application.dto.ImportProgressResponse;
+import com.example.userapi.application.dto.ImportUsersCommand;
+import com.example.userapi.application.rule.CorrelationRuleValidator;
+import com.example.userapi.domain.event.DomainEventPublisher;
+import com.example.userapi.domain.model.Email;
+import com.example.userapi.domain.model.HashedPassword;
+import com.example.userapi.domain.model.User;
+import com.example.userapi.domain.repository.UserRepository;
+import com.example.userapi.infrastructure.bulkhead.BulkheadFullException;
+import com.example.userapi.infrastructure.bulkhead.Bulkheads;
+import com.example.userapi.infrastructure.bulkhead.Workload;
+import com.example.userapi.infrastructure.importer.CsvRowParser;
+import com.example.userapi.infrastructure.importer.ImportFileReader;
+import com.example.userapi.infrastructure.importer.ImportFormat;
+import com.example.userapi.infrastructure.importer.ImportJobExecutor;
+import com.example.userapi.infrastructure.importer.ImportProperties;
+import com.example.userapi.infrastructure.importer.ImportRow;
+import com.example.userapi.infrastructure.importer.ImportRowParser;
+import com.example.userapi.infrastructure.importer.ImportStatus;
+import com.example.userapi.infrastructure.importer.NdjsonRowParser;
+import com.example.userapi.infrastructure.importer.UserImportStore;
+import com.example.userapi.infrastructure.persistence.entity.UserImportEntity;
+import com.example.userapi.infrastructure.security.PasswordEncoder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ユーザー一括インポートユースケース
+ * ファイルを先頭から順に読み、チャンク（設定行数）ごとに検証・ハッシュ化・重複除外・一括登録してコミットする。
+ * 読み込み位置と件数はチャンクの登録と同じトランザクションで記録するため、中断したジョブはコミット済みの位置から再開できる。
+ * チャンクのトランザクションは、更新系のバルクヘッドの許可を取得してから開始する（空きがない場合は待ち直す）
+ */
+@Service
+public class UserImportUseCase {
+
+    private static final Logger log = LoggerFactory.getLogger(UserImportUseCase.class);
+    // バルクヘッドに拒否された場合に待ち直すまでの間隔
+    private static final long BULKHEAD_RETRY_MILLIS = 100;
+
+    private final UserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final CorrelationRuleValidator correlationRules;
+    private final DomainEventPublisher eventPublisher;
+    private final UserImportStore importStore;
+    private final ImportJobExecutor jobExecutor;
+    private final ImportProperties properties;
+    private final ObjectMapper objectMapper;
+    // チャンク単位でコミットするため、宣言的トランザクションではなくテンプレートで境界を制御する
+    private final TransactionTemplate transactionTemplate;
+    // nullの場合はバルクヘッドなし（bulkhead.enabled=false）
+    private final Bulkheads bulkheads;
+
+    private final Counter importedRows;
+    private final Counter duplicateRows;
+    private final Counter rejectedRows;
+    private final Timer chunkTimer;
+
+    // このノードで実行中のジョブ（処理速度の算出と完了待ち用）
+    private final ConcurrentMap<String, RunningJob> runningJobs = new ConcurrentHashMap<>();
+
+    public UserImportUseCase(UserRepository userRepository,
+                             PasswordEncoder passwordEncoder,
+                             CorrelationRuleValidator correlationRules,
+                             DomainEventPublisher eventPublisher,
+                             UserImportStore importStore,
+                             ImportJobExecutor jobExecutor,
+                             ImportProperties properties,
+                             ObjectMapper objectMapper,
+                             PlatformTransactionManager transactionManager,
+                             ObjectProvider<Bulkheads> bulkheads,
+                             MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.correlationRules = correlationRules;
+        this.eventPublisher = eventPublisher;
+        this.importStore = importStore;
+        this.jobExecutor = jobExecutor;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.bulkheads = bulkheads.getIfAvailable();
+        this.importedRows = rowCounter(meterRegistry, "imported");
+        this.duplicateRows = rowCounter(meterRegistry, "duplicate");
+        this.rejectedRows = rowCounter(meterRegistry, "rejected");
+        this.chunkTimer = Timer.builder("userapi.import.chunk")
+                .description("1チャンクの検証・ハッシュ化・登録にかかった時間")
+                .register(meterRegistry);
+    }
+
+    /**
+     * インポートを開始する（非同期）
+     */
+    public ImportProgressResponse startImport(ImportUsersCommand command) {
+        Path file = resolve(command.file());
+        // ファイルとヘッダーを確認してからジョブを登録する
+        try (ImportFileReader reader = ImportFileReader.open(file)) {
+            createParser(command.format(), reader);
+        } catch (IOException ex) {
+            throw new IllegalArgumentException("ファイルを読み込めません: " + command.file());
+        }
+
+        String jobId = UUID.randomUUID().toString();
+        importStore.create(jobId, file, command.format());
+        submit(jobId);
+        return getProgress(jobId);
+    }
+
+    /**
+     * 中断・失敗したインポートをコミット済みの位置から再開する（非同期）
+     */
+    public ImportProgressResponse resumeImport(String jobId) {
+        UserImportEntity job = findJob(jobId);
+        ImportStatus status = ImportStatus.valueOf(job.getStatus());
+        if (!status.isResumable() && !isAbandoned(job)) {
+            throw new ImportJobConflictException(
+                    "このインポートは再開できません: " + jobId + " (" + status + ")");
+        }
+        importStore.updateStatus(jobId, ImportStatus.RUNNING, null);
+        submit(jobId);
+        return getProgress(jobId);
+    }
+
+    /**
+     * 実行中のインポートを中断する（実行中のチャンクをコミットしてから停止する）
+     */
+    public ImportProgressResponse stopImport(String jobId) {
+        findJob(jobId);
+        if (!jobExecutor.requestStop(jobId)) {
+            throw new ImportJobConflictException("このノードで実行中のインポートではありません: " + jobId);
+        }
+        return getProgress(jobId);
+    }
+
+    /**
+     * 進捗を取得する
+     */
+    public ImportProgressResponse getProgress(String jobId) {
+        UserImportEntity job = findJob(jobId);
+        RunningJob running = runningJobs.get(jobId);
+        return ImportProgressResponse.from(job, fileSize(Path.of(job.getFilePath())),
+                running != null ? running.rowsPerSecond() : null);
+    }
+
+    /**
+     * このノードで実行中のインポートの完了を待つ（コマンドライン実行用）
+     */
+    public ImportProgressResponse awaitCompletion(String jobId) {
+        RunningJob running = runningJobs.get(jobId);
+        if (running != null) {
+            running.completion.join();
+        }
+        return getProgress(jobId);
+    }
+
+    private void submit(String jobId) {
+        RunningJob running = new RunningJob();
+        runningJobs.put(jobId, running);
+        try {
+            jobExecutor.submit(jobId, () -> run(jobId, running))
+                    .whenComplete((result, ex) -> {
+                        runningJobs.remove(jobId, running);
+                        running.completion.complete(null);
+                    });
+        } catch (ImportJobExecutor.ImportJobRejectedException ex) {
+            runningJobs.remove(jobId, running);
+            // 実行中の同一ジョブ以外は、後から再開できるよう中断状態にしておく
+            if (!jobExecutor.isRunning(jobId)) {
+                importStore.updateStatus(jobId, ImportStatus.INTERRUPTED, ex.getMessage());
+            }
+            throw ex;
+        }
+    }
+
+    private void run(String jobId, RunningJob running) {
+        UserImportEntity job = findJob(jobId);
+        ImportFormat format = ImportFormat.valueOf(job.getFormat());
+        running.start(job.getRowsRead());
+        try (ImportFileReader reader = ImportFileReader.open(Path.of(job.getFilePath()))) {
+            ImportRowParser parser = createParser(format, reader);
+            reader.seek(Math.max(job.getCommittedOffset(), reader.position()));
+            long fileSize = reader.size();
+            log.info("インポート開始: job={}, file={}, offset={}/{}",
+                    jobId, job.getFilePath(), reader.position(), fileSize);
+
+            while (!jobExecutor.isStopRequested(jobId)) {
+                List<ImportFileReader.Line> lines = readChunk(reader);
+                if (lines.isEmpty()) {
+                    importStore.updateStatus(jobId, ImportStatus.COMPLETED, null);
+                    log.info("インポート完了: job={}, rows={}, imported={}, duplicates={}, rejected={}",
+                            jobId, job.getRowsRead(), job.getImported(), job.getDuplicates(), job.getRejected());
+                    return;
+                }
+                chunkTimer.record(() -> importChunk(job, parser, lines));
+                running.rowsRead = job.getRowsRead();
+                log.info("インポート進捗: job={}, {}%, rows={}, imported={}, duplicates={}, rejected={}, {} rows/s",
+                        jobId, String.format("%.1f", fileSize > 0 ? job.getCommittedOffset() * 100.0 / fileSize : 100.0),
+                        job.getRowsRead(), job.getImported(), job.getDuplicates(), job.getRejected(),
+                        String.format("%.0f", running.rowsPerSecond()));
+            }
+            importStore.updateStatus(jobId, ImportStatus.INTERRUPTED, null);
+            log.info("インポート中断: job={}, offset={}", jobId, job.getCommittedOffset());
+        } catch (Exception ex) {
+            log.error("インポート失敗: job={}, offset={}", jobId, job.getCommittedOffset(), ex);
+            String message = ex.getMessage() != null ? ex.getMessage() : ex.getClass().getSimpleName();
+            importStore.updateStatus(jobId, ImportStatus.FAILED,
+                    message.length() > 1000 ? message.substring(0, 1000) : message);
+        }
+    }
+
+    private List<ImportFileReader.Line> readChunk(ImportFileReader reader) throws IOException {
+        List<ImportFileReader.Line> lines = new ArrayList<>(properties.chunkSize());
+        ImportFileReader.Line line;
+        while (lines.size() < properties.chunkSize() && (line = reader.readLine()) != null) {
+            lines.add(line);
+        }
+        return lines;
+    }
+
+    private void importChunk(UserImportEntity job, ImportRowParser parser, List<ImportFileReader.Line> lines) {
+        // 検証とパスワードのハッシュ化（行ごとに並列実行）
+        List<CompletableFuture<User>> parsed = lines.stream()
+                .filter(line -> !line.text().isBlank())
+                .map(line -> CompletableFuture.supplyAsync(() -> toUser(parser.parse(line.text())),
+                        jobExecutor.hashExecutor()))
+                .toList();
+
+        // ファイル内の重複は先に出現した行を登録する
+        Map<Email, User> candidates = new LinkedHashMap<>();
+        long rejected = 0;
+        long duplicatesInFile = 0;
+        for (int i = 0; i < parsed.size(); i++) {
+            try {
+                User user = parsed.get(i).join();
+                if (candidates.putIfAbsent(user.getEmail(), user) != null) {
+                    duplicatesInFile++;
+                }
+            } catch (CompletionException ex) {
+                if (!isRowError(ex.getCause())) {
+                    throw ex;
+                }
+                rejected++;
+                log.debug("不正な行をスキップ: job={}, row={}, reason={}",
+                        job.getJobId(), job.getRowsRead() + i + 1, ex.getCause().getMessage());
+            }
+        }
+
+        long endOffset = lines.get(lines.size() - 1).endOffset();
+        long rowsRead = job.getRowsRead() + parsed.size();
+        long baseImported = job.getImported();
+        long baseDuplicates = job.getDuplicates() + duplicatesInFile;
+        long totalRejected = job.getRejected() + rejected;
+
+        int attempt = 1;
+        while (true) {
+            try {
+                withWritePermit(() -> transactionTemplate.executeWithoutResult(status -> {
+                    Set<String> existing = userRepository.findExistingEmails(candidates.keySet());
+                    List<User> fresh = candidates.values().stream()
+                            .filter(user -> !existing.contains(user.getEmail().getValue()))
+                            .toList();
+                    List<User> saved = userRepository.saveAll(fresh);
+                    saved.forEach(user -> eventPublisher.publish(user.created()));
+
+                    job.setCommittedOffset(endOffset);
+                    job.setRowsRead(rowsRead);
+                    job.setImported(baseImported + saved.size());
+                    job.setDuplicates(baseDuplicates + existing.size());
+                    job.setRejected(totalRejected);
+                    importStore.saveProgress(job);
+                }));
+                break;
+            } catch (DuplicateKeyException ex) {
+                // 重複チェック後に同じメールアドレスが登録された場合は、チャンクを再読み込みしてやり直す
+                if (attempt >= properties.maxRetries()) {
+                    throw ex;
+                }
+                log.debug("メールアドレスの一意制約違反のためチャンクを再試行: job={}, attempt={}",
+                        job.getJobId(), attempt);
+                attempt++;
+            } catch (BulkheadFullException ex) {
+                // バックグラウンドのジョブは拒否されても失敗にせず、間を空けて待ち直す（中断の要求があれば失敗にする）
+                awaitRetry(job, ex);
+            }
+        }
+
+        importedRows.increment(job.getImported() - baseImported);
+        duplicateRows.increment(job.getDuplicates() - baseDuplicates + duplicatesInFile);
+        rejectedRows.increment(rejected);
+    }
+
+    /**
+     * 更新系のバルクヘッドの許可を取得して実行する（ジョブ全体ではなくチャンクのトランザクションごとに取得する）
+     */
+    private void withWritePermit(Runnable action) {
+        if (bulkheads == null) {
+            action.run();
+            return;
+        }
+        bulkheads.execute(Workload.WRITE, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    private void awaitRetry(UserImportEntity job, BulkheadFullException ex) {
+        if (jobExecutor.isStopRequested(job.getJobId())) {
+            throw ex;
+        }
+        log.debug("更新系のバルクヘッドに空きがないためチャンクの登録を待ち直します: job={}", job.getJobId());
+        try {
+            TimeUnit.MILLISECONDS.sleep(BULKHEAD_RETRY_MILLIS);
+        } catch (InterruptedException interrupted) {
+            Thread.currentThread().interrupt();
+            throw ex;
+        }
+    }
+
+    /**
+     * 1行をドメインオブジェクトに変換する（単項目・相関チェックとハッシュ化）
+     */
+    private User toUser(ImportRow row) {
+        correlationRules.validate(row.name(), row.email());
+        Email email = new Email(row.email());
+        HashedPassword password = row.passwordHash() != null
+                ? passwordEncoder.fromEncoded(row.passwordHash())
+                : passwordEncoder.encode(row.password());
+        return new User(row.name(), email, password);
+    }
+
+    private static boolean isRowError(Throwable cause) {
+        return cause instanceof IllegalArgumentException
+                || cause instanceof UserUseCase.InvalidNameFormatException;
+    }
+
+    private ImportRowParser createParser(ImportFormat format, ImportFileReader reader) throws IOException {
+        if (format == ImportFormat.NDJSON) {
+            return new NdjsonRowParser(objectMapper);
+        }
+        ImportFileReader.Line header = reader.readLine();
+        if (header == null) {
+            throw new IllegalArgumentException("CSVのヘッダーがありません");
+        }
+        return new CsvRowParser(header.text());
+    }
+
+    /**
+     * インポートファイルのパスを解決する（設定ディレクトリ配下のみ許可）
+     */
+    private Path resolve(String file) {
+        Path baseDirectory = properties.baseDirectory().toAbsolutePath().normalize();
+        Path path = baseDirectory.resolve(file).normalize();
+        if (!path.startsWith(baseDirectory)) {
+            throw new IllegalArgumentException("インポートファイルは " + baseDirectory + " 配下を指定してください");
+        }
+        if (!Files.isRegularFile(path)) {
+            throw new IllegalArgumentException("ファイルが見つかりません: " + file);
+        }
+        return path;
+    }
+
+    /**
+     * 実行中のまま更新が止まっているジョブ（実行していたノードの異常終了）
+     */
+    private boolean isAbandoned(UserImportEntity job) {
+        return ImportStatus.RUNNING.name().equals(job.getStatus())
+                && !jobExecutor.isRunning(job.getJobId())
+                && job.getUpdatedAt().isBefore(LocalDateTime.now().minus(properties.staleAfter()));
+    }
+
+    private UserImportEntity findJob(String jobId) {
+        return importStore.find(jobId)
+                .orElseThrow(() -> new ImportJobNotFoundException("インポートが見つかりません: " + jobId));
+    }
+
+    private static long fileSize(Path file) {
+        try {
+            return Files.size(file);
+        } catch (IOException ex) {
+            return 0;
+        }
+    }
+
+    private static Counter rowCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("userapi.import.rows")
+                .description("インポートで処理した行数")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * このノードで実行中のジョブの処理状況
+     */
+    private static final class RunningJob {
+        private final CompletableFuture<Void> completion = new CompletableFuture<>();
+        private volatile long startNanos = System.nanoTime();
+        private volatile long startRows;
+        private volatile long rowsRead;
+
+        void start(long rows) {
+            this.startNanos = System.nanoTime();
+            this.startRows = rows;
+            this.rowsRead = rows;
+        }
+
+        double rowsPerSecond() {
+            long elapsedNanos = System.nanoTime() - startNanos;
+            return elapsedNanos <= 0 ? 0.0 : (rowsRead - startRows) * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+        }
+    }
+
+    // カスタム例外
+    public static class ImportJobNotFoundException extends RuntimeException {
+        public ImportJobNotFoundException(String message) {
+            super(message);
+        }
+    }
+
+    public static class ImportJobConflictException extends RuntimeException {
+        public ImportJobConflictException(String message) {
+            super(message);
+        }
+    }
+}
@@ -3,88 +3,148 @@ package com.example.userapi.application.usecase;
 import com.example.userapi.application.dto.CreateUserCommand;
 import com.example.userapi.application.dto.UpdateUserCommand;
 import com.example.userapi.application.dto.UserResponse;
+import com.example.userapi.application.result.UseCaseResult;
+import com.example.userapi.application.rule.CorrelationRuleValidator;
+import com.example.userapi.domain.event.DomainEventPublisher;
 import com.example.userapi.domain.model.Email;
 import com.example.userapi.domain.model.HashedPassword;
 import com.example.userapi.domain.model.User;
 import com.example.userapi.domain.repository.UserRepository;
 import com.example.userapi.domain.service.UserDomainService;
+import com.example.userapi.infrastructure.bulkhead.Bulkhead;
+import com.example.userapi.infrastructure.bulkhead.Workload;
 import com.example.userapi.infrastructure.security.PasswordEncoder;
+import com.example.userapi.infrastructure.tracing.Traced;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 /**
  * ユーザーユースケース
  * アプリケーション層でトランザクション境界と業務フローを制御
+ * 未検出・重複・バージョン不一致は例外ではなく処理結果（UseCaseResult）として返す。
+ * 参照系と更新系は別々のバルクヘッドの区画で実行し、更新の集中が参照のスレッド・コネクションを奪わないようにする
  */
 @Service
 @Transactional
+@Traced
+@Bulkhead(Workload.WRITE)
 public class UserUseCase {
 
+    private static final int MAX_PAGE_SIZE = 1000;
+
     private final UserRepository userRepository;
     private final UserDomainService userDomainService;
     private final PasswordEncoder passwordEncoder;
+    private final DomainEventPublisher eventPublisher;
+    private final CorrelationRuleValidator correlationRules;
 
     public UserUseCase(UserRepository userRepository,
                        UserDomainService userDomainService,
-                       PasswordEncoder passwordEncoder) {
+                       PasswordEncoder passwordEncoder,
+                       DomainEventPublisher eventPublisher,
+                       CorrelationRuleValidator correlationRules) {
         this.userRepository = userRepository;
         this.userDomainService = userDomainService;
         this.passwordEncoder = passwordEncoder;
+        this.eventPublisher = eventPublisher;
+        this.correlationRules = correlationRules;
     }
 
     /**
      * ユーザー作成
      */
-    public UserResponse createUser(CreateUserCommand command) {
-        // 相関チェック: 名前とメールの整合性
-        validateNameAndEmail(command.name(), command.email());
+    public UseCaseResult<UserResponse> createUser(CreateUserCommand command) {
+        // 相関チェック: 名前とメールの整合性（ルールは設定ファイルで定義）
+        correlationRules.validate(command.name(), command.email());
 
         // ドメインオブジェクト生成（単項目チェックはここで実行される）
         Email email = new Email(command.email());
-        HashedPassword hashedPassword = passwordEncoder.encode(command.password());
 
-        // 業務ロジックチェック: メール重複チェック
-        userDomainService.checkEmailDuplication(email);
+        // 業務ロジックチェック: メール重複チェック（ハッシュ化より先に行い、重複時のコストを抑える）
+        if (userDomainService.isEmailDuplicated(email)) {
+            return UseCaseResult.duplicateEmail("このメールアドレスは既に登録されています: " + email.getValue());
+        }
+        HashedPassword hashedPassword = passwordEncoder.encode(command.password());
 
         // エンティティ作成と保存
         User user = new User(command.name(), email, hashedPassword);
-        User savedUser = userRepository.save(user);
+        User savedUser;
+        try {
+            savedUser = userRepository.save(user);
+        } catch (DuplicateKeyException ex) {
+            // 重複チェックの後に、同じメールアドレスが他の処理で登録・予約された場合
+            return UseCaseResult.duplicateEmail("このメールアドレスは既に登録されています: " + email.getValue());
+        }
+
+        // ドメインイベント（コミット後に配信される）
+        eventPublisher.publish(savedUser.created());
 
-        return UserResponse.from(savedUser);
+        return UseCaseResult.success(UserResponse.from(savedUser));
     }
 
     /**
      * ユーザー取得
      */
     @Transactional(readOnly = true)
-    public UserResponse getUser(Long id) {
-        User user = userRepository.findById(id)
-                .orElseThrow(() -> new UserNotFoundException("ユーザーが見つかりません: ID=" + id));
-        return UserResponse.from(user);
+    @Bulkhead(Workload.READ)
+    public UseCaseResult<UserResponse> getUser(Long id) {
+        Optional<User> user = userRepository.findById(id);
+        if (user.isEmpty()) {
+            return notFound(id);
+        }
+        return UseCaseResult.success(UserResponse.from(user.get()));
     }
 
     /**
      * ユーザー一覧取得
      */
     @Transactional(readOnly = true)
+    @Bulkhead(Workload.READ)
     public List<UserResponse> getAllUsers() {
         return userRepository.findAll().stream()
                 .map(UserResponse::from)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * ユーザー一覧取得（ID順のページング）
+     * @param afterId 前のページの最後のユーザーID（先頭ページは0）
+     * @param limit 最大件数（1〜1000）
+     */
+    @Transactional(readOnly = true)
+    @Bulkhead(Workload.READ)
+    public List<UserResponse> getUsers(long afterId, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("limitは1〜" + MAX_PAGE_SIZE + "で指定してください");
+        }
+        return userRepository.findAllAfter(afterId, limit).stream()
+                .map(UserResponse::from)
+                .collect(Collectors.toList());
+    }
+
     /**
      * ユーザー更新
+     * @param expectedVersion クライアントが保持しているバージョン（If-Match、未指定の場合はnull）
      */
-    public UserResponse updateUser(Long id, UpdateUserCommand command) {
-        User existingUser = userRepository.findById(id)
-                .orElseThrow(() -> new UserNotFoundException("ユーザーが見つかりません: ID=" + id));
+    public UseCaseResult<UserResponse> updateUser(Long id, Long expectedVersion, UpdateUserCommand command) {
+        Optional<User> found = userRepository.findById(id);
+        if (found.isEmpty()) {
+            return notFound(id);
+        }
+        User existingUser = found.get();
+
+        // 事前条件チェック: クライアントが読み込んだ後に更新されていないか
+        if (expectedVersion != null && !expectedVersion.equals(existingUser.getVersion())) {
+            return UseCaseResult.versionMismatch("ユーザーは他の処理により更新されています: ID=" + id);
+        }
 
         // 相関チェック
-        validateNameAndEmail(command.name(), command.email());
+        correlationRules.validate(command.name(), command.email());
 
         User updatedUser = existingUser;
 
@@ -97,12 +157,10 @@ public class UserUseCase {
         if (command.email() != null && !command.email().equals(existingUser.getEmail().getValue())) {
             Email newEmail = new Email(command.email());
             // 業務ロジックチェック: 自分以外で同じメールが使われていないか
-            userRepository.findByEmail(newEmail).ifPresent(user -> {
-                if (!user.getId().equals(id)) {
-                    throw new UserDomainService.DuplicateEmailException(
-                            "このメールアドレスは既に使用されています");
-                }
-            });
+            Optional<User> owner = userRepository.findByEmail(newEmail);
+            if (owner.isPresent() && !owner.get().getId().equals(id)) {
+                return UseCaseResult.duplicateEmail("このメールアドレスは既に使用されています");
+            }
             updatedUser = updatedUser.updateEmail(newEmail);
         }
 
@@ -112,37 +170,40 @@ public class UserUseCase {
             updatedUser = updatedUser.updatePassword(newPassword);
         }
 
-        User saved = userRepository.update(updatedUser);
-        return UserResponse.from(saved);
+        User saved;
+        try {
+            saved = userRepository.update(updatedUser);
+        } catch (DuplicateKeyException ex) {
+            // 重複チェックの後に、同じメールアドレスが他の処理で登録・予約された場合
+            return UseCaseResult.duplicateEmail("このメールアドレスは既に使用されています");
+        }
+        eventPublisher.publishAll(updatedUser.getDomainEvents());
+        return UseCaseResult.success(UserResponse.from(saved));
     }
 
     /**
      * ユーザー削除
+     * @return 削除したユーザーのID
      */
-    public void deleteUser(Long id) {
-        if (!userRepository.findById(id).isPresent()) {
-            throw new UserNotFoundException("ユーザーが見つかりません: ID=" + id);
+    public UseCaseResult<Long> deleteUser(Long id) {
+        Optional<User> user = userRepository.findById(id);
+        if (user.isEmpty()) {
+            return notFound(id);
         }
         userRepository.deleteById(id);
+        eventPublisher.publish(user.get().deleted());
+        return UseCaseResult.success(id);
     }
 
-    /**
-     * 相関チェック: 名前とメールアドレスの整合性
-     */
-    private void validateNameAndEmail(String name, String email) {
-        // サンプル実装: 企業ドメイン(@company.com)の場合、名前に数字不可
-        if (email != null && email.endsWith("@company.com")) {
-            if (name != null && name.matches(".*\\d.*")) {
-                throw new InvalidNameFormatException(
-                        "企業メールアドレスの場合、名前に数字を含めることはできません");
-            }
-        }
+    private static <T> UseCaseResult<T> notFound(Long id) {
+        return UseCaseResult.notFound("ユーザーが見つかりません: ID=" + id);
     }
 
     // カスタム例外
+    // 未検出・バージョン不一致はリアクティブ版で使用する（大量に発生しうるため、スタックトレースは取得しない）
     public static class UserNotFoundException extends RuntimeException {
         public UserNotFoundException(String message) {
-            super(message);
+            super(message, null, false, false);
         }
     }
 
@@ -151,4 +212,10 @@ public class UserUseCase {
             super(message);
         }
     }
+
+    public static class VersionMismatchException extends RuntimeException {
+        public VersionMismatchException(String message) {
+            super(message, null, false, false);
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,15 @@
+package com.example.userapi.domain.event;
+
+import java.time.LocalDateTime;
+
+/**
+ * ドメインイベント
+ * 集約の状態変化を表す不変オブジェクト。トランザクションのコミット後に購読者へ配信される
+ */
+public interface DomainEvent {
+
+    /**
+     * @return 発生日時
+     */
+    LocalDateTime occurredAt();
+}
@@ -0,0 +1,27 @@
+package com.example.userapi.domain.event;
+
+import java.util.Collection;
+
+/**
+ * ドメインイベント発行インターフェース
+ * ドメイン層で定義し、インフラ層で実装する。
+ * トランザクション内で発行されたイベントはコミット後に配信され、ロールバック時は破棄される
+ */
+public interface DomainEventPublisher {
+
+    /**
+     * イベントを発行する
+     * @param event ドメインイベント
+     */
+    void publish(DomainEvent event);
+
+    /**
+     * 複数のイベントを発行順に発行する
+     * @param events ドメインイベント
+     */
+    default void publishAll(Collection<? extends DomainEvent> events) {
+        for (DomainEvent event : events) {
+            publish(event);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.userapi.domain.event;
+
+import java.util.List;
+
+/**
+ * ドメインイベント購読インターフェース
+ * 購読者ごとに専用スレッドから、発行順にまとめて（バッチで）配信される
+ */
+public interface DomainEventSubscriber {
+
+    /**
+     * @return 購読者名（メトリクスのタグに使用する）
+     */
+    String name();
+
+    /**
+     * イベントを受け取る
+     * 例外を送出しても後続のイベントは配信される（失敗したバッチは再配信しない）
+     * @param events 発行順のイベント（呼び出し後に再利用されるため、保持する場合はコピーすること）
+     * @param endOfBatch 現時点で配信可能なイベントを全て受け取った場合true
+     */
+    void onEvents(List<DomainEvent> events, boolean endOfBatch);
+}
@@ -0,0 +1,44 @@
+package com.example.userapi.domain.event;
+
+import java.time.LocalDateTime;
+
+/**
+ * ユーザー集約のドメインイベント
+ */
+public sealed interface UserEvent extends DomainEvent {
+
+    /**
+     * @return 対象ユーザーのID
+     */
+    Long userId();
+
+    /**
+     * ユーザー作成
+     */
+    record UserCreated(Long userId, String name, String email, LocalDateTime occurredAt) implements UserEvent {
+    }
+
+    /**
+     * 名前変更
+     */
+    record UserNameChanged(Long userId, String oldName, String newName, LocalDateTime occurredAt) implements UserEvent {
+    }
+
+    /**
+     * メールアドレス変更
+     */
+    record UserEmailChanged(Long userId, String oldEmail, String newEmail, LocalDateTime occurredAt) implements UserEvent {
+    }
+
+    /**
+     * パスワード変更（ハッシュ値は含めない）
+     */
+    record UserPasswordChanged(Long userId, LocalDateTime occurredAt) implements UserEvent {
+    }
+
+    /**
+     * ユーザー削除
+     */
+    record UserDeleted(Long userId, String email, LocalDateTime occurredAt) implements UserEvent {
+    }
+}
@@ -1,6 +1,12 @@
 package com.example.userapi.domain.model;
 
+import com.example.userapi.domain.event.DomainEvent;
+import com.example.userapi.domain.event.UserEvent;
+
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Objects;
 
 /**
@@ -14,15 +20,25 @@ public class User {
     private final HashedPassword password;
     private final LocalDateTime createdAt;
     private final LocalDateTime updatedAt;
+    // 楽観ロック用バージョン（更新のたびにインクリメントされる）
+    private final Long version;
+    // 永続化前の状態変化（ドメインイベント）。ユースケースが保存後に発行する
+    private final List<DomainEvent> domainEvents;
 
     // コンストラクタ（新規作成用）
     public User(String name, Email email, HashedPassword password) {
-        this(null, name, email, password, null, null);
+        this(null, name, email, password, null, null, null);
     }
 
     // コンストラクタ（DB取得用）
     public User(Long id, String name, Email email, HashedPassword password,
-                LocalDateTime createdAt, LocalDateTime updatedAt) {
+                LocalDateTime createdAt, LocalDateTime updatedAt, Long version) {
+        this(id, name, email, password, createdAt, updatedAt, version, Collections.emptyList());
+    }
+
+    private User(Long id, String name, Email email, HashedPassword password,
+                 LocalDateTime createdAt, LocalDateTime updatedAt, Long version,
+                 List<DomainEvent> domainEvents) {
         if (name == null || name.isBlank()) {
             throw new IllegalArgumentException("名前は必須です");
         }
@@ -36,22 +52,51 @@ public class User {
         this.password = Objects.requireNonNull(password, "パスワードは必須です");
         this.createdAt = createdAt;
         this.updatedAt = updatedAt;
+        this.version = version;
+        this.domainEvents = domainEvents;
     }
 
-    // 更新用のファクトリメソッド
+    // 更新用のファクトリメソッド（変更内容をドメインイベントとして記録する）
     public User updateName(String newName) {
+        LocalDateTime now = LocalDateTime.now();
         return new User(this.id, newName, this.email, this.password,
-                this.createdAt, LocalDateTime.now());
+                this.createdAt, now, this.version,
+                record(new UserEvent.UserNameChanged(this.id, this.name, newName, now)));
     }
 
     public User updateEmail(Email newEmail) {
+        LocalDateTime now = LocalDateTime.now();
         return new User(this.id, this.name, newEmail, this.password,
-                this.createdAt, LocalDateTime.now());
+                this.createdAt, now, this.version,
+                record(new UserEvent.UserEmailChanged(this.id, this.email.getValue(), newEmail.getValue(), now)));
     }
 
     public User updatePassword(HashedPassword newPassword) {
+        LocalDateTime now = LocalDateTime.now();
         return new User(this.id, this.name, this.email, newPassword,
-                this.createdAt, LocalDateTime.now());
+                this.createdAt, now, this.version,
+                record(new UserEvent.UserPasswordChanged(this.id, now)));
+    }
+
+    /**
+     * 保存済みユーザーの作成イベント
+     */
+    public UserEvent.UserCreated created() {
+        return new UserEvent.UserCreated(this.id, this.name, this.email.getValue(), LocalDateTime.now());
+    }
+
+    /**
+     * 削除イベント
+     */
+    public UserEvent.UserDeleted deleted() {
+        return new UserEvent.UserDeleted(this.id, this.email.getValue(), LocalDateTime.now());
+    }
+
+    private List<DomainEvent> record(DomainEvent event) {
+        List<DomainEvent> events = new ArrayList<>(this.domainEvents.size() + 1);
+        events.addAll(this.domainEvents);
+        events.add(event);
+        return Collections.unmodifiableList(events);
     }
 
     // Getters
@@ -79,6 +124,17 @@ public class User {
         return updatedAt;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    /**
+     * @return 記録されたドメインイベント（発生順）
+     */
+    public List<DomainEvent> getDomainEvents() {
+        return domainEvents;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -100,6 +156,7 @@ public class User {
                 ", email=" + email +
                 ", createdAt=" + createdAt +
                 ", updatedAt=" + updatedAt +
+                ", version=" + version +
                 '}';
     }
 }
\ No newline at end of file
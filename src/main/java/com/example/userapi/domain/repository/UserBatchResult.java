@@ -0,0 +1,18 @@
+package com.example.userapi.domain.repository;
+
+import com.example.userapi.domain.model.User;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 一括変更の実行結果
+ *
+ * @param created   登録したユーザー（登録順。IDが採番される。作成日時・更新日時は設定されない）
+ * @param conflicts 読み込み後に他の処理が更新・削除していたため、更新・削除しなかったユーザーのID
+ */
+public record UserBatchResult(
+        List<User> created,
+        Set<Long> conflicts
+) {
+}
@@ -3,8 +3,10 @@ package com.example.userapi.domain.repository;
 import com.example.userapi.domain.model.Email;
 import com.example.userapi.domain.model.User;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * ユーザーリポジトリインターフェース
@@ -19,6 +21,13 @@ public interface UserRepository {
      */
     User save(User user);
 
+    /**
+     * 複数のユーザーをまとめて保存する（一括登録用）
+     * @param users 保存するユーザー
+     * @return 保存されたユーザー（IDが採番される。作成日時・更新日時は設定されない）
+     */
+    List<User> saveAll(List<User> users);
+
     /**
      * IDでユーザーを検索する
      * @param id ユーザーID
@@ -26,6 +35,13 @@ public interface UserRepository {
      */
     Optional<User> findById(Long id);
 
+    /**
+     * 複数IDでユーザーを検索する（一括変更時の事前読み込み用。キャッシュは使わない）
+     * @param ids ユーザーID
+     * @return 存在するユーザー（順不同）
+     */
+    List<User> findAllById(Collection<Long> ids);
+
     /**
      * メールアドレスでユーザーを検索する
      * @param email メールアドレス
@@ -40,9 +56,18 @@ public interface UserRepository {
     List<User> findAll();
 
     /**
-     * ユーザーを更新する
-     * @param user 更新するユーザー
-     * @return 更新されたユーザー
+     * 指定IDより後のユーザーをID順に取得する（キーセット方式のページング）
+     * @param afterId 前のページの最後のユーザーID（先頭ページは0）
+     * @param limit 最大件数
+     * @return ユーザーリスト（ID昇順）
+     */
+    List<User> findAllAfter(long afterId, int limit);
+
+    /**
+     * ユーザーを更新する（楽観ロック）
+     * @param user 更新するユーザー（バージョンは読み込み時の値）
+     * @return 更新されたユーザー（バージョンはインクリメント済み）
+     * @throws org.springframework.dao.OptimisticLockingFailureException 読み込み後に他の処理が更新していた場合
      */
     User update(User user);
 
@@ -52,10 +77,29 @@ public interface UserRepository {
      */
     void deleteById(Long id);
 
+    /**
+     * 登録・更新・削除を種類ごとにまとめてバッチ実行する（一括変更用）
+     * 更新・削除は読み込み時のバージョンと一致する場合のみ行い、一致しなかったものは例外にせず結果で返す。
+     * 更新後の再取得は行わない（更新後のバージョンは読み込み時のバージョン + 1）
+     * @param creates 登録するユーザー
+     * @param updates 更新するユーザー（バージョンは読み込み時の値）
+     * @param deletes 削除するユーザー（バージョンは読み込み時の値）
+     * @return 実行結果
+     * @throws org.springframework.dao.DuplicateKeyException メールアドレスの一意制約に違反した場合
+     */
+    UserBatchResult applyBatch(List<User> creates, List<User> updates, List<User> deletes);
+
     /**
      * メールアドレスが存在するかチェックする
      * @param email メールアドレス
      * @return 存在する場合true
      */
     boolean existsByEmail(Email email);
+
+    /**
+     * 登録済みのメールアドレスを抽出する（一括登録時の重複チェック用）
+     * @param emails メールアドレス
+     * @return 指定されたうち登録済みのメールアドレス
+     */
+    Set<String> findExistingEmails(Collection<Email> emails);
 }
\ No newline at end of file
@@ -20,21 +20,18 @@ public class UserDomainService {
     /**
      * メールアドレスの重複チェック（業務ロジックチェック）
      * @param email チェックするメールアドレス
-     * @throws DuplicateEmailException メールアドレスが既に存在する場合
+     * @return メールアドレスが既に存在する場合true
      */
-    public void checkEmailDuplication(Email email) {
-        if (userRepository.existsByEmail(email)) {
-            throw new DuplicateEmailException(
-                    "このメールアドレスは既に登録されています: " + email.getValue());
-        }
+    public boolean isEmailDuplicated(Email email) {
+        return userRepository.existsByEmail(email);
     }
 
     /**
-     * メールアドレス重複例外
+     * メールアドレス重複例外（リアクティブ版で使用する。想定内の結果のため、スタックトレースは取得しない）
      */
     public static class DuplicateEmailException extends RuntimeException {
         public DuplicateEmailException(String message) {
-            super(message);
+            super(message, null, false, false);
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,59 @@
+package com.example.userapi.infrastructure.aot;
+
+import org.springframework.aot.AotDetector;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.core.env.Environment;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * AOTビルド時と実行時の設定の照合
+ * AOT生成コードで起動した場合（spring.aot.enabled=true）、条件付きBeanの切り替えに使う設定が
+ * ビルド時と異なるときは起動を中止する（設定が黙って無視されるのを防ぐ）
+ */
+@Component
+public class AotBuildSwitchVerifier implements InitializingBean {
+
+    private final Environment environment;
+
+    public AotBuildSwitchVerifier(Environment environment) {
+        this.environment = environment;
+    }
+
+    @Override
+    public void afterPropertiesSet() throws IOException {
+        if (!AotDetector.useGeneratedArtifacts()) {
+            return;
+        }
+        ClassPathResource resource = new ClassPathResource(AotBuildSwitches.LOCATION);
+        if (!resource.exists()) {
+            throw new IllegalStateException("AOTビルド時の設定が見つかりません: " + AotBuildSwitches.LOCATION);
+        }
+        verify(PropertiesLoaderUtils.loadProperties(resource));
+    }
+
+    /**
+     * @param built ビルド時の値
+     * @throws IllegalStateException 実行時の値がビルド時と異なる場合
+     */
+    void verify(Properties built) {
+        List<String> mismatches = new ArrayList<>();
+        for (Map.Entry<String, String> runtime : AotBuildSwitches.capture(environment).entrySet()) {
+            String buildValue = built.getProperty(runtime.getKey(), "");
+            if (!buildValue.equalsIgnoreCase(runtime.getValue())) {
+                mismatches.add(runtime.getKey() + "（ビルド時: '" + buildValue + "', 実行時: '" + runtime.getValue() + "'）");
+            }
+        }
+        if (!mismatches.isEmpty()) {
+            throw new IllegalStateException("AOTビルド時と異なる設定では起動できません。"
+                    + "設定を合わせるか、mvn -Pfast-start package で再ビルドしてください: " + String.join(", ", mismatches));
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.userapi.infrastructure.aot;
+
+import org.springframework.core.env.Environment;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * AOTビルド時に確定する設定（条件付きBeanの切り替えに使うプロパティと、有効なプロファイル）
+ * AOTではBean定義をビルド時の設定で生成するため、これらを実行時に変えても反映されない
+ */
+final class AotBuildSwitches {
+
+    /**
+     * ビルド時の値を記録するリソース
+     */
+    static final String LOCATION = "META-INF/userapi/aot-build-switches.properties";
+
+    static final String ACTIVE_PROFILES = "spring.profiles.active";
+
+    static final List<String> PROPERTIES = List.of(
+            "persistence.store",
+            "idempotency.store",
+            "cache.user.enabled",
+            "id-generator.type",
+            "write-behind.enabled",
+            "admission.enabled",
+            "bulkhead.enabled",
+            "warmup.enabled",
+            "datasource.adaptive.enabled",
+            "deadline.enabled",
+            "tracing.enabled",
+            "tracing.exporter",
+            "sql-log.enabled"
+    );
+
+    private AotBuildSwitches() {
+    }
+
+    /**
+     * 現在の値（未設定の場合は空文字）
+     */
+    static Map<String, String> capture(Environment environment) {
+        Map<String, String> values = new LinkedHashMap<>();
+        values.put(ACTIVE_PROFILES, String.join(",", environment.getActiveProfiles()));
+        for (String property : PROPERTIES) {
+            values.put(property, environment.getProperty(property, "").trim());
+        }
+        return values;
+    }
+}
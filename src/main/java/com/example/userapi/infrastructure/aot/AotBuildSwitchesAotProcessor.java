@@ -0,0 +1,29 @@
+package com.example.userapi.infrastructure.aot;
+
+import org.springframework.beans.factory.aot.BeanFactoryInitializationAotContribution;
+import org.springframework.beans.factory.aot.BeanFactoryInitializationAotProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+
+import java.util.Map;
+
+/**
+ * AOTビルド時の設定の記録
+ * 条件付きBeanの切り替えに使った設定の値をリソースに書き出し、実行時にAotBuildSwitchVerifierで照合する。
+ * META-INF/spring/aot.factories で登録する
+ */
+class AotBuildSwitchesAotProcessor implements BeanFactoryInitializationAotProcessor {
+
+    @Override
+    public BeanFactoryInitializationAotContribution processAheadOfTime(ConfigurableListableBeanFactory beanFactory) {
+        Environment environment = beanFactory.getBean(ConfigurableApplicationContext.ENVIRONMENT_BEAN_NAME, Environment.class);
+        Map<String, String> values = AotBuildSwitches.capture(environment);
+        return (generationContext, beanFactoryInitializationCode) -> {
+            StringBuilder content = new StringBuilder("# AOTビルド時の設定（実行時に異なる値を指定すると起動に失敗する）\n");
+            values.forEach((key, value) -> content.append(key).append('=').append(value).append('\n'));
+            generationContext.getGeneratedFiles().addResourceFile(AotBuildSwitches.LOCATION, content);
+            generationContext.getRuntimeHints().resources().registerPattern(AotBuildSwitches.LOCATION);
+        };
+    }
+}
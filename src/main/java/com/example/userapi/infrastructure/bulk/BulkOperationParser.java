@@ -0,0 +1,43 @@
+package com.example.userapi.infrastructure.bulk;
+
+import com.example.userapi.application.dto.BulkOperation;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import org.springframework.stereotype.Component;
+
+/**
+ * 一括変更のNDJSON行パーサー
+ */
+@Component
+public class BulkOperationParser {
+
+    private final ObjectReader reader;
+
+    public BulkOperationParser(ObjectMapper objectMapper) {
+        this.reader = objectMapper.readerFor(BulkOperation.class);
+    }
+
+    /**
+     * 1行を操作に変換する
+     * @throws IllegalArgumentException JSONの形式・操作の種類が正しくない場合
+     */
+    public BulkOperation parse(String line) {
+        BulkOperation operation;
+        try {
+            operation = reader.readValue(line);
+        } catch (InvalidFormatException ex) {
+            throw new IllegalArgumentException("項目の値が正しくありません: " + ex.getValue());
+        } catch (JsonProcessingException ex) {
+            throw new IllegalArgumentException("JSONの形式が正しくありません");
+        }
+        if (operation == null || operation.op() == null) {
+            throw new IllegalArgumentException("opには create / update / delete のいずれかを指定してください");
+        }
+        if (operation.op() != BulkOperation.Type.CREATE && operation.id() == null) {
+            throw new IllegalArgumentException("更新・削除ではidを指定してください");
+        }
+        return operation;
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.userapi.infrastructure.bulk;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * 一括変更設定
+ *
+ * @param chunkSize  1トランザクションで実行する操作数（この操作数ごとにコミットし、結果を返す）
+ * @param maxRetries チャンク実行中にメールアドレスの一意制約違反が起きた場合の再試行回数
+ */
+@ConfigurationProperties(prefix = "bulk")
+public record BulkProperties(
+        @DefaultValue("500") int chunkSize,
+        @DefaultValue("3") int maxRetries
+) {
+}
@@ -0,0 +1,20 @@
+package com.example.userapi.infrastructure.bulkhead;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * バルクヘッドの適用対象
+ * クラスに付けた場合は公開メソッドごと、メソッドに付けた場合はそのメソッドの呼び出しを、
+ * 指定した区画の同時実行数の範囲で実行する（メソッドの指定がクラスの指定より優先される）
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Bulkhead {
+
+    Workload value();
+}
@@ -0,0 +1,57 @@
+package com.example.userapi.infrastructure.bulkhead;
+
+import com.example.userapi.infrastructure.persistence.pool.AdaptivePoolProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+
+/**
+ * バルクヘッドの設定
+ * 参照系・更新系の区画と、{@link Bulkhead} のアドバイザーを登録する
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "bulkhead", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class BulkheadConfiguration {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkheadConfiguration.class);
+
+    @Bean
+    public Bulkheads bulkheads(BulkheadProperties properties, MeterRegistry meterRegistry,
+                               ObjectProvider<HikariDataSource> dataSource, AdaptivePoolProperties adaptivePool) {
+        HikariDataSource pool = dataSource.getIfAvailable();
+        if (pool != null) {
+            // 更新系が実行中にすべてのコネクションを使うと、参照系がコネクション待ちになる
+            int poolSize = adaptivePool.enabled() ? adaptivePool.minSize() : pool.getMaximumPoolSize();
+            if (properties.write().maxConcurrent() >= poolSize) {
+                log.warn("更新系の同時実行数（{}）がコネクションプールのサイズ（{}）以上のため、参照系のコネクションを確保できません",
+                        properties.write().maxConcurrent(), poolSize);
+            }
+        }
+        return new Bulkheads(properties, meterRegistry);
+    }
+
+    /**
+     * トランザクションのアドバイス（コネクションの取得）とトレースより外側に適用する
+     */
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor bulkheadAdvisor(ObjectProvider<Bulkheads> bulkheads) {
+        ComposablePointcut pointcut = new ComposablePointcut(new AnnotationMatchingPointcut(Bulkhead.class, true))
+                .union(AnnotationMatchingPointcut.forMethodAnnotation(Bulkhead.class));
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(pointcut, new BulkheadMethodInterceptor(bulkheads));
+        advisor.setOrder(Ordered.LOWEST_PRECEDENCE - 2);
+        return advisor;
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.userapi.infrastructure.bulkhead;
+
+/**
+ * バルクヘッドの区画に空きがないための拒否
+ * 過負荷時に大量に発生するため、スタックトレースは取得しない
+ */
+public class BulkheadFullException extends RuntimeException {
+
+    private final Workload workload;
+
+    public BulkheadFullException(Workload workload, String message) {
+        super(message, null, false, false);
+        this.workload = workload;
+    }
+
+    public Workload getWorkload() {
+        return workload;
+    }
+}
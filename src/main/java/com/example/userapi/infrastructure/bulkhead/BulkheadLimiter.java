@@ -0,0 +1,129 @@
+package com.example.userapi.infrastructure.bulkhead;
+
+import com.example.userapi.infrastructure.deadline.Deadline;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * バルクヘッドの区画
+ * 同時実行数を許可数で制限し、空きを待つ呼び出し数・待ち時間にも上限を設ける。
+ * 待ちは呼び出し元のスレッドで行い（期限・トレースのスレッドローカルをそのまま使う）、
+ * 上限を超えた場合は {@link BulkheadFullException} で拒否する
+ */
+public class BulkheadLimiter {
+
+    private final Workload workload;
+    private final int maxConcurrent;
+    private final int maxQueue;
+    private final long maxWaitNanos;
+    // 待ちの順に許可する（新しい呼び出しの割り込みで、待っている呼び出しが期限切れにならないように）
+    private final Semaphore permits;
+    private final AtomicInteger queued = new AtomicInteger();
+    private final Counter queueFull;
+    private final Counter waitTimeout;
+    private final Timer waitTimer;
+
+    public BulkheadLimiter(Workload workload, BulkheadProperties.Partition partition, MeterRegistry meterRegistry) {
+        if (partition.maxConcurrent() < 1 || partition.maxQueue() < 0) {
+            throw new IllegalArgumentException("バルクヘッドの同時実行数は1以上、待ち行列は0以上を指定してください: "
+                    + workload.tag());
+        }
+        this.workload = workload;
+        this.maxConcurrent = partition.maxConcurrent();
+        this.maxQueue = partition.maxQueue();
+        this.maxWaitNanos = partition.maxWait().toNanos();
+        this.permits = new Semaphore(maxConcurrent, true);
+
+        this.queueFull = Counter.builder("userapi.bulkhead.rejected")
+                .description("バルクヘッドで拒否した呼び出し数")
+                .tag("workload", workload.tag())
+                .tag("reason", "queue-full")
+                .register(meterRegistry);
+        this.waitTimeout = Counter.builder("userapi.bulkhead.rejected")
+                .description("バルクヘッドで拒否した呼び出し数")
+                .tag("workload", workload.tag())
+                .tag("reason", "wait-timeout")
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder("userapi.bulkhead.wait")
+                .description("バルクヘッドの空きを待った時間（待った呼び出しのみ）")
+                .tag("workload", workload.tag())
+                .register(meterRegistry);
+        Gauge.builder("userapi.bulkhead.active", this, BulkheadLimiter::active)
+                .description("実行中の呼び出し数")
+                .tag("workload", workload.tag())
+                .register(meterRegistry);
+        Gauge.builder("userapi.bulkhead.queued", queued, AtomicInteger::get)
+                .description("空きを待っている呼び出し数")
+                .tag("workload", workload.tag())
+                .register(meterRegistry);
+    }
+
+    /**
+     * 区画の許可を取得する（取得した場合は完了時にreleaseを呼ぶこと）
+     * @throws BulkheadFullException 待ち行列が上限に達している場合・待ち時間の上限を過ぎた場合
+     */
+    public void acquire() {
+        // 待っている呼び出しがなければ待ち行列を通さない
+        if (queued.get() == 0 && permits.tryAcquire()) {
+            return;
+        }
+        if (queued.incrementAndGet() > maxQueue) {
+            queued.decrementAndGet();
+            queueFull.increment();
+            throw new BulkheadFullException(workload,
+                    "サーバーが混雑しています（" + workload.tag() + "）。しばらくしてから再試行してください");
+        }
+        long start = System.nanoTime();
+        boolean acquired = false;
+        try {
+            acquired = permits.tryAcquire(waitNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } finally {
+            queued.decrementAndGet();
+            waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        if (!acquired) {
+            waitTimeout.increment();
+            throw new BulkheadFullException(workload,
+                    "サーバーが混雑しています（" + workload.tag() + "）。しばらくしてから再試行してください");
+        }
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    public Workload workload() {
+        return workload;
+    }
+
+    public int maxConcurrent() {
+        return maxConcurrent;
+    }
+
+    public int active() {
+        return maxConcurrent - permits.availablePermits();
+    }
+
+    public int queued() {
+        return queued.get();
+    }
+
+    /**
+     * 待ち時間（リクエストの期限が設定されている場合は、期限までの残り時間を超えない）
+     */
+    private long waitNanos() {
+        Deadline deadline = Deadline.current();
+        if (deadline == null) {
+            return maxWaitNanos;
+        }
+        return Math.max(0, Math.min(maxWaitNanos, deadline.remainingNanos()));
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.userapi.infrastructure.bulkhead;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link Bulkhead} を付けたクラス・メソッドの呼び出しを、区画の許可を取得してから実行する
+ */
+class BulkheadMethodInterceptor implements MethodInterceptor {
+
+    private final ObjectProvider<Bulkheads> bulkheadsProvider;
+    private final Map<Method, Workload> workloads = new ConcurrentHashMap<>();
+    private volatile Bulkheads bulkheads;
+
+    BulkheadMethodInterceptor(ObjectProvider<Bulkheads> bulkheadsProvider) {
+        this.bulkheadsProvider = bulkheadsProvider;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        if (Bulkheads.HELD.get() != null) {
+            return invocation.proceed();
+        }
+        Workload workload = workloads.computeIfAbsent(invocation.getMethod(), method ->
+                resolve(method, AopUtils.getTargetClass(invocation.getThis())));
+        BulkheadLimiter limiter = bulkheads().get(workload);
+        limiter.acquire();
+        Bulkheads.HELD.set(workload);
+        try {
+            return invocation.proceed();
+        } finally {
+            Bulkheads.HELD.remove();
+            limiter.release();
+        }
+    }
+
+    private static Workload resolve(Method method, Class<?> targetClass) {
+        Method specific = AopUtils.getMostSpecificMethod(method, targetClass);
+        Bulkhead annotation = AnnotatedElementUtils.findMergedAnnotation(specific, Bulkhead.class);
+        if (annotation == null) {
+            annotation = AnnotatedElementUtils.findMergedAnnotation(targetClass, Bulkhead.class);
+        }
+        if (annotation == null) {
+            throw new IllegalStateException("@Bulkhead が指定されていません: " + method);
+        }
+        return annotation.value();
+    }
+
+    private Bulkheads bulkheads() {
+        Bulkheads resolved = bulkheads;
+        if (resolved == null) {
+            // アドバイザーは他のBeanより先に作られるため、区画は初回呼び出し時に取得する
+            resolved = bulkheadsProvider.getObject();
+            bulkheads = resolved;
+        }
+        return resolved;
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.userapi.infrastructure.bulkhead;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * バルクヘッド設定
+ * 参照系と更新系で別々の同時実行数・待ち行列を持ち、一方の混雑が他方のスレッド・コネクションを奪わないようにする
+ *
+ * @param enabled バルクヘッドの有効/無効
+ * @param read    参照系の区画
+ * @param write   更新系の区画（BCrypt・コネクションを長く使うため小さく設定する）
+ */
+@ConfigurationProperties(prefix = "bulkhead")
+public record BulkheadProperties(
+        @DefaultValue("true") boolean enabled,
+        Partition read,
+        Partition write
+) {
+
+    public BulkheadProperties {
+        if (read == null) {
+            read = new Partition(32, 200, Duration.ofMillis(500));
+        }
+        if (write == null) {
+            write = new Partition(4, 32, Duration.ofSeconds(2));
+        }
+    }
+
+    /**
+     * 区画
+     *
+     * @param maxConcurrent 同時実行数の上限（実行中はそれぞれコネクションを1本使う）
+     * @param maxQueue      空きを待つ呼び出し数の上限（超えた場合はすぐに拒否する）
+     * @param maxWait       空きを待つ時間の上限（リクエストの期限が先に来る場合は期限まで）
+     */
+    public record Partition(
+            int maxConcurrent,
+            int maxQueue,
+            Duration maxWait
+    ) {
+    }
+
+    Partition partition(Workload workload) {
+        return workload == Workload.READ ? read : write;
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.userapi.infrastructure.bulkhead;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * バルクヘッドの区画（参照系・更新系）の一覧
+ */
+public class Bulkheads {
+
+    // 許可を取得済みのスレッド（入れ子の呼び出しは外側の許可で実行し、同じ区画の許可を二重に取得しない）
+    static final ThreadLocal<Workload> HELD = new ThreadLocal<>();
+
+    private final Map<Workload, BulkheadLimiter> limiters = new EnumMap<>(Workload.class);
+
+    public Bulkheads(BulkheadProperties properties, MeterRegistry meterRegistry) {
+        for (Workload workload : Workload.values()) {
+            limiters.put(workload, new BulkheadLimiter(workload, properties.partition(workload), meterRegistry));
+        }
+    }
+
+    public BulkheadLimiter get(Workload workload) {
+        return limiters.get(workload);
+    }
+
+    /**
+     * 区画の許可を取得して処理を実行する（{@link Bulkhead} を付けたメソッドと同じ扱い）。
+     * 一括変更・インポートのように、呼び出し全体ではなくチャンクのトランザクションごとに許可を取得する場合に使う
+     * @throws BulkheadFullException 区画に空きがない場合
+     */
+    public <T> T execute(Workload workload, Supplier<T> action) {
+        if (HELD.get() != null) {
+            return action.get();
+        }
+        BulkheadLimiter limiter = get(workload);
+        limiter.acquire();
+        HELD.set(workload);
+        try {
+            return action.get();
+        } finally {
+            HELD.remove();
+            limiter.release();
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.userapi.infrastructure.bulkhead;
+
+/**
+ * バルクヘッドの区画（参照系・更新系）
+ */
+public enum Workload {
+    READ("read"),
+    WRITE("write");
+
+    private final String tag;
+
+    Workload(String tag) {
+        this.tag = tag;
+    }
+
+    /**
+     * メトリクスのタグ値
+     */
+    public String tag() {
+        return tag;
+    }
+}
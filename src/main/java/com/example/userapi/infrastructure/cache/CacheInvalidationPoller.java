@@ -0,0 +1,139 @@
+package com.example.userapi.infrastructure.cache;
+
+import com.example.userapi.infrastructure.persistence.entity.UserInvalidationEntity;
+import com.example.userapi.infrastructure.persistence.mapper.UserInvalidationMapper;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * キャッシュ無効化テーブルのポーリング
+ * 高水位（取得済みの最大ID）より後のレコードをバッチで取得し、対象ユーザーをキャッシュから削除する。
+ * IDの採番順とコミット順は一致しないため、高水位より前で未取得のID（未コミットの可能性がある欠番）は
+ * gap-timeoutの間、再確認を続ける
+ */
+@Component
+@ConditionalOnProperty(prefix = "cache.user", name = "enabled", havingValue = "true")
+public class CacheInvalidationPoller {
+
+    private static final Logger log = LoggerFactory.getLogger(CacheInvalidationPoller.class);
+
+    // 再確認する欠番の上限（超えた場合はキャッシュを全件無効化して追跡をやめる）
+    private static final int MAX_TRACKED_GAPS = 1000;
+
+    private final UserInvalidationMapper invalidationMapper;
+    private final UserCache userCache;
+    private final UserCacheProperties properties;
+    private final Timer invalidationLag;
+
+    // 取得済みの最大ID（初回ポーリングまでは未初期化）
+    private long highWaterMark = -1;
+    // 欠番ID → 検出時刻（System.nanoTime）
+    private final Map<Long, Long> gaps = new LinkedHashMap<>();
+
+    public CacheInvalidationPoller(UserInvalidationMapper invalidationMapper,
+                                   UserCache userCache,
+                                   UserCacheProperties properties,
+                                   MeterRegistry meterRegistry) {
+        this.invalidationMapper = invalidationMapper;
+        this.userCache = userCache;
+        this.properties = properties;
+        this.invalidationLag = Timer.builder("userapi.cache.user.invalidation.lag")
+                .description("変更のコミットから、このノードのキャッシュに反映されるまでの時間")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 無効化レコードを取得してキャッシュに反映する（定期実行）
+     */
+    @Scheduled(fixedDelayString = "${cache.user.poll-interval:PT1S}")
+    public synchronized void poll() {
+        long startedNanos = System.nanoTime();
+        try {
+            if (highWaterMark < 0) {
+                // 起動時: キャッシュは空のため、既存の無効化レコードは不要
+                highWaterMark = invalidationMapper.selectMaxId();
+                userCache.invalidateAll();
+                userCache.markPolled(startedNanos);
+                return;
+            }
+            recheckGaps(startedNanos);
+            List<UserInvalidationEntity> batch;
+            do {
+                batch = invalidationMapper.selectAfter(highWaterMark, properties.batchSize());
+                for (UserInvalidationEntity invalidation : batch) {
+                    trackGaps(highWaterMark, invalidation.getId(), startedNanos);
+                    apply(invalidation);
+                    highWaterMark = invalidation.getId();
+                }
+            } while (batch.size() == properties.batchSize());
+            userCache.markPolled(startedNanos);
+        } catch (DataAccessException ex) {
+            // 成功するまでキャッシュは古さの上限を過ぎた時点でバイパスされる
+            log.warn("キャッシュ無効化テーブルの取得に失敗しました: {}", ex.getMessage());
+        }
+    }
+
+    /**
+     * 保持期間を過ぎた無効化レコードを削除する（定期実行）
+     */
+    @Scheduled(fixedDelayString = "${cache.user.cleanup-interval:PT10M}")
+    public void purgeExpired() {
+        try {
+            invalidationMapper.deleteBefore(LocalDateTime.now().minus(properties.retention()));
+        } catch (DataAccessException ex) {
+            log.warn("キャッシュ無効化レコードの削除に失敗しました: {}", ex.getMessage());
+        }
+    }
+
+    private void recheckGaps(long nowNanos) {
+        if (gaps.isEmpty()) {
+            return;
+        }
+        for (UserInvalidationEntity invalidation : invalidationMapper.selectByIds(gaps.keySet())) {
+            apply(invalidation);
+            gaps.remove(invalidation.getId());
+        }
+        // gap-timeoutを過ぎた欠番はロールバック（または採番のみ）とみなす
+        long timeoutNanos = properties.gapTimeout().toNanos();
+        Iterator<Long> detectedAt = gaps.values().iterator();
+        while (detectedAt.hasNext()) {
+            if (nowNanos - detectedAt.next() > timeoutNanos) {
+                detectedAt.remove();
+            }
+        }
+    }
+
+    private void trackGaps(long previousId, long id, long nowNanos) {
+        if (id - previousId - 1 + gaps.size() > MAX_TRACKED_GAPS) {
+            log.warn("無効化レコードの欠番が多すぎるため、キャッシュを全件無効化します");
+            gaps.clear();
+            userCache.invalidateAll();
+            return;
+        }
+        for (long missing = previousId + 1; missing < id; missing++) {
+            gaps.put(missing, nowNanos);
+        }
+    }
+
+    private void apply(UserInvalidationEntity invalidation) {
+        userCache.invalidate(invalidation.getUserId(), invalidation.getEmail());
+        if (invalidation.getCreatedAt() != null && invalidation.getPolledAt() != null) {
+            Duration lag = Duration.between(invalidation.getCreatedAt(), invalidation.getPolledAt());
+            invalidationLag.record(lag.isNegative() ? Duration.ZERO : lag);
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.example.userapi.infrastructure.cache;
+
+import com.example.userapi.domain.model.User;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ユーザーのノード内キャッシュ（ID・メールアドレスで検索）
+ * 他ノードの更新はCacheInvalidationPollerが無効化テーブルから反映する。
+ * 最後に成功したポーリングから許容時間（max-staleness）を過ぎた場合は、キャッシュを使わずDBを参照する
+ */
+@Component
+public class UserCache {
+
+    private final UserCacheProperties properties;
+    private final ConcurrentMap<Long, User> usersById = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Long> idsByEmail = new ConcurrentHashMap<>();
+    // 無効化の世代（DB読み込み中に無効化された値を書き戻さないための目印）
+    private final AtomicLong invalidations = new AtomicLong();
+
+    // この時刻（System.nanoTime）まではキャッシュの内容が許容範囲内の新しさであることが保証される
+    private volatile long freshUntilNanos;
+    private volatile long lastPollStartedNanos;
+    private volatile boolean polledOnce;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter bypasses;
+    private final Counter evictions;
+
+    public UserCache(UserCacheProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.hits = requestCounter(meterRegistry, "hit");
+        this.misses = requestCounter(meterRegistry, "miss");
+        this.bypasses = requestCounter(meterRegistry, "bypass");
+        this.evictions = Counter.builder("userapi.cache.user.evictions")
+                .description("無効化によるキャッシュ削除件数")
+                .register(meterRegistry);
+        Gauge.builder("userapi.cache.user.size", usersById, ConcurrentMap::size)
+                .description("キャッシュ中のユーザー数")
+                .register(meterRegistry);
+        Gauge.builder("userapi.cache.user.staleness", this, UserCache::stalenessSeconds)
+                .description("最後に成功したポーリングからの経過時間（キャッシュの古さの上限）")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return 書き込み時に無効化レコードを登録する必要がある場合true
+     */
+    public boolean isEnabled() {
+        return properties.enabled();
+    }
+
+    /**
+     * DB読み込み前に取得し、putの引数に渡す
+     */
+    public long stamp() {
+        return invalidations.get();
+    }
+
+    public Optional<User> getById(Long id) {
+        if (!usable()) {
+            return Optional.empty();
+        }
+        return record(usersById.get(id));
+    }
+
+    public Optional<User> getByEmail(String email) {
+        if (!usable()) {
+            return Optional.empty();
+        }
+        Long id = idsByEmail.get(email);
+        User user = id != null ? usersById.get(id) : null;
+        // 索引が古い場合（メールアドレス変更後）は未検出として扱う
+        if (user != null && !user.getEmail().getValue().equals(email)) {
+            user = null;
+        }
+        return record(user);
+    }
+
+    /**
+     * DBから読み込んだユーザーを登録する（読み込み開始後に無効化があった場合は登録しない）
+     * @param stamp 読み込み前に取得したstamp()
+     */
+    public void put(User user, long stamp) {
+        if (!properties.enabled() || user.getId() == null) {
+            return;
+        }
+        if (usersById.size() >= properties.maxEntries() && !usersById.containsKey(user.getId())) {
+            evictOne();
+        }
+        usersById.compute(user.getId(), (id, current) -> invalidations.get() == stamp ? user : current);
+        if (usersById.get(user.getId()) == user) {
+            idsByEmail.put(user.getEmail().getValue(), user.getId());
+        }
+    }
+
+    /**
+     * ユーザーを無効化する（ID・メールアドレスの両方）
+     */
+    public void invalidate(Long userId, String email) {
+        invalidations.incrementAndGet();
+        User removed = usersById.remove(userId);
+        if (removed != null) {
+            idsByEmail.remove(removed.getEmail().getValue(), userId);
+            evictions.increment();
+        }
+        if (email != null) {
+            idsByEmail.remove(email, userId);
+        }
+    }
+
+    /**
+     * 全件を無効化する（取りこぼしの可能性がある場合）
+     */
+    public void invalidateAll() {
+        invalidations.incrementAndGet();
+        evictions.increment(usersById.size());
+        usersById.clear();
+        idsByEmail.clear();
+    }
+
+    /**
+     * ポーリング成功を記録する
+     * @param pollStartedNanos ポーリング開始時刻（この時点までにコミットされた変更は反映済み）
+     */
+    void markPolled(long pollStartedNanos) {
+        lastPollStartedNanos = pollStartedNanos;
+        freshUntilNanos = pollStartedNanos + properties.maxStaleness().toNanos();
+        polledOnce = true;
+    }
+
+    private boolean usable() {
+        if (!properties.enabled()) {
+            return false;
+        }
+        if (!polledOnce || System.nanoTime() - freshUntilNanos > 0) {
+            bypasses.increment();
+            return false;
+        }
+        return true;
+    }
+
+    private Optional<User> record(User user) {
+        if (user == null) {
+            misses.increment();
+            return Optional.empty();
+        }
+        hits.increment();
+        return Optional.of(user);
+    }
+
+    private void evictOne() {
+        Iterator<User> iterator = usersById.values().iterator();
+        if (iterator.hasNext()) {
+            User victim = iterator.next();
+            usersById.remove(victim.getId(), victim);
+            idsByEmail.remove(victim.getEmail().getValue(), victim.getId());
+        }
+    }
+
+    private double stalenessSeconds() {
+        if (!polledOnce) {
+            return Double.NaN;
+        }
+        return (System.nanoTime() - lastPollStartedNanos) / (double) TimeUnit.SECONDS.toNanos(1);
+    }
+
+    private static Counter requestCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("userapi.cache.user.requests")
+                .description("キャッシュ参照件数（hit / miss / bypass: 古さの上限超過によりDBを参照）")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
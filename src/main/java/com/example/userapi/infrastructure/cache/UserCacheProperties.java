@@ -0,0 +1,29 @@
+package com.example.userapi.infrastructure.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * ユーザーキャッシュ設定
+ *
+ * @param enabled      キャッシュの有効/無効（無効の場合は無効化レコードも書き込まない）
+ * @param maxEntries   キャッシュする最大ユーザー数
+ * @param pollInterval 無効化テーブルのポーリング間隔
+ * @param batchSize    1回のポーリングで取得する最大件数
+ * @param maxStaleness 許容する最大の古さ（最後に成功したポーリングからこの時間を過ぎるとキャッシュを使わない）
+ * @param gapTimeout   採番済みで未コミットの無効化レコードを待つ時間（最長トランザクション時間より長くする）
+ * @param retention    無効化レコードの保持期間
+ */
+@ConfigurationProperties(prefix = "cache.user")
+public record UserCacheProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("10000") int maxEntries,
+        @DefaultValue("1s") Duration pollInterval,
+        @DefaultValue("500") int batchSize,
+        @DefaultValue("5s") Duration maxStaleness,
+        @DefaultValue("60s") Duration gapTimeout,
+        @DefaultValue("1d") Duration retention
+) {
+}
@@ -0,0 +1,108 @@
+package com.example.userapi.infrastructure.deadline;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * リクエストの期限
+ * 処理スレッドに設定し、SQLごとに残り時間をクエリタイムアウトとして設定する。
+ * 期限を過ぎた時点で実行中のSQLがあればキャンセルする（タイマースレッドから）
+ */
+public final class Deadline implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(Deadline.class);
+    private static final ThreadLocal<Deadline> CURRENT = new ThreadLocal<>();
+
+    private final Duration timeout;
+    private final long deadlineNanos;
+    // 実行中のSQL（期限切れ時にキャンセルする）
+    private final AtomicReference<Statement> running = new AtomicReference<>();
+    private volatile boolean expired;
+    private volatile ScheduledFuture<?> timer;
+
+    Deadline(Duration timeout) {
+        this.timeout = timeout;
+        this.deadlineNanos = System.nanoTime() + timeout.toNanos();
+    }
+
+    /**
+     * 現在のスレッドの期限（設定されていない場合はnull）
+     */
+    public static Deadline current() {
+        return CURRENT.get();
+    }
+
+    public Duration timeout() {
+        return timeout;
+    }
+
+    /**
+     * 残り時間（ナノ秒、期限切れの場合は0以下）
+     */
+    public long remainingNanos() {
+        return deadlineNanos - System.nanoTime();
+    }
+
+    public boolean isExpired() {
+        return expired || remainingNanos() <= 0;
+    }
+
+    void activate(ScheduledFuture<?> timer) {
+        this.timer = timer;
+        CURRENT.set(this);
+    }
+
+    /**
+     * 実行するSQLを登録する（期限切れの場合はすぐにキャンセルする）
+     */
+    void attach(Statement statement) {
+        running.set(statement);
+        if (isExpired()) {
+            cancel(statement);
+        }
+    }
+
+    void detach(Statement statement) {
+        running.compareAndSet(statement, null);
+    }
+
+    /**
+     * 期限切れにする（タイマースレッドから呼ばれる）
+     */
+    void expire() {
+        expired = true;
+        Statement statement = running.get();
+        if (statement != null) {
+            cancel(statement);
+        }
+    }
+
+    private void cancel(Statement statement) {
+        try {
+            statement.cancel();
+        } catch (SQLException ex) {
+            // 実行が終わって閉じられた後のキャンセルは無視する
+            log.debug("SQLのキャンセルに失敗しました: {}", ex.getMessage());
+        }
+    }
+
+    /**
+     * タイマーを止め、現在のスレッドから外す
+     */
+    @Override
+    public void close() {
+        ScheduledFuture<?> scheduled = timer;
+        if (scheduled != null) {
+            scheduled.cancel(false);
+        }
+        if (CURRENT.get() == this) {
+            CURRENT.remove();
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.userapi.infrastructure.deadline;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.ibatis.executor.statement.StatementHandler;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.InvocationTargetException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+
+/**
+ * 期限のSQLへの反映
+ * 期限が設定されたスレッドのSQLに、残り時間をクエリタイムアウト（秒単位、切り上げ）として設定し、
+ * 実行中は期限切れ時にキャンセルできるよう登録する。期限切れ後のSQLは実行しない。
+ * 期限切れによる失敗は SQLTimeoutException にするため、Springの QueryTimeoutException に変換される
+ */
+@Component
+@Intercepts({
+        @Signature(type = StatementHandler.class, method = "prepare", args = {Connection.class, Integer.class}),
+        @Signature(type = StatementHandler.class, method = "query", args = {Statement.class, ResultHandler.class}),
+        @Signature(type = StatementHandler.class, method = "update", args = {Statement.class}),
+        @Signature(type = StatementHandler.class, method = "batch", args = {Statement.class})
+})
+public class DeadlineStatementInterceptor implements Interceptor {
+
+    private static final String QUERY_CANCELED = "57014";
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final Counter rejected;
+    private final Counter cancelled;
+
+    public DeadlineStatementInterceptor(MeterRegistry meterRegistry) {
+        this.rejected = Counter.builder("userapi.deadline.exceeded").tag("stage", "before_statement")
+                .description("期限切れのため実行しなかったSQL数").register(meterRegistry);
+        this.cancelled = Counter.builder("userapi.deadline.exceeded").tag("stage", "statement")
+                .description("期限切れによりタイムアウト・キャンセルしたSQL数").register(meterRegistry);
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        Deadline deadline = Deadline.current();
+        if (deadline == null) {
+            return invocation.proceed();
+        }
+        if (invocation.getArgs()[0] instanceof Connection) {
+            return prepare(invocation, deadline);
+        }
+
+        Statement statement = (Statement) invocation.getArgs()[0];
+        deadline.attach(statement);
+        try {
+            return invocation.proceed();
+        } catch (InvocationTargetException ex) {
+            if (ex.getTargetException() instanceof SQLException cause && deadline.isExpired()) {
+                cancelled.increment();
+                throw new SQLTimeoutException(message(deadline), QUERY_CANCELED, cause);
+            }
+            throw ex;
+        } finally {
+            deadline.detach(statement);
+        }
+    }
+
+    private Object prepare(Invocation invocation, Deadline deadline) throws Throwable {
+        long remaining = deadline.remainingNanos();
+        if (deadline.isExpired()) {
+            rejected.increment();
+            throw new SQLTimeoutException(message(deadline), QUERY_CANCELED);
+        }
+        Statement statement = (Statement) invocation.proceed();
+        // 秒未満の残り時間はキャンセル（タイマー）で打ち切る
+        int seconds = (int) Math.min(Integer.MAX_VALUE, (remaining + NANOS_PER_SECOND - 1) / NANOS_PER_SECOND);
+        int configured = statement.getQueryTimeout();
+        if (configured == 0 || seconds < configured) {
+            statement.setQueryTimeout(seconds);
+        }
+        return statement;
+    }
+
+    private static String message(Deadline deadline) {
+        return "リクエストの期限（" + deadline.timeout().toMillis() + "ms）を過ぎたため、SQLの実行を中断しました";
+    }
+}
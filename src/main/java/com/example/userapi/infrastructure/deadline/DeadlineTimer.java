@@ -0,0 +1,44 @@
+package com.example.userapi.infrastructure.deadline;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 期限のタイマー
+ * 期限を開始して現在のスレッドに設定し、期限の時刻に実行中のSQLをキャンセルする
+ */
+@Component
+public class DeadlineTimer {
+
+    private final ScheduledThreadPoolExecutor scheduler;
+
+    public DeadlineTimer() {
+        this.scheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "deadline-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // 期限内に終わったリクエストのタイマーはキューに残さない
+        this.scheduler.setRemoveOnCancelPolicy(true);
+    }
+
+    /**
+     * 期限を開始する（終了時に {@link Deadline#close()} を呼ぶこと）
+     * @param timeout 期限までの時間
+     * @return 現在のスレッドに設定した期限
+     */
+    public Deadline start(Duration timeout) {
+        Deadline deadline = new Deadline(timeout);
+        deadline.activate(scheduler.schedule(deadline::expire, timeout.toNanos(), TimeUnit.NANOSECONDS));
+        return deadline;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.userapi.infrastructure.event;
+
+import com.example.userapi.domain.event.DomainEvent;
+import com.example.userapi.domain.event.DomainEventSubscriber;
+import com.example.userapi.domain.event.UserEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * ドメインイベントのログ出力（監査用）
+ * メールアドレスなどの個人情報を出力しないよう、イベントの種類と対象ユーザーのIDのみを出力する
+ */
+@Component
+public class DomainEventLogSubscriber implements DomainEventSubscriber {
+
+    private static final Logger log = LoggerFactory.getLogger(DomainEventLogSubscriber.class);
+
+    @Override
+    public String name() {
+        return "log";
+    }
+
+    @Override
+    public void onEvents(List<DomainEvent> events, boolean endOfBatch) {
+        if (!log.isDebugEnabled()) {
+            return;
+        }
+        for (DomainEvent event : events) {
+            Long userId = event instanceof UserEvent userEvent ? userEvent.userId() : null;
+            log.debug("ドメインイベント: type={}, userId={}, occurredAt={}",
+                    event.getClass().getSimpleName(), userId, event.occurredAt());
+        }
+    }
+}
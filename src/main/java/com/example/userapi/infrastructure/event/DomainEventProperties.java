@@ -0,0 +1,23 @@
+package com.example.userapi.infrastructure.event;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * ドメインイベント配信設定
+ *
+ * @param bufferSize      リングバッファのサイズ（2のべき乗に切り上げる）
+ * @param maxBatchSize    購読者に1回で渡す最大件数
+ * @param waitStrategy    購読者スレッドの待機方式
+ * @param shutdownTimeout 停止時に未配信イベントの配信を待つ時間
+ */
+@ConfigurationProperties(prefix = "events")
+public record DomainEventProperties(
+        @DefaultValue("8192") int bufferSize,
+        @DefaultValue("256") int maxBatchSize,
+        @DefaultValue("sleeping") WaitStrategyType waitStrategy,
+        @DefaultValue("5s") Duration shutdownTimeout
+) {
+}
@@ -0,0 +1,365 @@
+package com.example.userapi.infrastructure.event;
+
+import com.example.userapi.domain.event.DomainEvent;
+import com.example.userapi.domain.event.DomainEventSubscriber;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * インプロセスのドメインイベント配信（リングバッファ）
+ * 事前確保した固定長の配列にイベントを書き込み、購読者ごとの専用スレッドが自分の読み取り位置から
+ * 発行済みの範囲をまとめて（バッチで）配信する。
+ * 発行側の処理は書き込み位置のCASと配列への書き込みのみで、ロックや購読者の処理を待たない
+ * （最も遅い購読者がバッファ1周分遅れた場合のみ空きを待つ）
+ * 停止後に発行されたイベントは、配信スレッドの終了を待ってから呼び出し元のスレッドで配信する（破棄しない）
+ */
+@Component
+public class RingBufferEventDispatcher implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(RingBufferEventDispatcher.class);
+
+    private final DomainEvent[] entries;
+    // スロットごとの発行済み周回数（書き込み完了の目印）
+    private final AtomicIntegerArray availableLaps;
+    private final int mask;
+    private final int indexShift;
+    private final int maxBatchSize;
+    private final WaitStrategy waitStrategy;
+    private final long shutdownTimeoutNanos;
+
+    // 最後に確保された位置（-1から開始）
+    private final AtomicLong cursor = new AtomicLong(-1);
+    // 停止の確認から書き込みまでを実行中の発行数（配信スレッドはこれが0になるまで終了しない）
+    private final AtomicInteger activePublishers = new AtomicInteger();
+    private final List<Consumer> consumers = new ArrayList<>();
+    private final Counter publishStalls;
+
+    private volatile boolean running;
+
+    public RingBufferEventDispatcher(DomainEventProperties properties,
+                                     List<DomainEventSubscriber> subscribers,
+                                     MeterRegistry meterRegistry) {
+        if (properties.bufferSize() < 1 || properties.maxBatchSize() < 1) {
+            throw new IllegalArgumentException("バッファサイズとバッチサイズは正の値で指定してください");
+        }
+        int size = Integer.highestOneBit(Math.max(1, properties.bufferSize() - 1)) << 1;
+        this.entries = new DomainEvent[size];
+        this.availableLaps = new AtomicIntegerArray(size);
+        for (int i = 0; i < size; i++) {
+            availableLaps.set(i, -1);
+        }
+        this.mask = size - 1;
+        this.indexShift = Integer.numberOfTrailingZeros(size);
+        this.maxBatchSize = properties.maxBatchSize();
+        this.waitStrategy = properties.waitStrategy().create();
+        this.shutdownTimeoutNanos = properties.shutdownTimeout().toNanos();
+
+        for (DomainEventSubscriber subscriber : subscribers) {
+            consumers.add(new Consumer(subscriber, meterRegistry));
+        }
+        this.publishStalls = Counter.builder("userapi.events.publish.stalls")
+                .description("リングバッファの空き待ちが発生した発行回数")
+                .register(meterRegistry);
+        Gauge.builder("userapi.events.buffer.remaining", this, RingBufferEventDispatcher::remainingCapacity)
+                .description("リングバッファの空き容量")
+                .register(meterRegistry);
+    }
+
+    /**
+     * イベントを発行する
+     */
+    public void publish(DomainEvent event) {
+        activePublishers.incrementAndGet();
+        try {
+            long sequence = running ? claim(1) : -1;
+            if (sequence >= 0) {
+                write(sequence, event);
+                waitStrategy.signal();
+                return;
+            }
+        } finally {
+            activePublishers.decrementAndGet();
+        }
+        deliverDirectly(List.of(event));
+    }
+
+    /**
+     * 複数のイベントを連続した位置にまとめて発行する（位置の確保は1回）。
+     * バッファのサイズを超える場合（一括変更・インポートの1チャンク分など）は、バッファのサイズごとに分けて発行する
+     * （分けた間に他の発行が入ることはあるが、この呼び出しのイベントの順序は保つ）
+     */
+    public void publishAll(Collection<? extends DomainEvent> events) {
+        int n = events.size();
+        if (n == 0) {
+            return;
+        }
+        if (n <= entries.length) {
+            publishSlice(events, n);
+            return;
+        }
+        List<? extends DomainEvent> all = List.copyOf(events);
+        for (int from = 0; from < n; from += entries.length) {
+            List<? extends DomainEvent> slice = all.subList(from, Math.min(n, from + entries.length));
+            publishSlice(slice, slice.size());
+        }
+    }
+
+    private void publishSlice(Collection<? extends DomainEvent> events, int n) {
+        activePublishers.incrementAndGet();
+        try {
+            long last = running ? claim(n) : -1;
+            if (last >= 0) {
+                long sequence = last - n + 1;
+                for (DomainEvent event : events) {
+                    write(sequence++, event);
+                }
+                waitStrategy.signal();
+                return;
+            }
+        } finally {
+            activePublishers.decrementAndGet();
+        }
+        deliverDirectly(List.copyOf(events));
+    }
+
+    /**
+     * 停止後に発行されたイベントを呼び出し元のスレッドで配信する
+     * 配信スレッドの終了（停止前に発行されたイベントの配信）を待ってから配信するため、発行順は保たれる
+     */
+    private void deliverDirectly(List<DomainEvent> events) {
+        log.warn("イベント配信が停止しているため、呼び出し元のスレッドで配信します: {}件", events.size());
+        long deadline = System.nanoTime() + shutdownTimeoutNanos;
+        for (Consumer consumer : consumers) {
+            try {
+                long remaining = deadline - System.nanoTime();
+                consumer.thread.join(Math.max(1, TimeUnit.NANOSECONDS.toMillis(remaining)));
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            synchronized (consumer) {
+                consumer.deliver(events, true);
+            }
+        }
+    }
+
+    /**
+     * @return 購読者の遅延件数（発行済みで未配信のイベント数）
+     */
+    public long lag(String subscriberName) {
+        for (Consumer consumer : consumers) {
+            if (consumer.subscriber.name().equals(subscriberName)) {
+                return consumer.lag();
+            }
+        }
+        throw new IllegalArgumentException("購読者が登録されていません: " + subscriberName);
+    }
+
+    /**
+     * n件分の位置を確保する
+     * @return 確保した最後の位置（空きを待つ間に停止した場合は-1）
+     */
+    private long claim(int n) {
+        boolean stalled = false;
+        while (true) {
+            long current = cursor.get();
+            long next = current + n;
+            long wrapPoint = next - entries.length;
+            if (wrapPoint > minimumConsumerSequence(current)) {
+                // 最も遅い購読者がバッファ1周分遅れている
+                if (!running) {
+                    return -1;
+                }
+                if (!stalled) {
+                    stalled = true;
+                    publishStalls.increment();
+                }
+                LockSupport.parkNanos(1_000);
+                continue;
+            }
+            if (cursor.compareAndSet(current, next)) {
+                return next;
+            }
+        }
+    }
+
+    private void write(long sequence, DomainEvent event) {
+        int index = (int) sequence & mask;
+        entries[index] = event;
+        // 書き込み完了を公開（購読者はこの値を確認してから読む）
+        availableLaps.lazySet(index, (int) (sequence >>> indexShift));
+    }
+
+    private boolean isAvailable(long sequence) {
+        return availableLaps.get((int) sequence & mask) == (int) (sequence >>> indexShift);
+    }
+
+    /**
+     * from以降で連続して発行済みの最後の位置
+     */
+    private long highestPublished(long from, long claimed) {
+        for (long sequence = from; sequence <= claimed; sequence++) {
+            if (!isAvailable(sequence)) {
+                return sequence - 1;
+            }
+        }
+        return claimed;
+    }
+
+    private long minimumConsumerSequence(long defaultValue) {
+        long minimum = defaultValue;
+        for (Consumer consumer : consumers) {
+            minimum = Math.min(minimum, consumer.sequence.get());
+        }
+        return minimum;
+    }
+
+    private long remainingCapacity() {
+        long current = cursor.get();
+        return entries.length - (current - minimumConsumerSequence(current));
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        for (Consumer consumer : consumers) {
+            consumer.thread.start();
+        }
+    }
+
+    /**
+     * 停止する（発行済みのイベントは停止タイムアウトまで配信を続ける）
+     */
+    @Override
+    public void stop() {
+        running = false;
+        long deadline = System.nanoTime() + shutdownTimeoutNanos;
+        for (Consumer consumer : consumers) {
+            try {
+                long remaining = deadline - System.nanoTime();
+                consumer.thread.join(Math.max(1, TimeUnit.NANOSECONDS.toMillis(remaining)));
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            if (consumer.thread.isAlive()) {
+                log.warn("購読者の停止がタイムアウトしました: {} (未配信 {}件)",
+                        consumer.subscriber.name(), consumer.lag());
+                consumer.thread.interrupt();
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        // Webサーバーより先に開始し、Webサーバーの停止（処理中リクエストの完了）後に停止する
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    /**
+     * 購読者ごとの読み取り位置と配信スレッド
+     */
+    private final class Consumer implements Runnable {
+
+        private final DomainEventSubscriber subscriber;
+        // 配信済みの最後の位置
+        private final AtomicLong sequence = new AtomicLong(-1);
+        private final List<DomainEvent> batch = new ArrayList<>();
+        private final Thread thread;
+        private final Counter delivered;
+        private final Counter errors;
+        private final DistributionSummary batchSize;
+
+        Consumer(DomainEventSubscriber subscriber, MeterRegistry meterRegistry) {
+            this.subscriber = subscriber;
+            this.thread = new Thread(this, "domain-event-" + subscriber.name());
+            this.thread.setDaemon(true);
+            Gauge.builder("userapi.events.subscriber.lag", this, Consumer::lag)
+                    .description("購読者の未配信イベント数")
+                    .tag("subscriber", subscriber.name())
+                    .register(meterRegistry);
+            this.delivered = Counter.builder("userapi.events.delivered")
+                    .description("購読者に配信したイベント数")
+                    .tag("subscriber", subscriber.name())
+                    .register(meterRegistry);
+            this.errors = Counter.builder("userapi.events.subscriber.errors")
+                    .description("購読者の処理で例外が発生したバッチ数")
+                    .tag("subscriber", subscriber.name())
+                    .register(meterRegistry);
+            this.batchSize = DistributionSummary.builder("userapi.events.batch.size")
+                    .description("購読者に1回で配信したイベント数")
+                    .tag("subscriber", subscriber.name())
+                    .register(meterRegistry);
+        }
+
+        long lag() {
+            return Math.max(0, cursor.get() - sequence.get());
+        }
+
+        @Override
+        public void run() {
+            long next = sequence.get() + 1;
+            int idleCount = 0;
+            try {
+                while (true) {
+                    long available = highestPublished(next, cursor.get());
+                    if (available < next) {
+                        // 停止後も、実行中の発行が終わり確保済みの位置がすべて書き込まれるまで配信を続ける
+                        // （発行数を確認してから位置を読むため、以降の発行は呼び出し元のスレッドで配信される）
+                        if (!running && activePublishers.get() == 0 && cursor.get() < next) {
+                            return;
+                        }
+                        if (Thread.interrupted()) {
+                            throw new InterruptedException();
+                        }
+                        waitStrategy.idle(idleCount++);
+                        continue;
+                    }
+                    idleCount = 0;
+                    long end = Math.min(available, next + maxBatchSize - 1);
+                    batch.clear();
+                    for (long s = next; s <= end; s++) {
+                        batch.add(entries[(int) s & mask]);
+                    }
+                    synchronized (this) {
+                        deliver(batch, end == available);
+                    }
+                    sequence.lazySet(end);
+                    next = end + 1;
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private void deliver(List<DomainEvent> events, boolean endOfBatch) {
+            try {
+                subscriber.onEvents(events, endOfBatch);
+            } catch (RuntimeException ex) {
+                errors.increment();
+                log.warn("ドメインイベントの処理に失敗しました: subscriber={}, events={}",
+                        subscriber.name(), events.size(), ex);
+            }
+            delivered.increment(events.size());
+            batchSize.record(events.size());
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.userapi.infrastructure.event;
+
+import com.example.userapi.domain.event.DomainEvent;
+import com.example.userapi.domain.event.DomainEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * ドメインイベント発行（コミット後配信）
+ * トランザクション内で発行されたイベントをトランザクションごとに溜め、コミット後にまとめて配信する。
+ * ロールバック時は破棄し、トランザクション外で発行された場合は即時に配信する
+ */
+@Component
+public class TransactionalDomainEventPublisher implements DomainEventPublisher {
+
+    private final RingBufferEventDispatcher dispatcher;
+
+    public TransactionalDomainEventPublisher(RingBufferEventDispatcher dispatcher) {
+        this.dispatcher = dispatcher;
+    }
+
+    @Override
+    public void publish(DomainEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            dispatcher.publish(event);
+            return;
+        }
+        pendingEvents().add(event);
+    }
+
+    @Override
+    public void publishAll(Collection<? extends DomainEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            dispatcher.publishAll(events);
+            return;
+        }
+        pendingEvents().addAll(events);
+    }
+
+    /**
+     * 現在のトランザクションで発行待ちのイベント（初回はコミット後の配信を登録する）
+     */
+    private List<DomainEvent> pendingEvents() {
+        PendingEvents pending = (PendingEvents) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingEvents();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        return pending.events;
+    }
+
+    private final class PendingEvents implements TransactionSynchronization {
+
+        private final List<DomainEvent> events = new ArrayList<>();
+
+        @Override
+        public void afterCommit() {
+            dispatcher.publishAll(events);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(TransactionalDomainEventPublisher.this);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.userapi.infrastructure.event;
+
+/**
+ * 購読者スレッドの待機方式（新しいイベントがない間の振る舞い）
+ * 遅延とCPU使用率のトレードオフを選択する
+ */
+public interface WaitStrategy {
+
+    /**
+     * 新しいイベントを待つ
+     * @param idleCount 連続して空振りした回数（イベントを受け取ると0に戻る）
+     */
+    void idle(int idleCount) throws InterruptedException;
+
+    /**
+     * イベントの発行を待機中のスレッドに通知する（発行側から呼ばれる）
+     */
+    default void signal() {
+    }
+}
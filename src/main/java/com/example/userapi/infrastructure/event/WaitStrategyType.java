@@ -0,0 +1,101 @@
+package com.example.userapi.infrastructure.event;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 待機方式の種類
+ * <ul>
+ *   <li>BUSY_SPIN: 最小遅延。購読者ごとにCPUコアを1つ占有する</li>
+ *   <li>YIELDING: スピン後にスレッドを譲る。低遅延だがアイドル時もCPUを使う</li>
+ *   <li>SLEEPING: スピン・譲渡の後に短時間スリープする。発行側の負荷がなく、アイドル時のCPU使用率も低い</li>
+ *   <li>BLOCKING: ロックと条件変数で待機する。CPU使用率は最小だが、待機中の購読者がいると発行側で通知コストがかかる</li>
+ * </ul>
+ */
+public enum WaitStrategyType {
+
+    BUSY_SPIN {
+        @Override
+        public WaitStrategy create() {
+            return idleCount -> Thread.onSpinWait();
+        }
+    },
+
+    YIELDING {
+        @Override
+        public WaitStrategy create() {
+            return idleCount -> {
+                if (idleCount < SPIN_TRIES) {
+                    Thread.onSpinWait();
+                } else {
+                    Thread.yield();
+                }
+            };
+        }
+    },
+
+    SLEEPING {
+        @Override
+        public WaitStrategy create() {
+            return idleCount -> {
+                if (idleCount < SPIN_TRIES) {
+                    Thread.onSpinWait();
+                } else if (idleCount < SPIN_TRIES * 2) {
+                    Thread.yield();
+                } else {
+                    LockSupport.parkNanos(SLEEP_NANOS);
+                }
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+            };
+        }
+    },
+
+    BLOCKING {
+        @Override
+        public WaitStrategy create() {
+            return new WaitStrategy() {
+                private final ReentrantLock lock = new ReentrantLock();
+                private final Condition published = lock.newCondition();
+                private final AtomicInteger waiters = new AtomicInteger();
+
+                @Override
+                public void idle(int idleCount) throws InterruptedException {
+                    lock.lock();
+                    waiters.incrementAndGet();
+                    try {
+                        // 確認から待機までの間に発行された通知を取りこぼしても、タイムアウトで再確認する
+                        published.await(1, TimeUnit.MILLISECONDS);
+                    } finally {
+                        waiters.decrementAndGet();
+                        lock.unlock();
+                    }
+                }
+
+                @Override
+                public void signal() {
+                    if (waiters.get() > 0) {
+                        lock.lock();
+                        try {
+                            published.signalAll();
+                        } finally {
+                            lock.unlock();
+                        }
+                    }
+                }
+            };
+        }
+    };
+
+    private static final int SPIN_TRIES = 100;
+    private static final long SLEEP_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    /**
+     * @return 待機方式のインスタンス（購読者間で共有する）
+     */
+    public abstract WaitStrategy create();
+}
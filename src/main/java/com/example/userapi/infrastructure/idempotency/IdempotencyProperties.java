@@ -0,0 +1,23 @@
+package com.example.userapi.infrastructure.idempotency;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * 冪等キー設定
+ *
+ * @param store       ストア種別（memory / database）
+ * @param ttl         保存済みレスポンスの有効期間
+ * @param maxEntries  メモリ版ストアの最大保持件数
+ * @param waitTimeout 同一キーの先行リクエスト完了を待つ最大時間
+ */
+@ConfigurationProperties(prefix = "idempotency")
+public record IdempotencyProperties(
+        @DefaultValue("memory") String store,
+        @DefaultValue("24h") Duration ttl,
+        @DefaultValue("10000") int maxEntries,
+        @DefaultValue("10s") Duration waitTimeout
+) {
+}
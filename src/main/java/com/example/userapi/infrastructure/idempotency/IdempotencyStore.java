@@ -0,0 +1,33 @@
+package com.example.userapi.infrastructure.idempotency;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * 冪等キーストアインターフェース
+ * 実装はメモリ版とDBテーブル版を設定で切り替える（idempotency.store）
+ */
+public interface IdempotencyStore {
+
+    /**
+     * 有効期限内の保存済みレスポンスを検索する
+     * @param key 冪等キー
+     * @param now 現在日時
+     * @return 保存済みレスポンス（存在しない・期限切れの場合はEmpty）
+     */
+    Optional<StoredResponse> find(String key, LocalDateTime now);
+
+    /**
+     * レスポンスを保存する
+     * @param key 冪等キー
+     * @param response 保存するレスポンス
+     */
+    void save(String key, StoredResponse response);
+
+    /**
+     * 期限切れのエントリを削除する
+     * @param now 現在日時
+     * @return 削除件数
+     */
+    int purgeExpired(LocalDateTime now);
+}
@@ -0,0 +1,66 @@
+package com.example.userapi.infrastructure.idempotency;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 冪等キーストア実装（メモリ版）
+ * 件数上限を超えた場合は古いエントリから破棄する
+ */
+@Component
+@ConditionalOnProperty(prefix = "idempotency", name = "store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+
+    private final Map<String, StoredResponse> entries;
+
+    public InMemoryIdempotencyStore(IdempotencyProperties properties) {
+        int maxEntries = properties.maxEntries();
+        this.entries = new LinkedHashMap<>(16, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, StoredResponse> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    @Override
+    public synchronized Optional<StoredResponse> find(String key, LocalDateTime now) {
+        StoredResponse response = entries.get(key);
+        if (response == null) {
+            return Optional.empty();
+        }
+        if (response.isExpired(now)) {
+            entries.remove(key);
+            return Optional.empty();
+        }
+        return Optional.of(response);
+    }
+
+    @Override
+    public synchronized void save(String key, StoredResponse response) {
+        // 挿入順を有効期限順に保つため、既存キーは一度削除してから追加する
+        entries.remove(key);
+        entries.put(key, response);
+    }
+
+    @Override
+    public synchronized int purgeExpired(LocalDateTime now) {
+        int purged = 0;
+        Iterator<StoredResponse> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            // TTLは一定なので、期限切れでないエントリに到達した時点で打ち切る
+            if (!iterator.next().isExpired(now)) {
+                break;
+            }
+            iterator.remove();
+            purged++;
+        }
+        return purged;
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.userapi.infrastructure.idempotency;
+
+import com.example.userapi.infrastructure.persistence.entity.IdempotencyKeyEntity;
+import com.example.userapi.infrastructure.persistence.mapper.IdempotencyKeyMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * 冪等キーストア実装（DBテーブル版）
+ * 複数ノード間で保存済みレスポンスを共有する場合に使用
+ */
+@Component
+@ConditionalOnProperty(prefix = "idempotency", name = "store", havingValue = "database")
+public class MyBatisIdempotencyStore implements IdempotencyStore {
+
+    private final IdempotencyKeyMapper idempotencyKeyMapper;
+
+    public MyBatisIdempotencyStore(IdempotencyKeyMapper idempotencyKeyMapper) {
+        this.idempotencyKeyMapper = idempotencyKeyMapper;
+    }
+
+    @Override
+    public Optional<StoredResponse> find(String key, LocalDateTime now) {
+        return idempotencyKeyMapper.selectByKey(key, now)
+                .map(entity -> new StoredResponse(
+                        entity.getRequestHash(),
+                        entity.getStatus(),
+                        entity.getBody(),
+                        entity.getEtag(),
+                        entity.getExpiresAt()
+                ));
+    }
+
+    @Override
+    public void save(String key, StoredResponse response) {
+        idempotencyKeyMapper.upsert(new IdempotencyKeyEntity(
+                key,
+                response.requestHash(),
+                response.status(),
+                response.body(),
+                response.etag(),
+                response.expiresAt()
+        ));
+    }
+
+    @Override
+    public int purgeExpired(LocalDateTime now) {
+        return idempotencyKeyMapper.deleteExpired(now);
+    }
+}
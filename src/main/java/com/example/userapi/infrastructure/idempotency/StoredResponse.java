@@ -0,0 +1,19 @@
+package com.example.userapi.infrastructure.idempotency;
+
+import java.time.LocalDateTime;
+
+/**
+ * 冪等キーに紐づく保存済みレスポンス
+ * 再送時にそのまま返却するため、ステータスとJSONボディ、ETag（初回のレスポンスにない場合はnull）を保持する
+ */
+public record StoredResponse(
+        String requestHash,
+        int status,
+        String body,
+        String etag,
+        LocalDateTime expiresAt
+) {
+    public boolean isExpired(LocalDateTime now) {
+        return !expiresAt.isAfter(now);
+    }
+}
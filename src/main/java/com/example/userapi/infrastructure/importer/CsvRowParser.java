@@ -0,0 +1,79 @@
+package com.example.userapi.infrastructure.importer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * CSV行パーサー（RFC 4180の引用符に対応。フィールド内の改行には対応しない）
+ */
+public class CsvRowParser implements ImportRowParser {
+
+    private final int nameIndex;
+    private final int emailIndex;
+    private final int passwordIndex;
+    private final int passwordHashIndex;
+
+    /**
+     * @param header ヘッダー行（name, email と password / password_hash のいずれかが必須）
+     */
+    public CsvRowParser(String header) {
+        List<String> columns = split(header).stream()
+                .map(column -> column.trim().toLowerCase(Locale.ROOT))
+                .toList();
+        this.nameIndex = columns.indexOf("name");
+        this.emailIndex = columns.indexOf("email");
+        this.passwordIndex = columns.indexOf("password");
+        this.passwordHashIndex = columns.indexOf("password_hash");
+        if (nameIndex < 0 || emailIndex < 0 || (passwordIndex < 0 && passwordHashIndex < 0)) {
+            throw new IllegalArgumentException(
+                    "CSVのヘッダーには name, email と password または password_hash が必要です");
+        }
+    }
+
+    @Override
+    public ImportRow parse(String line) {
+        List<String> fields = split(line);
+        String passwordHash = field(fields, passwordHashIndex);
+        String password = passwordHash == null ? field(fields, passwordIndex) : null;
+        return new ImportRow(field(fields, nameIndex), field(fields, emailIndex), password, passwordHash);
+    }
+
+    private static String field(List<String> fields, int index) {
+        if (index < 0 || index >= fields.size() || fields.get(index).isEmpty()) {
+            return null;
+        }
+        return fields.get(index);
+    }
+
+    static List<String> split(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("引用符が閉じられていません");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
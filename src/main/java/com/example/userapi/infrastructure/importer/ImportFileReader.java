@@ -0,0 +1,117 @@
+package com.example.userapi.infrastructure.importer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * インポートファイルの行リーダー（NIO）
+ * ファイル全体を読み込まず固定長のバッファで順に読み、行ごとに次の行の開始位置（バイト数）を返す。
+ * 再開時はコミット済みの位置へシークして続きから読む
+ */
+public class ImportFileReader implements Closeable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final byte[] UTF8_BOM = {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF};
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private byte[] lineBytes = new byte[256];
+    // 次に読む位置（バッファ内の未読分を含まない論理位置）
+    private long position;
+
+    private ImportFileReader(FileChannel channel) {
+        this.channel = channel;
+        this.buffer.flip();
+    }
+
+    /**
+     * ファイルを開く（先頭のUTF-8 BOMは読み飛ばす）
+     */
+    public static ImportFileReader open(Path path) throws IOException {
+        ImportFileReader reader = new ImportFileReader(FileChannel.open(path, StandardOpenOption.READ));
+        ByteBuffer head = ByteBuffer.allocate(UTF8_BOM.length);
+        reader.channel.read(head, 0);
+        reader.seek(Arrays.equals(head.array(), UTF8_BOM) ? UTF8_BOM.length : 0);
+        return reader;
+    }
+
+    /**
+     * 読み込み位置を移動する
+     * @param offset ファイル先頭からのバイト数（行の先頭であること）
+     */
+    public void seek(long offset) throws IOException {
+        if (offset > channel.size()) {
+            throw new IllegalStateException("再開位置がファイルサイズを超えています: " + offset);
+        }
+        channel.position(offset);
+        buffer.clear().flip();
+        position = offset;
+    }
+
+    /**
+     * 次の行を読む
+     * @return 行（ファイル末尾の場合はnull）
+     */
+    public Line readLine() throws IOException {
+        int length = 0;
+        while (true) {
+            if (!buffer.hasRemaining()) {
+                buffer.clear();
+                int read = channel.read(buffer);
+                buffer.flip();
+                if (read < 0) {
+                    return length == 0 ? null : line(length);
+                }
+            }
+            while (buffer.hasRemaining()) {
+                byte b = buffer.get();
+                position++;
+                if (b == '\n') {
+                    return line(length);
+                }
+                if (length == lineBytes.length) {
+                    lineBytes = Arrays.copyOf(lineBytes, length * 2);
+                }
+                lineBytes[length++] = b;
+            }
+        }
+    }
+
+    /**
+     * 現在の読み込み位置（次の行の開始位置）
+     */
+    public long position() {
+        return position;
+    }
+
+    public long size() throws IOException {
+        return channel.size();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private Line line(int length) {
+        if (length > 0 && lineBytes[length - 1] == '\r') {
+            length--;
+        }
+        return new Line(new String(lineBytes, 0, length, StandardCharsets.UTF_8), position);
+    }
+
+    /**
+     * 読み込んだ行
+     *
+     * @param text      行の内容（改行を含まない）
+     * @param endOffset 次の行の開始位置（この行までを処理済みとして再開する位置）
+     */
+    public record Line(String text, long endOffset) {
+    }
+}
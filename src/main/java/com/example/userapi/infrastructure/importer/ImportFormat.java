@@ -0,0 +1,11 @@
+package com.example.userapi.infrastructure.importer;
+
+/**
+ * インポートファイル形式
+ */
+public enum ImportFormat {
+    /** 1行目がヘッダーのCSV（name, email, password または password_hash） */
+    CSV,
+    /** 1行1オブジェクトのJSON（name, email, password または passwordHash） */
+    NDJSON
+}
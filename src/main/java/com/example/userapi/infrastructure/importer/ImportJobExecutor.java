@@ -0,0 +1,155 @@
+package com.example.userapi.infrastructure.importer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * インポートジョブの実行スレッド管理
+ * ジョブ用スレッド（同時実行数を制限）と、パスワードのハッシュ化用スレッドプールを持つ。
+ * シャットダウン時は実行中のジョブにチャンク境界での中断を要求し、コミット済みの位置から再開できる状態で停止する
+ */
+@Component
+public class ImportJobExecutor implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(ImportJobExecutor.class);
+
+    private final ExecutorService jobExecutor;
+    private final ExecutorService hashExecutor;
+    private final Semaphore permits;
+    private final Set<String> runningJobs = ConcurrentHashMap.newKeySet();
+    private final Set<String> stopRequests = ConcurrentHashMap.newKeySet();
+    private final long shutdownTimeoutMillis;
+
+    private volatile boolean running;
+
+    public ImportJobExecutor(ImportProperties properties) {
+        int hashParallelism = properties.hashParallelism() > 0
+                ? properties.hashParallelism()
+                : Runtime.getRuntime().availableProcessors();
+        this.jobExecutor = Executors.newCachedThreadPool(threadFactory("user-import-"));
+        this.hashExecutor = Executors.newFixedThreadPool(hashParallelism, threadFactory("user-import-hash-"));
+        this.permits = new Semaphore(properties.maxConcurrentJobs());
+        this.shutdownTimeoutMillis = properties.shutdownTimeout().toMillis();
+    }
+
+    /**
+     * ジョブを実行する
+     * @param jobId ジョブID
+     * @param job 処理
+     * @return 完了通知
+     * @throws ImportJobRejectedException 同じジョブを実行中、または同時実行数の上限に達している場合
+     */
+    public CompletableFuture<Void> submit(String jobId, Runnable job) {
+        if (!running) {
+            throw new ImportJobRejectedException("シャットダウン中のためインポートを開始できません");
+        }
+        if (!runningJobs.add(jobId)) {
+            throw new ImportJobRejectedException("このインポートは実行中です: " + jobId);
+        }
+        if (!permits.tryAcquire()) {
+            runningJobs.remove(jobId);
+            throw new ImportJobRejectedException("実行中のインポートが上限に達しています");
+        }
+        stopRequests.remove(jobId);
+        try {
+            return CompletableFuture.runAsync(job, jobExecutor)
+                    .whenComplete((result, ex) -> {
+                        runningJobs.remove(jobId);
+                        stopRequests.remove(jobId);
+                        permits.release();
+                    });
+        } catch (RuntimeException ex) {
+            runningJobs.remove(jobId);
+            permits.release();
+            throw ex;
+        }
+    }
+
+    /**
+     * 実行中のジョブに中断を要求する（現在のチャンクのコミット後に停止する）
+     * @return 実行中だった場合true
+     */
+    public boolean requestStop(String jobId) {
+        if (!runningJobs.contains(jobId)) {
+            return false;
+        }
+        stopRequests.add(jobId);
+        return true;
+    }
+
+    /**
+     * 中断すべきかどうか（チャンクの区切りごとに確認する）
+     */
+    public boolean isStopRequested(String jobId) {
+        return !running || stopRequests.contains(jobId);
+    }
+
+    public boolean isRunning(String jobId) {
+        return runningJobs.contains(jobId);
+    }
+
+    /**
+     * パスワードのハッシュ化用スレッドプール
+     */
+    public ExecutorService hashExecutor() {
+        return hashExecutor;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        jobExecutor.shutdown();
+        try {
+            if (!jobExecutor.awaitTermination(shutdownTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                log.warn("インポートの停止がタイムアウトしました: {}", runningJobs);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        hashExecutor.shutdownNow();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        // Webサーバーとドメインイベント配信より後に開始し、先に停止する（停止中のチャンクのイベントを配信させるため）
+        return SmartLifecycle.DEFAULT_PHASE - 1024;
+    }
+
+    private static ThreadFactory threadFactory(String prefix) {
+        AtomicInteger sequence = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    // カスタム例外
+    public static class ImportJobRejectedException extends RuntimeException {
+        public ImportJobRejectedException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.userapi.infrastructure.importer;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * 一括インポート設定
+ *
+ * @param baseDirectory     インポートファイルを置くディレクトリ（これ以外のパスは受け付けない）
+ * @param chunkSize         1トランザクションで登録する行数（この行数ごとにコミットし、読み込み位置を記録する）
+ * @param hashParallelism   パスワードのハッシュ化に使うスレッド数（0の場合はCPU数）
+ * @param maxConcurrentJobs 同時に実行するジョブ数の上限
+ * @param maxRetries        チャンク登録中にメールアドレスの一意制約違反が起きた場合の再試行回数
+ * @param shutdownTimeout   シャットダウン時に実行中のチャンクの完了を待つ時間
+ * @param staleAfter        実行中のまま進捗の更新がこの時間止まっているジョブは、異常終了したとみなして再開を許可する
+ * @param file              起動時に実行するインポートファイル（コマンドライン実行用）
+ * @param format            起動時に実行するインポートファイルの形式
+ * @param jobId             起動時に再開するジョブID
+ */
+@ConfigurationProperties(prefix = "importer")
+public record ImportProperties(
+        @DefaultValue("imports") Path baseDirectory,
+        @DefaultValue("1000") int chunkSize,
+        @DefaultValue("0") int hashParallelism,
+        @DefaultValue("1") int maxConcurrentJobs,
+        @DefaultValue("3") int maxRetries,
+        @DefaultValue("30s") Duration shutdownTimeout,
+        @DefaultValue("10m") Duration staleAfter,
+        Path file,
+        ImportFormat format,
+        String jobId
+) {
+}
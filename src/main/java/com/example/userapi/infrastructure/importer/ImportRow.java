@@ -0,0 +1,17 @@
+package com.example.userapi.infrastructure.importer;
+
+/**
+ * インポートファイルの1行（検証前）
+ *
+ * @param name         名前
+ * @param email        メールアドレス
+ * @param password     平文パスワード（passwordHash指定時はnull）
+ * @param passwordHash BCryptハッシュ化済みパスワード（password指定時はnull）
+ */
+public record ImportRow(String name, String email, String password, String passwordHash) {
+
+    @Override
+    public String toString() {
+        return "ImportRow{name=" + name + ", email=" + email + ", password=[PROTECTED]}";
+    }
+}
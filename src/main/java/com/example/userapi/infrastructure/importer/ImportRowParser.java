@@ -0,0 +1,15 @@
+package com.example.userapi.infrastructure.importer;
+
+/**
+ * インポートファイルの行パーサー
+ * 形式エラーはIllegalArgumentExceptionとし、その行だけを不正行として扱う
+ */
+public interface ImportRowParser {
+
+    /**
+     * 1行を解析する
+     * @param line 行（改行を含まない）
+     * @return 解析結果
+     */
+    ImportRow parse(String line);
+}
@@ -0,0 +1,17 @@
+package com.example.userapi.infrastructure.importer;
+
+/**
+ * インポートジョブの状態
+ */
+public enum ImportStatus {
+    RUNNING,
+    /** 停止要求・シャットダウンにより中断（再開可能） */
+    INTERRUPTED,
+    COMPLETED,
+    /** 読み込み・登録エラーにより中断（再開可能） */
+    FAILED;
+
+    public boolean isResumable() {
+        return this == INTERRUPTED || this == FAILED;
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.userapi.infrastructure.importer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * NDJSON行パーサー
+ */
+public class NdjsonRowParser implements ImportRowParser {
+
+    private final ObjectMapper objectMapper;
+
+    public NdjsonRowParser(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public ImportRow parse(String line) {
+        JsonNode node;
+        try {
+            node = objectMapper.readTree(line);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalArgumentException("JSONの形式が正しくありません");
+        }
+        if (node == null || !node.isObject()) {
+            throw new IllegalArgumentException("JSONオブジェクトではありません");
+        }
+        String passwordHash = text(node, "passwordHash");
+        String password = passwordHash == null ? text(node, "password") : null;
+        return new ImportRow(text(node, "name"), text(node, "email"), password, passwordHash);
+    }
+
+    private static String text(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+}
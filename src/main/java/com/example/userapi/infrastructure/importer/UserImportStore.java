@@ -0,0 +1,41 @@
+package com.example.userapi.infrastructure.importer;
+
+import com.example.userapi.infrastructure.persistence.entity.UserImportEntity;
+import com.example.userapi.infrastructure.persistence.mapper.UserImportMapper;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * インポートジョブの進捗ストア（user_imports テーブル）
+ */
+@Component
+public class UserImportStore {
+
+    private final UserImportMapper userImportMapper;
+
+    public UserImportStore(UserImportMapper userImportMapper) {
+        this.userImportMapper = userImportMapper;
+    }
+
+    public UserImportEntity create(String jobId, Path file, ImportFormat format) {
+        userImportMapper.insert(new UserImportEntity(jobId, file.toString(), format.name(), ImportStatus.RUNNING.name()));
+        return find(jobId).orElseThrow(() -> new RuntimeException("インポートジョブの登録に失敗しました"));
+    }
+
+    public Optional<UserImportEntity> find(String jobId) {
+        return userImportMapper.selectByJobId(jobId);
+    }
+
+    /**
+     * 読み込み位置と件数を保存する（呼び出し元のトランザクションで実行される）
+     */
+    public void saveProgress(UserImportEntity job) {
+        userImportMapper.updateProgress(job);
+    }
+
+    public void updateStatus(String jobId, ImportStatus status, String error) {
+        userImportMapper.updateStatus(jobId, status.name(), error);
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.userapi.infrastructure.limit;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 適応型の同時実行数リミッター
+ * 処理時間をもとに一定間隔でAimdLimitの上限を更新し、上限を超える要求は待たせずに即座に拒否する
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private final AimdLimit aimdLimit;
+    private final long windowNanos;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger peakInFlight = new AtomicInteger();
+    private final LongAdder rttTotalNanos = new LongAdder();
+    private final LongAdder rttCount = new LongAdder();
+    private final LongAdder rejectedInWindow = new LongAdder();
+    private final AtomicLong nextUpdateNanos;
+    private final AtomicBoolean updating = new AtomicBoolean();
+
+    private volatile int limit;
+
+    public AdaptiveConcurrencyLimiter(AimdLimit aimdLimit, long windowNanos) {
+        this.aimdLimit = aimdLimit;
+        this.windowNanos = windowNanos;
+        this.limit = aimdLimit.getLimit();
+        this.nextUpdateNanos = new AtomicLong(System.nanoTime() + windowNanos);
+    }
+
+    /**
+     * 実行枠を取得する
+     * @return 取得できた場合true（trueの場合は必ずreleaseを呼ぶこと）
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                rejectedInWindow.increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                peakInFlight.accumulateAndGet(current + 1, Math::max);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 実行枠を返却する
+     * @param rttNanos 処理時間（ナノ秒）
+     */
+    public void release(long rttNanos) {
+        inFlight.decrementAndGet();
+        rttTotalNanos.add(rttNanos);
+        rttCount.increment();
+
+        long now = System.nanoTime();
+        if (now - nextUpdateNanos.get() >= 0 && updating.compareAndSet(false, true)) {
+            try {
+                nextUpdateNanos.set(now + windowNanos);
+                updateLimit();
+            } finally {
+                updating.set(false);
+            }
+        }
+    }
+
+    private void updateLimit() {
+        long count = rttCount.sumThenReset();
+        long total = rttTotalNanos.sumThenReset();
+        long averageRtt = count == 0 ? 0 : total / count;
+        int peak = peakInFlight.getAndSet(inFlight.get());
+        int rejected = (int) Math.min(Integer.MAX_VALUE, rejectedInWindow.sumThenReset());
+        limit = aimdLimit.update(averageRtt, peak, rejected);
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.userapi.infrastructure.limit;
+
+/**
+ * AIMD方式の同時実行数リミット（加算増加・乗算減少）
+ * 平均レイテンシが閾値を超えたら上限を一定比率で縮小し、需要が上限に達している間は sqrt(limit) ずつ増やす。
+ * 需要が少ない間は上限を維持する（縮小しない）ため、アイドル後のバーストをそのまま受け入れられる。
+ * 最小レイテンシを使わないため、計測し直し（上限の半減）も行わない。
+ * スレッドセーフではないため、呼び出し側で単一スレッドから更新すること。
+ */
+public class AimdLimit {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final double backoffRatio;
+
+    private double limit;
+
+    /**
+     * @param latencyThresholdNanos 平均レイテンシの閾値（超えた場合に縮小する）
+     * @param backoffRatio 縮小時に上限に掛ける比率（0より大きく1未満）
+     */
+    public AimdLimit(int initialLimit, int minLimit, int maxLimit, long latencyThresholdNanos, double backoffRatio) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("リミットの範囲が不正です: min=" + minLimit + ", max=" + maxLimit);
+        }
+        if (latencyThresholdNanos <= 0) {
+            throw new IllegalArgumentException("レイテンシの閾値は正の値で指定してください");
+        }
+        if (backoffRatio <= 0.0 || backoffRatio >= 1.0) {
+            throw new IllegalArgumentException("backoffRatioは0より大きく1未満で指定してください");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyThresholdNanos = latencyThresholdNanos;
+        this.backoffRatio = backoffRatio;
+        this.limit = clamp(initialLimit);
+    }
+
+    /**
+     * 観測値で上限を更新する
+     * @param rttNanos 直近区間の平均レイテンシ（観測なしの場合は0以下）
+     * @param inFlight 直近区間の実行中の件数（最大値）
+     * @param rejected 直近区間に上限超過で拒否した件数
+     * @return 更新後の上限
+     */
+    public int update(long rttNanos, int inFlight, int rejected) {
+        if (rttNanos > latencyThresholdNanos) {
+            limit = clamp(limit * backoffRatio);
+        } else if (rttNanos > 0 && (rejected > 0 || inFlight >= getLimit())) {
+            limit = clamp(limit + Math.sqrt(limit));
+        }
+        return getLimit();
+    }
+
+    public int getLimit() {
+        return (int) Math.round(limit);
+    }
+
+    private double clamp(double value) {
+        return Math.max(minLimit, Math.min(maxLimit, value));
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.userapi.infrastructure.limit;
+
+/**
+ * 勾配方式の同時実行数リミット（Vegas/Gradient系アルゴリズム）
+ * 最小レイテンシと直近レイテンシの比（勾配）で上限を増減させる
+ *
+ * <pre>
+ * gradient = clamp(tolerance * minRtt / rtt, 0.5, 1.0)
+ * newLimit = limit * gradient + sqrt(limit)
+ * </pre>
+ *
+ * レイテンシが最小値付近の間は sqrt(limit) ずつ増やし、飽和してレイテンシが伸びると縮小する。
+ * 需要（実行中+待機中）が上限の半分を下回る場合は、需要の2倍を目標に縮小する。
+ * 飽和状態が続くと最小レイテンシが観測できなくなるため、一定サンプルごとに上限を半減して計測し直す
+ * （実行中の件数が上限に達している間は見送り、上限を下回った時点で行う）。
+ * スレッドセーフではないため、呼び出し側で単一スレッドから更新すること。
+ */
+public class GradientLimit {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double smoothing;
+    private final int minRttResetSamples;
+
+    private double limit;
+    private long minRttNanos = Long.MAX_VALUE;
+    private int samplesSinceReset;
+
+    public GradientLimit(int initialLimit, int minLimit, int maxLimit,
+                         double tolerance, double smoothing, int minRttResetSamples) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("リミットの範囲が不正です: min=" + minLimit + ", max=" + maxLimit);
+        }
+        if (tolerance < 1.0) {
+            throw new IllegalArgumentException("toleranceは1.0以上で指定してください");
+        }
+        if (smoothing <= 0.0 || smoothing > 1.0) {
+            throw new IllegalArgumentException("smoothingは0より大きく1以下で指定してください");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.smoothing = smoothing;
+        this.minRttResetSamples = minRttResetSamples;
+        this.limit = clamp(initialLimit);
+    }
+
+    /**
+     * 観測値で上限を更新する
+     * @param rttNanos 直近区間の平均レイテンシ（観測なしの場合は0以下）
+     * @param inFlight 実行中の件数
+     * @param queued 待機中の件数
+     * @return 更新後の上限
+     */
+    public int update(long rttNanos, int inFlight, int queued) {
+        int demand = inFlight + queued;
+
+        // 需要が上限の半分未満: レイテンシに関係なく需要に合わせて縮小する
+        if (demand < limit / 2) {
+            double target = Math.max(minLimit, demand * 2.0);
+            limit = clamp(limit * (1 - smoothing) + target * smoothing);
+            return getLimit();
+        }
+        if (rttNanos <= 0) {
+            return getLimit();
+        }
+
+        // 最小レイテンシの再計測（プローブ）: 環境の変化（DBの性能変化など）に追従する
+        // 実行中の件数が上限に達している間（ピーク時）は容量が落ちるため、上限を下回るまで見送る
+        if (minRttResetSamples > 0 && ++samplesSinceReset >= minRttResetSamples && inFlight < getLimit()) {
+            samplesSinceReset = 0;
+            minRttNanos = Long.MAX_VALUE;
+            limit = clamp(limit / 2);
+            return getLimit();
+        }
+        minRttNanos = Math.min(minRttNanos, rttNanos);
+
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * minRttNanos / rttNanos));
+        // 待機がない場合は増加させない（余剰な上限を持たない）
+        double queueAllowance = queued > 0 ? Math.sqrt(limit) : 0.0;
+        double newLimit = limit * gradient + queueAllowance;
+        limit = clamp(limit * (1 - smoothing) + newLimit * smoothing);
+        return getLimit();
+    }
+
+    public int getLimit() {
+        return (int) Math.round(limit);
+    }
+
+    public long getMinRttNanos() {
+        return minRttNanos == Long.MAX_VALUE ? 0 : minRttNanos;
+    }
+
+    private double clamp(double value) {
+        return Math.max(minLimit, Math.min(maxLimit, value));
+    }
+}
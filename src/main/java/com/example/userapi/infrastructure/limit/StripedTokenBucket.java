@@ -0,0 +1,61 @@
+package com.example.userapi.infrastructure.limit;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * ストライプ化されたロックフリーのトークンバケット
+ * キー（クライアント・エンドポイント）のハッシュで固定数のバケットに振り分けるため、キー数が増えてもメモリは一定。
+ * 各バケットはGCRA（トークンバケットと等価）で、状態を1つのlong値としてCASで更新する
+ */
+public class StripedTokenBucket {
+
+    // 隣接バケットを別キャッシュラインに配置して偽共有を避ける（8 * 8バイト = 64バイト）
+    private static final int PADDING = 8;
+
+    private final AtomicLongArray theoreticalArrivalTimes;
+    private final int mask;
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final long originNanos = System.nanoTime();
+
+    /**
+     * @param stripes バケット数（2のべき乗に切り上げる）
+     * @param ratePerSecond 1秒あたりの補充トークン数
+     * @param burst バケット容量（連続して許可する最大数）
+     */
+    public StripedTokenBucket(int stripes, double ratePerSecond, int burst) {
+        if (ratePerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("レートとバースト数は正の値で指定してください");
+        }
+        int size = Integer.highestOneBit(Math.max(1, stripes - 1)) << 1;
+        this.theoreticalArrivalTimes = new AtomicLongArray(size * PADDING);
+        this.mask = size - 1;
+        this.emissionIntervalNanos = (long) (1_000_000_000L / ratePerSecond);
+        this.burstToleranceNanos = emissionIntervalNanos * burst;
+    }
+
+    /**
+     * トークンを1つ取得する
+     * @param key バケットを選択するキー
+     * @return 0の場合は許可、正の値の場合は次に許可されるまでの時間（ナノ秒）
+     */
+    public long tryAcquire(Object key) {
+        int index = (spread(key.hashCode()) & mask) * PADDING;
+        long now = System.nanoTime() - originNanos;
+        while (true) {
+            long tat = theoreticalArrivalTimes.get(index);
+            long newTat = Math.max(tat, now) + emissionIntervalNanos;
+            long waitNanos = newTat - now - burstToleranceNanos;
+            if (waitNanos > 0) {
+                return waitNanos;
+            }
+            if (theoreticalArrivalTimes.compareAndSet(index, tat, newTat)) {
+                return 0;
+            }
+        }
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -0,0 +1,196 @@
+package com.example.userapi.infrastructure.logging;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * 非同期ログの送信路（固定長リングバッファ）
+ * 処理スレッドは書き込み位置のCASと配列への書き込みのみを行い、出力（整形・ログ出力）は専用スレッドがまとめて行う。
+ * ドメインイベントの配信と異なり、バッファが満杯の場合は待たずにレコードを捨てる（処理スレッドを止めない）。
+ * 容量の一部は優先レコード（遅いSQLなど）用に確保し、通常のレコードはそれ以上溜まった時点で捨てる
+ *
+ * @param <T> レコードの型
+ */
+public class AsyncLogPipeline<T> implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(AsyncLogPipeline.class);
+    private static final int MAX_BATCH_SIZE = 256;
+    private static final int SPIN_TRIES = 100;
+    private static final long IDLE_SLEEP_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 5_000;
+
+    private final String name;
+    private final Object[] entries;
+    // スロットごとの書き込み済み周回数（書き込み完了の目印）
+    private final AtomicIntegerArray availableLaps;
+    private final int mask;
+    private final int indexShift;
+    private final int normalLimit;
+    private final Consumer<List<T>> sink;
+
+    // 最後に確保された位置・最後に出力した位置（-1から開始）
+    private final AtomicLong cursor = new AtomicLong(-1);
+    private final AtomicLong consumed = new AtomicLong(-1);
+    private final Counter written;
+    private final Counter dropped;
+    private final Counter failed;
+    private final Thread thread;
+
+    private volatile boolean running;
+
+    /**
+     * @param name          メトリクス名の接頭辞・スレッド名
+     * @param bufferSize    バッファサイズ（2のべき乗に切り上げる）
+     * @param priorityShare 優先レコード用に確保する割合（0.0〜1.0未満）
+     * @param sink          出力処理（専用スレッドから最大256件ずつ呼ばれる）
+     */
+    public AsyncLogPipeline(String name, int bufferSize, double priorityShare, Consumer<List<T>> sink,
+                            MeterRegistry meterRegistry) {
+        if (bufferSize < 2 || priorityShare < 0 || priorityShare >= 1) {
+            throw new IllegalArgumentException("バッファサイズは2以上、優先枠の割合は0.0以上1.0未満で指定してください");
+        }
+        int size = Integer.highestOneBit(bufferSize - 1) << 1;
+        this.name = name;
+        this.entries = new Object[size];
+        this.availableLaps = new AtomicIntegerArray(size);
+        for (int i = 0; i < size; i++) {
+            availableLaps.set(i, -1);
+        }
+        this.mask = size - 1;
+        this.indexShift = Integer.numberOfTrailingZeros(size);
+        this.normalLimit = Math.max(1, size - (int) (size * priorityShare));
+        this.sink = sink;
+
+        this.written = Counter.builder(name + ".records").tag("result", "written")
+                .description("出力したログレコード数").register(meterRegistry);
+        this.dropped = Counter.builder(name + ".records").tag("result", "dropped")
+                .description("バッファが満杯のため捨てたログレコード数").register(meterRegistry);
+        this.failed = Counter.builder(name + ".records").tag("result", "failed")
+                .description("出力に失敗したログレコード数").register(meterRegistry);
+        Gauge.builder(name + ".buffer.remaining", this, AsyncLogPipeline::remainingCapacity)
+                .description("ログバッファの空き容量")
+                .register(meterRegistry);
+        this.thread = new Thread(this::run, name);
+        this.thread.setDaemon(true);
+    }
+
+    /**
+     * レコードを追加する（待たない）
+     * @param record   レコード
+     * @param priority 優先レコードか（優先枠まで使用できる）
+     * @return 追加した場合true（バッファが満杯で捨てた場合false）
+     */
+    public boolean offer(T record, boolean priority) {
+        int limit = priority ? entries.length : normalLimit;
+        while (true) {
+            long current = cursor.get();
+            long next = current + 1;
+            if (next - consumed.get() > limit) {
+                dropped.increment();
+                return false;
+            }
+            if (cursor.compareAndSet(current, next)) {
+                int index = (int) next & mask;
+                entries[index] = record;
+                // 書き込み完了を公開（出力スレッドはこの値を確認してから読む）
+                availableLaps.lazySet(index, (int) (next >>> indexShift));
+                return true;
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void run() {
+        List<T> batch = new ArrayList<>(MAX_BATCH_SIZE);
+        int idleCount = 0;
+        while (true) {
+            long next = consumed.get() + 1;
+            while (batch.size() < MAX_BATCH_SIZE && isAvailable(next)) {
+                int index = (int) next & mask;
+                batch.add((T) entries[index]);
+                entries[index] = null;
+                next++;
+            }
+            if (!batch.isEmpty()) {
+                // 取り出した時点でスロットを解放する（出力中も処理スレッドは書き込める）
+                consumed.lazySet(next - 1);
+                deliver(batch);
+                batch.clear();
+                idleCount = 0;
+                continue;
+            }
+            // 停止後は、確保済みのレコードをすべて出力してから終了する
+            if (!running && cursor.get() <= consumed.get()) {
+                return;
+            }
+            if (idleCount++ < SPIN_TRIES) {
+                Thread.onSpinWait();
+            } else {
+                LockSupport.parkNanos(IDLE_SLEEP_NANOS);
+            }
+        }
+    }
+
+    private void deliver(List<T> batch) {
+        try {
+            sink.accept(batch);
+            written.increment(batch.size());
+        } catch (RuntimeException ex) {
+            failed.increment(batch.size());
+            log.warn("ログの出力に失敗しました: {} ({}件)", name, batch.size(), ex);
+        }
+    }
+
+    private boolean isAvailable(long sequence) {
+        return availableLaps.get((int) sequence & mask) == (int) (sequence >>> indexShift);
+    }
+
+    private long remainingCapacity() {
+        return entries.length - (cursor.get() - consumed.get());
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        thread.start();
+    }
+
+    /**
+     * 停止する（追加済みのレコードは出力してから終了する）
+     */
+    @Override
+    public void stop() {
+        running = false;
+        try {
+            thread.join(SHUTDOWN_TIMEOUT_MILLIS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        if (thread.isAlive()) {
+            log.warn("ログ出力の停止がタイムアウトしました: {} (未出力 {}件)", name, cursor.get() - consumed.get());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        // Webサーバーより先に開始し、Webサーバーの停止（処理中リクエストの完了）後に停止する
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+}
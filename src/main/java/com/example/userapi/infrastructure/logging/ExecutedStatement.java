@@ -0,0 +1,31 @@
+package com.example.userapi.infrastructure.logging;
+
+import org.apache.ibatis.mapping.MappedStatement;
+
+import java.util.Map;
+
+/**
+ * 出力対象として選ばれた実行済みのSQL（整形前）
+ * パラメーターは処理スレッドで伏せ字にしたコピーを持つ（パラメーターのオブジェクトは実行後に変更されうるため参照しない）。
+ * JSON化は出力スレッドで行う
+ *
+ * @param epochMillis   実行終了日時
+ * @param statement     文
+ * @param parameters    伏せ字にしたパラメーター（ない場合・バッチ実行の場合はnull）
+ * @param durationNanos 実行時間（バッチ実行の場合はまとめて送信した時間）
+ * @param rows          取得・更新件数（不明な場合はnull）
+ * @param statements    バッチ実行でまとめて送信した文の数（バッチ実行以外はnull）
+ * @param slow          閾値以上かかったか
+ * @param traceId       トレースID（ない場合はnull）
+ */
+record ExecutedStatement(
+        long epochMillis,
+        MappedStatement statement,
+        Map<String, Object> parameters,
+        long durationNanos,
+        Integer rows,
+        Integer statements,
+        boolean slow,
+        String traceId
+) {
+}
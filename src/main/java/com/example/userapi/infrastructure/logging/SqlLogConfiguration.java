@@ -0,0 +1,34 @@
+package com.example.userapi.infrastructure.logging;
+
+import com.example.userapi.infrastructure.tracing.Tracer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * SQLログの設定
+ * サンプリング・遅延SQLの判定を行うインターセプターと、非同期の送信路を登録する
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "sql-log", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class SqlLogConfiguration {
+
+    // 容量の1/4は遅いSQL用に確保する（通常のSQLで埋まっても遅いSQLは出力する）
+    private static final double SLOW_STATEMENT_SHARE = 0.25;
+
+    @Bean
+    public AsyncLogPipeline<ExecutedStatement> sqlLogPipeline(SqlLogProperties properties, ObjectMapper objectMapper,
+                                                              MeterRegistry meterRegistry) {
+        return new AsyncLogPipeline<>("userapi.sql.log", properties.bufferSize(), SLOW_STATEMENT_SHARE,
+                new SqlLogWriter(objectMapper), meterRegistry);
+    }
+
+    @Bean
+    public SqlLogInterceptor sqlLogInterceptor(AsyncLogPipeline<ExecutedStatement> sqlLogPipeline,
+                                               SqlLogProperties properties, ObjectProvider<Tracer> tracer) {
+        return new SqlLogInterceptor(sqlLogPipeline, properties, tracer.getIfAvailable());
+    }
+}
@@ -0,0 +1,179 @@
+package com.example.userapi.infrastructure.logging;
+
+import com.example.userapi.infrastructure.tracing.TraceContext;
+import com.example.userapi.infrastructure.tracing.Tracer;
+import org.apache.ibatis.executor.BatchResult;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.executor.statement.StatementHandler;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.reflection.SystemMetaObject;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ResultHandler;
+
+import java.lang.reflect.Proxy;
+import java.sql.Statement;
+import java.time.temporal.TemporalAccessor;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * SQLログのインターセプター
+ * 実行時間を計測し、閾値以上かかったSQLと、通常のSQLのうちサンプリングしたものだけを非同期の送信路に渡す。
+ * 出力しないSQLのコストは時刻の取得2回と乱数1回のみ（MyBatis標準のDEBUGログのような同期出力は行わない）。
+ * バッチ実行（ExecutorType.BATCH）では文の追加（addBatch）はSQLを送信しないため、まとめて送信する
+ * flushStatements の時間を計測し、JDBCバッチごとに記録する。
+ * 出力するSQLのパラメーターは、実行後に呼び出し側が変更しても影響しないよう処理スレッドで伏せ字にして渡す
+ */
+@Intercepts({
+        @Signature(type = StatementHandler.class, method = "query", args = {Statement.class, ResultHandler.class}),
+        @Signature(type = StatementHandler.class, method = "update", args = {Statement.class}),
+        @Signature(type = Executor.class, method = "flushStatements", args = {})
+})
+public class SqlLogInterceptor implements Interceptor {
+
+    private static final String REDACTED = "***";
+
+    private final AsyncLogPipeline<ExecutedStatement> pipeline;
+    private final double sampleRate;
+    private final long slowThresholdNanos;
+    private final Tracer tracer;
+
+    /**
+     * @param tracer トレーサー（トレーシング無効の場合はnull）
+     */
+    public SqlLogInterceptor(AsyncLogPipeline<ExecutedStatement> pipeline, SqlLogProperties properties, Tracer tracer) {
+        if (properties.sampleRate() < 0 || properties.sampleRate() > 1) {
+            throw new IllegalArgumentException("sql-log.sample-rate は0.0〜1.0で指定してください: " + properties.sampleRate());
+        }
+        this.pipeline = pipeline;
+        this.sampleRate = properties.sampleRate();
+        this.slowThresholdNanos = properties.slowThreshold().toNanos();
+        this.tracer = tracer;
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        long start = System.nanoTime();
+        Object result = invocation.proceed();
+        long elapsed = System.nanoTime() - start;
+
+        boolean slow = elapsed >= slowThresholdNanos;
+        if (!slow && !sampled()) {
+            return result;
+        }
+        if (invocation.getTarget() instanceof Executor) {
+            offerBatches(result, elapsed, slow);
+            return result;
+        }
+        StatementHandler handler = (StatementHandler) invocation.getTarget();
+        MappedStatement statement = mappedStatement(handler);
+        Integer rows = result instanceof List<?> list ? Integer.valueOf(list.size())
+                : result instanceof Integer count ? count : null;
+        pipeline.offer(new ExecutedStatement(System.currentTimeMillis(), statement,
+                parameters(statement.getConfiguration(), handler.getBoundSql()),
+                elapsed, rows, null, slow, traceId()), slow);
+        return result;
+    }
+
+    private boolean sampled() {
+        return sampleRate >= 1.0 || (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate);
+    }
+
+    /**
+     * まとめて送信したJDBCバッチごとに記録する（時間は送信全体、件数は更新件数の合計）。
+     * 送信する文がなかった場合（バッチ以外のコミット時など）は記録しない
+     */
+    private void offerBatches(Object result, long elapsed, boolean slow) {
+        if (!(result instanceof List<?> batches) || batches.isEmpty()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        String traceId = traceId();
+        for (Object batch : batches) {
+            BatchResult executed = (BatchResult) batch;
+            pipeline.offer(new ExecutedStatement(now, executed.getMappedStatement(), null, elapsed,
+                    updatedRows(executed.getUpdateCounts()), executed.getParameterObjects().size(),
+                    slow, traceId), slow);
+        }
+    }
+
+    /**
+     * 更新件数の合計（件数を返さないドライバーの場合はnull）
+     */
+    private static Integer updatedRows(int[] counts) {
+        int rows = 0;
+        for (int count : counts) {
+            if (count < 0) {
+                return null;
+            }
+            rows += count;
+        }
+        return rows;
+    }
+
+    private String traceId() {
+        TraceContext trace = tracer == null ? null : tracer.currentContext();
+        return trace == null ? null : trace.traceId();
+    }
+
+    /**
+     * 文の情報はStatementHandlerの内部（RoutingStatementHandler → 実体）にあるため、
+     * 他のプラグインのプロキシを外してから取り出す
+     */
+    private static MappedStatement mappedStatement(StatementHandler handler) {
+        Object target = handler;
+        while (Proxy.isProxyClass(target.getClass())) {
+            target = SystemMetaObject.forObject(Proxy.getInvocationHandler(target)).getValue("target");
+        }
+        MetaObject meta = SystemMetaObject.forObject(target);
+        return (MappedStatement) meta.getValue("delegate.mappedStatement");
+    }
+
+    /**
+     * プレースホルダーごとのパラメーター（MyBatisが値を設定するときと同じ方法で取り出す）。
+     * 数値・真偽値・日時のみ値を出し、文字列（メールアドレス・名前・パスワードハッシュなど）は伏せ字にする
+     */
+    private static Map<String, Object> parameters(Configuration configuration, BoundSql boundSql) {
+        List<ParameterMapping> mappings = boundSql.getParameterMappings();
+        if (mappings.isEmpty()) {
+            return null;
+        }
+        Object parameterObject = boundSql.getParameterObject();
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        for (ParameterMapping mapping : mappings) {
+            String property = mapping.getProperty();
+            Object value;
+            if (boundSql.hasAdditionalParameter(property)) {
+                value = boundSql.getAdditionalParameter(property);
+            } else if (parameterObject == null) {
+                value = null;
+            } else if (configuration.getTypeHandlerRegistry().hasTypeHandler(parameterObject.getClass())) {
+                value = parameterObject;
+            } else {
+                value = configuration.newMetaObject(parameterObject).getValue(property);
+            }
+            parameters.put(property, redact(value));
+        }
+        return parameters;
+    }
+
+    private static Object redact(Object value) {
+        if (value == null || value instanceof Number || value instanceof Boolean) {
+            return value;
+        }
+        if (value instanceof TemporalAccessor || value instanceof Date || value instanceof Enum<?>) {
+            return value.toString();
+        }
+        return REDACTED;
+    }
+}
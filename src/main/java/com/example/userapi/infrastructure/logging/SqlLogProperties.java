@@ -0,0 +1,23 @@
+package com.example.userapi.infrastructure.logging;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * SQLログ設定
+ *
+ * @param enabled       SQLログを出力するか
+ * @param sampleRate    通常のSQLを出力する割合（0.0〜1.0）
+ * @param slowThreshold この時間以上かかったSQLは割合によらず出力する
+ * @param bufferSize    非同期出力のバッファサイズ（満杯の場合は捨てる）
+ */
+@ConfigurationProperties(prefix = "sql-log")
+public record SqlLogProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("0.01") double sampleRate,
+        @DefaultValue("200ms") Duration slowThreshold,
+        @DefaultValue("4096") int bufferSize
+) {
+}
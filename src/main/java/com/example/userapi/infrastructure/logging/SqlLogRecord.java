@@ -0,0 +1,32 @@
+package com.example.userapi.infrastructure.logging;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.Map;
+
+/**
+ * SQLログのレコード（1行1レコードのJSONで出力する）
+ *
+ * @param timestamp      実行終了日時（ISO-8601）
+ * @param statement      文ID（マッパー名.メソッド名）
+ * @param command        種類（SELECT / INSERT / UPDATE / DELETE）
+ * @param durationMicros 実行時間（マイクロ秒、結果の読み込みを含む。バッチ実行の場合はまとめて送信した時間）
+ * @param rows           取得・更新件数（ドライバーが件数を返さない場合はnull）
+ * @param statements     バッチ実行でまとめて送信した文の数（バッチ実行の場合のみ）
+ * @param slow           閾値以上かかったか
+ * @param traceId        トレースID（記録中のトレース内で実行された場合のみ）
+ * @param parameters     パラメーター（文字列は伏せ字）
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record SqlLogRecord(
+        String timestamp,
+        String statement,
+        String command,
+        long durationMicros,
+        Integer rows,
+        Integer statements,
+        boolean slow,
+        String traceId,
+        Map<String, Object> parameters
+) {
+}
@@ -0,0 +1,61 @@
+package com.example.userapi.infrastructure.logging;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * SQLログの出力（出力スレッドで実行）
+ * パラメーターは処理スレッドで伏せ字にしたもの（SqlLogInterceptor）をそのまま出力する。
+ * ロガー名は com.example.userapi.sql（レベルをINFOより上にすると出力しない）
+ */
+class SqlLogWriter implements Consumer<List<ExecutedStatement>> {
+
+    static final String LOGGER_NAME = "com.example.userapi.sql";
+    private static final Logger log = LoggerFactory.getLogger(LOGGER_NAME);
+
+    private final ObjectWriter writer;
+
+    SqlLogWriter(ObjectMapper objectMapper) {
+        this.writer = objectMapper.writerFor(SqlLogRecord.class);
+    }
+
+    @Override
+    public void accept(List<ExecutedStatement> statements) {
+        if (!log.isInfoEnabled()) {
+            return;
+        }
+        for (ExecutedStatement executed : statements) {
+            try {
+                log.info(writer.writeValueAsString(toRecord(executed)));
+            } catch (JsonProcessingException ex) {
+                log.warn("SQLログの整形に失敗しました: {}", executed.statement().getId());
+            }
+        }
+    }
+
+    static SqlLogRecord toRecord(ExecutedStatement executed) {
+        return new SqlLogRecord(
+                Instant.ofEpochMilli(executed.epochMillis()).toString(),
+                shortName(executed.statement().getId()),
+                executed.statement().getSqlCommandType().name(),
+                executed.durationNanos() / 1_000,
+                executed.rows(),
+                executed.statements(),
+                executed.slow(),
+                executed.traceId(),
+                executed.parameters());
+    }
+
+    private static String shortName(String statementId) {
+        int method = statementId.lastIndexOf('.');
+        int type = method > 0 ? statementId.lastIndexOf('.', method - 1) : -1;
+        return statementId.substring(type + 1);
+    }
+}
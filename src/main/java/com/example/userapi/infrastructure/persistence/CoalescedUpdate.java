@@ -0,0 +1,13 @@
+package com.example.userapi.infrastructure.persistence;
+
+import com.example.userapi.domain.model.User;
+
+/**
+ * まとめた更新（write-behind）
+ * 同じユーザーへの複数の更新を、最新の状態1件として反映する
+ *
+ * @param latest      反映する状態（バージョン・更新日時は応答済みの値）
+ * @param baseVersion DB上の現在のバージョン（一致しない場合は反映しない）
+ */
+public record CoalescedUpdate(User latest, long baseVersion) {
+}
@@ -2,53 +2,162 @@ package com.example.userapi.infrastructure.persistence;
 
 import com.example.userapi.domain.model.Email;
 import com.example.userapi.domain.model.User;
+import com.example.userapi.domain.repository.UserBatchResult;
 import com.example.userapi.domain.repository.UserRepository;
+import com.example.userapi.infrastructure.cache.UserCache;
 import com.example.userapi.infrastructure.persistence.entity.UserEntity;
+import com.example.userapi.infrastructure.persistence.entity.UserInvalidationEntity;
+import com.example.userapi.infrastructure.persistence.id.UserIdGenerator;
 import com.example.userapi.infrastructure.persistence.mapper.UserEntityMapper;
+import com.example.userapi.infrastructure.persistence.mapper.UserInvalidationMapper;
 import com.example.userapi.infrastructure.persistence.mapper.UserMapper;
+import org.apache.ibatis.executor.BatchResult;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.mybatis.spring.SqlSessionTemplate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
  * ユーザーリポジトリ実装（MyBatis版）
  * MyBatisマッパーを使用してデータベースにアクセス
+ * 参照系（読み取り専用トランザクション）のID・メールアドレス検索はノード内キャッシュを利用し、
+ * 更新・削除時は同じトランザクションで無効化レコードを登録して他ノードのキャッシュに反映させる。
+ * 一括変更はバッチ実行用のセッション（ExecutorType.BATCH）で種類ごとにまとめてJDBCバッチとして送信する。
+ * IDの採番（UserIdGenerator）が設定されている場合は、登録前にIDを決めて挿入する
  */
 @Repository
+@ConditionalOnProperty(prefix = "persistence", name = "store", havingValue = "database", matchIfMissing = true)
 public class UserRepositoryImpl implements UserRepository {
 
     private final UserMapper userMapper;
+    private final UserInvalidationMapper invalidationMapper;
+    private final UserCache userCache;
+    // バッチ実行用（同じトランザクション内で通常のマッパーと混在させない）
+    private final SqlSessionTemplate batchSession;
+    private final UserMapper batchUserMapper;
+    private final UserInvalidationMapper batchInvalidationMapper;
+    // nullの場合はDBのAUTO_INCREMENTで採番する
+    private final UserIdGenerator idGenerator;
 
-    public UserRepositoryImpl(UserMapper userMapper) {
+    public UserRepositoryImpl(UserMapper userMapper,
+                              UserInvalidationMapper invalidationMapper,
+                              UserCache userCache,
+                              SqlSessionFactory sqlSessionFactory,
+                              ObjectProvider<UserIdGenerator> idGenerator) {
         this.userMapper = userMapper;
+        this.invalidationMapper = invalidationMapper;
+        this.userCache = userCache;
+        this.idGenerator = idGenerator.getIfAvailable();
+        this.batchSession = new SqlSessionTemplate(sqlSessionFactory, ExecutorType.BATCH);
+        this.batchUserMapper = batchSession.getMapper(UserMapper.class);
+        this.batchInvalidationMapper = batchSession.getMapper(UserInvalidationMapper.class);
     }
 
     @Override
     public User save(User user) {
         UserEntity entity = UserEntityMapper.toEntity(user);
 
-        int inserted = userMapper.insert(entity);
+        int inserted;
+        if (idGenerator != null) {
+            entity.setId(idGenerator.nextId());
+            inserted = userMapper.insertWithId(entity);
+        } else {
+            inserted = userMapper.insert(entity);
+        }
         if (inserted == 0) {
             throw new RuntimeException("ユーザーの保存に失敗しました");
         }
 
-        // 自動採番されたIDを使って再取得
+        // 採番されたIDを使って再取得
         return findById(entity.getId())
                 .orElseThrow(() -> new RuntimeException("保存したユーザーの取得に失敗しました"));
     }
 
+    @Override
+    public List<User> saveAll(List<User> users) {
+        if (users.isEmpty()) {
+            return List.of();
+        }
+        List<UserEntity> entities = users.stream()
+                .map(UserEntityMapper::toEntity)
+                .collect(Collectors.toList());
+        int inserted;
+        if (idGenerator != null) {
+            entities.forEach(entity -> entity.setId(idGenerator.nextId()));
+            inserted = userMapper.insertAllWithId(entities);
+        } else {
+            inserted = userMapper.insertAll(entities);
+        }
+        if (inserted != entities.size()) {
+            throw new RuntimeException("ユーザーの一括保存に失敗しました");
+        }
+
+        List<User> saved = new ArrayList<>(entities.size());
+        for (int i = 0; i < entities.size(); i++) {
+            User user = users.get(i);
+            saved.add(new User(entities.get(i).getId(), user.getName(), user.getEmail(), user.getPassword(),
+                    null, null, 0L));
+        }
+        return saved;
+    }
+
     @Override
     public Optional<User> findById(Long id) {
-        return userMapper.selectById(id)
+        if (!cacheable()) {
+            return userMapper.selectById(id)
+                    .map(UserEntityMapper::toDomain);
+        }
+        Optional<User> cached = userCache.getById(id);
+        if (cached.isPresent()) {
+            return cached;
+        }
+        long stamp = userCache.stamp();
+        Optional<User> user = userMapper.selectById(id)
                 .map(UserEntityMapper::toDomain);
+        user.ifPresent(found -> userCache.put(found, stamp));
+        return user;
+    }
+
+    @Override
+    public List<User> findAllById(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return userMapper.selectByIds(ids).stream()
+                .map(UserEntityMapper::toDomain)
+                .collect(Collectors.toList());
     }
 
     @Override
     public Optional<User> findByEmail(Email email) {
-        return userMapper.selectByEmail(email.getValue())
+        if (!cacheable()) {
+            return userMapper.selectByEmail(email.getValue())
+                    .map(UserEntityMapper::toDomain);
+        }
+        Optional<User> cached = userCache.getByEmail(email.getValue());
+        if (cached.isPresent()) {
+            return cached;
+        }
+        long stamp = userCache.stamp();
+        Optional<User> user = userMapper.selectByEmail(email.getValue())
                 .map(UserEntityMapper::toDomain);
+        user.ifPresent(found -> userCache.put(found, stamp));
+        return user;
     }
 
     @Override
@@ -58,34 +167,222 @@ public class UserRepositoryImpl implements UserRepository {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public List<User> findAllAfter(long afterId, int limit) {
+        return userMapper.selectAfter(afterId, limit).stream()
+                .map(UserEntityMapper::toDomain)
+                .collect(Collectors.toList());
+    }
+
     @Override
     public User update(User user) {
         if (user.getId() == null) {
             throw new IllegalArgumentException("更新対象のユーザーIDが指定されていません");
         }
+        if (user.getVersion() == null) {
+            throw new IllegalArgumentException("更新対象のユーザーのバージョンが指定されていません");
+        }
 
         UserEntity entity = UserEntityMapper.toEntity(user);
 
+        // 読み込み後に他の処理が更新・削除していた場合は0件になる
         int updated = userMapper.update(entity);
         if (updated == 0) {
-            throw new RuntimeException("ユーザーが見つかりません: ID=" + user.getId());
+            throw new OptimisticLockingFailureException(
+                    "ユーザーは他の処理により更新されています: ID=" + user.getId());
         }
+        invalidate(user.getId(), user.getEmail().getValue());
 
-        return findById(user.getId())
+        return userMapper.selectById(user.getId())
+                .map(UserEntityMapper::toDomain)
                 .orElseThrow(() -> new RuntimeException("更新したユーザーの取得に失敗しました"));
     }
 
     @Override
     public void deleteById(Long id) {
+        Optional<UserEntity> existing = userCache.isEnabled() ? userMapper.selectById(id) : Optional.empty();
         int deleted = userMapper.deleteById(id);
         if (deleted == 0) {
             throw new RuntimeException("ユーザーが見つかりません: ID=" + id);
         }
+        invalidate(id, existing.map(UserEntity::getEmail).orElse(""));
+    }
+
+    @Override
+    public UserBatchResult applyBatch(List<User> creates, List<User> updates, List<User> deletes) {
+        // トランザクション外ではバッチセッションが文ごとにコミットされ、まとめて送信されない
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("一括変更はトランザクション内で実行してください");
+        }
+        for (User user : updates) {
+            if (user.getId() == null || user.getVersion() == null) {
+                throw new IllegalArgumentException("更新対象のユーザーIDとバージョンを指定してください");
+            }
+        }
+
+        // 同じ文が連続するよう種類ごとに追加する（文ごとに1回のJDBCバッチになる）
+        List<UserEntity> inserted = new ArrayList<>(creates.size());
+        for (User user : creates) {
+            UserEntity entity = UserEntityMapper.toEntity(user);
+            if (idGenerator != null) {
+                entity.setId(idGenerator.nextId());
+                batchUserMapper.insertWithId(entity);
+            } else {
+                batchUserMapper.insert(entity);
+            }
+            inserted.add(entity);
+        }
+        for (User user : updates) {
+            batchUserMapper.update(UserEntityMapper.toEntity(user));
+        }
+        for (User user : deletes) {
+            batchUserMapper.deleteByIdAndVersion(user.getId(), user.getVersion());
+        }
+        if (userCache.isEnabled()) {
+            for (User user : updates) {
+                batchInvalidationMapper.insert(new UserInvalidationEntity(user.getId(), user.getEmail().getValue()));
+            }
+            for (User user : deletes) {
+                batchInvalidationMapper.insert(new UserInvalidationEntity(user.getId(), user.getEmail().getValue()));
+            }
+        }
+
+        Set<Long> conflicts = new HashSet<>();
+        for (BatchResult result : batchSession.flushStatements()) {
+            String statement = result.getMappedStatement().getId();
+            int[] counts = result.getUpdateCounts();
+            List<Object> parameters = result.getParameterObjects();
+            if (statement.endsWith(".update")) {
+                for (int i = 0; i < counts.length; i++) {
+                    if (!applied(counts[i])) {
+                        conflicts.add(((UserEntity) parameters.get(i)).getId());
+                    }
+                }
+            } else if (statement.endsWith(".deleteByIdAndVersion")) {
+                for (int i = 0; i < counts.length; i++) {
+                    if (!applied(counts[i])) {
+                        conflicts.add((Long) ((Map<?, ?>) parameters.get(i)).get("id"));
+                    }
+                }
+            }
+        }
+
+        // このノードのキャッシュは、競合したものも含めて削除する（無効化レコードと同じ扱い）
+        for (User user : updates) {
+            evict(user.getId(), user.getEmail().getValue());
+        }
+        for (User user : deletes) {
+            evict(user.getId(), user.getEmail().getValue());
+        }
+
+        List<User> created = new ArrayList<>(creates.size());
+        for (int i = 0; i < creates.size(); i++) {
+            User user = creates.get(i);
+            created.add(new User(inserted.get(i).getId(), user.getName(), user.getEmail(), user.getPassword(),
+                    null, null, 0L));
+        }
+        return new UserBatchResult(created, conflicts);
+    }
+
+    /**
+     * まとめた更新（write-behind）をJDBCバッチで反映する
+     * @param updates 反映する更新
+     * @return 競合した（バージョン不一致・削除済みの）ユーザーID
+     */
+    public Set<Long> applyCoalesced(List<CoalescedUpdate> updates) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("まとめた更新はトランザクション内で反映してください");
+        }
+        for (CoalescedUpdate update : updates) {
+            batchUserMapper.updateCoalesced(UserEntityMapper.toEntity(update.latest()), update.baseVersion());
+        }
+        if (userCache.isEnabled()) {
+            for (CoalescedUpdate update : updates) {
+                User user = update.latest();
+                batchInvalidationMapper.insert(new UserInvalidationEntity(user.getId(), user.getEmail().getValue()));
+            }
+        }
+
+        Set<Long> conflicts = new HashSet<>();
+        for (BatchResult result : batchSession.flushStatements()) {
+            if (!result.getMappedStatement().getId().endsWith(".updateCoalesced")) {
+                continue;
+            }
+            int[] counts = result.getUpdateCounts();
+            List<Object> parameters = result.getParameterObjects();
+            for (int i = 0; i < counts.length; i++) {
+                if (!applied(counts[i])) {
+                    conflicts.add(((UserEntity) ((Map<?, ?>) parameters.get(i)).get("user")).getId());
+                }
+            }
+        }
+        for (CoalescedUpdate update : updates) {
+            evict(update.latest().getId(), update.latest().getEmail().getValue());
+        }
+        return conflicts;
+    }
+
+    /**
+     * バッチの更新件数が1件以上か（件数を返さないドライバーの場合は成功とみなす）
+     */
+    private static boolean applied(int count) {
+        return count > 0 || count == Statement.SUCCESS_NO_INFO;
+    }
+
+    /**
+     * 更新系トランザクション内の読み込み（更新前の存在・重複チェック）は常にDBを参照し、
+     * 未コミットの値をキャッシュに登録しない
+     */
+    private static boolean cacheable() {
+        return !TransactionSynchronizationManager.isActualTransactionActive()
+                || TransactionSynchronizationManager.isCurrentTransactionReadOnly();
     }
 
+    /**
+     * 無効化レコードを登録し（他ノード向け）、このノードのキャッシュから削除する
+     */
+    private void invalidate(Long userId, String email) {
+        if (!userCache.isEnabled()) {
+            return;
+        }
+        invalidationMapper.insert(new UserInvalidationEntity(userId, email));
+        evict(userId, email);
+    }
+
+    /**
+     * このノードのキャッシュから削除する（コミット直後にも再度削除する）
+     */
+    private void evict(Long userId, String email) {
+        if (!userCache.isEnabled()) {
+            return;
+        }
+        userCache.invalidate(userId, email);
+        // コミット前に他スレッドが読み込んだ古い値を、コミット直後にも削除する（このノードでの書き込み後の読み込み）
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    userCache.invalidate(userId, email);
+                }
+            });
+        }
+    }
+
+    // 一意性チェックに使用するため、キャッシュを使わずDBを参照する
     @Override
     public boolean existsByEmail(Email email) {
         int count = userMapper.countByEmail(email.getValue());
         return count > 0;
     }
-}
\ No newline at end of file
+
+    @Override
+    public Set<String> findExistingEmails(Collection<Email> emails) {
+        if (emails.isEmpty()) {
+            return Set.of();
+        }
+        List<String> values = emails.stream()
+                .map(Email::getValue)
+                .collect(Collectors.toList());
+        return new HashSet<>(userMapper.selectExistingEmails(values));
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.userapi.infrastructure.persistence.aot;
+
+import org.mybatis.spring.mapper.MapperFactoryBean;
+import org.springframework.beans.factory.config.ConstructorArgumentValues;
+import org.springframework.beans.factory.support.MergedBeanDefinitionPostProcessor;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.core.ResolvableType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+/**
+ * マッパーBean定義の型解決
+ * スキャン時のMapperFactoryBean定義はコンストラクタ引数がクラス名（文字列）のため、
+ * AOT生成コードでマッパーインターフェースを解決できない。クラスとジェネリクス型を明示して生成可能にする
+ */
+@Component
+public class MapperFactoryBeanTypeResolver implements MergedBeanDefinitionPostProcessor {
+
+    @Override
+    public void postProcessMergedBeanDefinition(RootBeanDefinition beanDefinition, Class<?> beanType, String beanName) {
+        if (!MapperFactoryBean.class.isAssignableFrom(beanType)
+                || !beanDefinition.getResolvableType().hasUnresolvableGenerics()) {
+            return;
+        }
+        Class<?> mapperInterface = mapperInterface(beanDefinition);
+        if (mapperInterface == null) {
+            return;
+        }
+        ConstructorArgumentValues constructorArguments = new ConstructorArgumentValues();
+        constructorArguments.addGenericArgumentValue(mapperInterface);
+        beanDefinition.setConstructorArgumentValues(constructorArguments);
+        beanDefinition.setTargetType(ResolvableType.forClassWithGenerics(MapperFactoryBean.class, mapperInterface));
+    }
+
+    private static Class<?> mapperInterface(RootBeanDefinition beanDefinition) {
+        Object value = beanDefinition.getPropertyValues().get("mapperInterface");
+        if (value instanceof Class<?> type) {
+            return type;
+        }
+        ConstructorArgumentValues.ValueHolder holder =
+                beanDefinition.getConstructorArgumentValues().getGenericArgumentValue(null);
+        if (holder != null && holder.getValue() instanceof String typeName) {
+            return ClassUtils.resolveClassName(typeName, MapperFactoryBeanTypeResolver.class.getClassLoader());
+        }
+        return null;
+    }
+}
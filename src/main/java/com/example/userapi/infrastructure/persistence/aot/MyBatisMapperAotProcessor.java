@@ -0,0 +1,99 @@
+package com.example.userapi.infrastructure.persistence.aot;
+
+import org.mybatis.spring.mapper.MapperFactoryBean;
+import org.mybatis.spring.mapper.MapperScannerConfigurer;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.beans.factory.FactoryBean;
+import org.springframework.beans.factory.aot.BeanFactoryInitializationAotContribution;
+import org.springframework.beans.factory.aot.BeanFactoryInitializationAotProcessor;
+import org.springframework.beans.factory.aot.BeanRegistrationExcludeFilter;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.support.RegisteredBean;
+import org.springframework.core.ResolvableType;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * MyBatisマッパーのAOT対応
+ * AOT処理で生成済みのマッパーBean定義を実行時に再スキャンしないよう、MapperScannerConfigurerを除外する。
+ * あわせてマッパーインターフェースのプロキシ、SQLマッピングXML、エンティティのヒントを登録する。
+ * META-INF/spring/aot.factories で登録する
+ */
+class MyBatisMapperAotProcessor implements BeanRegistrationExcludeFilter, BeanFactoryInitializationAotProcessor {
+
+    private static final String MAPPER_XML_PATTERN = "mapper/*.xml";
+
+    @Override
+    public boolean isExcludedFromAotProcessing(RegisteredBean registeredBean) {
+        return MapperScannerConfigurer.class.isAssignableFrom(registeredBean.getBeanClass());
+    }
+
+    @Override
+    public BeanFactoryInitializationAotContribution processAheadOfTime(ConfigurableListableBeanFactory beanFactory) {
+        List<Class<?>> mapperInterfaces = findMapperInterfaces(beanFactory);
+        if (mapperInterfaces.isEmpty()) {
+            return null;
+        }
+        return (generationContext, beanFactoryInitializationCode) -> {
+            RuntimeHints hints = generationContext.getRuntimeHints();
+            hints.resources().registerPattern(MAPPER_XML_PATTERN);
+            for (Class<?> mapperInterface : mapperInterfaces) {
+                hints.proxies().registerJdkProxy(mapperInterface);
+                hints.reflection().registerType(mapperInterface, MemberCategory.INVOKE_PUBLIC_METHODS);
+                for (Class<?> type : parameterAndResultTypes(mapperInterface)) {
+                    hints.reflection().registerType(type, MemberCategory.values());
+                }
+            }
+        };
+    }
+
+    private static List<Class<?>> findMapperInterfaces(ConfigurableListableBeanFactory beanFactory) {
+        ClassLoader classLoader = beanFactory.getBeanClassLoader();
+        List<Class<?>> mapperInterfaces = new ArrayList<>();
+        for (String beanName : beanFactory.getBeanDefinitionNames()) {
+            BeanDefinition definition = beanFactory.getBeanDefinition(beanName);
+            if (!MapperFactoryBean.class.getName().equals(definition.getBeanClassName())) {
+                continue;
+            }
+            Object objectType = definition.getAttribute(FactoryBean.OBJECT_TYPE_ATTRIBUTE);
+            if (objectType instanceof Class<?> type) {
+                mapperInterfaces.add(type);
+            } else if (objectType instanceof String typeName) {
+                mapperInterfaces.add(ClassUtils.resolveClassName(typeName, classLoader));
+            }
+        }
+        return mapperInterfaces;
+    }
+
+    // エンティティ（resultMap・parameterType）はリフレクションで生成・設定されるため登録する
+    private static Set<Class<?>> parameterAndResultTypes(Class<?> mapperInterface) {
+        Set<Class<?>> types = new LinkedHashSet<>();
+        for (Method method : mapperInterface.getMethods()) {
+            addUserType(types, ResolvableType.forMethodReturnType(method));
+            for (int i = 0; i < method.getParameterCount(); i++) {
+                addUserType(types, ResolvableType.forMethodParameter(method, i));
+            }
+        }
+        return types;
+    }
+
+    private static void addUserType(Set<Class<?>> types, ResolvableType type) {
+        Class<?> resolved = type.resolve();
+        if (resolved == null) {
+            return;
+        }
+        if (!resolved.isPrimitive() && !resolved.getName().startsWith("java.")) {
+            types.add(resolved);
+        }
+        for (ResolvableType generic : type.getGenerics()) {
+            addUserType(types, generic);
+        }
+    }
+}
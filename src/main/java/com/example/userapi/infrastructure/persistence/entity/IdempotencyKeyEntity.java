@@ -0,0 +1,79 @@
+package com.example.userapi.infrastructure.persistence.entity;
+
+import java.time.LocalDateTime;
+
+/**
+ * 冪等キーテーブル用DBエンティティ
+ */
+public class IdempotencyKeyEntity {
+    private String idempotencyKey;
+    private String requestHash;
+    private int status;
+    private String body;
+    private String etag;
+    private LocalDateTime expiresAt;
+
+    // デフォルトコンストラクタ（MyBatis必須）
+    public IdempotencyKeyEntity() {
+    }
+
+    // 全項目コンストラクタ
+    public IdempotencyKeyEntity(String idempotencyKey, String requestHash, int status,
+                                String body, String etag, LocalDateTime expiresAt) {
+        this.idempotencyKey = idempotencyKey;
+        this.requestHash = requestHash;
+        this.status = status;
+        this.body = body;
+        this.etag = etag;
+        this.expiresAt = expiresAt;
+    }
+
+    // Getters and Setters
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+
+    public void setIdempotencyKey(String idempotencyKey) {
+        this.idempotencyKey = idempotencyKey;
+    }
+
+    public String getRequestHash() {
+        return requestHash;
+    }
+
+    public void setRequestHash(String requestHash) {
+        this.requestHash = requestHash;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public void setStatus(int status) {
+        this.status = status;
+    }
+
+    public String getBody() {
+        return body;
+    }
+
+    public void setBody(String body) {
+        this.body = body;
+    }
+
+    public String getEtag() {
+        return etag;
+    }
+
+    public void setEtag(String etag) {
+        this.etag = etag;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.userapi.infrastructure.persistence.entity;
+
+import java.time.LocalDateTime;
+
+/**
+ * キャッシュ無効化テーブル用DBエンティティ
+ */
+public class UserInvalidationEntity {
+    private Long id;
+    private Long userId;
+    private String email;
+    private LocalDateTime createdAt;
+    // 検索時点のDB時刻（無効化の反映遅延の計測用）
+    private LocalDateTime polledAt;
+
+    // デフォルトコンストラクタ（MyBatis必須）
+    public UserInvalidationEntity() {
+    }
+
+    // 登録用コンストラクタ
+    public UserInvalidationEntity(Long userId, String email) {
+        this.userId = userId;
+        this.email = email;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getPolledAt() {
+        return polledAt;
+    }
+
+    public void setPolledAt(LocalDateTime polledAt) {
+        this.polledAt = polledAt;
+    }
+}
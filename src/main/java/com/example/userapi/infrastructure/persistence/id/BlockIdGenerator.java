@@ -0,0 +1,223 @@
+package com.example.userapi.infrastructure.persistence.id;
+
+import com.example.userapi.infrastructure.persistence.mapper.IdSequenceMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * ブロック単位の採番（hi-lo）
+ * id_sequences テーブルの値を1回の短いトランザクションで blockSize 分進めて範囲を確保し、
+ * 範囲内のIDはDBにアクセスせずロックなしで払い出す。
+ * 最初の範囲は起動時に確保し、次の範囲は今の範囲を半分使った時点で専用スレッドで確保を始める。
+ * 範囲を使い切ったスレッドは入れ替えるだけで、確保が間に合わない場合（起動時の確保に失敗した場合を含む）だけ
+ * 呼び出し元のトランザクションの中で完了を待つ。確保は別の接続で行うため、待ちはタイムアウトで打ち切る
+ * （プールが枯渇していても接続を持ったまま待ち続けない）
+ */
+public class BlockIdGenerator implements UserIdGenerator, SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(BlockIdGenerator.class);
+
+    static final String SEQUENCE = "users";
+
+    private final IdSequenceMapper sequenceMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final int blockSize;
+    private final Duration allocationTimeout;
+    private final Counter allocations;
+    private final ReentrantLock allocationLock = new ReentrantLock();
+    private final ExecutorService prefetcher = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "id-block-prefetch");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile Block block = new Block(0, 0);
+    // 先読み中・先読み済みの次の範囲（allocationLockで保護する）
+    private CompletableFuture<Block> prefetched;
+    private volatile boolean running;
+
+    /**
+     * @param transactionTemplate 範囲を確保するトランザクション（専用スレッドで実行するため、
+     *                            呼び出し元がロールバックしても確保した範囲は戻さない）
+     * @param allocationTimeout   範囲の確保を待つ上限
+     */
+    public BlockIdGenerator(IdSequenceMapper sequenceMapper,
+                            TransactionTemplate transactionTemplate,
+                            int blockSize,
+                            Duration allocationTimeout,
+                            MeterRegistry meterRegistry) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("IDのブロックサイズは1以上を指定してください: " + blockSize);
+        }
+        this.sequenceMapper = sequenceMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.blockSize = blockSize;
+        this.allocationTimeout = allocationTimeout;
+        this.allocations = Counter.builder("userapi.id.blocks")
+                .description("確保したIDの範囲の数").register(meterRegistry);
+    }
+
+    @Override
+    public long nextId() {
+        while (true) {
+            Block current = block;
+            long id = current.next.getAndIncrement();
+            if (id < current.limit) {
+                if (id == current.prefetchAt) {
+                    prefetchNext();
+                }
+                return id;
+            }
+            allocate(current);
+        }
+    }
+
+    /**
+     * 範囲の半分を払い出した時点で次の範囲の確保を始める（範囲ごとに1つのスレッドだけが呼ぶ）
+     */
+    private void prefetchNext() {
+        allocationLock.lock();
+        try {
+            if (prefetched == null || prefetched.isCompletedExceptionally()) {
+                prefetched = prefetch();
+            }
+        } finally {
+            allocationLock.unlock();
+        }
+    }
+
+    /**
+     * 使い切った範囲を次の範囲に入れ替える（他のスレッドが入れ替え済みの場合は何もしない）
+     */
+    private void allocate(Block exhausted) {
+        allocationLock.lock();
+        try {
+            if (block != exhausted) {
+                return;
+            }
+            // 先読みしていない・失敗していた場合は、このスレッドの待ちで確保し直す
+            CompletableFuture<Block> next = prefetched != null && !prefetched.isCompletedExceptionally()
+                    ? prefetched : prefetch();
+            prefetched = next;
+            block = await(next);
+            prefetched = null;
+        } finally {
+            allocationLock.unlock();
+        }
+    }
+
+    /**
+     * 範囲の確保の完了を上限まで待つ（打ち切った場合も確保は続け、次の呼び出しで使う）
+     */
+    private Block await(CompletableFuture<Block> allocation) {
+        try {
+            return allocation.get(allocationTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            throw new QueryTimeoutException(
+                    "IDの範囲の確保が" + allocationTimeout.toMillis() + "ms以内に完了しませんでした", ex);
+        } catch (ExecutionException ex) {
+            // 確保に失敗した場合は、次の呼び出しで確保し直す
+            throw ex.getCause() instanceof RuntimeException cause ? cause : new IllegalStateException(ex.getCause());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("IDの範囲の確保の待ちが中断されました", ex);
+        }
+    }
+
+    private CompletableFuture<Block> prefetch() {
+        return CompletableFuture.supplyAsync(() -> {
+            long limit = transactionTemplate.execute(status -> advance());
+            allocations.increment();
+            return new Block(limit - blockSize, limit);
+        }, prefetcher);
+    }
+
+    /**
+     * 最初の範囲を確保する（リクエストの受け付け前に、呼び出し元のトランザクションの外で確保しておく）。
+     * 失敗しても起動は止めず、最初の採番時に確保し直す
+     */
+    @Override
+    public void start() {
+        running = true;
+        allocationLock.lock();
+        try {
+            if (block.limit == 0) {
+                block = await(prefetch());
+            }
+        } catch (RuntimeException ex) {
+            log.warn("起動時のIDの範囲の確保に失敗しました。最初の採番時に確保し直します", ex);
+        } finally {
+            allocationLock.unlock();
+        }
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        // Webサーバーの起動（リクエストの受け付け）・ウォームアップより先に確保する
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    /**
+     * 先読みを止める（先読み済みの範囲は欠番になる）
+     */
+    public void close() {
+        prefetcher.shutdownNow();
+    }
+
+    /**
+     * シーケンスを進め、確保した範囲の終端（この値を含まない）を返す
+     */
+    private long advance() {
+        if (sequenceMapper.advance(SEQUENCE, blockSize) == 0) {
+            // 初回は既存ユーザーの最大IDの次から始める（同時に初期化された場合は相手の行を進める）
+            try {
+                sequenceMapper.insertFromUsers(SEQUENCE, blockSize);
+            } catch (DuplicateKeyException ex) {
+                sequenceMapper.advance(SEQUENCE, blockSize);
+            }
+        }
+        return sequenceMapper.selectNextValue(SEQUENCE);
+    }
+
+    /**
+     * 確保したIDの範囲 [next, limit)
+     */
+    private static final class Block {
+
+        private final AtomicLong next;
+        private final long limit;
+        // このIDを払い出したスレッドが次の範囲の確保を始める
+        private final long prefetchAt;
+
+        private Block(long start, long limit) {
+            this.next = new AtomicLong(start);
+            this.limit = limit;
+            this.prefetchAt = start + (limit - start) / 2;
+        }
+    }
+}
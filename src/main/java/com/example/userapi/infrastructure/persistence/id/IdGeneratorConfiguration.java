@@ -0,0 +1,34 @@
+package com.example.userapi.infrastructure.persistence.id;
+
+import com.example.userapi.infrastructure.persistence.mapper.IdSequenceMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * ユーザーIDの採番方式の設定
+ * auto-increment（既定）の場合は採番のBeanを登録せず、DBのAUTO_INCREMENTで採番する
+ */
+@Configuration
+public class IdGeneratorConfiguration {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "id-generator", name = "type", havingValue = "block")
+    public BlockIdGenerator blockIdGenerator(IdSequenceMapper idSequenceMapper,
+                                             PlatformTransactionManager transactionManager,
+                                             IdGeneratorProperties properties,
+                                             MeterRegistry meterRegistry) {
+        // 範囲は専用スレッドで確保するため、呼び出し元のトランザクションには参加しない
+        return new BlockIdGenerator(idSequenceMapper, new TransactionTemplate(transactionManager),
+                properties.blockSize(), properties.allocationTimeout(), meterRegistry);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "id-generator", name = "type", havingValue = "time-ordered")
+    public TimeOrderedIdGenerator timeOrderedIdGenerator(IdGeneratorProperties properties) {
+        return new TimeOrderedIdGenerator(properties.workerId());
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.userapi.infrastructure.persistence.id;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * ユーザーIDの採番設定（採番方式は id-generator.type: auto-increment / block / time-ordered）
+ *
+ * @param blockSize         block方式で1回に確保するIDの数（再起動時は未使用分と先読みした1範囲が欠番になる）
+ * @param allocationTimeout block方式で範囲の確保が間に合わない場合に、採番するリクエストが待つ上限
+ * @param workerId          time-ordered方式のノード番号（0〜1023、ノードごとに重複しないこと）。
+ *                          time-ordered方式のIDはすべて2^53を超えるため、JavaScriptのNumberでは正確に表せない
+ */
+@ConfigurationProperties(prefix = "id-generator")
+public record IdGeneratorProperties(
+        @DefaultValue("1000") int blockSize,
+        @DefaultValue("5s") Duration allocationTimeout,
+        @DefaultValue("0") int workerId
+) {
+}
@@ -0,0 +1,48 @@
+package com.example.userapi.infrastructure.persistence.id;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * 時刻順の64ビット採番
+ * 上位から、基準日時（2024-01-01T00:00:00Z）からの経過ミリ秒41ビット・ノード番号10ビット・ミリ秒内の連番12ビット。
+ * DBにアクセスせず、ノードごとに単調増加するIDをロックなしで払い出す。
+ * 時計が戻った場合や1ミリ秒に4096件を超えた場合は、直前のIDの時刻を進めて払い出す
+ */
+public class TimeOrderedIdGenerator implements UserIdGenerator {
+
+    static final long EPOCH_MILLIS = 1_704_067_200_000L;
+    static final int WORKER_ID_BITS = 10;
+    static final int SEQUENCE_BITS = 12;
+    static final int MAX_WORKER_ID = (1 << WORKER_ID_BITS) - 1;
+
+    private final long worker;
+    private final LongSupplier clock;
+    // 直前に払い出した（経過ミリ秒 << SEQUENCE_BITS | 連番）
+    private final AtomicLong last = new AtomicLong();
+
+    public TimeOrderedIdGenerator(int workerId) {
+        this(workerId, System::currentTimeMillis);
+    }
+
+    TimeOrderedIdGenerator(int workerId, LongSupplier clock) {
+        if (workerId < 0 || workerId > MAX_WORKER_ID) {
+            throw new IllegalArgumentException(
+                    "ノード番号は0〜" + MAX_WORKER_ID + "で指定してください: " + workerId);
+        }
+        this.worker = (long) workerId << SEQUENCE_BITS;
+        this.clock = clock;
+    }
+
+    @Override
+    public long nextId() {
+        long state = last.updateAndGet(previous -> {
+            long now = (clock.getAsLong() - EPOCH_MILLIS) << SEQUENCE_BITS;
+            // 連番が溢れた場合は経過ミリ秒に繰り上がる
+            return now > previous ? now : previous + 1;
+        });
+        long millis = state >>> SEQUENCE_BITS;
+        long sequence = state & ((1L << SEQUENCE_BITS) - 1);
+        return millis << (WORKER_ID_BITS + SEQUENCE_BITS) | worker | sequence;
+    }
+}
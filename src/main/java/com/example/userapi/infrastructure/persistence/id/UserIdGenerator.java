@@ -0,0 +1,14 @@
+package com.example.userapi.infrastructure.persistence.id;
+
+/**
+ * ユーザーIDの採番
+ * 登録前にアプリケーション側でIDを決める（設定されていない場合はDBのAUTO_INCREMENTで採番する）
+ */
+public interface UserIdGenerator {
+
+    /**
+     * 新しいユーザーIDを払い出す（スレッドセーフ）
+     * @return 未使用のID
+     */
+    long nextId();
+}
@@ -0,0 +1,34 @@
+package com.example.userapi.infrastructure.persistence.mapper;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+/**
+ * ID採番テーブル（id_sequences）用MyBatisマッパー
+ */
+@Mapper
+public interface IdSequenceMapper {
+
+    /**
+     * シーケンスを進める（次に払い出す値に加算する）
+     * @param name シーケンス名
+     * @param size 確保する数
+     * @return 更新件数（シーケンスが未登録の場合は0）
+     */
+    int advance(@Param("name") String name, @Param("size") int size);
+
+    /**
+     * 既存ユーザーの最大IDの次から確保した状態でシーケンスを登録する
+     * @param name シーケンス名
+     * @param size 確保する数
+     * @return 登録件数
+     */
+    int insertFromUsers(@Param("name") String name, @Param("size") int size);
+
+    /**
+     * 次に払い出す値（確保済みの範囲の終端）を取得する
+     * @param name シーケンス名
+     * @return 次に払い出す値
+     */
+    long selectNextValue(@Param("name") String name);
+}
@@ -0,0 +1,38 @@
+package com.example.userapi.infrastructure.persistence.mapper;
+
+import com.example.userapi.infrastructure.persistence.entity.IdempotencyKeyEntity;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * 冪等キーテーブル用MyBatisマッパー
+ */
+@Mapper
+public interface IdempotencyKeyMapper {
+
+    /**
+     * 有効期限内の冪等キーを検索する
+     * @param idempotencyKey 冪等キー
+     * @param now 現在日時
+     * @return 冪等キーエンティティ
+     */
+    Optional<IdempotencyKeyEntity> selectByKey(@Param("idempotencyKey") String idempotencyKey,
+                                               @Param("now") LocalDateTime now);
+
+    /**
+     * 冪等キーを登録（既存の場合は上書き）する
+     * @param entity 登録する冪等キー
+     * @return 更新件数
+     */
+    int upsert(IdempotencyKeyEntity entity);
+
+    /**
+     * 期限切れの冪等キーを削除する
+     * @param now 現在日時
+     * @return 削除件数
+     */
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -28,7 +28,8 @@ public class UserEntityMapper {
                 email,
                 password,
                 entity.getCreatedAt(),
-                entity.getUpdatedAt()
+                entity.getUpdatedAt(),
+                entity.getVersion()
         );
     }
 
@@ -46,7 +47,8 @@ public class UserEntityMapper {
                 user.getEmail().getValue(),
                 user.getPassword().getHashedValue(),
                 user.getCreatedAt(),
-                user.getUpdatedAt()
+                user.getUpdatedAt(),
+                user.getVersion()
         );
     }
 }
\ No newline at end of file
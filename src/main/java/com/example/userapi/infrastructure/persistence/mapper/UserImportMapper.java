@@ -0,0 +1,44 @@
+package com.example.userapi.infrastructure.persistence.mapper;
+
+import com.example.userapi.infrastructure.persistence.entity.UserImportEntity;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.Optional;
+
+/**
+ * 一括インポートジョブ用MyBatisマッパー
+ */
+@Mapper
+public interface UserImportMapper {
+
+    /**
+     * ジョブを登録する
+     * @param entity ジョブ
+     * @return 登録件数
+     */
+    int insert(UserImportEntity entity);
+
+    /**
+     * ジョブIDで検索する
+     * @param jobId ジョブID
+     * @return ジョブ（存在しない場合は空）
+     */
+    Optional<UserImportEntity> selectByJobId(@Param("jobId") String jobId);
+
+    /**
+     * 読み込み位置と件数を更新する（チャンクの登録と同じトランザクションで実行する）
+     * @param entity ジョブ
+     * @return 更新件数
+     */
+    int updateProgress(UserImportEntity entity);
+
+    /**
+     * 状態を更新する
+     * @param jobId ジョブID
+     * @param status 状態
+     * @param error エラー内容（なければnull）
+     * @return 更新件数
+     */
+    int updateStatus(@Param("jobId") String jobId, @Param("status") String status, @Param("error") String error);
+}
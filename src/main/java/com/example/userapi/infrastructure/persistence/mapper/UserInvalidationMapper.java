@@ -0,0 +1,51 @@
+package com.example.userapi.infrastructure.persistence.mapper;
+
+import com.example.userapi.infrastructure.persistence.entity.UserInvalidationEntity;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * キャッシュ無効化テーブル用MyBatisマッパー
+ */
+@Mapper
+public interface UserInvalidationMapper {
+
+    /**
+     * 無効化レコードを登録する（users の変更と同じトランザクションで実行する）
+     * @param entity 無効化レコード
+     * @return 登録件数
+     */
+    int insert(UserInvalidationEntity entity);
+
+    /**
+     * 指定ID（高水位）より後の無効化レコードをID順に取得する
+     * @param afterId 取得済みの最大ID
+     * @param limit 最大件数
+     * @return 無効化レコード
+     */
+    List<UserInvalidationEntity> selectAfter(@Param("afterId") long afterId, @Param("limit") int limit);
+
+    /**
+     * 指定IDの無効化レコードを取得する（採番順とコミット順の違いで取りこぼしたIDの再確認）
+     * @param ids ID
+     * @return 無効化レコード
+     */
+    List<UserInvalidationEntity> selectByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * 現在の最大IDを取得する（起動時の高水位）
+     * @return 最大ID（レコードがない場合は0）
+     */
+    long selectMaxId();
+
+    /**
+     * 保持期間を過ぎた無効化レコードを削除する
+     * @param before この日時より前に登録されたレコードを削除する
+     * @return 削除件数
+     */
+    int deleteBefore(@Param("before") LocalDateTime before);
+}
@@ -4,6 +4,7 @@ import com.example.userapi.infrastructure.persistence.entity.UserEntity;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -21,6 +22,27 @@ public interface UserMapper {
      */
     int insert(UserEntity userEntity);
 
+    /**
+     * 複数のユーザーを1文で挿入する（採番されたIDは各エンティティに設定される）
+     * @param userEntities 挿入するユーザー
+     * @return 挿入件数
+     */
+    int insertAll(List<UserEntity> userEntities);
+
+    /**
+     * 採番済みのIDでユーザーを挿入する
+     * @param userEntity 挿入するユーザー（IDを設定済み）
+     * @return 挿入件数
+     */
+    int insertWithId(UserEntity userEntity);
+
+    /**
+     * 採番済みのIDで複数のユーザーを1文で挿入する
+     * @param userEntities 挿入するユーザー（IDを設定済み）
+     * @return 挿入件数
+     */
+    int insertAllWithId(List<UserEntity> userEntities);
+
     /**
      * IDでユーザーを検索する
      * @param id ユーザーID
@@ -35,6 +57,13 @@ public interface UserMapper {
      */
     Optional<UserEntity> selectByEmail(@Param("email") String email);
 
+    /**
+     * 複数IDでユーザーを検索する
+     * @param ids ユーザーID
+     * @return 存在するユーザーエンティティ（順不同）
+     */
+    List<UserEntity> selectByIds(@Param("ids") Collection<Long> ids);
+
     /**
      * 全ユーザーを取得する
      * @return ユーザーエンティティリスト
@@ -42,12 +71,28 @@ public interface UserMapper {
     List<UserEntity> selectAll();
 
     /**
-     * ユーザーを更新する
-     * @param userEntity 更新するユーザー
-     * @return 更新件数
+     * 指定IDより後のユーザーをID順に取得する
+     * @param afterId このIDより大きいユーザーを対象にする
+     * @param limit 最大件数
+     * @return ユーザーエンティティリスト
+     */
+    List<UserEntity> selectAfter(@Param("afterId") long afterId, @Param("limit") int limit);
+
+    /**
+     * ユーザーを更新する（バージョンが一致する場合のみ）
+     * @param userEntity 更新するユーザー（versionは読み込み時の値）
+     * @return 更新件数（バージョン不一致の場合は0）
      */
     int update(UserEntity userEntity);
 
+    /**
+     * まとめた更新を反映する（DB上のバージョンが一致する場合のみ、指定したバージョン・更新日時にする）
+     * @param userEntity 反映する状態（versionは反映後の値）
+     * @param baseVersion DB上の現在のバージョン
+     * @return 更新件数（バージョン不一致の場合は0）
+     */
+    int updateCoalesced(@Param("user") UserEntity userEntity, @Param("baseVersion") long baseVersion);
+
     /**
      * ユーザーを削除する
      * @param id 削除するユーザーID
@@ -55,10 +100,25 @@ public interface UserMapper {
      */
     int deleteById(@Param("id") Long id);
 
+    /**
+     * ユーザーを削除する（バージョンが一致する場合のみ）
+     * @param id 削除するユーザーID
+     * @param version 読み込み時のバージョン
+     * @return 削除件数（バージョン不一致・削除済みの場合は0）
+     */
+    int deleteByIdAndVersion(@Param("id") Long id, @Param("version") Long version);
+
     /**
      * メールアドレスの存在チェック
      * @param email メールアドレス
      * @return 存在件数
      */
     int countByEmail(@Param("email") String email);
-}
\ No newline at end of file
+
+    /**
+     * 指定されたうち登録済みのメールアドレスを取得する
+     * @param emails メールアドレス
+     * @return 登録済みのメールアドレス
+     */
+    List<String> selectExistingEmails(@Param("emails") Collection<String> emails);
+}
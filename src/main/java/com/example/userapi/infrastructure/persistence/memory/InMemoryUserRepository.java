@@ -0,0 +1,371 @@
+package com.example.userapi.infrastructure.persistence.memory;
+
+import com.example.userapi.domain.model.Email;
+import com.example.userapi.domain.model.User;
+import com.example.userapi.domain.repository.UserBatchResult;
+import com.example.userapi.domain.repository.UserRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ユーザーリポジトリ実装（メモリ版）
+ * DBなしで動かすテスト・ベンチマーク・エッジ配置用。MyBatis版と同じ契約（一意制約・楽観ロック・ID順）を満たす。
+ * メールアドレスの一意性は索引への登録（putIfAbsent）で保証するため、存在チェックと登録の間で競合しない。
+ * トランザクション内の変更は即座に反映し（他の処理からも見える）、ロールバック時に取り消す。
+ * 変更前のメールアドレスはコミットまで予約したままにする（DBの一意索引の行ロックと同様に、取り消しで戻せるようにする）
+ */
+@Repository
+@ConditionalOnProperty(prefix = "persistence", name = "store", havingValue = "memory")
+public class InMemoryUserRepository implements UserRepository {
+
+    // IDごとのユーザー（正）
+    private final ConcurrentHashMap<Long, User> users = new ConcurrentHashMap<>();
+    // メールアドレス → ID（一意索引）
+    private final ConcurrentHashMap<String, Long> emailIndex = new ConcurrentHashMap<>();
+    // ID順のビュー（一覧・ページング用）
+    private final ConcurrentSkipListSet<Long> orderedIds = new ConcurrentSkipListSet<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    @Override
+    public User save(User user) {
+        long id = sequence.incrementAndGet();
+        reserveEmail(user.getEmail().getValue(), id);
+        return store(id, user);
+    }
+
+    @Override
+    public List<User> saveAll(List<User> users) {
+        List<Long> ids = reserveNew(users);
+        List<User> saved = new ArrayList<>(users.size());
+        for (int i = 0; i < users.size(); i++) {
+            saved.add(store(ids.get(i), users.get(i)));
+        }
+        return saved;
+    }
+
+    @Override
+    public Optional<User> findById(Long id) {
+        return Optional.ofNullable(users.get(id));
+    }
+
+    @Override
+    public List<User> findAllById(Collection<Long> ids) {
+        List<User> found = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            User user = users.get(id);
+            if (user != null) {
+                found.add(user);
+            }
+        }
+        return found;
+    }
+
+    @Override
+    public Optional<User> findByEmail(Email email) {
+        Long id = emailIndex.get(email.getValue());
+        // 索引は登録より先に予約されるため、登録途中のIDは未登録として扱う
+        return id == null ? Optional.empty() : Optional.ofNullable(users.get(id));
+    }
+
+    @Override
+    public List<User> findAll() {
+        return findAllAfter(0, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<User> findAllAfter(long afterId, int limit) {
+        List<User> page = new ArrayList<>(Math.min(limit, 256));
+        for (Long id : orderedIds.tailSet(afterId, false)) {
+            if (page.size() >= limit) {
+                break;
+            }
+            User user = users.get(id);
+            if (user != null) {
+                page.add(user);
+            }
+        }
+        return page;
+    }
+
+    @Override
+    public User update(User user) {
+        if (user.getId() == null) {
+            throw new IllegalArgumentException("更新対象のユーザーIDが指定されていません");
+        }
+        if (user.getVersion() == null) {
+            throw new IllegalArgumentException("更新対象のユーザーのバージョンが指定されていません");
+        }
+        User updated = compareAndUpdate(user);
+        if (updated == null) {
+            throw new OptimisticLockingFailureException(
+                    "ユーザーは他の処理により更新されています: ID=" + user.getId());
+        }
+        return updated;
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        User removed = users.remove(id);
+        if (removed == null) {
+            throw new RuntimeException("ユーザーが見つかりません: ID=" + id);
+        }
+        removed(removed);
+    }
+
+    @Override
+    public boolean existsByEmail(Email email) {
+        return emailIndex.containsKey(email.getValue());
+    }
+
+    @Override
+    public Set<String> findExistingEmails(Collection<Email> emails) {
+        Set<String> existing = new HashSet<>();
+        for (Email email : emails) {
+            if (emailIndex.containsKey(email.getValue())) {
+                existing.add(email.getValue());
+            }
+        }
+        return existing;
+    }
+
+    /**
+     * メールアドレスを先にすべて予約してから反映する（一意制約違反の場合は何も反映しない）
+     */
+    @Override
+    public UserBatchResult applyBatch(List<User> creates, List<User> updates, List<User> deletes) {
+        List<Long> ids = reserveNew(creates);
+        List<User> reservedForUpdates = new ArrayList<>();
+        try {
+            for (User user : updates) {
+                User current = users.get(user.getId());
+                if (current != null && !current.getEmail().equals(user.getEmail())) {
+                    reserveEmail(user.getEmail().getValue(), user.getId());
+                    reservedForUpdates.add(user);
+                }
+            }
+        } catch (DuplicateKeyException ex) {
+            for (int i = 0; i < creates.size(); i++) {
+                emailIndex.remove(creates.get(i).getEmail().getValue(), ids.get(i));
+            }
+            for (User user : reservedForUpdates) {
+                emailIndex.remove(user.getEmail().getValue(), user.getId());
+            }
+            throw ex;
+        }
+
+        List<User> created = new ArrayList<>(creates.size());
+        for (int i = 0; i < creates.size(); i++) {
+            created.add(store(ids.get(i), creates.get(i)));
+        }
+        Set<Long> conflicts = new HashSet<>();
+        for (User user : updates) {
+            if (compareAndUpdate(user) == null) {
+                conflicts.add(user.getId());
+                // 予約したメールアドレスを解放する（自分が使用中の場合は残る）
+                User current = users.get(user.getId());
+                if (current == null || !current.getEmail().equals(user.getEmail())) {
+                    emailIndex.remove(user.getEmail().getValue(), user.getId());
+                }
+            }
+        }
+        for (User user : deletes) {
+            if (!compareAndDelete(user)) {
+                conflicts.add(user.getId());
+            }
+        }
+        return new UserBatchResult(created, conflicts);
+    }
+
+    /**
+     * 新規登録するユーザーのIDを採番してメールアドレスを予約する（1件でも重複した場合は予約を取り消す）
+     */
+    private List<Long> reserveNew(List<User> users) {
+        List<Long> ids = new ArrayList<>(users.size());
+        try {
+            for (User user : users) {
+                long id = sequence.incrementAndGet();
+                reserveEmail(user.getEmail().getValue(), id);
+                ids.add(id);
+            }
+        } catch (DuplicateKeyException ex) {
+            for (int i = 0; i < ids.size(); i++) {
+                emailIndex.remove(users.get(i).getEmail().getValue(), ids.get(i));
+            }
+            throw ex;
+        }
+        return ids;
+    }
+
+    private void reserveEmail(String email, long id) {
+        Long owner = emailIndex.putIfAbsent(email, id);
+        if (owner != null && owner != id) {
+            throw new DuplicateKeyException("メールアドレスが重複しています: " + email);
+        }
+    }
+
+    /**
+     * 予約済みのIDとメールアドレスで登録する（作成日時・更新日時は指定がなければ現在日時）
+     */
+    private User store(long id, User user) {
+        LocalDateTime now = now();
+        User stored = new User(id, user.getName(), user.getEmail(), user.getPassword(),
+                user.getCreatedAt() != null ? user.getCreatedAt() : now,
+                user.getUpdatedAt() != null ? user.getUpdatedAt() : now, 0L);
+        users.put(id, stored);
+        orderedIds.add(id);
+        onRollback(() -> {
+            if (users.remove(id, stored)) {
+                orderedIds.remove(id);
+            }
+            emailIndex.remove(stored.getEmail().getValue(), id);
+        });
+        return stored;
+    }
+
+    /**
+     * バージョンが一致する場合のみ更新する（変更後のメールアドレスは予約済みであること）
+     * @return 更新後のユーザー（バージョン不一致・削除済みの場合はnull）
+     */
+    private User compareAndUpdate(User user) {
+        // [0]: 更新後, [1]: 更新前（バージョン不一致の場合はnull）
+        User[] outcome = new User[2];
+        users.computeIfPresent(user.getId(), (id, current) -> {
+            if (!current.getVersion().equals(user.getVersion())) {
+                return current;
+            }
+            if (!current.getEmail().equals(user.getEmail())) {
+                reserveEmail(user.getEmail().getValue(), id);
+            }
+            User updated = new User(id, user.getName(), user.getEmail(), user.getPassword(),
+                    current.getCreatedAt(), now(), current.getVersion() + 1);
+            outcome[0] = updated;
+            outcome[1] = current;
+            return updated;
+        });
+        User updated = outcome[0];
+        User previous = outcome[1];
+        if (updated == null) {
+            return null;
+        }
+        if (!previous.getEmail().equals(updated.getEmail())) {
+            String newEmail = updated.getEmail().getValue();
+            onRollback(() -> {
+                users.replace(updated.getId(), updated, previous);
+                releaseEmailUnlessUsed(newEmail, updated.getId());
+            });
+            afterCommit(() -> releaseEmailUnlessUsed(previous.getEmail().getValue(), updated.getId()));
+        } else {
+            onRollback(() -> users.replace(updated.getId(), updated, previous));
+        }
+        return updated;
+    }
+
+    private boolean compareAndDelete(User user) {
+        User current = users.get(user.getId());
+        if (current == null || !current.getVersion().equals(user.getVersion())
+                || !users.remove(user.getId(), current)) {
+            return false;
+        }
+        removed(current);
+        return true;
+    }
+
+    /**
+     * 削除したユーザーをID順のビューから外す（メールアドレスはコミット後に解放する）
+     */
+    private void removed(User removed) {
+        Long id = removed.getId();
+        orderedIds.remove(id);
+        onRollback(() -> {
+            if (users.putIfAbsent(id, removed) == null) {
+                orderedIds.add(id);
+            }
+        });
+        afterCommit(() -> releaseEmailUnlessUsed(removed.getEmail().getValue(), id));
+    }
+
+    /**
+     * メールアドレスの予約を解放する（ユーザーが現在使用している場合は残す）
+     */
+    private void releaseEmailUnlessUsed(String email, Long id) {
+        User current = users.get(id);
+        if (current == null || !current.getEmail().getValue().equals(email)) {
+            emailIndex.remove(email, id);
+        }
+    }
+
+    /**
+     * ロールバック時の取り消しを登録する（トランザクション外の場合は何もしない）
+     */
+    private void onRollback(Runnable undo) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            changes().undo.add(undo);
+        }
+    }
+
+    /**
+     * コミット後の処理を登録する（トランザクション外の場合はすぐに実行する）
+     */
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            changes().afterCommit.add(action);
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * 現在のトランザクションでの変更（初回はトランザクション完了時の処理を登録する）
+     */
+    private TransactionChanges changes() {
+        TransactionChanges changes = (TransactionChanges) TransactionSynchronizationManager.getResource(this);
+        if (changes == null) {
+            changes = new TransactionChanges();
+            TransactionSynchronizationManager.bindResource(this, changes);
+            TransactionSynchronizationManager.registerSynchronization(changes);
+        }
+        return changes;
+    }
+
+    private final class TransactionChanges implements TransactionSynchronization {
+
+        private final List<Runnable> undo = new ArrayList<>();
+        private final List<Runnable> afterCommit = new ArrayList<>();
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(InMemoryUserRepository.this);
+            if (status == STATUS_COMMITTED) {
+                afterCommit.forEach(Runnable::run);
+                return;
+            }
+            // 変更の逆順に取り消す（コミットまで残していた変更前のメールアドレスは、取り消し後も使用中のため解放しない）
+            for (int i = undo.size() - 1; i >= 0; i--) {
+                undo.get(i).run();
+            }
+        }
+    }
+
+    /**
+     * DBの日時型（秒精度）に合わせる
+     */
+    private static LocalDateTime now() {
+        return LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+    }
+}
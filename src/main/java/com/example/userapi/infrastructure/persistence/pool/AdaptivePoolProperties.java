@@ -0,0 +1,29 @@
+package com.example.userapi.infrastructure.persistence.pool;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * コネクションプール自動サイズ調整の設定
+ *
+ * @param enabled            自動調整の有効/無効
+ * @param minSize            プールサイズの下限
+ * @param maxSize            プールサイズの上限
+ * @param tolerance          最小レイテンシに対して許容するレイテンシの倍率
+ * @param smoothing          1回の調整で新しい値を反映する割合（0〜1）
+ * @param waitThreshold      この時間を超えるコネクション取得待ちを「待機あり」とみなす
+ * @param minRttResetSamples 最小レイテンシを再計測する間隔（調整回数）
+ */
+@ConfigurationProperties(prefix = "datasource.adaptive")
+public record AdaptivePoolProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("5") int minSize,
+        @DefaultValue("50") int maxSize,
+        @DefaultValue("1.2") double tolerance,
+        @DefaultValue("0.2") double smoothing,
+        @DefaultValue("5ms") Duration waitThreshold,
+        @DefaultValue("120") int minRttResetSamples
+) {
+}
@@ -0,0 +1,144 @@
+package com.example.userapi.infrastructure.persistence.pool;
+
+import com.example.userapi.infrastructure.limit.GradientLimit;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * コネクションプール自動サイズ調整
+ * SQL実行時間・コネクション取得待ち・使用中コネクション数から、設定範囲内でプール上限を増減させる
+ */
+@Component
+@ConditionalOnProperty(prefix = "datasource.adaptive", name = "enabled", havingValue = "true")
+public class AdaptivePoolSizer {
+
+    private static final Logger log = LoggerFactory.getLogger(AdaptivePoolSizer.class);
+
+    private final HikariDataSource dataSource;
+    private final StatementLatencyInterceptor latencyInterceptor;
+    private final MeterRegistry meterRegistry;
+    private final AdaptivePoolProperties properties;
+    private final GradientLimit limit;
+
+    private final Counter growDecisions;
+    private final Counter shrinkDecisions;
+    private final Counter holdDecisions;
+
+    // 直近の観測値（メトリクス公開用）
+    private volatile int currentLimit;
+    private volatile long lastLatencyNanos;
+    private volatile long lastWaitNanos;
+
+    // コネクション取得待ちタイマーの前回値（差分計算用）
+    private long lastAcquireCount;
+    private double lastAcquireTotalNanos;
+
+    public AdaptivePoolSizer(HikariDataSource dataSource,
+                             StatementLatencyInterceptor latencyInterceptor,
+                             MeterRegistry meterRegistry,
+                             AdaptivePoolProperties properties) {
+        this.dataSource = dataSource;
+        this.latencyInterceptor = latencyInterceptor;
+        this.meterRegistry = meterRegistry;
+        this.properties = properties;
+        this.limit = new GradientLimit(
+                dataSource.getMaximumPoolSize(),
+                properties.minSize(),
+                properties.maxSize(),
+                properties.tolerance(),
+                properties.smoothing(),
+                properties.minRttResetSamples()
+        );
+        this.currentLimit = limit.getLimit();
+
+        Gauge.builder("userapi.datasource.pool.limit", this, sizer -> sizer.currentLimit)
+                .description("自動調整後のプール上限")
+                .register(meterRegistry);
+        Gauge.builder("userapi.datasource.pool.statement.latency", this, sizer -> sizer.lastLatencyNanos)
+                .description("直近区間のSQL平均実行時間")
+                .baseUnit("nanoseconds")
+                .register(meterRegistry);
+        Gauge.builder("userapi.datasource.pool.acquire.wait", this, sizer -> sizer.lastWaitNanos)
+                .description("直近区間のコネクション平均取得待ち時間")
+                .baseUnit("nanoseconds")
+                .register(meterRegistry);
+        this.growDecisions = decisionCounter("grow");
+        this.shrinkDecisions = decisionCounter("shrink");
+        this.holdDecisions = decisionCounter("hold");
+    }
+
+    /**
+     * プール上限を調整する（定期実行）
+     */
+    @Scheduled(fixedDelayString = "${datasource.adaptive.interval:PT5S}")
+    public synchronized void adjust() {
+        HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+        if (pool == null) {
+            // 最初のコネクション取得まではプールが初期化されていない
+            return;
+        }
+
+        int inFlight = pool.getActiveConnections();
+        int queued = pool.getThreadsAwaitingConnection();
+        long waitNanos = drainAverageAcquireWaitNanos();
+        long latencyNanos = latencyInterceptor.drainAverageNanos();
+        // 計測時点で待機がなくても、区間内で取得待ちが発生していれば待機ありとみなす
+        if (queued == 0 && waitNanos > properties.waitThreshold().toNanos()) {
+            queued = 1;
+        }
+
+        int previous = dataSource.getHikariConfigMXBean().getMaximumPoolSize();
+        int next = limit.update(latencyNanos, inFlight, queued);
+
+        lastLatencyNanos = latencyNanos;
+        lastWaitNanos = waitNanos;
+        currentLimit = next;
+
+        if (next > previous) {
+            growDecisions.increment();
+        } else if (next < previous) {
+            shrinkDecisions.increment();
+        } else {
+            holdDecisions.increment();
+            return;
+        }
+        dataSource.getHikariConfigMXBean().setMaximumPoolSize(next);
+        log.debug("プール上限を変更: {} -> {} (active={}, waiting={}, latency={}us, wait={}us)",
+                previous, next, inFlight, queued,
+                TimeUnit.NANOSECONDS.toMicros(latencyNanos), TimeUnit.NANOSECONDS.toMicros(waitNanos));
+    }
+
+    private long drainAverageAcquireWaitNanos() {
+        Timer timer = meterRegistry.find("hikaricp.connections.acquire")
+                .tag("pool", dataSource.getPoolName())
+                .timer();
+        if (timer == null) {
+            return 0;
+        }
+        long count = timer.count();
+        double totalNanos = timer.totalTime(TimeUnit.NANOSECONDS);
+        long deltaCount = count - lastAcquireCount;
+        double deltaNanos = totalNanos - lastAcquireTotalNanos;
+        lastAcquireCount = count;
+        lastAcquireTotalNanos = totalNanos;
+        return deltaCount <= 0 ? 0 : (long) (deltaNanos / deltaCount);
+    }
+
+    private Counter decisionCounter(String action) {
+        return Counter.builder("userapi.datasource.pool.decisions")
+                .description("プール上限の調整判断回数")
+                .tag("action", action)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.userapi.infrastructure.persistence.pool;
+
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.executor.statement.StatementHandler;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * SQL実行時間の計測インターセプター
+ * コネクション取得待ちを含まない、Statement実行そのものの時間を集計する。
+ * バッチ実行（ExecutorType.BATCH）では文の追加（addBatch）はSQLを送信しないため計測せず、
+ * まとめて送信する flushStatements の時間を送信したJDBCバッチの件数で按分して記録する
+ */
+@Component
+@ConditionalOnProperty(prefix = "datasource.adaptive", name = "enabled", havingValue = "true")
+@Intercepts({
+        @Signature(type = StatementHandler.class, method = "query", args = {Statement.class, ResultHandler.class}),
+        @Signature(type = StatementHandler.class, method = "update", args = {Statement.class}),
+        @Signature(type = Executor.class, method = "flushStatements", args = {})
+})
+public class StatementLatencyInterceptor implements Interceptor {
+
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAdder count = new LongAdder();
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        long start = System.nanoTime();
+        int samples = 1;
+        try {
+            Object result = invocation.proceed();
+            if (invocation.getTarget() instanceof Executor) {
+                // 送信する文がなかった場合（バッチ以外のコミット時など）は記録しない
+                samples = result instanceof List<?> batches ? batches.size() : 0;
+            }
+            return result;
+        } finally {
+            if (samples > 0) {
+                totalNanos.add(System.nanoTime() - start);
+                count.add(samples);
+            }
+        }
+    }
+
+    /**
+     * 前回呼び出し以降の平均実行時間を取得し、集計をリセットする
+     * @return 平均実行時間（ナノ秒、実行がない場合は0）
+     */
+    public long drainAverageNanos() {
+        long n = count.sumThenReset();
+        long total = totalNanos.sumThenReset();
+        return n == 0 ? 0 : total / n;
+    }
+}
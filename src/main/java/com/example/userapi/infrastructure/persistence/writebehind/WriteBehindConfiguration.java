@@ -0,0 +1,32 @@
+package com.example.userapi.infrastructure.persistence.writebehind;
+
+import com.example.userapi.infrastructure.persistence.UserRepositoryImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * ユーザー更新のwrite-behindの設定
+ * MyBatis版のリポジトリを、更新をまとめて非同期に反映するリポジトリで包み、UserRepositoryとして優先させる
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "write-behind", name = "enabled", havingValue = "true")
+public class WriteBehindConfiguration {
+
+    @Bean
+    @Primary
+    public WriteBehindUserRepository writeBehindUserRepository(UserRepositoryImpl userRepositoryImpl,
+                                                               PlatformTransactionManager transactionManager,
+                                                               WriteBehindProperties properties,
+                                                               MeterRegistry meterRegistry) {
+        // 呼び出し元（一括変更など）のトランザクションとは別にコミットする
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        return new WriteBehindUserRepository(userRepositoryImpl, transactionTemplate, properties, meterRegistry);
+    }
+}
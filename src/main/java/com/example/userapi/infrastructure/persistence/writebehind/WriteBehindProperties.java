@@ -0,0 +1,25 @@
+package com.example.userapi.infrastructure.persistence.writebehind;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * ユーザー更新のwrite-behind設定
+ *
+ * @param enabled        更新をまとめて非同期に反映するか（無効の場合は更新ごとに同期で反映する）
+ * @param interval       まとめた更新を反映する間隔
+ * @param batchSize      更新を待っているユーザー数がこの数に達したら、間隔を待たずに反映する
+ * @param maxPending     更新を待っているユーザー数の上限（達した場合、新しいユーザーの更新は反映が進むまで待つ）
+ * @param maxPendingWait 上限に達した場合に空きを待つ時間（超えた場合は503で拒否する）
+ */
+@ConfigurationProperties(prefix = "write-behind")
+public record WriteBehindProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("200ms") Duration interval,
+        @DefaultValue("500") int batchSize,
+        @DefaultValue("10000") int maxPending,
+        @DefaultValue("1s") Duration maxPendingWait
+) {
+}
@@ -0,0 +1,521 @@
+package com.example.userapi.infrastructure.persistence.writebehind;
+
+import com.example.userapi.domain.model.Email;
+import com.example.userapi.domain.model.User;
+import com.example.userapi.domain.repository.UserBatchResult;
+import com.example.userapi.domain.repository.UserRepository;
+import com.example.userapi.infrastructure.deadline.Deadline;
+import com.example.userapi.infrastructure.persistence.CoalescedUpdate;
+import com.example.userapi.infrastructure.persistence.UserRepositoryImpl;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * ユーザーリポジトリ（write-behind）
+ * 更新はユーザーごとのバッファに最新の状態だけを保持して応答し、一定間隔または件数でまとめてDBに反映する。
+ * 同じユーザーへの短時間の更新はUPDATE 1回にまとまる。参照はバッファの状態を優先して返す（書き込み後の読み込み）。
+ * メールアドレスの一意性は、反映待ちの更新が使うメールアドレスの予約とDBの両方で同期的にチェックする
+ * （変更前のメールアドレスは反映されるまで使用中とみなす）。登録・一括変更も、使うメールアドレスをコミットまで予約する。
+ * 登録・削除・一括変更は同期で反映する（一括変更の前には反映待ちの更新を反映する。削除したユーザーの反映待ちの更新は、
+ * 削除のコミット後に破棄する）。
+ * 反映待ちが上限に達した場合は、反映が進むまで待ち、待ちきれない場合は更新を拒否する
+ */
+public class WriteBehindUserRepository implements UserRepository, SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(WriteBehindUserRepository.class);
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 10;
+
+    private final UserRepositoryImpl delegate;
+    private final TransactionTemplate transactionTemplate;
+    private final WriteBehindProperties properties;
+    // ユーザーIDごとの反映待ちの更新（最新の状態のみ）
+    private final Map<Long, CoalescedUpdate> pending = new ConcurrentHashMap<>();
+    // 反映待ちの更新・コミット前の登録が使うメールアドレス → ユーザーID（登録の場合は負の予約番号）
+    private final Map<String, Long> reservedEmails = new ConcurrentHashMap<>();
+    private final AtomicLong reservationIds = new AtomicLong();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    // 反映待ちの空きを待つ更新への通知
+    private final ReentrantLock spaceLock = new ReentrantLock();
+    private final Condition spaceAvailable = spaceLock.newCondition();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final Counter accepted;
+    private final Counter written;
+    private final Counter conflicted;
+    private final Counter rejected;
+
+    private volatile ScheduledExecutorService flusher;
+    private volatile boolean running;
+
+    public WriteBehindUserRepository(UserRepositoryImpl delegate,
+                                     TransactionTemplate transactionTemplate,
+                                     WriteBehindProperties properties,
+                                     MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.accepted = Counter.builder("userapi.write-behind.updates")
+                .description("バッファに受け付けた更新数").register(meterRegistry);
+        this.written = Counter.builder("userapi.write-behind.rows").tag("result", "written")
+                .description("DBに反映した更新数（まとめた後）").register(meterRegistry);
+        this.conflicted = Counter.builder("userapi.write-behind.rows").tag("result", "conflict")
+                .description("競合・重複のため破棄した更新数").register(meterRegistry);
+        this.rejected = Counter.builder("userapi.write-behind.rejected")
+                .description("反映待ちが上限に達したため拒否した更新数").register(meterRegistry);
+        Gauge.builder("userapi.write-behind.pending", pending, Map::size)
+                .description("反映待ちのユーザー数").register(meterRegistry);
+    }
+
+    /**
+     * 登録する（メールアドレスはコミットまで予約し、反映待ちの更新と同じメールアドレスを使わせない）
+     */
+    @Override
+    public User save(User user) {
+        return reserving(List.of(user), List.of(), () -> delegate.save(user));
+    }
+
+    @Override
+    public List<User> saveAll(List<User> users) {
+        return reserving(users, List.of(), () -> delegate.saveAll(users));
+    }
+
+    @Override
+    public Optional<User> findById(Long id) {
+        CoalescedUpdate update = pending.get(id);
+        if (update != null) {
+            return Optional.of(update.latest());
+        }
+        return delegate.findById(id);
+    }
+
+    @Override
+    public List<User> findAllById(Collection<Long> ids) {
+        return overlay(delegate.findAllById(ids));
+    }
+
+    @Override
+    public Optional<User> findByEmail(Email email) {
+        Long owner = reservedEmails.get(email.getValue());
+        if (owner != null) {
+            CoalescedUpdate update = pending.get(owner);
+            if (update != null) {
+                return Optional.of(update.latest());
+            }
+        }
+        return delegate.findByEmail(email).map(this::overlay);
+    }
+
+    @Override
+    public List<User> findAll() {
+        return overlay(delegate.findAll());
+    }
+
+    @Override
+    public List<User> findAllAfter(long afterId, int limit) {
+        return overlay(delegate.findAllAfter(afterId, limit));
+    }
+
+    /**
+     * 更新をバッファに受け付ける（DBへの反映は非同期）
+     * @return 更新後のユーザー（バージョンはインクリメント済み、更新日時は受け付けた時刻）
+     */
+    @Override
+    public User update(User user) {
+        if (user.getId() == null) {
+            throw new IllegalArgumentException("更新対象のユーザーIDが指定されていません");
+        }
+        if (user.getVersion() == null) {
+            throw new IllegalArgumentException("更新対象のユーザーのバージョンが指定されていません");
+        }
+        Long userId = user.getId();
+        String email = user.getEmail().getValue();
+        awaitSpace(userId);
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+
+        // メールアドレスの一意性チェック（反映待ちの予約とDBの両方）。変更前のメールアドレスは反映まで使用中とみなす
+        Long owner = reservedEmails.putIfAbsent(email, userId);
+        boolean reserved = owner == null;
+        if (owner != null && !owner.equals(userId)) {
+            throw new DuplicateKeyException("このメールアドレスは既に使用されています: " + email);
+        }
+        CoalescedUpdate merged;
+        try {
+            if (reserved) {
+                Optional<User> existing = delegate.findByEmail(user.getEmail());
+                if (existing.isPresent() && !existing.get().getId().equals(userId)) {
+                    throw new DuplicateKeyException("このメールアドレスは既に使用されています: " + email);
+                }
+            }
+            merged = pending.compute(userId, (id, current) -> {
+                if (current != null && !current.latest().getVersion().equals(user.getVersion())) {
+                    throw new OptimisticLockingFailureException("ユーザーは他の処理により更新されています: ID=" + id);
+                }
+                if (current != null && !current.latest().getEmail().getValue().equals(email)) {
+                    reservedEmails.remove(current.latest().getEmail().getValue(), id);
+                }
+                User latest = new User(id, user.getName(), user.getEmail(), user.getPassword(),
+                        user.getCreatedAt(), now, user.getVersion() + 1);
+                // 初回はDBから読み込んだバージョンを基準にする（以降の更新はまとめて反映する）
+                return new CoalescedUpdate(latest, current != null ? current.baseVersion() : user.getVersion());
+            });
+        } catch (RuntimeException ex) {
+            if (reserved) {
+                reservedEmails.remove(email, userId);
+            }
+            throw ex;
+        }
+        accepted.increment();
+
+        if (pending.size() >= properties.batchSize()) {
+            requestFlush();
+        }
+        return merged.latest();
+    }
+
+    /**
+     * 削除する（反映待ちの更新とメールアドレスの予約は、削除がコミットされてから外す。
+     * 削除が失敗・ロールバックした場合は、反映待ちの更新を残して反映する）
+     */
+    @Override
+    public void deleteById(Long id) {
+        delegate.deleteById(id);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            discard(id);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                discard(id);
+            }
+        });
+    }
+
+    @Override
+    public UserBatchResult applyBatch(List<User> creates, List<User> updates, List<User> deletes) {
+        // 一括変更のバージョンはバッファの状態を読み込んだもののため、先にDBへ反映しておく
+        flush();
+        return reserving(creates, updates, () -> delegate.applyBatch(creates, updates, deletes));
+    }
+
+    @Override
+    public boolean existsByEmail(Email email) {
+        return reservedEmails.containsKey(email.getValue()) || delegate.existsByEmail(email);
+    }
+
+    @Override
+    public Set<String> findExistingEmails(Collection<Email> emails) {
+        Set<String> existing = new HashSet<>(delegate.findExistingEmails(emails));
+        for (Email email : emails) {
+            if (reservedEmails.containsKey(email.getValue())) {
+                existing.add(email.getValue());
+            }
+        }
+        return existing;
+    }
+
+    /**
+     * 反映待ちの更新をDBに反映する（batchSize件ずつ、それぞれ別のトランザクション）
+     * @return 反映したユーザー数
+     */
+    public int flush() {
+        flushLock.lock();
+        try {
+            List<CoalescedUpdate> updates = new ArrayList<>(pending.values());
+            int applied = 0;
+            for (int from = 0; from < updates.size(); from += properties.batchSize()) {
+                List<CoalescedUpdate> batch = updates.subList(from, Math.min(updates.size(), from + properties.batchSize()));
+                Set<Long> conflicts = write(batch);
+                for (CoalescedUpdate update : batch) {
+                    complete(update, conflicts.contains(update.latest().getId()));
+                }
+                applied += batch.size() - conflicts.size();
+                written.increment(batch.size() - conflicts.size());
+                conflicted.increment(conflicts.size());
+                signalSpace();
+            }
+            return applied;
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * 反映待ちのユーザー数
+     */
+    public int pendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * 登録・一括変更が使うメールアドレスを予約して実行し、コミット（またはロールバック）後に予約を外す
+     * 予約済みのメールアドレスを使う場合は、DBに書き込む前に一意制約違反として扱う
+     * @param creates 登録するユーザー（負の予約番号で予約する）
+     * @param updates 変更するユーザー（ユーザーIDで予約する。同じユーザーの反映待ちの更新とは競合させない）
+     */
+    private <T> T reserving(List<User> creates, List<User> updates, Supplier<T> action) {
+        long reservationId = reservationIds.decrementAndGet();
+        Map<String, Long> reserved = new HashMap<>();
+        try {
+            for (User user : creates) {
+                reserve(user.getEmail().getValue(), reservationId, reserved);
+            }
+            for (User user : updates) {
+                reserve(user.getEmail().getValue(), user.getId(), reserved);
+            }
+        } catch (RuntimeException ex) {
+            release(reserved);
+            throw ex;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            try {
+                return action.get();
+            } finally {
+                release(reserved);
+            }
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                release(reserved);
+            }
+        });
+        return action.get();
+    }
+
+    private void reserve(String email, Long owner, Map<String, Long> reserved) {
+        Long current = reservedEmails.putIfAbsent(email, owner);
+        if (current == null) {
+            reserved.put(email, owner);
+        } else if (!current.equals(owner)) {
+            throw new DuplicateKeyException("このメールアドレスは既に使用されています: " + email);
+        }
+    }
+
+    /**
+     * 予約を外す（同じユーザーの反映待ちの更新がそのメールアドレスを使っている場合は残す）
+     */
+    private void release(Map<String, Long> reserved) {
+        reserved.forEach((email, owner) -> reservedEmails.computeIfPresent(email, (key, current) -> {
+            if (!current.equals(owner)) {
+                return current;
+            }
+            CoalescedUpdate update = pending.get(owner);
+            return update != null && update.latest().getEmail().getValue().equals(email) ? current : null;
+        }));
+    }
+
+    /**
+     * 反映待ちが上限に達している場合は、反映が進むまで待つ（既に反映待ちのユーザーの更新はまとめるため待たない）
+     * @throws WriteBehindFullException 待ち時間（リクエストの期限までの残り時間を超えない）内に空かなかった場合
+     */
+    private void awaitSpace(Long userId) {
+        if (pending.size() < properties.maxPending() || pending.containsKey(userId)) {
+            return;
+        }
+        requestFlush();
+        long remaining = waitNanos();
+        spaceLock.lock();
+        try {
+            while (pending.size() >= properties.maxPending() && !pending.containsKey(userId)) {
+                if (remaining <= 0) {
+                    rejected.increment();
+                    throw new WriteBehindFullException("反映待ちの更新が上限（" + properties.maxPending()
+                            + "人）に達しているため、更新を受け付けられません");
+                }
+                remaining = spaceAvailable.awaitNanos(remaining);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            rejected.increment();
+            throw new WriteBehindFullException("反映待ちの空きを待つ間に割り込まれました");
+        } finally {
+            spaceLock.unlock();
+        }
+    }
+
+    private void signalSpace() {
+        spaceLock.lock();
+        try {
+            spaceAvailable.signalAll();
+        } finally {
+            spaceLock.unlock();
+        }
+    }
+
+    /**
+     * 空きを待つ時間（リクエストの期限が設定されている場合は、期限までの残り時間を超えない）
+     */
+    private long waitNanos() {
+        long maxWaitNanos = properties.maxPendingWait().toNanos();
+        Deadline deadline = Deadline.current();
+        if (deadline == null) {
+            return maxWaitNanos;
+        }
+        return Math.max(0, Math.min(maxWaitNanos, deadline.remainingNanos()));
+    }
+
+    private Set<Long> write(List<CoalescedUpdate> batch) {
+        try {
+            return transactionTemplate.execute(status -> delegate.applyCoalesced(batch));
+        } catch (DataIntegrityViolationException ex) {
+            // 反映前に他の処理が同じメールアドレスを登録した場合: 1件ずつ反映し、失敗したものだけ破棄する
+            Set<Long> conflicts = new HashSet<>();
+            for (CoalescedUpdate update : batch) {
+                try {
+                    conflicts.addAll(transactionTemplate.execute(status -> delegate.applyCoalesced(List.of(update))));
+                } catch (DataIntegrityViolationException duplicate) {
+                    conflicts.add(update.latest().getId());
+                }
+            }
+            return conflicts;
+        }
+    }
+
+    /**
+     * 反映した更新をバッファから外す（反映中に更新された場合は、反映した版を基準にして残す）
+     */
+    private void complete(CoalescedUpdate flushed, boolean conflict) {
+        pending.computeIfPresent(flushed.latest().getId(), (id, current) -> {
+            if (conflict) {
+                log.warn("反映できなかった更新を破棄しました（他の処理による更新・削除、またはメールアドレスの重複）: ID={}, version={}",
+                        id, current.latest().getVersion());
+                reservedEmails.remove(current.latest().getEmail().getValue(), id);
+                return null;
+            }
+            if (current.latest() == flushed.latest()) {
+                reservedEmails.remove(current.latest().getEmail().getValue(), id);
+                return null;
+            }
+            return new CoalescedUpdate(current.latest(), flushed.latest().getVersion());
+        });
+    }
+
+    /**
+     * 削除したユーザーの反映待ちの更新を破棄する
+     */
+    private void discard(Long id) {
+        CoalescedUpdate removed = pending.remove(id);
+        if (removed != null) {
+            reservedEmails.remove(removed.latest().getEmail().getValue(), id);
+            signalSpace();
+        }
+    }
+
+    private void requestFlush() {
+        ScheduledExecutorService executor = flusher;
+        if (running && executor != null && flushRequested.compareAndSet(false, true)) {
+            executor.execute(() -> {
+                flushRequested.set(false);
+                flushQuietly();
+            });
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException ex) {
+            // 反映待ちの更新は残し、次の間隔で再度反映する
+            log.warn("まとめた更新の反映に失敗しました（{}件は次回再試行）: {}", pending.size(), ex.getMessage());
+        }
+    }
+
+    private List<User> overlay(List<User> users) {
+        if (pending.isEmpty()) {
+            return users;
+        }
+        return users.stream()
+                .map(this::overlay)
+                .collect(Collectors.toList());
+    }
+
+    private User overlay(User user) {
+        CoalescedUpdate update = pending.get(user.getId());
+        return update != null ? update.latest() : user;
+    }
+
+    @Override
+    public void start() {
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "write-behind-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = properties.interval().toNanos();
+        executor.scheduleWithFixedDelay(this::flushQuietly, interval, interval, TimeUnit.NANOSECONDS);
+        flusher = executor;
+        running = true;
+    }
+
+    /**
+     * 定期反映を止め、反映待ちの更新をすべて反映する
+     */
+    @Override
+    public void stop() {
+        running = false;
+        ScheduledExecutorService executor = flusher;
+        if (executor != null) {
+            executor.shutdown();
+            try {
+                executor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        try {
+            int applied = flush();
+            log.info("停止前にまとめた更新を反映しました: {}件", applied);
+        } catch (RuntimeException ex) {
+            log.error("停止前の反映に失敗しました。{}件の更新が失われます", pending.size(), ex);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        // Webサーバーの停止（処理中リクエストの完了）後に停止し、SQLログ・ドメインイベント配信より先に停止する
+        return SmartLifecycle.DEFAULT_PHASE - 3072;
+    }
+
+    // カスタム例外
+    public static class WriteBehindFullException extends RuntimeException {
+        public WriteBehindFullException(String message) {
+            super(message);
+        }
+    }
+}
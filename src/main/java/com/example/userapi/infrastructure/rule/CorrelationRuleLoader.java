@@ -0,0 +1,121 @@
+package com.example.userapi.infrastructure.rule;
+
+import com.example.userapi.application.rule.CorrelationRuleSet;
+import com.example.userapi.application.rule.CorrelationRuleValidator;
+import com.example.userapi.application.rule.RuleDefinition;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+/**
+ * 相関チェックルールの読み込み
+ * 起動時にルール定義ファイルを読み込んでコンパイルし、以降はファイルの更新を検知して再読み込みする。
+ * 再読み込みに失敗した場合は、それまでのルールを使い続ける
+ */
+@Component
+public class CorrelationRuleLoader {
+
+    private static final Logger log = LoggerFactory.getLogger(CorrelationRuleLoader.class);
+
+    private final CorrelationRuleValidator validator;
+    private final Resource resource;
+    private final ObjectMapper objectMapper;
+    private final Counter reloads;
+    private final Counter reloadFailures;
+
+    // 読み込み済みファイルの更新日時
+    private long loadedLastModified;
+
+    public CorrelationRuleLoader(CorrelationRuleValidator validator,
+                                 CorrelationRuleProperties properties,
+                                 ResourceLoader resourceLoader,
+                                 ObjectMapper objectMapper,
+                                 MeterRegistry meterRegistry) {
+        this.validator = validator;
+        this.resource = resourceLoader.getResource(properties.location());
+        this.objectMapper = objectMapper;
+        this.reloads = Counter.builder("userapi.validation.rules.reloads")
+                .description("相関チェックルールの再読み込み回数")
+                .register(meterRegistry);
+        this.reloadFailures = Counter.builder("userapi.validation.rules.reload.failures")
+                .description("相関チェックルールの再読み込みに失敗した回数")
+                .register(meterRegistry);
+        Gauge.builder("userapi.validation.rules", validator, v -> v.rules().size())
+                .description("有効な相関チェックルール数")
+                .register(meterRegistry);
+
+        // 起動時の読み込み失敗は設定誤りとして起動を止める
+        try {
+            load();
+        } catch (IOException | RuntimeException ex) {
+            throw new IllegalStateException("相関チェックルールを読み込めません: " + properties.location(), ex);
+        }
+    }
+
+    /**
+     * ルール定義ファイルが更新されていれば再読み込みする（定期実行）
+     */
+    @Scheduled(fixedDelayString = "${validation.rules.reload-interval:PT10S}")
+    public synchronized void reloadIfModified() {
+        long lastModified = lastModified();
+        if (lastModified == 0 || lastModified == loadedLastModified) {
+            return;
+        }
+        reload();
+    }
+
+    /**
+     * ルール定義ファイルを再読み込みする
+     * @return 再読み込みに成功した場合true
+     */
+    public synchronized boolean reload() {
+        try {
+            load();
+            reloads.increment();
+            return true;
+        } catch (IOException | RuntimeException ex) {
+            reloadFailures.increment();
+            // 同じ内容で失敗を繰り返さないよう、更新日時は読み込み済みとして扱う
+            loadedLastModified = lastModified();
+            log.error("相関チェックルールの再読み込みに失敗しました。現在のルールを使い続けます: {}", resource, ex);
+            return false;
+        }
+    }
+
+    private void load() throws IOException {
+        long lastModified = lastModified();
+        RuleFile file;
+        try (InputStream in = resource.getInputStream()) {
+            file = objectMapper.readValue(in, RuleFile.class);
+        }
+        CorrelationRuleSet rules = CorrelationRuleSet.compile(file.rules() == null ? List.of() : file.rules());
+        validator.replace(rules);
+        loadedLastModified = lastModified;
+        log.info("相関チェックルールを読み込みました: {}件 ({})", rules.size(), resource);
+    }
+
+    private long lastModified() {
+        try {
+            return resource.isFile() ? resource.lastModified() : 0;
+        } catch (IOException ex) {
+            return 0;
+        }
+    }
+
+    /**
+     * ルール定義ファイルの形式
+     */
+    record RuleFile(List<RuleDefinition> rules) {
+    }
+}
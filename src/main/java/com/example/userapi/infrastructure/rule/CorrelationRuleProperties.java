@@ -0,0 +1,19 @@
+package com.example.userapi.infrastructure.rule;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * 相関チェックルール設定
+ *
+ * @param location       ルール定義ファイル（JSON）の場所（"file:" を指定すると更新を検知して再読み込みする）
+ * @param reloadInterval ルール定義ファイルの更新を確認する間隔
+ */
+@ConfigurationProperties(prefix = "validation.rules")
+public record CorrelationRuleProperties(
+        @DefaultValue("classpath:correlation-rules.json") String location,
+        @DefaultValue("10s") Duration reloadInterval
+) {
+}
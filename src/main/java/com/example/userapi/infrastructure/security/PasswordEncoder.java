@@ -1,16 +1,23 @@
 package com.example.userapi.infrastructure.security;
 
 import com.example.userapi.domain.model.HashedPassword;
+import com.example.userapi.infrastructure.tracing.Traced;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Component;
 
+import java.util.regex.Pattern;
+
 /**
  * パスワードエンコーダー
  * BCryptを使用してパスワードをハッシュ化
  */
 @Component
+@Traced
 public class PasswordEncoder {
 
+    private static final Pattern BCRYPT_PATTERN =
+            Pattern.compile("^\\$2[aby]?\\$\\d{2}\\$[./0-9A-Za-z]{53}$");
+
     private final BCryptPasswordEncoder encoder;
 
     public PasswordEncoder() {
@@ -37,6 +44,18 @@ public class PasswordEncoder {
         return new HashedPassword(hashed);
     }
 
+    /**
+     * ハッシュ化済みのパスワードを受け入れる（一括インポート用）
+     * @param encodedPassword BCryptでハッシュ化されたパスワード
+     * @return ハッシュ化されたパスワード
+     */
+    public HashedPassword fromEncoded(String encodedPassword) {
+        if (encodedPassword == null || !BCRYPT_PATTERN.matcher(encodedPassword).matches()) {
+            throw new IllegalArgumentException("パスワードハッシュはBCrypt形式で指定してください");
+        }
+        return new HashedPassword(encodedPassword);
+    }
+
     /**
      * パスワードを検証する
      * @param rawPassword 平文パスワード
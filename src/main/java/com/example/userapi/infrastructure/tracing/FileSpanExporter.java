@@ -0,0 +1,120 @@
+package com.example.userapi.infrastructure.tracing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * スパンの出力先（ファイル版）
+ * 終了したスパンを待ち行列に入れ、専用スレッドがNDJSON（1行1スパン）でファイルに追記する。
+ * 処理スレッドはファイル書き込みを待たない。待ち行列が満杯の場合はスパンを捨てて件数を記録する
+ */
+public class FileSpanExporter implements SpanExporter, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(FileSpanExporter.class);
+    private static final int MAX_DRAIN = 256;
+
+    private final BlockingQueue<SpanData> queue;
+    private final ObjectWriter writer;
+    private final BufferedWriter out;
+    private final Counter dropped;
+    private final Thread worker;
+    private volatile boolean running = true;
+
+    public FileSpanExporter(Path file, int capacity, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.writer = objectMapper.writerFor(SpanData.class);
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            this.out = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("スパンの出力ファイルを開けません: " + file, ex);
+        }
+        this.dropped = Counter.builder("userapi.tracing.spans.dropped")
+                .description("Spans dropped because the export queue was full")
+                .register(meterRegistry);
+        this.worker = new Thread(this::run, "span-exporter");
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    @Override
+    public void export(SpanData span) {
+        if (!queue.offer(span)) {
+            dropped.increment();
+        }
+    }
+
+    private void run() {
+        List<SpanData> batch = new ArrayList<>(MAX_DRAIN);
+        while (running || !queue.isEmpty()) {
+            try {
+                SpanData first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, MAX_DRAIN - 1);
+                write(batch);
+            } catch (InterruptedException ex) {
+                // 停止時は残りを書き出してから終了する
+                running = false;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<SpanData> batch) {
+        try {
+            for (SpanData span : batch) {
+                out.write(writer.writeValueAsString(span));
+                out.write('\n');
+            }
+            // 待ち行列が空になった時点でまとめて書き出す
+            if (queue.isEmpty()) {
+                out.flush();
+            }
+        } catch (IOException ex) {
+            log.warn("スパンの書き込みに失敗しました: {}", ex.getMessage());
+        }
+    }
+
+    /**
+     * 待ち行列に残っているスパンを書き出してファイルを閉じる
+     */
+    @Override
+    public void close() {
+        running = false;
+        try {
+            worker.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            out.close();
+        } catch (IOException ex) {
+            log.warn("スパンの出力ファイルを閉じられませんでした: {}", ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.userapi.infrastructure.tracing;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * スパンの出力先（メモリ版）
+ * 直近のスパンを上限件数まで保持する（外部のコレクターなしでの確認・テスト用）。上限を超えた場合は古いものから捨てる
+ */
+public class InMemorySpanExporter implements SpanExporter {
+
+    private final int maxSpans;
+    private final ArrayDeque<SpanData> spans;
+
+    public InMemorySpanExporter(int maxSpans) {
+        this.maxSpans = maxSpans;
+        this.spans = new ArrayDeque<>(Math.min(maxSpans, 1024));
+    }
+
+    @Override
+    public synchronized void export(SpanData span) {
+        if (spans.size() >= maxSpans) {
+            spans.pollFirst();
+        }
+        spans.addLast(span);
+    }
+
+    /**
+     * 直近のスパン（終了順）
+     * @param limit 最大件数
+     */
+    public synchronized List<SpanData> recent(int limit) {
+        List<SpanData> recent = new ArrayList<>(Math.min(limit, spans.size()));
+        var iterator = spans.descendingIterator();
+        while (iterator.hasNext() && recent.size() < limit) {
+            recent.add(0, iterator.next());
+        }
+        return recent;
+    }
+
+    /**
+     * 指定トレースのスパン（終了順）
+     * @param traceId トレースID
+     */
+    public synchronized List<SpanData> trace(String traceId) {
+        List<SpanData> trace = new ArrayList<>();
+        for (SpanData span : spans) {
+            if (span.traceId().equals(traceId)) {
+                trace.add(span);
+            }
+        }
+        return trace;
+    }
+
+    public synchronized void clear() {
+        spans.clear();
+    }
+}
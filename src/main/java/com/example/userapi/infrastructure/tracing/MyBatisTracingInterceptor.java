@@ -0,0 +1,97 @@
+package com.example.userapi.infrastructure.tracing;
+
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.BatchResult;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+
+import java.util.List;
+
+/**
+ * SQL実行のトレースインターセプター
+ * マッパーの文ごとに「マッパー名.文ID」のスパンを記録する（記録中のトレース内で実行された場合のみ）。
+ * バッチ実行（ExecutorType.BATCH）では、文の追加とまとめて送信する flushStatements をそれぞれ記録する
+ */
+@Intercepts({
+        @Signature(type = Executor.class, method = "query",
+                args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class}),
+        @Signature(type = Executor.class, method = "query",
+                args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class, CacheKey.class, BoundSql.class}),
+        @Signature(type = Executor.class, method = "update", args = {MappedStatement.class, Object.class}),
+        @Signature(type = Executor.class, method = "flushStatements", args = {})
+})
+public class MyBatisTracingInterceptor implements Interceptor {
+
+    private final Tracer tracer;
+
+    public MyBatisTracingInterceptor(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        if (!tracer.isTracing()) {
+            return invocation.proceed();
+        }
+        Object[] args = invocation.getArgs();
+        if (args.length == 0) {
+            return traceFlush(invocation);
+        }
+        MappedStatement statement = (MappedStatement) args[0];
+        try (Span span = tracer.startSpan(shortName(statement.getId()), Span.Kind.CLIENT)) {
+            span.setAttribute("db.system", "mybatis")
+                    .setAttribute("db.statement.id", statement.getId())
+                    .setAttribute("db.operation", statement.getSqlCommandType());
+            try {
+                Object result = invocation.proceed();
+                if (result instanceof List<?> rows) {
+                    span.setAttribute("db.rows", rows.size());
+                }
+                return result;
+            } catch (Throwable ex) {
+                span.recordError(ex);
+                throw ex;
+            }
+        }
+    }
+
+    /**
+     * 送信する文がなかった場合（バッチ以外のコミット時など）は記録しない
+     */
+    private Object traceFlush(Invocation invocation) throws Throwable {
+        Span span = tracer.startSpan("flushStatements", Span.Kind.CLIENT);
+        Object result;
+        try {
+            result = invocation.proceed();
+        } catch (Throwable ex) {
+            span.recordError(ex).close();
+            throw ex;
+        }
+        if (!(result instanceof List<?> results) || results.isEmpty()) {
+            span.discard();
+            return result;
+        }
+        int statements = 0;
+        for (Object batch : results) {
+            statements += ((BatchResult) batch).getParameterObjects().size();
+        }
+        span.setAttribute("db.system", "mybatis")
+                .setAttribute("db.batches", results.size())
+                .setAttribute("db.statements", statements)
+                .close();
+        return result;
+    }
+
+    private static String shortName(String statementId) {
+        int method = statementId.lastIndexOf('.');
+        int type = method > 0 ? statementId.lastIndexOf('.', method - 1) : -1;
+        return statementId.substring(type + 1);
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.userapi.infrastructure.tracing;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * スパン（トレース内の1つの処理区間）
+ * 開始したスレッドで try-with-resources により終了する。終了時に親スパンを現在のスパンに戻し、出力する。
+ * サンプリング対象外の場合は何も記録しない共有インスタンス（{@link #NOOP}）が返る
+ */
+public final class Span implements AutoCloseable {
+
+    /**
+     * スパンの種類
+     */
+    public enum Kind {
+        SERVER, INTERNAL, CLIENT
+    }
+
+    static final Span NOOP = new Span();
+
+    private final Tracer tracer;
+    private final Span parent;
+    private final String traceId;
+    private final String spanId;
+    private final String parentSpanId;
+    private final Kind kind;
+    private final long startEpochMicros;
+    private final long startNanos;
+    private String name;
+    private Map<String, String> attributes;
+    private String error;
+    private boolean discarded;
+    private boolean ended;
+
+    private Span() {
+        this(null, null, null, null, null, null, null);
+    }
+
+    Span(Tracer tracer, Span parent, String traceId, String spanId, String parentSpanId, String name, Kind kind) {
+        this.tracer = tracer;
+        this.parent = parent;
+        this.traceId = traceId;
+        this.spanId = spanId;
+        this.parentSpanId = parentSpanId;
+        this.name = name;
+        this.kind = kind;
+        this.startEpochMicros = tracer == null ? 0 : Tracer.epochMicros();
+        this.startNanos = tracer == null ? 0 : System.nanoTime();
+    }
+
+    /**
+     * 記録中か（サンプリング対象外の場合はfalse。属性の組み立てを省略する判定に使う）
+     */
+    public boolean isRecording() {
+        return tracer != null;
+    }
+
+    public Span setName(String name) {
+        if (isRecording()) {
+            this.name = name;
+        }
+        return this;
+    }
+
+    public Span setAttribute(String key, Object value) {
+        if (isRecording() && value != null) {
+            if (attributes == null) {
+                attributes = new LinkedHashMap<>();
+            }
+            attributes.put(key, String.valueOf(value));
+        }
+        return this;
+    }
+
+    public Span recordError(Throwable error) {
+        if (isRecording()) {
+            this.error = error.getClass().getSimpleName() + ": " + error.getMessage();
+        }
+        return this;
+    }
+
+    public Span recordError(String message) {
+        if (isRecording()) {
+            this.error = message;
+        }
+        return this;
+    }
+
+    /**
+     * 出力せずに終了する（何も実行しなかった区間を記録しない場合）
+     */
+    public void discard() {
+        discarded = true;
+        close();
+    }
+
+    /**
+     * 下流に伝播するトレースコンテキスト
+     */
+    public TraceContext context() {
+        return new TraceContext(traceId, spanId, true);
+    }
+
+    @Override
+    public void close() {
+        if (!isRecording() || ended) {
+            return;
+        }
+        ended = true;
+        tracer.end(this, discarded ? null : new SpanData(traceId, spanId, parentSpanId, name, kind,
+                startEpochMicros, (System.nanoTime() - startNanos) / 1_000,
+                attributes == null ? Map.of() : Collections.unmodifiableMap(attributes), error));
+    }
+
+    Span parent() {
+        return parent;
+    }
+
+    String traceId() {
+        return traceId;
+    }
+
+    String spanId() {
+        return spanId;
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.userapi.infrastructure.tracing;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.Map;
+
+/**
+ * 終了したスパン（出力用）
+ *
+ * @param traceId          トレースID
+ * @param spanId           スパンID
+ * @param parentSpanId     親スパンID（ルートの場合はnull。呼び出し元から引き継いだ場合は呼び出し元のスパンID）
+ * @param name             スパン名（例: PUT /api/users/{id}、UserUseCase.updateUser、UserMapper.update）
+ * @param kind             種類（SERVER / INTERNAL / CLIENT）
+ * @param startEpochMicros 開始日時（エポックからのマイクロ秒）
+ * @param durationMicros   所要時間（マイクロ秒）
+ * @param attributes       属性
+ * @param error            エラー内容（正常終了の場合はnull）
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record SpanData(
+        String traceId,
+        String spanId,
+        String parentSpanId,
+        String name,
+        Span.Kind kind,
+        long startEpochMicros,
+        long durationMicros,
+        Map<String, String> attributes,
+        String error
+) {
+}
@@ -0,0 +1,14 @@
+package com.example.userapi.infrastructure.tracing;
+
+/**
+ * スパンの出力先
+ * 終了したスパンは処理スレッドから呼ばれるため、ブロックしない実装にする
+ */
+public interface SpanExporter {
+
+    /**
+     * 終了したスパンを出力する
+     * @param span 終了したスパン
+     */
+    void export(SpanData span);
+}
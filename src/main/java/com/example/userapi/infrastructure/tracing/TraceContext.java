@@ -0,0 +1,63 @@
+package com.example.userapi.infrastructure.tracing;
+
+/**
+ * トレースコンテキスト（W3C Trace Context の traceparent ヘッダー）
+ * 形式: {version}-{trace-id 32桁}-{parent-id 16桁}-{trace-flags}（例: 00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01）
+ *
+ * @param traceId トレースID（16進数32桁）
+ * @param spanId  スパンID（16進数16桁）
+ * @param sampled サンプリング対象か（trace-flags の最下位ビット）
+ */
+public record TraceContext(String traceId, String spanId, boolean sampled) {
+
+    public static final String TRACEPARENT = "traceparent";
+
+    private static final String INVALID_TRACE_ID = "00000000000000000000000000000000";
+    private static final String INVALID_SPAN_ID = "0000000000000000";
+
+    /**
+     * traceparent ヘッダーを解析する
+     * @param header ヘッダー値（未指定の場合はnull）
+     * @return トレースコンテキスト（未指定・形式不正の場合はnull。新しいトレースを開始する）
+     */
+    public static TraceContext parse(String header) {
+        if (header == null) {
+            return null;
+        }
+        String value = header.trim();
+        // 将来のバージョンは後ろにフィールドが追加されうるため、先頭55文字のみ解釈する
+        if (value.length() < 55 || (value.length() > 55 && value.charAt(55) != '-')
+                || value.charAt(2) != '-' || value.charAt(35) != '-' || value.charAt(52) != '-') {
+            return null;
+        }
+        String version = value.substring(0, 2);
+        String traceId = value.substring(3, 35);
+        String spanId = value.substring(36, 52);
+        String flags = value.substring(53, 55);
+        if (!isLowerHex(version) || "ff".equals(version) || (version.equals("00") && value.length() != 55)
+                || !isLowerHex(traceId) || INVALID_TRACE_ID.equals(traceId)
+                || !isLowerHex(spanId) || INVALID_SPAN_ID.equals(spanId)
+                || !isLowerHex(flags)) {
+            return null;
+        }
+        boolean sampled = (Character.digit(flags.charAt(1), 16) & 1) == 1;
+        return new TraceContext(traceId, spanId, sampled);
+    }
+
+    /**
+     * traceparent ヘッダーの値を生成する
+     */
+    public String toTraceparent() {
+        return "00-" + traceId + "-" + spanId + (sampled ? "-01" : "-00");
+    }
+
+    private static boolean isLowerHex(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if ((c < '0' || c > '9') && (c < 'a' || c > 'f')) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.userapi.infrastructure.tracing;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * トレース対象
+ * クラスに付けた場合は公開メソッドごと、メソッドに付けた場合はそのメソッドの呼び出しを
+ * 「クラス名.メソッド名」のスパンとして記録する（記録中のトレース内で呼ばれた場合のみ）
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Traced {
+}
@@ -0,0 +1,52 @@
+package com.example.userapi.infrastructure.tracing;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link Traced} を付けたクラス・メソッドの呼び出しをスパンとして記録する
+ */
+class TracedMethodInterceptor implements MethodInterceptor {
+
+    private final ObjectProvider<Tracer> tracerProvider;
+    private final Map<Method, String> spanNames = new ConcurrentHashMap<>();
+    private volatile Tracer tracer;
+
+    TracedMethodInterceptor(ObjectProvider<Tracer> tracerProvider) {
+        this.tracerProvider = tracerProvider;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Tracer tracer = tracer();
+        if (!tracer.isTracing()) {
+            return invocation.proceed();
+        }
+        String name = spanNames.computeIfAbsent(invocation.getMethod(), method ->
+                AopUtils.getTargetClass(invocation.getThis()).getSimpleName() + "." + method.getName());
+        try (Span span = tracer.startSpan(name, Span.Kind.INTERNAL)) {
+            try {
+                return invocation.proceed();
+            } catch (Throwable ex) {
+                span.recordError(ex);
+                throw ex;
+            }
+        }
+    }
+
+    private Tracer tracer() {
+        Tracer resolved = tracer;
+        if (resolved == null) {
+            // アドバイザーは他のBeanより先に作られるため、トレーサーは初回呼び出し時に取得する
+            resolved = tracerProvider.getObject();
+            tracer = resolved;
+        }
+        return resolved;
+    }
+}
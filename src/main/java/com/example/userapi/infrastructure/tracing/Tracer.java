@@ -0,0 +1,121 @@
+package com.example.userapi.infrastructure.tracing;
+
+import java.time.Instant;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * トレーサー
+ * 現在のスパンをスレッドごとに保持し、子スパンはその配下に作成する。
+ * サンプリングはトレースの開始時（リクエストの受信時）に1回だけ判定し、呼び出し元が指定した場合（traceparent）はそれに従う。
+ * 現在のスパンがない（サンプリング対象外・リクエスト外）場合の子スパン作成はスレッドローカルの参照1回のみで、割り当ても行わない
+ */
+public class Tracer {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final ThreadLocal<Span> current = new ThreadLocal<>();
+    private final SpanExporter exporter;
+    private final double sampleRate;
+
+    public Tracer(SpanExporter exporter, double sampleRate) {
+        if (sampleRate < 0 || sampleRate > 1) {
+            throw new IllegalArgumentException("tracing.sample-rate は0.0〜1.0で指定してください: " + sampleRate);
+        }
+        this.exporter = exporter;
+        this.sampleRate = sampleRate;
+    }
+
+    /**
+     * リクエストを受けてトレースを開始する（現在のスパンになる）
+     * @param name  スパン名
+     * @param parent 呼び出し元のトレースコンテキスト（ない場合はnull。新しいトレースを開始する）
+     * @return スパン（サンプリング対象外の場合は何も記録しないスパン）
+     */
+    public Span startServerSpan(String name, TraceContext parent) {
+        boolean sampled = parent != null ? parent.sampled() : sample();
+        if (!sampled) {
+            return Span.NOOP;
+        }
+        String traceId = parent != null ? parent.traceId() : newTraceId();
+        Span span = new Span(this, current.get(), traceId, newSpanId(),
+                parent != null ? parent.spanId() : null, name, Span.Kind.SERVER);
+        current.set(span);
+        return span;
+    }
+
+    /**
+     * 現在のスパンの子スパンを開始する（現在のスパンになる）
+     * @param name スパン名
+     * @param kind 種類
+     * @return スパン（現在のスパンがない場合は何も記録しないスパン）
+     */
+    public Span startSpan(String name, Span.Kind kind) {
+        Span parent = current.get();
+        if (parent == null) {
+            return Span.NOOP;
+        }
+        Span span = new Span(this, parent, parent.traceId(), newSpanId(), parent.spanId(), name, kind);
+        current.set(span);
+        return span;
+    }
+
+    /**
+     * 記録中のトレース内か（スパン名・属性の組み立てを省略する判定に使う）
+     */
+    public boolean isTracing() {
+        return current.get() != null;
+    }
+
+    /**
+     * 現在のトレースコンテキスト（記録中のトレースがない場合はnull）
+     */
+    public TraceContext currentContext() {
+        Span span = current.get();
+        return span == null ? null : span.context();
+    }
+
+    void end(Span span, SpanData data) {
+        // 開始順と逆に終了する前提。子スパンを閉じ忘れた場合も、閉じたスパンの親に戻す
+        current.set(span.parent());
+        if (data != null) {
+            exporter.export(data);
+        }
+    }
+
+    private boolean sample() {
+        return sampleRate >= 1.0 || (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate);
+    }
+
+    private static String newTraceId() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long high = random.nextLong();
+        long low = random.nextLong();
+        while (high == 0 && low == 0) {
+            low = random.nextLong();
+        }
+        return hex(high) + hex(low);
+    }
+
+    private static String newSpanId() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long id = random.nextLong();
+        while (id == 0) {
+            id = random.nextLong();
+        }
+        return hex(id);
+    }
+
+    private static String hex(long value) {
+        char[] chars = new char[16];
+        for (int i = 15; i >= 0; i--) {
+            chars[i] = HEX[(int) (value & 0xF)];
+            value >>>= 4;
+        }
+        return new String(chars);
+    }
+
+    static long epochMicros() {
+        Instant now = Instant.now();
+        return now.getEpochSecond() * 1_000_000 + now.getNano() / 1_000;
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.userapi.infrastructure.tracing;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+
+import java.util.List;
+
+/**
+ * メモリ版の出力先に保持しているスパンを返すエンドポイント
+ * GET /actuator/traces（直近のスパン）、GET /actuator/traces/{traceId}（指定トレースのスパン）
+ */
+@Endpoint(id = "traces")
+public class TracesEndpoint {
+
+    private static final int RECENT_LIMIT = 200;
+
+    private final InMemorySpanExporter exporter;
+
+    public TracesEndpoint(InMemorySpanExporter exporter) {
+        this.exporter = exporter;
+    }
+
+    @ReadOperation
+    public List<SpanData> recent() {
+        return exporter.recent(RECENT_LIMIT);
+    }
+
+    @ReadOperation
+    public List<SpanData> trace(@Selector String traceId) {
+        return exporter.trace(traceId);
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.userapi.infrastructure.tracing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+
+import java.nio.file.Path;
+
+/**
+ * 分散トレーシングの設定
+ * トレーサー・出力先・SQLインターセプター、{@link Traced} のアドバイザーを登録する（tracing.enabled=true の場合のみ）
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "tracing", name = "enabled", havingValue = "true")
+public class TracingConfiguration {
+
+    @Bean
+    public Tracer tracer(SpanExporter spanExporter, TracingProperties properties) {
+        return new Tracer(spanExporter, properties.sampleRate());
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "tracing", name = "exporter", havingValue = "memory", matchIfMissing = true)
+    public InMemorySpanExporter inMemorySpanExporter(TracingProperties properties) {
+        return new InMemorySpanExporter(properties.maxSpans());
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "tracing", name = "exporter", havingValue = "memory", matchIfMissing = true)
+    public TracesEndpoint tracesEndpoint(InMemorySpanExporter inMemorySpanExporter) {
+        return new TracesEndpoint(inMemorySpanExporter);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "tracing", name = "exporter", havingValue = "file")
+    public FileSpanExporter fileSpanExporter(TracingProperties properties, ObjectMapper objectMapper,
+                                             MeterRegistry meterRegistry) {
+        return new FileSpanExporter(Path.of(properties.file()), properties.maxSpans(), objectMapper, meterRegistry);
+    }
+
+    @Bean
+    public MyBatisTracingInterceptor myBatisTracingInterceptor(Tracer tracer) {
+        return new MyBatisTracingInterceptor(tracer);
+    }
+
+    /**
+     * トランザクションのアドバイスより外側に適用する（スパンにコミットの時間を含める）
+     */
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor tracedAdvisor(ObjectProvider<Tracer> tracer) {
+        ComposablePointcut pointcut = new ComposablePointcut(new AnnotationMatchingPointcut(Traced.class, true))
+                .union(AnnotationMatchingPointcut.forMethodAnnotation(Traced.class));
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(pointcut, new TracedMethodInterceptor(tracer));
+        advisor.setOrder(Ordered.LOWEST_PRECEDENCE - 1);
+        return advisor;
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.userapi.infrastructure.tracing;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * 分散トレーシング設定
+ *
+ * @param enabled    トレーシングを有効にするか（無効の場合はフィルター・インターセプターを登録しない）
+ * @param sampleRate 呼び出し元がサンプリングを指定していないリクエストを記録する割合（0.0〜1.0）
+ * @param exporter   スパンの出力先（memory / file）
+ * @param file       file出力時のファイルパス（NDJSON、追記）
+ * @param maxSpans   メモリ版の保持件数・ファイル版の書き込み待ちの上限
+ */
+@ConfigurationProperties(prefix = "tracing")
+public record TracingProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("0.1") double sampleRate,
+        @DefaultValue("memory") String exporter,
+        @DefaultValue("./traces/spans.ndjson") String file,
+        @DefaultValue("10000") int maxSpans
+) {
+}
@@ -0,0 +1,83 @@
+package com.example.userapi.presentation.admission;
+
+import com.example.userapi.infrastructure.limit.AdaptiveConcurrencyLimiter;
+import com.example.userapi.infrastructure.limit.AimdLimit;
+import com.example.userapi.infrastructure.limit.StripedTokenBucket;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpStatus;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 流入制御の予算（参照系・更新系それぞれに1つ）
+ * クライアント別・エンドポイント別のレート制限と、適応型の同時実行数制限を持つ
+ */
+class AdmissionBudget {
+
+    private final StripedTokenBucket clientBuckets;
+    private final StripedTokenBucket endpointBuckets;
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final long retryAfterSecondsWhenOverloaded;
+    private final Counter rateLimited;
+    private final Counter overloaded;
+
+    AdmissionBudget(String name, AdmissionProperties.Budget budget, AdmissionProperties properties,
+                    MeterRegistry meterRegistry) {
+        this.clientBuckets = new StripedTokenBucket(properties.stripes(), budget.clientRate(), budget.clientBurst());
+        this.endpointBuckets = new StripedTokenBucket(properties.stripes(), budget.endpointRate(), budget.endpointBurst());
+        this.limiter = new AdaptiveConcurrencyLimiter(
+                new AimdLimit(budget.initialLimit(), budget.minLimit(), budget.maxLimit(),
+                        budget.latencyThreshold().toNanos(), 0.9),
+                properties.window().toNanos()
+        );
+        this.retryAfterSecondsWhenOverloaded = Math.max(1, properties.window().toSeconds());
+
+        this.rateLimited = Counter.builder("userapi.admission.rejected")
+                .description("流入制御で拒否したリクエスト数")
+                .tag("budget", name)
+                .tag("reason", "rate-limited")
+                .register(meterRegistry);
+        this.overloaded = Counter.builder("userapi.admission.rejected")
+                .description("流入制御で拒否したリクエスト数")
+                .tag("budget", name)
+                .tag("reason", "overloaded")
+                .register(meterRegistry);
+        Gauge.builder("userapi.admission.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                .description("同時実行数の上限")
+                .tag("budget", name)
+                .register(meterRegistry);
+        Gauge.builder("userapi.admission.inflight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                .description("実行中のリクエスト数")
+                .tag("budget", name)
+                .register(meterRegistry);
+    }
+
+    /**
+     * リクエストを受け入れる（受け入れた場合は完了時にreleaseを呼ぶこと）
+     * @throws AdmissionRejectedException レート超過（429）・同時実行数超過（503）の場合
+     */
+    void admit(String client, String endpoint) {
+        long waitNanos = clientBuckets.tryAcquire(client);
+        if (waitNanos == 0) {
+            waitNanos = endpointBuckets.tryAcquire(endpoint);
+        }
+        if (waitNanos > 0) {
+            rateLimited.increment();
+            throw new AdmissionRejectedException(HttpStatus.TOO_MANY_REQUESTS,
+                    Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L)),
+                    "リクエストが多すぎます。しばらくしてから再試行してください");
+        }
+        if (!limiter.tryAcquire()) {
+            overloaded.increment();
+            throw new AdmissionRejectedException(HttpStatus.SERVICE_UNAVAILABLE,
+                    retryAfterSecondsWhenOverloaded,
+                    "サーバーが混雑しています。しばらくしてから再試行してください");
+        }
+    }
+
+    void release(long elapsedNanos) {
+        limiter.release(elapsedNanos);
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.userapi.presentation.admission;
+
+import com.example.userapi.presentation.warmup.WarmupRequests;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * 流入制御の設定
+ * /api/** のリクエストに流入制御インターセプターを適用する
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "admission", name = "enabled", havingValue = "true")
+public class AdmissionControlConfiguration implements WebMvcConfigurer {
+
+    private final AdmissionControlInterceptor interceptor;
+
+    public AdmissionControlConfiguration(AdmissionProperties properties, MeterRegistry meterRegistry,
+                                         WarmupRequests warmupRequests) {
+        this.interceptor = new AdmissionControlInterceptor(
+                new AdmissionBudget("read", properties.read(), properties, meterRegistry),
+                new AdmissionBudget("write", properties.write(), properties, meterRegistry),
+                warmupRequests
+        );
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(interceptor).addPathPatterns("/api/**");
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.userapi.presentation.admission;
+
+import com.example.userapi.presentation.warmup.WarmupRequests;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * 流入制御インターセプター
+ * コントローラー実行前（DBコネクション取得・BCrypt計算の前）に、レート超過・同時実行数超過のリクエストを拒否する。
+ * 起動時のウォームアップのリクエストは対象外（クライアントの予算を消費しない）
+ */
+public class AdmissionControlInterceptor implements HandlerInterceptor {
+
+    private static final String ADMISSION_ATTRIBUTE = AdmissionControlInterceptor.class.getName() + ".ADMISSION";
+
+    private final AdmissionBudget readBudget;
+    private final AdmissionBudget writeBudget;
+    private final WarmupRequests warmupRequests;
+
+    AdmissionControlInterceptor(AdmissionBudget readBudget, AdmissionBudget writeBudget,
+                                WarmupRequests warmupRequests) {
+        this.readBudget = readBudget;
+        this.writeBudget = writeBudget;
+        this.warmupRequests = warmupRequests;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // 非同期処理の再ディスパッチでは受け入れ済み。ウォームアップのリクエストは対象外
+        if (!(handler instanceof HandlerMethod handlerMethod)
+                || request.getAttribute(ADMISSION_ATTRIBUTE) != null
+                || warmupRequests.isWarmup(request)) {
+            return true;
+        }
+        AdmissionBudget budget = isRead(request) ? readBudget : writeBudget;
+        budget.admit(request.getRemoteAddr(), handlerMethod.getMethod().getName());
+        request.setAttribute(ADMISSION_ATTRIBUTE, new Admission(budget, System.nanoTime()));
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response,
+                                Object handler, Exception ex) {
+        if (request.getAttribute(ADMISSION_ATTRIBUTE) instanceof Admission admission) {
+            request.removeAttribute(ADMISSION_ATTRIBUTE);
+            admission.budget().release(System.nanoTime() - admission.startNanos());
+        }
+    }
+
+    private static boolean isRead(HttpServletRequest request) {
+        return HttpMethod.GET.matches(request.getMethod()) || HttpMethod.HEAD.matches(request.getMethod());
+    }
+
+    private record Admission(AdmissionBudget budget, long startNanos) {
+    }
+}
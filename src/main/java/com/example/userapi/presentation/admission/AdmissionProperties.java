@@ -0,0 +1,62 @@
+package com.example.userapi.presentation.admission;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * 流入制御（アドミッションコントロール）設定
+ * 参照系（GET）と更新系（POST/PUT/DELETE）で別々の予算を持つ。
+ * クライアントは接続元IP（request.getRemoteAddr()）で識別するため、既定は無効。
+ * リバースプロキシ・ロードバランサーの背後で有効にする場合は、server.forward-headers-strategy で
+ * X-Forwarded-For から接続元IPを復元すること（そうしないと全クライアントが1つの予算を共有する）
+ *
+ * @param enabled 流入制御の有効/無効
+ * @param stripes トークンバケットのストライプ数
+ * @param window  同時実行数の上限を再計算する間隔
+ * @param read    参照系の予算
+ * @param write   更新系の予算（BCrypt・コネクションを消費するため小さく設定する）
+ */
+@ConfigurationProperties(prefix = "admission")
+public record AdmissionProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("4096") int stripes,
+        @DefaultValue("1s") Duration window,
+        Budget read,
+        Budget write
+) {
+
+    public AdmissionProperties {
+        if (read == null) {
+            read = new Budget(100, 200, 2000, 4000, 50, 10, 400, Duration.ofMillis(500));
+        }
+        if (write == null) {
+            write = new Budget(5, 10, 100, 200, 8, 2, 64, Duration.ofSeconds(2));
+        }
+    }
+
+    /**
+     * 予算
+     *
+     * @param clientRate    クライアントごとの1秒あたりの許可数
+     * @param clientBurst   クライアントごとのバースト数
+     * @param endpointRate  エンドポイントごとの1秒あたりの許可数
+     * @param endpointBurst エンドポイントごとのバースト数
+     * @param initialLimit  同時実行数の初期上限
+     * @param minLimit      同時実行数の上限の下限
+     * @param maxLimit      同時実行数の上限の上限
+     * @param latencyThreshold 平均処理時間の閾値（超えた区間は同時実行数の上限を縮小する）
+     */
+    public record Budget(
+            double clientRate,
+            int clientBurst,
+            double endpointRate,
+            int endpointBurst,
+            int initialLimit,
+            int minLimit,
+            int maxLimit,
+            Duration latencyThreshold
+    ) {
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.userapi.presentation.admission;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * 流入制御による拒否
+ * 過負荷時に大量に発生するため、スタックトレースは取得しない
+ */
+public class AdmissionRejectedException extends RuntimeException {
+
+    private final HttpStatus status;
+    private final long retryAfterSeconds;
+
+    public AdmissionRejectedException(HttpStatus status, long retryAfterSeconds, String message) {
+        super(message, null, false, false);
+        this.status = status;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public HttpStatus getStatus() {
+        return status;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
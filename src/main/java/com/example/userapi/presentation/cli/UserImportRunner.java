@@ -0,0 +1,68 @@
+package com.example.userapi.presentation.cli;
+
+import com.example.userapi.application.dto.ImportProgressResponse;
+import com.example.userapi.application.dto.ImportUsersCommand;
+import com.example.userapi.application.usecase.UserImportUseCase;
+import com.example.userapi.infrastructure.importer.ImportFormat;
+import com.example.userapi.infrastructure.importer.ImportProperties;
+import com.example.userapi.infrastructure.importer.ImportStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+
+/**
+ * コマンドラインからのユーザー一括インポート
+ * importer.file（新規）または importer.job-id（再開）を指定して起動すると、完了まで待ってから起動を終える
+ */
+@Component
+public class UserImportRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(UserImportRunner.class);
+
+    private final UserImportUseCase userImportUseCase;
+    private final ImportProperties properties;
+
+    public UserImportRunner(UserImportUseCase userImportUseCase, ImportProperties properties) {
+        this.userImportUseCase = userImportUseCase;
+        this.properties = properties;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        ImportProgressResponse started;
+        if (properties.jobId() != null) {
+            started = userImportUseCase.resumeImport(properties.jobId());
+        } else if (properties.file() != null) {
+            String file = properties.file().toString();
+            ImportFormat format = properties.format() != null ? properties.format() : formatOf(file);
+            started = userImportUseCase.startImport(new ImportUsersCommand(file, format));
+        } else {
+            return;
+        }
+
+        log.info("インポートを実行します: job={}", started.jobId());
+        ImportProgressResponse result = userImportUseCase.awaitCompletion(started.jobId());
+        log.info("インポート終了: job={}, status={}, rows={}, imported={}, duplicates={}, rejected={}",
+                result.jobId(), result.status(), result.rowsRead(), result.imported(),
+                result.duplicates(), result.rejected());
+        if (!ImportStatus.COMPLETED.name().equals(result.status())) {
+            throw new IllegalStateException("インポートが完了しませんでした（--importer.job-id="
+                    + result.jobId() + " で再開できます）: " + result.error());
+        }
+    }
+
+    private static ImportFormat formatOf(String file) {
+        String name = file.toLowerCase(Locale.ROOT);
+        if (name.endsWith(".csv")) {
+            return ImportFormat.CSV;
+        }
+        if (name.endsWith(".ndjson") || name.endsWith(".jsonl")) {
+            return ImportFormat.NDJSON;
+        }
+        throw new IllegalArgumentException("importer.format を指定してください（CSV / NDJSON）");
+    }
+}
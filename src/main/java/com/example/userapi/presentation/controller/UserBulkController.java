@@ -0,0 +1,69 @@
+package com.example.userapi.presentation.controller;
+
+import com.example.userapi.application.dto.BulkOperationResult;
+import com.example.userapi.application.usecase.UserBulkUseCase;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * ユーザー一括変更コントローラー
+ * リクエスト（NDJSON）を1行ずつ読みながら実行し、操作ごとの結果をチャンクのコミットごとにNDJSONで書き出す
+ */
+@RestController
+@RequestMapping("/api/users")
+public class UserBulkController {
+
+    private final UserBulkUseCase userBulkUseCase;
+    private final ObjectWriter resultWriter;
+
+    public UserBulkController(UserBulkUseCase userBulkUseCase, ObjectMapper objectMapper) {
+        this.userBulkUseCase = userBulkUseCase;
+        this.resultWriter = objectMapper.writerFor(BulkOperationResult.class);
+    }
+
+    /**
+     * 一括変更
+     * POST /api/users/_bulk
+     * 個々の操作の失敗はレスポンス全体を失敗にせず、操作ごとの結果（status）で返す
+     */
+    @PostMapping(value = "/_bulk", consumes = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_PLAIN_VALUE})
+    public void bulk(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        BufferedReader reader = new BufferedReader(
+                new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8));
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        OutputStream out = response.getOutputStream();
+
+        try {
+            userBulkUseCase.execute(reader, results -> {
+                try {
+                    for (BulkOperationResult result : results) {
+                        out.write(resultWriter.writeValueAsBytes(result));
+                        out.write('\n');
+                    }
+                    // コミット済みのチャンクの結果をすぐに返す
+                    out.flush();
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+    }
+}
@@ -3,36 +3,66 @@ package com.example.userapi.presentation.controller;
 import com.example.userapi.application.dto.CreateUserCommand;
 import com.example.userapi.application.dto.UpdateUserCommand;
 import com.example.userapi.application.dto.UserResponse;
+import com.example.userapi.application.result.UseCaseResult;
 import com.example.userapi.application.usecase.UserUseCase;
+import com.example.userapi.presentation.deadline.RequestTimeout;
+import com.example.userapi.presentation.dto.ErrorResponse;
+import com.example.userapi.presentation.idempotency.IdempotencyService;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Collections;
 import java.util.List;
 
 /**
  * ユーザーコントローラー
  * REST APIのエンドポイントを提供
+ * ユースケースの処理結果（成功・未検出・競合）をそのままレスポンスに変換する
  */
 @RestController
 @RequestMapping("/api/users")
 public class UserController {
 
+    private static final int DEFAULT_PAGE_SIZE = 100;
+
     private final UserUseCase userUseCase;
+    private final IdempotencyService idempotencyService;
 
-    public UserController(UserUseCase userUseCase) {
+    public UserController(UserUseCase userUseCase, IdempotencyService idempotencyService) {
         this.userUseCase = userUseCase;
+        this.idempotencyService = idempotencyService;
     }
 
     /**
      * ユーザー作成
      * POST /api/users
+     * Idempotency-Keyヘッダー指定時は、同一キーの再送に初回のレスポンスを返す
      */
     @PostMapping
-    public ResponseEntity<UserResponse> createUser(@Valid @RequestBody CreateUserCommand command) {
-        UserResponse response = userUseCase.createUser(command);
-        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    @RequestTimeout("5s")
+    public ResponseEntity<?> createUser(
+            @RequestHeader(value = IdempotencyService.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            @Valid @RequestBody CreateUserCommand command) {
+        if (idempotencyKey == null) {
+            return create(command);
+        }
+        // パスワードは指紋に含めない（平文の高速ハッシュを保存しないため）
+        String fingerprint = command.name() + "\n" + command.email();
+        return idempotencyService.execute(idempotencyKey, fingerprint, UserResponse.class,
+                () -> create(command));
+    }
+
+    private ResponseEntity<?> create(CreateUserCommand command) {
+        UseCaseResult<UserResponse> result = userUseCase.createUser(command);
+        if (result instanceof UseCaseResult.Success<UserResponse> success) {
+            return ResponseEntity.status(HttpStatus.CREATED)
+                    .eTag(String.valueOf(success.value().version()))
+                    .body(success.value());
+        }
+        return failure(result);
     }
 
     /**
@@ -40,31 +70,40 @@ public class UserController {
      * GET /api/users/{id}
      */
     @GetMapping("/{id}")
-    public ResponseEntity<UserResponse> getUser(@PathVariable Long id) {
-        UserResponse response = userUseCase.getUser(id);
-        return ResponseEntity.ok(response);
+    @RequestTimeout("2s")
+    public ResponseEntity<?> getUser(@PathVariable Long id) {
+        return withETag(userUseCase.getUser(id));
     }
 
     /**
      * ユーザー一覧取得
      * GET /api/users
+     * GET /api/users?after={最後のID}&limit={件数}（ID順のページング。どちらかを指定した場合）
      */
     @GetMapping
-    public ResponseEntity<List<UserResponse>> getAllUsers() {
-        List<UserResponse> responses = userUseCase.getAllUsers();
+    @RequestTimeout("10s")
+    public ResponseEntity<List<UserResponse>> getAllUsers(@RequestParam(required = false) Long after,
+                                                          @RequestParam(required = false) Integer limit) {
+        if (after == null && limit == null) {
+            return ResponseEntity.ok(userUseCase.getAllUsers());
+        }
+        List<UserResponse> responses = userUseCase.getUsers(after == null ? 0 : after,
+                limit == null ? DEFAULT_PAGE_SIZE : limit);
         return ResponseEntity.ok(responses);
     }
 
     /**
      * ユーザー更新
      * PUT /api/users/{id}
+     * If-Matchヘッダー指定時は、ETag（バージョン）が一致する場合のみ更新する
      */
     @PutMapping("/{id}")
-    public ResponseEntity<UserResponse> updateUser(
+    @RequestTimeout("5s")
+    public ResponseEntity<?> updateUser(
             @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody UpdateUserCommand command) {
-        UserResponse response = userUseCase.updateUser(id, command);
-        return ResponseEntity.ok(response);
+        return withETag(userUseCase.updateUser(id, parseIfMatch(ifMatch), command));
     }
 
     /**
@@ -72,8 +111,65 @@ public class UserController {
      * DELETE /api/users/{id}
      */
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteUser(@PathVariable Long id) {
-        userUseCase.deleteUser(id);
-        return ResponseEntity.noContent().build();
+    @RequestTimeout("2s")
+    public ResponseEntity<?> deleteUser(@PathVariable Long id) {
+        UseCaseResult<Long> result = userUseCase.deleteUser(id);
+        if (result instanceof UseCaseResult.Success<Long>) {
+            return ResponseEntity.noContent().build();
+        }
+        return failure(result);
+    }
+
+    private static ResponseEntity<?> withETag(UseCaseResult<UserResponse> result) {
+        if (result instanceof UseCaseResult.Success<UserResponse> success) {
+            return ResponseEntity.ok()
+                    .eTag(String.valueOf(success.value().version()))
+                    .body(success.value());
+        }
+        return failure(result);
+    }
+
+    /**
+     * 想定内の失敗をエラーレスポンスに変換する（GlobalExceptionHandlerと同じ形式）
+     */
+    static ResponseEntity<ErrorResponse> failure(UseCaseResult<?> result) {
+        HttpStatus status;
+        String error;
+        if (result instanceof UseCaseResult.NotFound<?>) {
+            status = HttpStatus.NOT_FOUND;
+            error = "User Not Found";
+        } else if (result instanceof UseCaseResult.DuplicateEmail<?>) {
+            status = HttpStatus.CONFLICT;
+            error = "Duplicate Email";
+        } else if (result instanceof UseCaseResult.VersionMismatch<?>) {
+            status = HttpStatus.PRECONDITION_FAILED;
+            error = "Precondition Failed";
+        } else {
+            throw new IllegalArgumentException("失敗の結果ではありません: " + result);
+        }
+        String message = ((UseCaseResult.Failure<?>) result).message();
+        return ResponseEntity.status(status)
+                .body(new ErrorResponse(status.value(), error, message, Collections.emptyList()));
+    }
+
+    /**
+     * If-MatchヘッダーのETagをバージョンに変換する（"*" または未指定の場合はnull）
+     */
+    static Long parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String etag = ifMatch.trim();
+        if (etag.startsWith("W/")) {
+            etag = etag.substring(2);
+        }
+        if (etag.length() < 3 || !etag.startsWith("\"") || !etag.endsWith("\"")) {
+            throw new IllegalArgumentException("If-Matchヘッダーの形式が正しくありません");
+        }
+        try {
+            return Long.valueOf(etag.substring(1, etag.length() - 1));
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("If-Matchヘッダーの形式が正しくありません");
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,64 @@
+package com.example.userapi.presentation.controller;
+
+import com.example.userapi.application.dto.ImportProgressResponse;
+import com.example.userapi.application.dto.ImportUsersCommand;
+import com.example.userapi.application.usecase.UserImportUseCase;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+
+/**
+ * ユーザー一括インポートコントローラー
+ * インポートは非同期で実行し、進捗はジョブIDで取得する
+ */
+@RestController
+@RequestMapping("/api/imports")
+public class UserImportController {
+
+    private final UserImportUseCase userImportUseCase;
+
+    public UserImportController(UserImportUseCase userImportUseCase) {
+        this.userImportUseCase = userImportUseCase;
+    }
+
+    /**
+     * インポート開始
+     * POST /api/imports
+     */
+    @PostMapping
+    public ResponseEntity<ImportProgressResponse> startImport(@Valid @RequestBody ImportUsersCommand command) {
+        ImportProgressResponse response = userImportUseCase.startImport(command);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/imports/" + response.jobId()))
+                .body(response);
+    }
+
+    /**
+     * 進捗取得
+     * GET /api/imports/{jobId}
+     */
+    @GetMapping("/{jobId}")
+    public ResponseEntity<ImportProgressResponse> getProgress(@PathVariable String jobId) {
+        return ResponseEntity.ok(userImportUseCase.getProgress(jobId));
+    }
+
+    /**
+     * 中断・失敗したインポートの再開
+     * POST /api/imports/{jobId}/resume
+     */
+    @PostMapping("/{jobId}/resume")
+    public ResponseEntity<ImportProgressResponse> resumeImport(@PathVariable String jobId) {
+        return ResponseEntity.accepted().body(userImportUseCase.resumeImport(jobId));
+    }
+
+    /**
+     * 実行中のインポートの中断
+     * POST /api/imports/{jobId}/stop
+     */
+    @PostMapping("/{jobId}/stop")
+    public ResponseEntity<ImportProgressResponse> stopImport(@PathVariable String jobId) {
+        return ResponseEntity.accepted().body(userImportUseCase.stopImport(jobId));
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.userapi.presentation.deadline;
+
+import com.example.userapi.infrastructure.deadline.DeadlineTimer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * リクエストの期限の設定
+ * /api/** のリクエストに期限インターセプターを適用する
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "deadline", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class DeadlineConfiguration implements WebMvcConfigurer {
+
+    private final DeadlineInterceptor interceptor;
+
+    public DeadlineConfiguration(DeadlineTimer timer, DeadlineProperties properties) {
+        this.interceptor = new DeadlineInterceptor(timer, properties);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(interceptor).addPathPatterns("/api/**");
+    }
+}
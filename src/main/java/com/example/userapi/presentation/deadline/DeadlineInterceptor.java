@@ -0,0 +1,72 @@
+package com.example.userapi.presentation.deadline;
+
+import com.example.userapi.infrastructure.deadline.Deadline;
+import com.example.userapi.infrastructure.deadline.DeadlineTimer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.time.Duration;
+
+/**
+ * 期限インターセプター
+ * {@link RequestTimeout} を付けたエンドポイントで、ヘッダーまたは既定値の期限を開始し、完了時に終了する
+ */
+public class DeadlineInterceptor implements HandlerInterceptor {
+
+    private static final String DEADLINE_ATTRIBUTE = DeadlineInterceptor.class.getName() + ".DEADLINE";
+
+    private final DeadlineTimer timer;
+    private final DeadlineProperties properties;
+
+    DeadlineInterceptor(DeadlineTimer timer, DeadlineProperties properties) {
+        this.timer = timer;
+        this.properties = properties;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod handlerMethod)
+                || request.getAttribute(DEADLINE_ATTRIBUTE) != null) {
+            return true;
+        }
+        RequestTimeout annotation = handlerMethod.getMethodAnnotation(RequestTimeout.class);
+        if (annotation == null) {
+            annotation = handlerMethod.getBeanType().getAnnotation(RequestTimeout.class);
+        }
+        if (annotation == null) {
+            return true;
+        }
+        String header = request.getHeader(properties.header());
+        Duration timeout = header != null ? parse(header) : DurationStyle.detectAndParse(annotation.value());
+        if (timeout.compareTo(properties.maxTimeout()) > 0) {
+            timeout = properties.maxTimeout();
+        }
+        request.setAttribute(DEADLINE_ATTRIBUTE, timer.start(timeout));
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response,
+                                Object handler, Exception ex) {
+        if (request.getAttribute(DEADLINE_ATTRIBUTE) instanceof Deadline deadline) {
+            request.removeAttribute(DEADLINE_ATTRIBUTE);
+            deadline.close();
+        }
+    }
+
+    private Duration parse(String header) {
+        Duration timeout;
+        try {
+            timeout = DurationStyle.detectAndParse(header.trim());
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException(properties.header() + " の形式が不正です: " + header);
+        }
+        if (timeout.isNegative() || timeout.isZero()) {
+            throw new IllegalArgumentException(properties.header() + " は正の値で指定してください: " + header);
+        }
+        return timeout;
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.userapi.presentation.deadline;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * リクエストの期限の設定
+ *
+ * @param enabled    期限の有効/無効
+ * @param header     クライアントが期限（残り時間）を指定するヘッダー（"1500ms", "2s"、単位なしはミリ秒）
+ * @param maxTimeout 期限の上限（ヘッダー・エンドポイントの既定値ともにこの値で切り詰める）
+ */
+@ConfigurationProperties(prefix = "deadline")
+public record DeadlineProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("X-Request-Timeout") String header,
+        @DefaultValue("30s") Duration maxTimeout
+) {
+}
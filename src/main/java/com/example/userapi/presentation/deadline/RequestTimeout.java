@@ -0,0 +1,19 @@
+package com.example.userapi.presentation.deadline;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * エンドポイントごとの既定の期限
+ * リクエストヘッダーで期限が指定されない場合に使う（例: "2s", "500ms"）
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface RequestTimeout {
+
+    String value();
+}
@@ -1,8 +1,18 @@
 package com.example.userapi.presentation.exception;
 
+import com.example.userapi.application.usecase.UserImportUseCase;
 import com.example.userapi.application.usecase.UserUseCase;
 import com.example.userapi.domain.service.UserDomainService;
+import com.example.userapi.infrastructure.bulkhead.BulkheadFullException;
+import com.example.userapi.infrastructure.deadline.Deadline;
+import com.example.userapi.infrastructure.importer.ImportJobExecutor;
+import com.example.userapi.infrastructure.persistence.writebehind.WriteBehindUserRepository;
+import com.example.userapi.presentation.admission.AdmissionRejectedException;
 import com.example.userapi.presentation.dto.ErrorResponse;
+import com.example.userapi.presentation.idempotency.IdempotencyService;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
@@ -115,6 +125,184 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
     }
 
+    /**
+     * 事前条件エラー（If-Matchのバージョン不一致）
+     */
+    @ExceptionHandler(UserUseCase.VersionMismatchException.class)
+    public ResponseEntity<ErrorResponse> handleVersionMismatchException(
+            UserUseCase.VersionMismatchException ex) {
+
+        ErrorResponse response = new ErrorResponse(
+                HttpStatus.PRECONDITION_FAILED.value(),
+                "Precondition Failed",
+                ex.getMessage(),
+                Collections.emptyList()
+        );
+
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(response);
+    }
+
+    /**
+     * 同時更新エラー（読み込みから書き込みまでの間に他の処理が更新）
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleOptimisticLockingFailureException(
+            OptimisticLockingFailureException ex) {
+
+        ErrorResponse response = new ErrorResponse(
+                HttpStatus.CONFLICT.value(),
+                "Concurrent Modification",
+                ex.getMessage(),
+                Collections.emptyList()
+        );
+
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+    }
+
+    /**
+     * 冪等キー再利用エラー（同一キーで異なるリクエスト内容）
+     */
+    @ExceptionHandler(IdempotencyService.IdempotencyKeyMismatchException.class)
+    public ResponseEntity<ErrorResponse> handleIdempotencyKeyMismatchException(
+            IdempotencyService.IdempotencyKeyMismatchException ex) {
+
+        ErrorResponse response = new ErrorResponse(
+                HttpStatus.UNPROCESSABLE_ENTITY.value(),
+                "Idempotency Key Mismatch",
+                ex.getMessage(),
+                Collections.emptyList()
+        );
+
+        return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(response);
+    }
+
+    /**
+     * 冪等キー処理中エラー（先行リクエストの完了待ちタイムアウト）
+     */
+    @ExceptionHandler(IdempotencyService.IdempotencyKeyInProgressException.class)
+    public ResponseEntity<ErrorResponse> handleIdempotencyKeyInProgressException(
+            IdempotencyService.IdempotencyKeyInProgressException ex) {
+
+        ErrorResponse response = new ErrorResponse(
+                HttpStatus.CONFLICT.value(),
+                "Idempotency Key In Progress",
+                ex.getMessage(),
+                Collections.emptyList()
+        );
+
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+    }
+
+    /**
+     * バルクヘッドの区画に空きがない（503）
+     */
+    @ExceptionHandler(BulkheadFullException.class)
+    public ResponseEntity<ErrorResponse> handleBulkheadFullException(BulkheadFullException ex) {
+
+        ErrorResponse response = new ErrorResponse(
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                HttpStatus.SERVICE_UNAVAILABLE.getReasonPhrase(),
+                ex.getMessage(),
+                Collections.emptyList()
+        );
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(response);
+    }
+
+    /**
+     * write-behindの反映待ちが上限に達している（503）
+     */
+    @ExceptionHandler(WriteBehindUserRepository.WriteBehindFullException.class)
+    public ResponseEntity<ErrorResponse> handleWriteBehindFullException(
+            WriteBehindUserRepository.WriteBehindFullException ex) {
+
+        ErrorResponse response = new ErrorResponse(
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                HttpStatus.SERVICE_UNAVAILABLE.getReasonPhrase(),
+                ex.getMessage(),
+                Collections.emptyList()
+        );
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(response);
+    }
+
+    /**
+     * 流入制御による拒否（レート超過: 429、過負荷: 503）
+     */
+    @ExceptionHandler(AdmissionRejectedException.class)
+    public ResponseEntity<ErrorResponse> handleAdmissionRejectedException(
+            AdmissionRejectedException ex) {
+
+        ErrorResponse response = new ErrorResponse(
+                ex.getStatus().value(),
+                ex.getStatus().getReasonPhrase(),
+                ex.getMessage(),
+                Collections.emptyList()
+        );
+
+        return ResponseEntity.status(ex.getStatus())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(response);
+    }
+
+    /**
+     * インポート未検出エラー
+     */
+    @ExceptionHandler(UserImportUseCase.ImportJobNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleImportJobNotFoundException(
+            UserImportUseCase.ImportJobNotFoundException ex) {
+
+        ErrorResponse response = new ErrorResponse(
+                HttpStatus.NOT_FOUND.value(),
+                "Import Not Found",
+                ex.getMessage(),
+                Collections.emptyList()
+        );
+
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+    }
+
+    /**
+     * インポートの状態エラー（実行中・完了済み・同時実行数の上限）
+     */
+    @ExceptionHandler({UserImportUseCase.ImportJobConflictException.class,
+            ImportJobExecutor.ImportJobRejectedException.class})
+    public ResponseEntity<ErrorResponse> handleImportJobConflictException(RuntimeException ex) {
+
+        ErrorResponse response = new ErrorResponse(
+                HttpStatus.CONFLICT.value(),
+                "Import Conflict",
+                ex.getMessage(),
+                Collections.emptyList()
+        );
+
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+    }
+
+    /**
+     * 期限切れ（リクエストの期限・SQLのタイムアウト）
+     */
+    @ExceptionHandler(QueryTimeoutException.class)
+    public ResponseEntity<ErrorResponse> handleQueryTimeoutException(QueryTimeoutException ex) {
+
+        Deadline deadline = Deadline.current();
+        String message = deadline != null && deadline.isExpired()
+                ? "リクエストの期限（" + deadline.timeout().toMillis() + "ms）を過ぎたため処理を中断しました"
+                : "データベースの処理がタイムアウトしました";
+        ErrorResponse response = new ErrorResponse(
+                HttpStatus.GATEWAY_TIMEOUT.value(),
+                "Deadline Exceeded",
+                message,
+                Collections.emptyList()
+        );
+
+        return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT).body(response);
+    }
+
     /**
      * その他の予期しないエラー
      */
@@ -0,0 +1,216 @@
+package com.example.userapi.presentation.idempotency;
+
+import com.example.userapi.infrastructure.idempotency.IdempotencyProperties;
+import com.example.userapi.infrastructure.idempotency.IdempotencyStore;
+import com.example.userapi.infrastructure.idempotency.StoredResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * 冪等キー（Idempotency-Key）処理
+ * 同一キーの再送には保存済みレスポンス（ステータス・ボディ・ETag）を返し、同時に届いた重複リクエストは先行リクエストの完了を待つ
+ */
+@Component
+public class IdempotencyService {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyStore idempotencyStore;
+    private final IdempotencyProperties properties;
+    private final ObjectMapper objectMapper;
+
+    // 処理中のキー（同一ノード内の同時重複リクエストを待ち合わせる）
+    private final ConcurrentMap<String, CompletableFuture<StoredResponse>> inFlight = new ConcurrentHashMap<>();
+
+    public IdempotencyService(IdempotencyStore idempotencyStore,
+                              IdempotencyProperties properties,
+                              ObjectMapper objectMapper) {
+        this.idempotencyStore = idempotencyStore;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * 冪等キー付きで処理を実行する
+     * @param key 冪等キー
+     * @param fingerprint リクエスト内容の指紋（同一キーで異なる内容が送られた場合の検出用）
+     * @param bodyType 成功時のレスポンスボディの型（保存済みレスポンスの復元用）
+     * @param action 初回のみ実行する処理（失敗時はエラーレスポンスを返してよい）
+     * @return レスポンス（再送時は保存済みレスポンス）
+     */
+    public <T> ResponseEntity<?> execute(String key, String fingerprint, Class<T> bodyType,
+                                         Supplier<ResponseEntity<?>> action) {
+        validateKey(key);
+        String requestHash = sha256(fingerprint);
+
+        while (true) {
+            Optional<StoredResponse> stored = idempotencyStore.find(key, LocalDateTime.now());
+            if (stored.isPresent()) {
+                return replay(stored.get(), requestHash, bodyType);
+            }
+
+            CompletableFuture<StoredResponse> pending = new CompletableFuture<>();
+            CompletableFuture<StoredResponse> leader = inFlight.putIfAbsent(key, pending);
+            if (leader == null) {
+                return lead(key, requestHash, bodyType, action, pending);
+            }
+            StoredResponse result = await(leader);
+            if (result != null) {
+                return replay(result, requestHash, bodyType);
+            }
+            // 先行リクエストの失敗レスポンスは保存されないため、このリクエストとして実行し直す
+        }
+    }
+
+    /**
+     * 先行リクエストとして処理を実行し、成功レスポンスを保存して待ち合わせ中のリクエストに渡す
+     */
+    private <T> ResponseEntity<?> lead(String key, String requestHash, Class<T> bodyType,
+                                       Supplier<ResponseEntity<?>> action,
+                                       CompletableFuture<StoredResponse> pending) {
+        try {
+            // 先行リクエストが保存直後に完了していた場合に備えて再確認
+            Optional<StoredResponse> stored = idempotencyStore.find(key, LocalDateTime.now());
+            if (stored.isPresent()) {
+                pending.complete(stored.get());
+                return replay(stored.get(), requestHash, bodyType);
+            }
+
+            ResponseEntity<?> response = action.get();
+            // 成功レスポンスのみ保存・共有し、失敗時は待ち合わせ中のリクエスト・クライアントの再試行で再実行させる
+            // （失敗時のボディはErrorResponseのため、成功時の型では復元できない）
+            if (!response.getStatusCode().is2xxSuccessful()) {
+                pending.complete(null);
+                return response;
+            }
+            StoredResponse result = new StoredResponse(
+                    requestHash,
+                    response.getStatusCode().value(),
+                    toJson(response.getBody()),
+                    response.getHeaders().getETag(),
+                    LocalDateTime.now().plus(properties.ttl())
+            );
+            idempotencyStore.save(key, result);
+            pending.complete(result);
+            return response;
+        } catch (RuntimeException ex) {
+            pending.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(key, pending);
+        }
+    }
+
+    /**
+     * 期限切れの冪等キーを定期的に削除
+     */
+    @Scheduled(fixedDelayString = "${idempotency.purge-interval:PT1M}")
+    public void purgeExpired() {
+        idempotencyStore.purgeExpired(LocalDateTime.now());
+    }
+
+    private void validateKey(String key) {
+        if (key.isBlank()) {
+            throw new IllegalArgumentException("Idempotency-Keyが空です");
+        }
+        if (key.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency-Keyは255文字以内で指定してください");
+        }
+    }
+
+    /**
+     * 先行リクエストの完了を待つ
+     * @return 先行リクエストの成功レスポンス（失敗レスポンスだった場合はnull）
+     */
+    private StoredResponse await(CompletableFuture<StoredResponse> leader) {
+        try {
+            return leader.get(properties.waitTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException ex) {
+            // 先行リクエストと同じ結果（例外）を返す
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(ex.getCause());
+        } catch (TimeoutException ex) {
+            throw new IdempotencyKeyInProgressException("同じIdempotency-Keyのリクエストを処理中です");
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IdempotencyKeyInProgressException("同じIdempotency-Keyのリクエストを処理中です");
+        }
+    }
+
+    private <T> ResponseEntity<T> replay(StoredResponse stored, String requestHash, Class<T> bodyType) {
+        if (!stored.requestHash().equals(requestHash)) {
+            throw new IdempotencyKeyMismatchException(
+                    "同じIdempotency-Keyで異なる内容のリクエストが送信されました");
+        }
+        T body = fromJson(stored.body(), bodyType);
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(HttpStatus.valueOf(stored.status()))
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(REPLAYED_HEADER, "true");
+        if (stored.etag() != null) {
+            builder.eTag(stored.etag());
+        }
+        return builder.body(body);
+    }
+
+    private String toJson(Object body) {
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("レスポンスのシリアライズに失敗しました", ex);
+        }
+    }
+
+    private <T> T fromJson(String json, Class<T> bodyType) {
+        try {
+            return objectMapper.readValue(json, bodyType);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("保存済みレスポンスの復元に失敗しました", ex);
+        }
+    }
+
+    private static String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    // カスタム例外
+    public static class IdempotencyKeyMismatchException extends RuntimeException {
+        public IdempotencyKeyMismatchException(String message) {
+            super(message);
+        }
+    }
+
+    public static class IdempotencyKeyInProgressException extends RuntimeException {
+        public IdempotencyKeyInProgressException(String message) {
+            super(message);
+        }
+    }
+}
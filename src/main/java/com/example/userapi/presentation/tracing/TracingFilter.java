@@ -0,0 +1,70 @@
+package com.example.userapi.presentation.tracing;
+
+import com.example.userapi.infrastructure.tracing.Span;
+import com.example.userapi.infrastructure.tracing.TraceContext;
+import com.example.userapi.infrastructure.tracing.Tracer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * トレーシングフィルター
+ * /api/** のリクエストごとにサーバースパンを開始する。traceparent ヘッダーがあれば呼び出し元のトレースを引き継ぎ、
+ * 記録したリクエストはレスポンスの traceparent ヘッダーでトレースIDを返す
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@ConditionalOnProperty(prefix = "tracing", name = "enabled", havingValue = "true")
+public class TracingFilter extends OncePerRequestFilter {
+
+    private final Tracer tracer;
+
+    public TracingFilter(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        TraceContext parent = TraceContext.parse(request.getHeader(TraceContext.TRACEPARENT));
+        Span span = tracer.startServerSpan(request.getMethod() + " " + request.getRequestURI(), parent);
+        if (!span.isRecording()) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        response.setHeader(TraceContext.TRACEPARENT, span.context().toTraceparent());
+        try {
+            chain.doFilter(request, response);
+        } catch (ServletException | IOException | RuntimeException ex) {
+            span.recordError(ex);
+            throw ex;
+        } finally {
+            // スパン名はURIではなくルート（/api/users/{id}）にして、IDごとに名前が分かれないようにする
+            Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            if (route != null) {
+                span.setName(request.getMethod() + " " + route).setAttribute("http.route", route);
+            }
+            span.setAttribute("http.method", request.getMethod())
+                    .setAttribute("http.status_code", response.getStatus());
+            if (response.getStatus() >= 500) {
+                span.recordError("HTTP " + response.getStatus());
+            }
+            span.close();
+        }
+    }
+}
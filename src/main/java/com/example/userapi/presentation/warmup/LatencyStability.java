@@ -0,0 +1,34 @@
+package com.example.userapi.presentation.warmup;
+
+/**
+ * レイテンシの安定判定
+ * ラウンドごとの平均レイテンシが、前のラウンドから許容割合以内の変化で指定回数続いたら安定とみなす
+ */
+class LatencyStability {
+
+    private final double tolerance;
+    private final int requiredRounds;
+
+    private double previous = Double.NaN;
+    private int stableRounds;
+
+    LatencyStability(double tolerance, int requiredRounds) {
+        this.tolerance = tolerance;
+        this.requiredRounds = requiredRounds;
+    }
+
+    /**
+     * ラウンドの平均レイテンシを記録する
+     * @param meanNanos 1回あたりの平均レイテンシ（ナノ秒）
+     * @return 安定した場合true
+     */
+    boolean record(double meanNanos) {
+        if (!Double.isNaN(previous) && Math.abs(meanNanos - previous) <= previous * tolerance) {
+            stableRounds++;
+        } else {
+            stableRounds = 0;
+        }
+        previous = meanNanos;
+        return stableRounds >= requiredRounds;
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.userapi.presentation.warmup;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * ウォームアップ設定
+ *
+ * @param enabled            起動時にウォームアップするか
+ * @param minIterations      最低限実行する回数（この回数までは安定しても続ける）
+ * @param maxIterations      実行する回数の上限
+ * @param roundSize          レイテンシを集計する1ラウンドの回数
+ * @param tolerance          前のラウンドとの平均レイテンシの差がこの割合以内なら安定とみなす
+ * @param stableRounds       安定したラウンドがこの数だけ続いたら終了する
+ * @param passwordIterations BCryptのハッシュ化・照合を実行する回数（1回数十ミリ秒かかるため少なくする）
+ * @param timeout            ウォームアップの時間の上限
+ */
+@ConfigurationProperties(prefix = "warmup")
+public record WarmupProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("1000") int minIterations,
+        @DefaultValue("10000") int maxIterations,
+        @DefaultValue("200") int roundSize,
+        @DefaultValue("0.1") double tolerance,
+        @DefaultValue("3") int stableRounds,
+        @DefaultValue("5") int passwordIterations,
+        @DefaultValue("60s") Duration timeout
+) {
+}
@@ -0,0 +1,38 @@
+package com.example.userapi.presentation.warmup;
+
+import java.time.Duration;
+
+/**
+ * ウォームアップの結果
+ *
+ * @param iterations        実行した回数
+ * @param outcome           終了した理由
+ * @param elapsed           ウォームアップにかかった時間（BCryptを含む）
+ * @param firstRoundMicros  最初のラウンドの1回あたりの平均レイテンシ（マイクロ秒）
+ * @param lastRoundMicros   最後のラウンドの1回あたりの平均レイテンシ（マイクロ秒）
+ * @param viaWebServer      参照系のAPIを最後までWebサーバー経由で実行したか
+ *                          （Webサーバーがない場合・想定外の応答で直接呼び出しに切り替えた場合はfalse）
+ */
+public record WarmupReport(
+        int iterations,
+        Outcome outcome,
+        Duration elapsed,
+        double firstRoundMicros,
+        double lastRoundMicros,
+        boolean viaWebServer
+) {
+
+    /**
+     * 終了した理由
+     */
+    public enum Outcome {
+        /** レイテンシが安定した */
+        STABLE,
+        /** 回数の上限に達した */
+        MAX_ITERATIONS,
+        /** 時間の上限に達した */
+        TIMEOUT,
+        /** 例外で中断した */
+        FAILED
+    }
+}
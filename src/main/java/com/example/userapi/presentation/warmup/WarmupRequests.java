@@ -0,0 +1,45 @@
+package com.example.userapi.presentation.warmup;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationPredicate;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.UUID;
+
+/**
+ * ウォームアップのリクエストの識別
+ * 自身へのリクエストに起動ごとの乱数のトークンをヘッダーで付け、流入制御とHTTPのメトリクス（http.server.requests）の対象から外す。
+ * トークンはプロセス内でのみ共有するため、外部のクライアントがヘッダーを付けても対象外にはならない
+ */
+@Component
+public class WarmupRequests implements ObservationPredicate {
+
+    static final String HEADER = "X-Warmup-Token";
+
+    private final String token = UUID.randomUUID().toString();
+
+    /**
+     * ウォームアップのリクエストか
+     */
+    public boolean isWarmup(HttpServletRequest request) {
+        String value = request.getHeader(HEADER);
+        return value != null && MessageDigest.isEqual(
+                token.getBytes(StandardCharsets.US_ASCII), value.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * ウォームアップのリクエストは観測（http.server.requests）しない
+     */
+    @Override
+    public boolean test(String name, Observation.Context context) {
+        return !(context instanceof ServerRequestObservationContext request && isWarmup(request.getCarrier()));
+    }
+
+    String token() {
+        return token;
+    }
+}
@@ -0,0 +1,265 @@
+package com.example.userapi.presentation.warmup;
+
+import com.example.userapi.application.dto.CreateUserCommand;
+import com.example.userapi.application.dto.UserResponse;
+import com.example.userapi.application.usecase.UserUseCase;
+import com.example.userapi.domain.model.Email;
+import com.example.userapi.domain.model.HashedPassword;
+import com.example.userapi.domain.model.User;
+import com.example.userapi.infrastructure.security.PasswordEncoder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.boot.web.server.Ssl;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 起動時のウォームアップ
+ * リクエストの主な処理（JSONの読み書き・単項目チェック・メールアドレスの検証・参照系のAPI・BCrypt）を合成データで繰り返し、
+ * JITコンパイルを済ませてからトラフィックを受け付ける。
+ * ApplicationRunnerの完了後にReadinessがACCEPTING_TRAFFICになるため、終わるまでReadinessを保留する。
+ * 参照系のAPIは、Webサーバーが起動している場合は自身へのGETリクエスト（DispatcherServlet・メッセージコンバーターを含む）、
+ * 起動していない場合はユースケースの呼び出し（トランザクション・トレース・バルクヘッドなどのAOPを含む）で実行する。
+ * 自身へのリクエストが想定したステータス（存在しないIDは404、一覧は200）で応答しない場合・接続できない場合は、
+ * 以降はユースケースの呼び出しに切り替える。自身へのリクエストは流入制御とHTTPのメトリクスの対象外（{@link WarmupRequests}）。
+ * 存在しないIDの取得と一覧の取得のみで、更新はしない
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(prefix = "warmup", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class WarmupRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(WarmupRunner.class);
+
+    private static final String RAW_PASSWORD = "warmup-password";
+    private static final int PAGE_SIZE = 10;
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(5);
+
+    private final WarmupProperties properties;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final UserUseCase userUseCase;
+    private final PasswordEncoder passwordEncoder;
+    private final MeterRegistry meterRegistry;
+    private final ApplicationContext applicationContext;
+    private final WarmupRequests warmupRequests;
+
+    private volatile WarmupReport report;
+
+    public WarmupRunner(WarmupProperties properties, ObjectMapper objectMapper, Validator validator,
+                        UserUseCase userUseCase, PasswordEncoder passwordEncoder,
+                        MeterRegistry meterRegistry, ApplicationContext applicationContext,
+                        WarmupRequests warmupRequests) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.userUseCase = userUseCase;
+        this.passwordEncoder = passwordEncoder;
+        this.meterRegistry = meterRegistry;
+        this.applicationContext = applicationContext;
+        this.warmupRequests = warmupRequests;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        log.info("ウォームアップを開始します（Readinessは完了まで保留されます）");
+        long start = System.nanoTime();
+        long deadline = start + properties.timeout().toNanos();
+        LatencyStability stability = new LatencyStability(properties.tolerance(), properties.stableRounds());
+        int iterations = 0;
+        double firstRound = Double.NaN;
+        double lastRound = Double.NaN;
+        WarmupReport.Outcome outcome = WarmupReport.Outcome.MAX_ITERATIONS;
+        Loopback loopback = null;
+        try {
+            warmUpPasswordHashing();
+
+            List<byte[]> requestBodies = requestBodies();
+            User sample = sampleUser();
+            loopback = loopback();
+            while (iterations < properties.maxIterations()) {
+                if (System.nanoTime() - deadline > 0) {
+                    outcome = WarmupReport.Outcome.TIMEOUT;
+                    break;
+                }
+                int round = Math.min(properties.roundSize(), properties.maxIterations() - iterations);
+                long roundStart = System.nanoTime();
+                for (int i = 0; i < round; i++) {
+                    boolean served = iteration(iterations + i,
+                            requestBodies.get((iterations + i) % requestBodies.size()), sample, loopback);
+                    if (loopback != null && !served) {
+                        log.warn("Webサーバー経由のウォームアップを中止し、ユースケースの直接呼び出しに切り替えます");
+                        loopback = null;
+                    }
+                }
+                iterations += round;
+                lastRound = (double) (System.nanoTime() - roundStart) / round;
+                if (Double.isNaN(firstRound)) {
+                    firstRound = lastRound;
+                }
+                if (stability.record(lastRound) && iterations >= properties.minIterations()) {
+                    outcome = WarmupReport.Outcome.STABLE;
+                    break;
+                }
+            }
+        } catch (IOException | RuntimeException ex) {
+            // ウォームアップの失敗で起動を止めない（コールドな状態でトラフィックを受け付ける）
+            outcome = WarmupReport.Outcome.FAILED;
+            log.warn("ウォームアップを中断しました: {}", ex.getMessage(), ex);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            outcome = WarmupReport.Outcome.FAILED;
+            log.warn("ウォームアップを中断しました（割り込み）");
+        }
+
+        WarmupReport result = new WarmupReport(iterations, outcome, Duration.ofNanos(System.nanoTime() - start),
+                firstRound / 1_000, lastRound / 1_000, loopback != null);
+        report = result;
+        Gauge.builder("userapi.warmup.duration", result, r -> r.elapsed().toNanos() / 1_000_000_000.0)
+                .baseUnit("seconds").description("起動時のウォームアップにかかった時間")
+                .register(meterRegistry);
+        Gauge.builder("userapi.warmup.iterations", result, WarmupReport::iterations)
+                .description("起動時のウォームアップで実行した回数")
+                .register(meterRegistry);
+        log.info("ウォームアップ完了: {}回（{}）, {}ms, 1回あたり {}µs → {}µs",
+                result.iterations(), result.outcome(), result.elapsed().toMillis(),
+                Math.round(result.firstRoundMicros()), Math.round(result.lastRoundMicros()));
+    }
+
+    /**
+     * ウォームアップの結果（未実行の場合はnull）
+     */
+    public WarmupReport report() {
+        return report;
+    }
+
+    private void warmUpPasswordHashing() {
+        for (int i = 0; i < properties.passwordIterations(); i++) {
+            HashedPassword hashed = passwordEncoder.encode(RAW_PASSWORD);
+            passwordEncoder.matches(RAW_PASSWORD, hashed);
+        }
+    }
+
+    /**
+     * 1回分の処理（登録リクエストの読み込みと、取得・一覧のリクエストを、更新せずに実行する）
+     * @param loopback 自身のWebサーバー（起動していない場合はnull）
+     * @return 参照系のAPIをWebサーバー経由で実行できた場合true（できなかった場合はユースケースを直接呼び出す）
+     */
+    private boolean iteration(int index, byte[] requestBody, User sample, Loopback loopback)
+            throws IOException, InterruptedException {
+        // リクエストの読み込み・単項目チェック・メールアドレスの検証
+        CreateUserCommand command = objectMapper.readValue(requestBody, CreateUserCommand.class);
+        validator.validate(command);
+        new Email(command.email());
+
+        // 存在しないIDのため、キャッシュに載らずに毎回SQLを実行する
+        long missingId = -1L - index;
+        if (loopback != null && loopback.get("/api/users/" + missingId, 404)
+                && loopback.get("/api/users?after=0&limit=" + PAGE_SIZE, 200)) {
+            return true;
+        }
+        userUseCase.getUser(missingId);
+        List<UserResponse> page = userUseCase.getUsers(0, PAGE_SIZE);
+
+        // レスポンスの書き込み
+        objectMapper.writeValueAsBytes(UserResponse.from(sample));
+        objectMapper.writeValueAsBytes(page);
+        return false;
+    }
+
+    /**
+     * 起動済みのWebサーバーへの接続（起動していない場合・HTTPSの場合はnull）
+     */
+    private Loopback loopback() {
+        if (!(applicationContext instanceof WebServerApplicationContext context)
+                || context.getWebServer() == null || context.getWebServer().getPort() <= 0) {
+            return null;
+        }
+        ServerProperties server = applicationContext.getBeanProvider(ServerProperties.class).getIfAvailable();
+        if (server != null && Ssl.isEnabled(server.getSsl())) {
+            // 自己署名の証明書などで検証に失敗するため、HTTPSのWebサーバーには送らない
+            log.info("WebサーバーがHTTPSのため、ユースケースを直接呼び出してウォームアップします");
+            return null;
+        }
+        String contextPath = server != null && server.getServlet().getContextPath() != null
+                ? server.getServlet().getContextPath() : "";
+        return new Loopback("http://localhost:" + context.getWebServer().getPort() + contextPath,
+                warmupRequests.token());
+    }
+
+    private List<byte[]> requestBodies() throws IOException {
+        List<byte[]> bodies = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            CreateUserCommand command = new CreateUserCommand("Warmup User " + i,
+                    "warmup-" + i + "@warmup.invalid", RAW_PASSWORD);
+            bodies.add(objectMapper.writeValueAsString(command).getBytes(StandardCharsets.UTF_8));
+        }
+        return bodies;
+    }
+
+    /**
+     * 自身のWebサーバーへのGETリクエスト（応答の内容は使わず、ステータスのみ確認する）
+     * @param baseUrl コンテキストパスを含むURL
+     * @param token ウォームアップのリクエストであることを示すトークン
+     */
+    private record Loopback(String baseUrl, String token, HttpClient httpClient) {
+
+        Loopback(String baseUrl, String token) {
+            this(baseUrl, token, HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(REQUEST_TIMEOUT)
+                    .build());
+        }
+
+        /**
+         * @return 想定したステータスで応答した場合true（接続できない場合・想定外のステータスの場合はfalse）
+         */
+        boolean get(String path, int expectedStatus) throws InterruptedException {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .header(WarmupRequests.HEADER, token)
+                    .timeout(REQUEST_TIMEOUT)
+                    .build();
+            int status;
+            try {
+                status = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            } catch (IOException ex) {
+                log.warn("ウォームアップのリクエストに失敗しました: GET {} ({})", path, ex.toString());
+                return false;
+            }
+            if (status != expectedStatus) {
+                log.warn("ウォームアップのリクエストが想定外のステータスで応答しました: GET {} -> {}（想定: {}）",
+                        path, status, expectedStatus);
+                return false;
+            }
+            return true;
+        }
+    }
+
+    private User sampleUser() {
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        return new User(0L, "Warmup User", new Email("warmup@warmup.invalid"),
+                passwordEncoder.encode(RAW_PASSWORD), now, now, 0L);
+    }
+}
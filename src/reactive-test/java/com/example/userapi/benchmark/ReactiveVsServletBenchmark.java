@@ -0,0 +1,215 @@
+package com.example.userapi.benchmark;
+
+import com.example.userapi.CleanArchitectureDddDemoApplication;
+import com.example.userapi.domain.repository.ReactiveUserRepository;
+import com.example.userapi.domain.repository.UserRepository;
+import com.example.userapi.reactive.ReactiveUserApiApplication;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * サーブレット版（Tomcat + MyBatis）とリアクティブ版（Netty + R2DBC）の比較ベンチマーク
+ * リポジトリ呼び出しごとに一定の遅延（低速なI/O）を加え、同時リクエスト数を変えてスループットと応答時間を計測する。
+ * 遅延はサーブレット版ではスレッドをブロックし、リアクティブ版ではタイマーで待機する
+ *
+ * <pre>
+ * mvn test -Preactive,benchmark -Dtest=ReactiveVsServletBenchmark [-Dbenchmark.io-delay-ms=50]
+ * </pre>
+ */
+@Tag("benchmark")
+class ReactiveVsServletBenchmark {
+
+    private static final Duration IO_DELAY = Duration.ofMillis(Long.getLong("benchmark.io-delay-ms", 50));
+    private static final int REQUESTS_PER_CONNECTION = 10;
+    private static final int MAX_CONCURRENCY = 2000;
+    // 両方式で共通のDBコネクション上限とサーブレット版のワーカースレッド数
+    private static final int POOL_SIZE = 200;
+    private static final int SERVLET_THREADS = 200;
+
+    private static ConfigurableApplicationContext servlet;
+    private static ConfigurableApplicationContext reactive;
+    private static WebClient client;
+
+    @BeforeAll
+    static void startApplications() {
+        servlet = new SpringApplicationBuilder(CleanArchitectureDddDemoApplication.class)
+                .web(WebApplicationType.SERVLET)
+                .profiles("h2")
+                .initializers(context -> context.getBeanFactory().addBeanPostProcessor(blockingDelay()))
+                .run(
+                        "--server.port=0",
+                        "--server.tomcat.threads.max=" + SERVLET_THREADS,
+                        "--spring.datasource.url=jdbc:h2:mem:servlet-bench;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.hikari.maximum-pool-size=" + POOL_SIZE,
+                        "--datasource.adaptive.enabled=false",
+                        "--admission.enabled=false",
+                        "--logging.level.com.example.userapi=WARN");
+        reactive = new SpringApplicationBuilder(ReactiveUserApiApplication.class)
+                .web(WebApplicationType.REACTIVE)
+                .profiles("reactive")
+                .initializers(context -> context.getBeanFactory().addBeanPostProcessor(nonBlockingDelay()))
+                .run(
+                        "--server.port=0",
+                        "--spring.r2dbc.url=r2dbc:h2:mem:///reactive-bench;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                        "--spring.r2dbc.username=sa",
+                        "--spring.r2dbc.password=",
+                        "--spring.r2dbc.pool.max-size=" + POOL_SIZE,
+                        "--spring.sql.init.mode=always",
+                        "--spring.sql.init.schema-locations=classpath:schema-h2.sql",
+                        "--logging.level.io.r2dbc.h2=ERROR");
+
+        ConnectionProvider connections = ConnectionProvider.builder("benchmark")
+                .maxConnections(MAX_CONCURRENCY)
+                .pendingAcquireMaxCount(-1)
+                .build();
+        client = WebClient.builder()
+                .clientConnector(new ReactorClientHttpConnector(HttpClient.create(connections)))
+                .build();
+    }
+
+    @AfterAll
+    static void stopApplications() {
+        if (servlet != null) {
+            servlet.close();
+        }
+        if (reactive != null) {
+            reactive.close();
+        }
+    }
+
+    @ParameterizedTest(name = "concurrency={0}")
+    @ValueSource(ints = {50, 200, 1000, MAX_CONCURRENCY})
+    void getUserUnderSlowIo(int concurrency) {
+        report("servlet", concurrency, servlet);
+        report("reactive", concurrency, reactive);
+    }
+
+    private void report(String stack, int concurrency, ConfigurableApplicationContext context) {
+        String baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+        Map<?, ?> created = client.post().uri(baseUrl + "/api/users")
+                .bodyValue(Map.of("name", "bench", "email", "bench-" + UUID.randomUUID() + "@example.com",
+                        "password", "password123"))
+                .retrieve()
+                .bodyToMono(Map.class)
+                .block();
+        String userUrl = baseUrl + "/api/users/" + created.get("id");
+
+        // ウォームアップ
+        run(userUrl, concurrency, concurrency);
+
+        int requests = concurrency * REQUESTS_PER_CONNECTION;
+        long startNanos = System.nanoTime();
+        Result result = run(userUrl, concurrency, requests);
+        double seconds = (System.nanoTime() - startNanos) / 1_000_000_000.0;
+
+        long[] latencies = result.latencyNanos();
+        Arrays.sort(latencies);
+        System.out.printf("%-8s concurrency=%4d ioDelay=%dms requests=%d errors=%d throughput=%.0f req/s p50=%.1fms p99=%.1fms max=%.1fms%n",
+                stack, concurrency, IO_DELAY.toMillis(), requests, result.errors(), requests / seconds,
+                percentile(latencies, 0.50), percentile(latencies, 0.99), latencies[latencies.length - 1] / 1_000_000.0);
+        assertThat(result.errors()).isZero();
+    }
+
+    private Result run(String url, int concurrency, int requests) {
+        long[] latencies = new long[requests];
+        AtomicInteger errors = new AtomicInteger();
+        Flux.range(0, requests)
+                .flatMap(i -> {
+                    long start = System.nanoTime();
+                    return client.get().uri(url)
+                            .retrieve()
+                            .toBodilessEntity()
+                            .doOnError(ex -> errors.incrementAndGet())
+                            .onErrorResume(ex -> Mono.empty())
+                            .doFinally(signal -> latencies[i] = System.nanoTime() - start);
+                }, concurrency)
+                .blockLast();
+        return new Result(latencies, errors.get());
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(quantile * sorted.length) - 1)] / 1_000_000.0;
+    }
+
+    /**
+     * サーブレット版: リポジトリ呼び出しのたびにスレッドをブロックして待機する
+     */
+    private static BeanPostProcessor blockingDelay() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof UserRepository)) {
+                    return bean;
+                }
+                return Proxy.newProxyInstance(UserRepository.class.getClassLoader(),
+                        new Class<?>[]{UserRepository.class},
+                        (proxy, method, args) -> {
+                            Thread.sleep(IO_DELAY.toMillis());
+                            try {
+                                return method.invoke(bean, args);
+                            } catch (InvocationTargetException ex) {
+                                throw ex.getCause();
+                            }
+                        });
+            }
+        };
+    }
+
+    /**
+     * リアクティブ版: リポジトリ呼び出しの結果をタイマーで遅延させる（スレッドはブロックしない）
+     */
+    private static BeanPostProcessor nonBlockingDelay() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof ReactiveUserRepository)) {
+                    return bean;
+                }
+                return Proxy.newProxyInstance(ReactiveUserRepository.class.getClassLoader(),
+                        new Class<?>[]{ReactiveUserRepository.class},
+                        (proxy, method, args) -> {
+                            Object result;
+                            try {
+                                result = method.invoke(bean, args);
+                            } catch (InvocationTargetException ex) {
+                                throw ex.getCause();
+                            }
+                            if (result instanceof Mono<?> mono) {
+                                return Mono.delay(IO_DELAY).then(mono);
+                            }
+                            if (result instanceof Flux<?> flux) {
+                                return Mono.delay(IO_DELAY).thenMany(flux);
+                            }
+                            return result;
+                        });
+            }
+        };
+    }
+
+    private record Result(long[] latencyNanos, int errors) {
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.userapi.reactive;
+
+import com.example.userapi.application.dto.UserResponse;
+import com.example.userapi.presentation.dto.ErrorResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * リアクティブ版（WebFlux + R2DBC H2）のAPIテスト
+ * ステータス・ETag・エラー形式がサーブレット版と同じであることを確認する
+ */
+@SpringBootTest(
+        classes = ReactiveUserApiApplication.class,
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "spring.main.web-application-type=reactive",
+                "spring.r2dbc.url=r2dbc:h2:mem:///reactive-userdb;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                "spring.r2dbc.username=sa",
+                "spring.r2dbc.password=",
+                "spring.sql.init.mode=always",
+                "spring.sql.init.schema-locations=classpath:schema-h2.sql"
+        })
+@ActiveProfiles("reactive")
+class ReactiveUserApiApplicationTests {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Test
+    void createGetUpdateAndDelete() {
+        String email = "reactive-" + UUID.randomUUID() + "@example.com";
+        UserResponse created = webTestClient.post().uri("/api/users")
+                .bodyValue(Map.of("name", "Reactive", "email", email, "password", "password123"))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"0\"")
+                .expectBody(UserResponse.class)
+                .returnResult().getResponseBody();
+        assertThat(created).isNotNull();
+        assertThat(created.id()).isNotNull();
+        assertThat(created.email()).isEqualTo(email);
+
+        webTestClient.get().uri("/api/users/{id}", created.id())
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"0\"")
+                .expectBody(UserResponse.class).isEqualTo(created);
+
+        webTestClient.put().uri("/api/users/{id}", created.id())
+                .header(HttpHeaders.IF_MATCH, "\"0\"")
+                .bodyValue(Map.of("name", "Renamed"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"1\"")
+                .expectBody()
+                .jsonPath("$.name").isEqualTo("Renamed")
+                .jsonPath("$.version").isEqualTo(1);
+
+        // 古いETagでの更新は412
+        webTestClient.put().uri("/api/users/{id}", created.id())
+                .header(HttpHeaders.IF_MATCH, "\"0\"")
+                .bodyValue(Map.of("name", "Stale"))
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.PRECONDITION_FAILED);
+
+        webTestClient.get().uri("/api/users")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[?(@.id == %d)].name".formatted(created.id())).isEqualTo("Renamed");
+
+        webTestClient.delete().uri("/api/users/{id}", created.id())
+                .exchange()
+                .expectStatus().isNoContent();
+
+        webTestClient.get().uri("/api/users/{id}", created.id())
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody(ErrorResponse.class)
+                .value(error -> assertThat(error.error()).isEqualTo("User Not Found"));
+    }
+
+    @Test
+    void rejectsInvalidAndDuplicateRequests() {
+        webTestClient.post().uri("/api/users")
+                .bodyValue(Map.of("name", "", "email", "invalid", "password", "short"))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody(ErrorResponse.class)
+                .value(error -> {
+                    assertThat(error.error()).isEqualTo("Validation Error");
+                    assertThat(error.fieldErrors()).extracting(ErrorResponse.FieldError::field)
+                            .contains("name", "email", "password");
+                });
+
+        String email = "duplicate-" + UUID.randomUUID() + "@example.com";
+        Map<String, String> body = Map.of("name", "Duplicate", "email", email, "password", "password123");
+        webTestClient.post().uri("/api/users").bodyValue(body)
+                .exchange()
+                .expectStatus().isCreated();
+        webTestClient.post().uri("/api/users").bodyValue(body)
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.CONFLICT)
+                .expectBody(ErrorResponse.class)
+                .value(error -> assertThat(error.error()).isEqualTo("Duplicate Email"));
+
+        webTestClient.post().uri("/api/users")
+                .bodyValue(Map.of("name", "Taro1", "email", "taro@company.com", "password", "password123"))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody(ErrorResponse.class)
+                .value(error -> assertThat(error.error()).isEqualTo("Invalid Name Format"));
+    }
+}
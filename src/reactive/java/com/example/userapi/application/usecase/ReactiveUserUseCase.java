@@ -0,0 +1,146 @@
+package com.example.userapi.application.usecase;
+
+import com.example.userapi.application.dto.CreateUserCommand;
+import com.example.userapi.application.dto.UpdateUserCommand;
+import com.example.userapi.application.dto.UserResponse;
+import com.example.userapi.application.rule.CorrelationRuleValidator;
+import com.example.userapi.domain.model.Email;
+import com.example.userapi.domain.model.HashedPassword;
+import com.example.userapi.domain.model.User;
+import com.example.userapi.domain.repository.ReactiveUserRepository;
+import com.example.userapi.domain.service.UserDomainService;
+import com.example.userapi.infrastructure.security.PasswordEncoder;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * ユーザーユースケース（ノンブロッキング版）
+ * 業務フローはUserUseCaseと同じ。トランザクション境界はTransactionalOperatorで制御し、
+ * CPU負荷の高いパスワードハッシュ化はイベントループ外のスケジューラで実行する
+ */
+public class ReactiveUserUseCase {
+
+    private final ReactiveUserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final TransactionalOperator transactionalOperator;
+    private final CorrelationRuleValidator correlationRules;
+    private final Scheduler hashingScheduler;
+
+    public ReactiveUserUseCase(ReactiveUserRepository userRepository,
+                               PasswordEncoder passwordEncoder,
+                               TransactionalOperator transactionalOperator,
+                               CorrelationRuleValidator correlationRules) {
+        this.userRepository = userRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.transactionalOperator = transactionalOperator;
+        this.correlationRules = correlationRules;
+        this.hashingScheduler = Schedulers.boundedElastic();
+    }
+
+    /**
+     * ユーザー作成
+     */
+    public Mono<UserResponse> createUser(CreateUserCommand command) {
+        return Mono.defer(() -> {
+                    // 相関チェック: 名前とメールの整合性
+                    correlationRules.validate(command.name(), command.email());
+                    Email email = new Email(command.email());
+
+                    // 業務ロジックチェック: メール重複チェック
+                    Mono<User> created = userRepository.existsByEmail(email)
+                            .flatMap(exists -> {
+                                if (exists) {
+                                    return Mono.error(new UserDomainService.DuplicateEmailException(
+                                            "このメールアドレスは既に登録されています: " + email.getValue()));
+                                }
+                                return encode(command.password())
+                                        .flatMap(password -> userRepository.save(new User(command.name(), email, password)));
+                            });
+                    return transactionalOperator.transactional(created);
+                })
+                .map(UserResponse::from);
+    }
+
+    /**
+     * ユーザー取得
+     */
+    public Mono<UserResponse> getUser(Long id) {
+        return findExisting(id).map(UserResponse::from);
+    }
+
+    /**
+     * ユーザー一覧取得
+     */
+    public Flux<UserResponse> getAllUsers() {
+        return userRepository.findAll().map(UserResponse::from);
+    }
+
+    /**
+     * ユーザー更新
+     * @param expectedVersion クライアントが保持しているバージョン（If-Match、未指定の場合はnull）
+     */
+    public Mono<UserResponse> updateUser(Long id, Long expectedVersion, UpdateUserCommand command) {
+        Mono<User> updated = findExisting(id)
+                .flatMap(existingUser -> {
+                    // 事前条件チェック: クライアントが読み込んだ後に更新されていないか
+                    if (expectedVersion != null && !expectedVersion.equals(existingUser.getVersion())) {
+                        return Mono.error(new UserUseCase.VersionMismatchException(
+                                "ユーザーは他の処理により更新されています: ID=" + id));
+                    }
+
+                    // 相関チェック
+                    correlationRules.validate(command.name(), command.email());
+
+                    User renamed = existingUser;
+                    if (command.name() != null && !command.name().equals(existingUser.getName())) {
+                        renamed = renamed.updateName(command.name());
+                    }
+                    return updateEmail(id, renamed, command.email())
+                            .flatMap(user -> updatePassword(user, command.password()))
+                            .flatMap(userRepository::update);
+                });
+        return transactionalOperator.transactional(updated).map(UserResponse::from);
+    }
+
+    /**
+     * ユーザー削除
+     */
+    public Mono<Void> deleteUser(Long id) {
+        return transactionalOperator.transactional(
+                findExisting(id).flatMap(user -> userRepository.deleteById(id)));
+    }
+
+    private Mono<User> findExisting(Long id) {
+        return userRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new UserUseCase.UserNotFoundException(
+                        "ユーザーが見つかりません: ID=" + id)));
+    }
+
+    private Mono<User> updateEmail(Long id, User user, String newEmail) {
+        if (newEmail == null || newEmail.equals(user.getEmail().getValue())) {
+            return Mono.just(user);
+        }
+        Email email = new Email(newEmail);
+        // 業務ロジックチェック: 自分以外で同じメールが使われていないか
+        return userRepository.findByEmail(email)
+                .filter(other -> !other.getId().equals(id))
+                .flatMap(other -> Mono.<User>error(new UserDomainService.DuplicateEmailException(
+                        "このメールアドレスは既に使用されています")))
+                .defaultIfEmpty(user.updateEmail(email));
+    }
+
+    private Mono<User> updatePassword(User user, String newPassword) {
+        if (newPassword == null || newPassword.isBlank()) {
+            return Mono.just(user);
+        }
+        return encode(newPassword).map(user::updatePassword);
+    }
+
+    private Mono<HashedPassword> encode(String rawPassword) {
+        return Mono.fromCallable(() -> passwordEncoder.encode(rawPassword))
+                .subscribeOn(hashingScheduler);
+    }
+}
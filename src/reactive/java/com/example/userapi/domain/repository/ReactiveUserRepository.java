@@ -0,0 +1,61 @@
+package com.example.userapi.domain.repository;
+
+import com.example.userapi.domain.model.Email;
+import com.example.userapi.domain.model.User;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * ユーザーリポジトリインターフェース（ノンブロッキング版）
+ * UserRepositoryと同じ操作をMono/Fluxで返す。未検出の場合は空のMonoとなる
+ */
+public interface ReactiveUserRepository {
+
+    /**
+     * ユーザーを保存する
+     * @param user 保存するユーザー
+     * @return 保存されたユーザー（IDが採番される）
+     */
+    Mono<User> save(User user);
+
+    /**
+     * IDでユーザーを検索する
+     * @param id ユーザーID
+     * @return ユーザー（存在しない場合は空）
+     */
+    Mono<User> findById(Long id);
+
+    /**
+     * メールアドレスでユーザーを検索する
+     * @param email メールアドレス
+     * @return ユーザー（存在しない場合は空）
+     */
+    Mono<User> findByEmail(Email email);
+
+    /**
+     * 全ユーザーを取得する
+     * @return ユーザー（ID順）
+     */
+    Flux<User> findAll();
+
+    /**
+     * ユーザーを更新する（楽観ロック）
+     * @param user 更新するユーザー（バージョンは読み込み時の値）
+     * @return 更新されたユーザー（バージョンはインクリメント済み）。
+     *         読み込み後に他の処理が更新していた場合は OptimisticLockingFailureException でエラー終了する
+     */
+    Mono<User> update(User user);
+
+    /**
+     * ユーザーを削除する
+     * @param id 削除するユーザーID
+     */
+    Mono<Void> deleteById(Long id);
+
+    /**
+     * メールアドレスが存在するかチェックする
+     * @param email メールアドレス
+     * @return 存在する場合true
+     */
+    Mono<Boolean> existsByEmail(Email email);
+}
@@ -0,0 +1,138 @@
+package com.example.userapi.infrastructure.persistence.r2dbc;
+
+import com.example.userapi.domain.model.Email;
+import com.example.userapi.domain.model.HashedPassword;
+import com.example.userapi.domain.model.User;
+import com.example.userapi.domain.repository.ReactiveUserRepository;
+import io.r2dbc.spi.Readable;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+/**
+ * ユーザーリポジトリ実装（R2DBC版）
+ * SQLは mapper/UserMapper.xml と同じ内容（楽観ロック・採番後の再取得を含む）
+ */
+public class R2dbcUserRepository implements ReactiveUserRepository {
+
+    private static final String COLUMNS = "id, name, email, password, created_at, updated_at, version";
+
+    private final DatabaseClient databaseClient;
+
+    public R2dbcUserRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    @Override
+    public Mono<User> save(User user) {
+        return databaseClient.sql("""
+                        INSERT INTO users (name, email, password, created_at, updated_at, version)
+                        VALUES (:name, :email, :password, NOW(), NOW(), 0)
+                        """)
+                .bind("name", user.getName())
+                .bind("email", user.getEmail().getValue())
+                .bind("password", user.getPassword().getHashedValue())
+                .filter(statement -> statement.returnGeneratedValues("id"))
+                .map(row -> row.get("id", Long.class))
+                .one()
+                .switchIfEmpty(Mono.error(() -> new RuntimeException("ユーザーの保存に失敗しました")))
+                // 自動採番されたIDを使って再取得
+                .flatMap(id -> findById(id)
+                        .switchIfEmpty(Mono.error(() -> new RuntimeException("保存したユーザーの取得に失敗しました"))));
+    }
+
+    @Override
+    public Mono<User> findById(Long id) {
+        return databaseClient.sql("SELECT " + COLUMNS + " FROM users WHERE id = :id")
+                .bind("id", id)
+                .map(R2dbcUserRepository::toDomain)
+                .one();
+    }
+
+    @Override
+    public Mono<User> findByEmail(Email email) {
+        return databaseClient.sql("SELECT " + COLUMNS + " FROM users WHERE email = :email")
+                .bind("email", email.getValue())
+                .map(R2dbcUserRepository::toDomain)
+                .one();
+    }
+
+    @Override
+    public Flux<User> findAll() {
+        return databaseClient.sql("SELECT " + COLUMNS + " FROM users ORDER BY id")
+                .map(R2dbcUserRepository::toDomain)
+                .all();
+    }
+
+    @Override
+    public Mono<User> update(User user) {
+        if (user.getId() == null) {
+            return Mono.error(new IllegalArgumentException("更新対象のユーザーIDが指定されていません"));
+        }
+        if (user.getVersion() == null) {
+            return Mono.error(new IllegalArgumentException("更新対象のユーザーのバージョンが指定されていません"));
+        }
+
+        return databaseClient.sql("""
+                        UPDATE users
+                        SET name = :name,
+                            email = :email,
+                            password = :password,
+                            updated_at = NOW(),
+                            version = version + 1
+                        WHERE id = :id
+                          AND version = :version
+                        """)
+                .bind("name", user.getName())
+                .bind("email", user.getEmail().getValue())
+                .bind("password", user.getPassword().getHashedValue())
+                .bind("id", user.getId())
+                .bind("version", user.getVersion())
+                .fetch()
+                .rowsUpdated()
+                .flatMap(updated -> {
+                    // 読み込み後に他の処理が更新・削除していた場合は0件になる
+                    if (updated == 0) {
+                        return Mono.error(new OptimisticLockingFailureException(
+                                "ユーザーは他の処理により更新されています: ID=" + user.getId()));
+                    }
+                    return findById(user.getId())
+                            .switchIfEmpty(Mono.error(() -> new RuntimeException("更新したユーザーの取得に失敗しました")));
+                });
+    }
+
+    @Override
+    public Mono<Void> deleteById(Long id) {
+        return databaseClient.sql("DELETE FROM users WHERE id = :id")
+                .bind("id", id)
+                .fetch()
+                .rowsUpdated()
+                .flatMap(deleted -> deleted == 0
+                        ? Mono.error(new RuntimeException("ユーザーが見つかりません: ID=" + id))
+                        : Mono.empty());
+    }
+
+    @Override
+    public Mono<Boolean> existsByEmail(Email email) {
+        return databaseClient.sql("SELECT COUNT(*) AS cnt FROM users WHERE email = :email")
+                .bind("email", email.getValue())
+                .map(row -> row.get("cnt", Long.class))
+                .one()
+                .map(count -> count > 0);
+    }
+
+    private static User toDomain(Readable row) {
+        return new User(
+                row.get("id", Long.class),
+                row.get("name", String.class),
+                new Email(row.get("email", String.class)),
+                new HashedPassword(row.get("password", String.class)),
+                row.get("created_at", LocalDateTime.class),
+                row.get("updated_at", LocalDateTime.class),
+                row.get("version", Long.class)
+        );
+    }
+}
@@ -0,0 +1,194 @@
+package com.example.userapi.presentation.controller;
+
+import com.example.userapi.application.dto.CreateUserCommand;
+import com.example.userapi.application.dto.UpdateUserCommand;
+import com.example.userapi.application.dto.UserResponse;
+import com.example.userapi.application.usecase.ReactiveUserUseCase;
+import com.example.userapi.application.usecase.UserUseCase;
+import com.example.userapi.domain.service.UserDomainService;
+import com.example.userapi.presentation.dto.ErrorResponse;
+import com.example.userapi.presentation.exception.GlobalExceptionHandler;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Mono;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * ユーザーハンドラー（WebFlux版）
+ * UserControllerと同じエンドポイント・ステータス・ETagを提供し、エラーはGlobalExceptionHandlerと同じ形式で返す
+ */
+public class UserHandler {
+
+    private final ReactiveUserUseCase userUseCase;
+    private final Validator validator;
+    private final GlobalExceptionHandler exceptionHandler = new GlobalExceptionHandler();
+
+    public UserHandler(ReactiveUserUseCase userUseCase, Validator validator) {
+        this.userUseCase = userUseCase;
+        this.validator = validator;
+    }
+
+    /**
+     * ルーティング定義（/api/users）
+     */
+    public RouterFunction<ServerResponse> routes() {
+        return RouterFunctions.route()
+                .POST("/api/users", this::createUser)
+                .GET("/api/users/{id}", this::getUser)
+                .GET("/api/users", this::getAllUsers)
+                .PUT("/api/users/{id}", this::updateUser)
+                .DELETE("/api/users/{id}", this::deleteUser)
+                .onError(Throwable.class, (ex, request) -> handleError(ex))
+                .build();
+    }
+
+    /**
+     * ユーザー作成
+     * POST /api/users
+     */
+    public Mono<ServerResponse> createUser(ServerRequest request) {
+        return request.bodyToMono(CreateUserCommand.class)
+                .switchIfEmpty(Mono.error(() -> new ServerWebInputException("リクエストボディがありません")))
+                .flatMap(this::validate)
+                .flatMap(userUseCase::createUser)
+                .flatMap(response -> withETag(ServerResponse.status(HttpStatus.CREATED), response));
+    }
+
+    /**
+     * ユーザー取得
+     * GET /api/users/{id}
+     */
+    public Mono<ServerResponse> getUser(ServerRequest request) {
+        return Mono.fromCallable(() -> pathId(request))
+                .flatMap(userUseCase::getUser)
+                .flatMap(response -> withETag(ServerResponse.ok(), response));
+    }
+
+    /**
+     * ユーザー一覧取得
+     * GET /api/users
+     */
+    public Mono<ServerResponse> getAllUsers(ServerRequest request) {
+        return ServerResponse.ok().body(userUseCase.getAllUsers(), UserResponse.class);
+    }
+
+    /**
+     * ユーザー更新
+     * PUT /api/users/{id}
+     * If-Matchヘッダー指定時は、ETag（バージョン）が一致する場合のみ更新する
+     */
+    public Mono<ServerResponse> updateUser(ServerRequest request) {
+        return Mono.fromCallable(() -> pathId(request))
+                .flatMap(id -> {
+                    Long expectedVersion = UserController.parseIfMatch(
+                            request.headers().firstHeader(HttpHeaders.IF_MATCH));
+                    return request.bodyToMono(UpdateUserCommand.class)
+                            .switchIfEmpty(Mono.error(() -> new ServerWebInputException("リクエストボディがありません")))
+                            .flatMap(this::validate)
+                            .flatMap(command -> userUseCase.updateUser(id, expectedVersion, command));
+                })
+                .flatMap(response -> withETag(ServerResponse.ok(), response));
+    }
+
+    /**
+     * ユーザー削除
+     * DELETE /api/users/{id}
+     */
+    public Mono<ServerResponse> deleteUser(ServerRequest request) {
+        return Mono.fromCallable(() -> pathId(request))
+                .flatMap(userUseCase::deleteUser)
+                .then(ServerResponse.noContent().build());
+    }
+
+    private static Mono<ServerResponse> withETag(ServerResponse.BodyBuilder builder, UserResponse response) {
+        return builder.eTag(String.valueOf(response.version())).bodyValue(response);
+    }
+
+    private static Long pathId(ServerRequest request) {
+        try {
+            return Long.valueOf(request.pathVariable("id"));
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("IDの形式が正しくありません");
+        }
+    }
+
+    /**
+     * 単項目チェック（@Validと同じ制約を適用）
+     */
+    private <T> Mono<T> validate(T command) {
+        Set<ConstraintViolation<T>> violations = validator.validate(command);
+        if (violations.isEmpty()) {
+            return Mono.just(command);
+        }
+        return Mono.error(new ValidationException(violations.stream()
+                .sorted(Comparator.comparing(violation -> violation.getPropertyPath().toString()))
+                .map(violation -> new ErrorResponse.FieldError(
+                        violation.getPropertyPath().toString(),
+                        violation.getInvalidValue() != null ? violation.getInvalidValue().toString() : "null",
+                        violation.getMessage()))
+                .toList()));
+    }
+
+    /**
+     * 例外をGlobalExceptionHandlerと同じステータス・形式のレスポンスに変換する
+     */
+    private Mono<ServerResponse> handleError(Throwable ex) {
+        ResponseEntity<ErrorResponse> error;
+        if (ex instanceof ValidationException validation) {
+            error = ResponseEntity.status(HttpStatus.BAD_REQUEST).body(new ErrorResponse(
+                    HttpStatus.BAD_REQUEST.value(),
+                    "Validation Error",
+                    "入力内容に誤りがあります",
+                    validation.fieldErrors));
+        } else if (ex instanceof ServerWebInputException) {
+            error = ResponseEntity.status(HttpStatus.BAD_REQUEST).body(new ErrorResponse(
+                    HttpStatus.BAD_REQUEST.value(),
+                    "Invalid Argument",
+                    "リクエストの形式が正しくありません",
+                    Collections.emptyList()));
+        } else if (ex instanceof IllegalArgumentException e) {
+            error = exceptionHandler.handleIllegalArgumentException(e);
+        } else if (ex instanceof UserDomainService.DuplicateEmailException e) {
+            error = exceptionHandler.handleDuplicateEmailException(e);
+        } else if (ex instanceof UserUseCase.UserNotFoundException e) {
+            error = exceptionHandler.handleUserNotFoundException(e);
+        } else if (ex instanceof UserUseCase.InvalidNameFormatException e) {
+            error = exceptionHandler.handleInvalidNameFormatException(e);
+        } else if (ex instanceof UserUseCase.VersionMismatchException e) {
+            error = exceptionHandler.handleVersionMismatchException(e);
+        } else if (ex instanceof OptimisticLockingFailureException e) {
+            error = exceptionHandler.handleOptimisticLockingFailureException(e);
+        } else {
+            error = exceptionHandler.handleGenericException(
+                    ex instanceof Exception e ? e : new RuntimeException(ex));
+        }
+        return ServerResponse.status(error.getStatusCode())
+                .headers(headers -> headers.addAll(error.getHeaders()))
+                .bodyValue(error.getBody());
+    }
+
+    /**
+     * 単項目チェックエラー
+     */
+    private static class ValidationException extends RuntimeException {
+        private final List<ErrorResponse.FieldError> fieldErrors;
+
+        ValidationException(List<ErrorResponse.FieldError> fieldErrors) {
+            super("入力内容に誤りがあります", null, false, false);
+            this.fieldErrors = fieldErrors;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.userapi.reactive;
+
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.annotation.Import;
+
+/**
+ * リアクティブ版アプリケーション（WebFlux + R2DBC）
+ * コンポーネントスキャンは行わず、ReactiveUserApiConfigurationで必要なBeanだけを組み立てる。
+ * サーブレット版のコンポーネントスキャン対象に含まれるため、リアクティブWeb環境でのみ有効にする
+ */
+@SpringBootConfiguration
+@EnableAutoConfiguration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@Import(ReactiveUserApiConfiguration.class)
+public class ReactiveUserApiApplication {
+
+    public static void main(String[] args) {
+        new SpringApplicationBuilder(ReactiveUserApiApplication.class)
+                .web(WebApplicationType.REACTIVE)
+                .profiles("reactive")
+                .run(args);
+    }
+}
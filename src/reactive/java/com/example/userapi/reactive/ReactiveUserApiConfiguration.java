@@ -0,0 +1,85 @@
+package com.example.userapi.reactive;
+
+import com.example.userapi.application.rule.CorrelationRuleValidator;
+import com.example.userapi.application.usecase.ReactiveUserUseCase;
+import com.example.userapi.domain.repository.ReactiveUserRepository;
+import com.example.userapi.infrastructure.persistence.r2dbc.R2dbcUserRepository;
+import com.example.userapi.infrastructure.rule.CorrelationRuleLoader;
+import com.example.userapi.infrastructure.rule.CorrelationRuleProperties;
+import com.example.userapi.infrastructure.security.PasswordEncoder;
+import com.example.userapi.presentation.controller.UserHandler;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.validation.Validator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.ReactiveTransactionManager;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+/**
+ * リアクティブ版のBean定義
+ * ドメインモデル・DTO・PasswordEncoderはサーブレット版と共有し、ポート実装とプレゼンテーション層だけを差し替える
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@EnableConfigurationProperties(CorrelationRuleProperties.class)
+public class ReactiveUserApiConfiguration {
+
+    /**
+     * サーブレット版と同じクラスパス（Tomcatあり）で起動するため、Nettyを明示する
+     */
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    @Bean
+    public ReactiveUserRepository reactiveUserRepository(DatabaseClient databaseClient) {
+        return new R2dbcUserRepository(databaseClient);
+    }
+
+    @Bean
+    public PasswordEncoder passwordEncoder() {
+        return new PasswordEncoder();
+    }
+
+    @Bean
+    public CorrelationRuleValidator correlationRuleValidator() {
+        return new CorrelationRuleValidator();
+    }
+
+    @Bean
+    public CorrelationRuleLoader correlationRuleLoader(CorrelationRuleValidator validator,
+                                                       CorrelationRuleProperties properties,
+                                                       ResourceLoader resourceLoader,
+                                                       ObjectMapper objectMapper,
+                                                       MeterRegistry meterRegistry) {
+        return new CorrelationRuleLoader(validator, properties, resourceLoader, objectMapper, meterRegistry);
+    }
+
+    @Bean
+    public ReactiveUserUseCase reactiveUserUseCase(ReactiveUserRepository userRepository,
+                                                   PasswordEncoder passwordEncoder,
+                                                   ReactiveTransactionManager transactionManager,
+                                                   CorrelationRuleValidator correlationRuleValidator) {
+        return new ReactiveUserUseCase(userRepository, passwordEncoder,
+                TransactionalOperator.create(transactionManager), correlationRuleValidator);
+    }
+
+    @Bean
+    public UserHandler userHandler(ReactiveUserUseCase userUseCase, Validator validator) {
+        return new UserHandler(userUseCase, validator);
+    }
+
+    @Bean
+    public RouterFunction<ServerResponse> userRoutes(UserHandler userHandler) {
+        return userHandler.routes();
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.userapi.application.usecase;
+
+import com.example.userapi.application.dto.BulkOperationResult;
+import com.example.userapi.domain.model.Email;
+import com.example.userapi.domain.model.HashedPassword;
+import com.example.userapi.domain.model.User;
+import com.example.userapi.domain.repository.UserRepository;
+import com.example.userapi.infrastructure.security.PasswordEncoder;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+
+/**
+ * ユーザー一括変更のテスト
+ * 登録・更新・削除が混在する操作をチャンクに分けて実行し、操作ごとの結果とデータベースの状態を確認する。
+ * パスワードのハッシュ化がチャンクの処理スレッドではなく、ハッシュ化用のスレッドプールで並列に行われることを確認する
+ */
+@SpringBootTest(properties = {"bulk.chunk-size=3", "importer.hash-parallelism=3"})
+@ActiveProfiles("h2")
+class UserBulkUseCaseTest {
+
+    private static final String PASSWORD_HASH = "$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z6Ih0C2bGZ4ZqG5ZfXKcWq2a";
+
+    @Autowired
+    private UserBulkUseCase userBulkUseCase;
+
+    @Autowired
+    private UserUseCase userUseCase;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @SpyBean
+    private PasswordEncoder passwordEncoder;
+
+    @Test
+    void executesMixedOperationsAndReportsEachResult() throws Exception {
+        String prefix = UUID.randomUUID().toString();
+        User renamed = save(prefix + "-renamed");
+        User stale = save(prefix + "-stale");
+        User removed = save(prefix + "-removed");
+        User renamedThenRemoved = save(prefix + "-twice");
+        // キャッシュに載せておき、一括変更後に古い値が返らないことを確認する
+        userUseCase.getUser(renamed.getId()).orElseThrow();
+
+        List<List<BulkOperationResult>> chunks = execute(
+                create("created", prefix + "-new1@example.com"),
+                "{\"op\":\"create\",\"name\":\"hashed\",\"email\":\"" + prefix + "-new2@example.com\","
+                        + "\"passwordHash\":\"" + PASSWORD_HASH + "\"}",
+                create("duplicate", prefix + "-renamed@example.com"),
+                create("invalid", "not-an-email"),
+                "{\"op\":\"update\",\"id\":" + renamed.getId() + ",\"version\":0,\"name\":\"after\"}",
+                "{\"op\":\"update\",\"id\":" + stale.getId() + ",\"version\":5,\"name\":\"after\"}",
+                "{\"op\":\"delete\",\"id\":" + removed.getId() + "}",
+                "{\"op\":\"delete\",\"id\":" + Long.MAX_VALUE + "}",
+                "{\"op\":\"update\",\"id\":" + renamedThenRemoved.getId() + ",\"name\":\"after\"}",
+                "",
+                "{\"op\":\"delete\",\"id\":" + renamedThenRemoved.getId() + ",\"version\":1}",
+                "{broken",
+                "{\"op\":\"upsert\",\"id\":1}"
+        );
+
+        List<BulkOperationResult> results = chunks.stream().flatMap(List::stream).toList();
+        assertThat(chunks).hasSizeGreaterThan(1);
+        assertThat(results).extracting(BulkOperationResult::index)
+                .containsExactly(0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11);
+        assertThat(results).extracting(BulkOperationResult::status)
+                .containsExactly(201, 201, 409, 400, 200, 412, 204, 404, 200, 204, 400, 400);
+
+        assertThat(userRepository.findById(results.get(0).id())).get()
+                .extracting(User::getName).isEqualTo("created");
+        assertThat(userRepository.findById(results.get(1).id())).get()
+                .extracting(user -> user.getPassword().getHashedValue()).isEqualTo(PASSWORD_HASH);
+        assertThat(results.get(4).version()).isEqualTo(1L);
+        assertThat(userUseCase.getUser(renamed.getId()).orElseThrow().name()).isEqualTo("after");
+        assertThat(userUseCase.getUser(stale.getId()).orElseThrow().name()).isEqualTo("stale");
+        assertThat(userRepository.findById(removed.getId())).isEmpty();
+        // 同じユーザーへの更新と削除は別のチャンクで順に実行される
+        assertThat(userRepository.findById(renamedThenRemoved.getId())).isEmpty();
+    }
+
+    @Test
+    void hashesPasswordsOfChunkInParallel() throws Exception {
+        String prefix = UUID.randomUUID().toString();
+        User existing = save(prefix + "-existing");
+        Set<String> hashingThreads = ConcurrentHashMap.newKeySet();
+        doAnswer(invocation -> {
+            hashingThreads.add(Thread.currentThread().getName());
+            return invocation.callRealMethod();
+        }).when(passwordEncoder).encode(anyString());
+
+        List<BulkOperationResult> results = execute(
+                create("first", prefix + "-first@example.com"),
+                create("second", prefix + "-second@example.com"),
+                "{\"op\":\"update\",\"id\":" + existing.getId() + ",\"password\":\"changed123\"}"
+        ).stream().flatMap(List::stream).toList();
+
+        assertThat(results).extracting(BulkOperationResult::status).containsExactly(201, 201, 200);
+        assertThat(hashingThreads).hasSizeGreaterThan(1)
+                .allSatisfy(thread -> assertThat(thread).startsWith("user-import-hash-"));
+        assertThat(passwordEncoder.matches("password123",
+                userRepository.findById(results.get(0).id()).orElseThrow().getPassword())).isTrue();
+        assertThat(passwordEncoder.matches("changed123",
+                userRepository.findById(existing.getId()).orElseThrow().getPassword())).isTrue();
+    }
+
+    private User save(String localPart) {
+        String name = localPart.substring(localPart.lastIndexOf('-') + 1);
+        return userRepository.save(new User(name, new Email(localPart + "@example.com"),
+                new HashedPassword(PASSWORD_HASH)));
+    }
+
+    private static String create(String name, String email) {
+        return "{\"op\":\"create\",\"name\":\"" + name + "\",\"email\":\"" + email + "\",\"password\":\"password123\"}";
+    }
+
+    private List<List<BulkOperationResult>> execute(String... lines) throws Exception {
+        List<List<BulkOperationResult>> chunks = new ArrayList<>();
+        userBulkUseCase.execute(new BufferedReader(new StringReader(String.join("\n", lines))), chunks::add);
+        return chunks;
+    }
+}
@@ -0,0 +1,162 @@
+package com.example.userapi.application.usecase;
+
+import com.example.userapi.application.dto.ImportProgressResponse;
+import com.example.userapi.application.dto.ImportUsersCommand;
+import com.example.userapi.domain.model.Email;
+import com.example.userapi.domain.model.HashedPassword;
+import com.example.userapi.domain.model.User;
+import com.example.userapi.domain.repository.UserRepository;
+import com.example.userapi.infrastructure.importer.ImportFormat;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ユーザー一括インポートのテスト
+ * 行の検証・重複除外と、チャンク登録の失敗後にコミット済みの位置から再開できることを確認する
+ */
+@SpringBootTest
+@ActiveProfiles("h2")
+class UserImportUseCaseTest {
+
+    private static final String PASSWORD_HASH = "$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z6Ih0C2bGZ4ZqG5ZfXKcWq2a";
+
+    @TempDir
+    static Path importDirectory;
+
+    @DynamicPropertySource
+    static void importProperties(DynamicPropertyRegistry registry) {
+        registry.add("importer.base-directory", importDirectory::toString);
+        registry.add("importer.chunk-size", () -> "3");
+    }
+
+    @Autowired
+    private UserImportUseCase userImportUseCase;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    // 0以外の場合、この回数目の一括保存で障害を発生させる
+    private static final AtomicInteger failOnSaveAll = new AtomicInteger();
+
+    @Test
+    void importsValidRowsAndSkipsDuplicatesAndInvalidRows() throws Exception {
+        String prefix = UUID.randomUUID().toString();
+        userRepository.save(new User("existing", new Email(prefix + "-existing@example.com"),
+                new HashedPassword(PASSWORD_HASH)));
+
+        Path file = write(prefix + ".csv", List.of(
+                "name,email,password,password_hash",
+                "raw," + prefix + "-1@example.com,password123,",
+                "hashed," + prefix + "-2@example.com,," + PASSWORD_HASH,
+                "invalid-email,not-an-email,password123,",
+                "duplicate-in-file," + prefix + "-1@example.com,password123,",
+                "existing," + prefix + "-existing@example.com,," + PASSWORD_HASH,
+                "invalid-hash," + prefix + "-3@example.com,,plain-text",
+                "\"Doe, Jane\"," + prefix + "-4@example.com,," + PASSWORD_HASH
+        ));
+
+        ImportProgressResponse result = run(new ImportUsersCommand(file.getFileName().toString(), ImportFormat.CSV));
+
+        assertThat(result.status()).isEqualTo("COMPLETED");
+        assertThat(result.rowsRead()).isEqualTo(7);
+        assertThat(result.imported()).isEqualTo(3);
+        assertThat(result.duplicates()).isEqualTo(2);
+        assertThat(result.rejected()).isEqualTo(2);
+        assertThat(result.committedOffset()).isEqualTo(Files.size(file));
+        assertThat(userRepository.findByEmail(new Email(prefix + "-4@example.com")))
+                .hasValueSatisfying(user -> assertThat(user.getName()).isEqualTo("Doe, Jane"));
+        assertThat(userRepository.findByEmail(new Email(prefix + "-1@example.com")))
+                .hasValueSatisfying(user -> assertThat(user.getName()).isEqualTo("raw"));
+    }
+
+    @Test
+    void resumesFromLastCommittedOffsetAfterFailure() throws Exception {
+        String prefix = UUID.randomUUID().toString();
+        List<String> lines = new ArrayList<>();
+        List<Email> emails = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            Email email = new Email(prefix + "-" + i + "@example.com");
+            emails.add(email);
+            lines.add("{\"name\":\"user" + i + "\",\"email\":\"" + email + "\",\"passwordHash\":\"" + PASSWORD_HASH + "\"}");
+        }
+        Path file = write(prefix + ".ndjson", lines);
+
+        // 2チャンク目の登録で障害が発生する
+        failOnSaveAll.set(2);
+        ImportProgressResponse failed = run(new ImportUsersCommand(file.getFileName().toString(), ImportFormat.NDJSON));
+        failOnSaveAll.set(0);
+        assertThat(failed.status()).isEqualTo("FAILED");
+        assertThat(failed.rowsRead()).isEqualTo(3);
+        assertThat(failed.imported()).isEqualTo(3);
+        assertThat(failed.committedOffset())
+                .isEqualTo(String.join("\n", lines.subList(0, 3)).getBytes(StandardCharsets.UTF_8).length + 1);
+
+        userImportUseCase.resumeImport(failed.jobId());
+        ImportProgressResponse resumed = userImportUseCase.awaitCompletion(failed.jobId());
+
+        assertThat(resumed.status()).isEqualTo("COMPLETED");
+        assertThat(resumed.rowsRead()).isEqualTo(10);
+        assertThat(resumed.imported()).isEqualTo(10);
+        assertThat(resumed.duplicates()).isZero();
+        assertThat(userRepository.findExistingEmails(emails)).hasSize(10);
+    }
+
+    private ImportProgressResponse run(ImportUsersCommand command) {
+        ImportProgressResponse started = userImportUseCase.startImport(command);
+        return userImportUseCase.awaitCompletion(started.jobId());
+    }
+
+    private static Path write(String name, List<String> lines) throws Exception {
+        return Files.write(importDirectory.resolve(name), lines, StandardCharsets.UTF_8);
+    }
+
+    @TestConfiguration
+    static class FailureInjectionConfiguration {
+
+        @Bean
+        static BeanPostProcessor failingSaveAll() {
+            AtomicInteger calls = new AtomicInteger();
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (!(bean instanceof UserRepository)) {
+                        return bean;
+                    }
+                    return Proxy.newProxyInstance(UserRepository.class.getClassLoader(),
+                            new Class<?>[]{UserRepository.class}, (proxy, method, args) -> {
+                                if (method.getName().equals("saveAll") && failOnSaveAll.get() > 0
+                                        && calls.incrementAndGet() == failOnSaveAll.get()) {
+                                    throw new DataAccessResourceFailureException("connection reset");
+                                }
+                                try {
+                                    return method.invoke(bean, args);
+                                } catch (InvocationTargetException ex) {
+                                    throw ex.getCause();
+                                }
+                            });
+                }
+            };
+        }
+    }
+}
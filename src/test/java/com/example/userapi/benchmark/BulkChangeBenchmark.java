@@ -0,0 +1,160 @@
+package com.example.userapi.benchmark;
+
+import com.example.userapi.application.dto.BulkOperationResult;
+import com.example.userapi.application.dto.UpdateUserCommand;
+import com.example.userapi.application.rule.CorrelationRuleValidator;
+import com.example.userapi.application.usecase.UserBulkUseCase;
+import com.example.userapi.application.usecase.UserUseCase;
+import com.example.userapi.domain.event.DomainEventPublisher;
+import com.example.userapi.domain.model.Email;
+import com.example.userapi.domain.model.HashedPassword;
+import com.example.userapi.domain.model.User;
+import com.example.userapi.domain.repository.UserRepository;
+import com.example.userapi.infrastructure.bulk.BulkOperationParser;
+import com.example.userapi.infrastructure.bulk.BulkProperties;
+import com.example.userapi.infrastructure.bulkhead.Bulkheads;
+import com.example.userapi.infrastructure.importer.ImportJobExecutor;
+import com.example.userapi.infrastructure.security.PasswordEncoder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 一括変更のベンチマーク
+ * 同じ件数の登録・更新・削除を、個別のユースケース呼び出し（1操作1トランザクション）と、
+ * チャンクサイズを変えた一括変更（種類ごとのJDBCバッチ）で実行して比較する
+ *
+ * <pre>
+ * mvn test -Pbenchmark -Dtest=BulkChangeBenchmark
+ * </pre>
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "logging.level.com.example.userapi=INFO")
+@ActiveProfiles("h2")
+class BulkChangeBenchmark {
+
+    private static final int USERS = 3_000;
+    private static final int[] CHUNK_SIZES = {1, 10, 100, 500};
+    private static final String PASSWORD_HASH = "$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z6Ih0C2bGZ4ZqG5ZfXKcWq2a";
+
+    @Autowired
+    private UserUseCase userUseCase;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private CorrelationRuleValidator correlationRules;
+
+    @Autowired
+    private DomainEventPublisher eventPublisher;
+
+    @Autowired
+    private BulkOperationParser parser;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ObjectProvider<Bulkheads> bulkheads;
+
+    @Autowired
+    private ImportJobExecutor jobExecutor;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void mixedChanges() throws Exception {
+        // 1回目はウォームアップ
+        for (int round = 0; round <= 1; round++) {
+            report(round, "per-request", measurePerRequest());
+            for (int chunkSize : CHUNK_SIZES) {
+                report(round, "bulk chunk=" + chunkSize, measureBulk(chunkSize));
+            }
+        }
+    }
+
+    /**
+     * 従来の経路: 1操作ごとにユースケースを呼び出す（トランザクション・事前読み込み・再取得が操作ごと）
+     */
+    private long measurePerRequest() {
+        List<User> users = createUsers();
+        long start = System.nanoTime();
+        for (int i = 0; i < users.size(); i++) {
+            User user = users.get(i);
+            if (i % 2 == 0) {
+                userUseCase.updateUser(user.getId(), null, new UpdateUserCommand("renamed", null, null))
+                        .orElseThrow();
+            } else {
+                userUseCase.deleteUser(user.getId()).orElseThrow();
+            }
+        }
+        return System.nanoTime() - start;
+    }
+
+    private long measureBulk(int chunkSize) throws Exception {
+        List<User> users = createUsers();
+        StringBuilder request = new StringBuilder();
+        for (int i = 0; i < users.size(); i++) {
+            User user = users.get(i);
+            if (i % 2 == 0) {
+                request.append("{\"op\":\"update\",\"id\":").append(user.getId())
+                        .append(",\"name\":\"renamed\"}\n");
+            } else {
+                request.append("{\"op\":\"delete\",\"id\":").append(user.getId()).append("}\n");
+            }
+        }
+        UserBulkUseCase bulkUseCase = new UserBulkUseCase(userRepository, passwordEncoder, correlationRules,
+                eventPublisher, parser, validator, new BulkProperties(chunkSize, 3), transactionManager,
+                bulkheads, jobExecutor, new SimpleMeterRegistry());
+
+        AtomicInteger succeeded = new AtomicInteger();
+        long start = System.nanoTime();
+        bulkUseCase.execute(new BufferedReader(new StringReader(request.toString())), results ->
+                succeeded.addAndGet((int) results.stream().filter(BulkOperationResult::succeeded).count()));
+        long elapsed = System.nanoTime() - start;
+        assertThat(succeeded.get()).isEqualTo(users.size());
+        return elapsed;
+    }
+
+    private List<User> createUsers() {
+        List<User> users = new ArrayList<>(USERS);
+        String prefix = UUID.randomUUID().toString();
+        for (int i = 0; i < USERS; i++) {
+            users.add(new User("bench", new Email(prefix + "-" + i + "@example.com"), new HashedPassword(PASSWORD_HASH)));
+        }
+        // 準備は計測対象外（一括登録で作成する）
+        List<User> saved = new ArrayList<>(USERS);
+        for (int from = 0; from < USERS; from += 500) {
+            saved.addAll(userRepository.saveAll(users.subList(from, Math.min(USERS, from + 500))));
+        }
+        return saved;
+    }
+
+    private static void report(int round, String variant, long elapsedNanos) {
+        if (round > 0) {
+            double seconds = elapsedNanos / 1_000_000_000.0;
+            System.out.printf("%s: operations=%d elapsed=%.2fs throughput=%.0f ops/s%n",
+                    variant, USERS, seconds, USERS / seconds);
+        }
+    }
+}
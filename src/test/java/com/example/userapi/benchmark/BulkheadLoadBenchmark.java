@@ -0,0 +1,211 @@
+package com.example.userapi.benchmark;
+
+import com.example.userapi.CleanArchitectureDddDemoApplication;
+import com.example.userapi.application.dto.BulkOperationResult;
+import com.example.userapi.application.dto.CreateUserCommand;
+import com.example.userapi.application.usecase.UserBulkUseCase;
+import com.example.userapi.application.usecase.UserUseCase;
+import com.example.userapi.infrastructure.bulkhead.BulkheadFullException;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * バルクヘッドの負荷試験
+ * ユーザー登録（BCrypt + 更新系トランザクション）を多数のスレッドから集中させている間の、
+ * ユーザー取得のレイテンシ（p50 / p99）を、登録なし・バルクヘッドなし・バルクヘッドありで比較する。
+ * 一括変更（_bulk、チャンクごとの一括登録）を集中させた場合も同様に比較する。
+ * リクエストスレッドの代わりに、固定数のスレッドからユースケースを直接呼び出す（コネクションプールは8本）
+ *
+ * <pre>
+ * mvn test -Pbenchmark -Dtest=BulkheadLoadBenchmark
+ * </pre>
+ */
+@Tag("benchmark")
+class BulkheadLoadBenchmark {
+
+    private static final int USERS = 100;
+    private static final int READERS = 2;
+    private static final int WRITERS = 24;
+    private static final long DURATION_MILLIS = 5_000;
+    // 拒否された登録は、Retry-Afterに従うクライアントと同様に間を空けて再試行する
+    private static final long BACKOFF_MILLIS = 50;
+    // 一括変更1リクエストの登録数（bulk.chunk-size の既定値と同じ1チャンク）
+    private static final int BULK_CREATES = 500;
+    private static final String PASSWORD_HASH = "$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z6Ih0C2bGZ4ZqG5ZfXKcWq2a";
+
+    @Test
+    void readLatencyDuringWriteStorm() throws Exception {
+        // 1回目はウォームアップ（JITの影響を除く）
+        run("warm-up", WRITERS, false, "--bulkhead.enabled=true");
+        String[] results = {
+                run("reads only", 0, false, "--bulkhead.enabled=true"),
+                run("write storm, bulkhead off", WRITERS, false, "--bulkhead.enabled=false"),
+                run("write storm, bulkhead on", WRITERS, false, "--bulkhead.enabled=true"),
+                run("bulk storm, bulkhead off", WRITERS, true, "--bulkhead.enabled=false"),
+                run("bulk storm, bulkhead on", WRITERS, true, "--bulkhead.enabled=true"),
+        };
+        for (String result : results) {
+            System.out.println(result);
+        }
+    }
+
+    /**
+     * @param bulk trueの場合は一括変更（登録のみ）、falseの場合は1件ずつの登録を集中させる
+     */
+    private static String run(String variant, int writers, boolean bulk, String... args) throws Exception {
+        String[] common = {
+                "--spring.datasource.url=jdbc:h2:mem:bulkhead-" + UUID.randomUUID() + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.hikari.maximum-pool-size=8",
+                "--cache.user.enabled=false",
+                "--datasource.adaptive.enabled=false",
+                "--tracing.enabled=false",
+                "--logging.level.com.example.userapi=INFO",
+        };
+        String[] all = new String[common.length + args.length];
+        System.arraycopy(common, 0, all, 0, common.length);
+        System.arraycopy(args, 0, all, common.length, args.length);
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(CleanArchitectureDddDemoApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("h2")
+                .run(all)) {
+            UserUseCase userUseCase = context.getBean(UserUseCase.class);
+            UserBulkUseCase bulkUseCase = context.getBean(UserBulkUseCase.class);
+            long[] ids = new long[USERS];
+            for (int i = 0; i < USERS; i++) {
+                ids[i] = userUseCase.createUser(command()).orElseThrow().id();
+            }
+            // ウォームアップ
+            for (int i = 0; i < 20_000; i++) {
+                userUseCase.getUser(ids[i % USERS]).orElseThrow();
+            }
+
+            AtomicBoolean running = new AtomicBoolean(true);
+            AtomicLong created = new AtomicLong();
+            AtomicLong rejected = new AtomicLong();
+            List<Thread> threads = new ArrayList<>();
+            for (int w = 0; w < writers; w++) {
+                threads.add(new Thread(() -> {
+                    while (running.get()) {
+                        if (bulk) {
+                            // 拒否されたチャンクは操作ごとの結果（503）で返る
+                            long[] counts = bulkCreate(bulkUseCase);
+                            created.addAndGet(counts[0]);
+                            rejected.addAndGet(counts[1]);
+                            if (counts[1] > 0) {
+                                sleep(BACKOFF_MILLIS);
+                            }
+                            continue;
+                        }
+                        try {
+                            userUseCase.createUser(command()).orElseThrow();
+                            created.incrementAndGet();
+                        } catch (BulkheadFullException ex) {
+                            rejected.incrementAndGet();
+                            sleep(BACKOFF_MILLIS);
+                        }
+                    }
+                }, "bench-writer-" + w));
+            }
+            List<long[]> latencies = new ArrayList<>();
+            int[] counts = new int[READERS];
+            CountDownLatch readersDone = new CountDownLatch(READERS);
+            for (int r = 0; r < READERS; r++) {
+                long[] samples = new long[2_000_000];
+                latencies.add(samples);
+                int reader = r;
+                threads.add(new Thread(() -> {
+                    // 登録が集中してから計測する
+                    sleep(writers > 0 ? 500 : 0);
+                    long end = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(DURATION_MILLIS);
+                    int n = 0;
+                    while (System.nanoTime() < end && n < samples.length) {
+                        long start = System.nanoTime();
+                        userUseCase.getUser(ids[n % USERS]).orElseThrow();
+                        samples[n++] = System.nanoTime() - start;
+                    }
+                    counts[reader] = n;
+                    readersDone.countDown();
+                }, "bench-reader-" + r));
+            }
+            threads.forEach(Thread::start);
+            readersDone.await();
+            running.set(false);
+            for (Thread thread : threads) {
+                thread.join();
+            }
+
+            int total = Arrays.stream(counts).sum();
+            long[] merged = new long[total];
+            int offset = 0;
+            for (int r = 0; r < READERS; r++) {
+                System.arraycopy(latencies.get(r), 0, merged, offset, counts[r]);
+                offset += counts[r];
+            }
+            Arrays.sort(merged);
+            return String.format("%s: read p50 %.2fms, p99 %.2fms, max %.2fms (%d reads by %d threads); "
+                            + "writes by %d threads: %d created, %d rejected",
+                    variant, millis(merged[total / 2]), millis(merged[(int) (total * 0.99)]),
+                    millis(merged[total - 1]), total, READERS, writers, created.get(), rejected.get());
+        }
+    }
+
+    /**
+     * @return 登録数と拒否された操作数
+     */
+    private static long[] bulkCreate(UserBulkUseCase bulkUseCase) {
+        StringBuilder request = new StringBuilder();
+        for (int i = 0; i < BULK_CREATES; i++) {
+            request.append("{\"op\":\"create\",\"name\":\"bench\",\"email\":\"bulkhead-")
+                    .append(UUID.randomUUID())
+                    .append("@example.com\",\"passwordHash\":\"").append(PASSWORD_HASH).append("\"}\n");
+        }
+        long[] counts = new long[2];
+        try {
+            bulkUseCase.execute(new BufferedReader(new StringReader(request.toString())), results -> {
+                for (BulkOperationResult result : results) {
+                    if (result.status() == 201) {
+                        counts[0]++;
+                    } else if (result.status() == 503) {
+                        counts[1]++;
+                    }
+                }
+            });
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return counts;
+    }
+
+    private static CreateUserCommand command() {
+        return new CreateUserCommand("bench", "bulkhead-" + UUID.randomUUID() + "@example.com", "password123");
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
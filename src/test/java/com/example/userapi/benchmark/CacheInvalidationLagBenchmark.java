@@ -0,0 +1,89 @@
+package com.example.userapi.benchmark;
+
+import com.example.userapi.CleanArchitectureDddDemoApplication;
+import com.example.userapi.application.dto.CreateUserCommand;
+import com.example.userapi.application.dto.UpdateUserCommand;
+import com.example.userapi.application.dto.UserResponse;
+import com.example.userapi.application.usecase.UserUseCase;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * ノード間のキャッシュ無効化の反映時間ベンチマーク
+ * 同じ組み込みDBを共有する2つのアプリケーションコンテキストをノードとみなし、
+ * ノードAでの更新がノードBのキャッシュに反映される（新しい値を返す）までの時間を計測する
+ *
+ * <pre>
+ * mvn test -Pbenchmark -Dtest=CacheInvalidationLagBenchmark
+ * </pre>
+ */
+@Tag("benchmark")
+class CacheInvalidationLagBenchmark {
+
+    private static final String POLL_INTERVAL = "PT0.1S";
+    private static final int UPDATES = 100;
+    private static final long TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(5);
+
+    @Test
+    void propagationLag() {
+        String url = "jdbc:h2:mem:cachelag-" + UUID.randomUUID() + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+        try (ConfigurableApplicationContext nodeA = startNode(url);
+             ConfigurableApplicationContext nodeB = startNode(url)) {
+            UserUseCase writer = nodeA.getBean(UserUseCase.class);
+            UserUseCase reader = nodeB.getBean(UserUseCase.class);
+            UserResponse created = writer.createUser(new CreateUserCommand("bench-0",
+                    "cachelag-" + UUID.randomUUID() + "@example.com", "password123")).orElseThrow();
+            Long id = created.id();
+
+            long[] propagationNanos = new long[UPDATES];
+            for (int i = 0; i < UPDATES; i++) {
+                // ノードBのキャッシュに載せてから、ノードAで更新する
+                reader.getUser(id).orElseThrow();
+                String name = "bench-" + (i + 1);
+                writer.updateUser(id, null, new UpdateUserCommand(name, null, null)).orElseThrow();
+                long start = System.nanoTime();
+                while (!reader.getUser(id).orElseThrow().name().equals(name)) {
+                    if (System.nanoTime() - start > TIMEOUT_NANOS) {
+                        throw new IllegalStateException("無効化が反映されませんでした: " + name);
+                    }
+                    LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+                }
+                propagationNanos[i] = System.nanoTime() - start;
+            }
+
+            Arrays.sort(propagationNanos);
+            ValueAtPercentile[] lag = nodeB.getBean(MeterRegistry.class).get("userapi.cache.user.invalidation.lag")
+                    .timer().takeSnapshot().percentileValues();
+            System.out.printf("poll-interval=%s propagation p50=%.1fms p99=%.1fms max=%.1fms"
+                            + " | invalidation lag p50=%.1fms p99=%.1fms (updates=%d)%n",
+                    POLL_INTERVAL, percentile(propagationNanos, 0.50) / 1e6, percentile(propagationNanos, 0.99) / 1e6,
+                    propagationNanos[UPDATES - 1] / 1e6,
+                    lag[0].value(TimeUnit.MILLISECONDS), lag[1].value(TimeUnit.MILLISECONDS), UPDATES);
+        }
+    }
+
+    private static ConfigurableApplicationContext startNode(String url) {
+        return new SpringApplicationBuilder(CleanArchitectureDddDemoApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("h2")
+                .run("--spring.datasource.url=" + url,
+                        "--cache.user.enabled=true",
+                        "--cache.user.poll-interval=" + POLL_INTERVAL,
+                        "--datasource.adaptive.enabled=false",
+                        "--logging.level.com.example.userapi=WARN");
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(quantile * sorted.length) - 1)];
+    }
+}
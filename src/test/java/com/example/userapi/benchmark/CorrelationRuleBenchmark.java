@@ -0,0 +1,148 @@
+package com.example.userapi.benchmark;
+
+import com.example.userapi.application.rule.CorrelationRule;
+import com.example.userapi.application.rule.CorrelationRuleSet;
+import com.example.userapi.application.rule.RuleDefinition;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 相関チェックのベンチマーク（ルール数百件）
+ * ドメインで索引付けしたコンパイル済みルールセットと、全ルールを順に照合して名前を正規表現で判定する
+ * 素朴な実装（従来の name.matches 方式をルール数分に広げたもの）を比較する
+ *
+ * <pre>
+ * mvn test -Pbenchmark -Dtest=CorrelationRuleBenchmark
+ * </pre>
+ */
+@Tag("benchmark")
+class CorrelationRuleBenchmark {
+
+    private static final int DOMAINS = 250;
+    private static final int WILDCARD_DOMAINS = 50;
+    private static final int ROUNDS = 5;
+    private static final int ITERATIONS = 200_000;
+
+    @Test
+    void evaluateRules() {
+        List<RuleDefinition> definitions = definitions();
+        CorrelationRuleSet compiled = CorrelationRuleSet.compile(definitions);
+        String[][] inputs = inputs();
+
+        // 両方の実装で判定結果が一致すること
+        for (String[] input : inputs) {
+            CorrelationRule violation = compiled.findViolation(input[0], input[1]);
+            assertThat(violation == null ? null : violation.id())
+                    .isEqualTo(naiveViolation(definitions, input[0], input[1]));
+        }
+
+        System.out.printf("rules=%d (exact domains=%d, wildcard domains=%d)%n",
+                compiled.size(), DOMAINS, WILDCARD_DOMAINS);
+        // 1回目はウォームアップ。JITの影響を均すため、両方の実装を交互に計測する
+        for (int round = 0; round <= ROUNDS; round++) {
+            measure(round, "compiled", inputs, input -> compiled.findViolation(input[0], input[1]) != null);
+            measure(round, "naive", inputs, input -> naiveViolation(definitions, input[0], input[1]) != null);
+        }
+    }
+
+    private static void measure(int round, String variant, String[][] inputs, Evaluation evaluation) {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long startBytes = threads.getThreadAllocatedBytes(threadId);
+        long startNanos = System.nanoTime();
+        int violations = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            if (evaluation.violates(inputs[i % inputs.length])) {
+                violations++;
+            }
+        }
+        long elapsedNanos = System.nanoTime() - startNanos;
+        long allocatedBytes = threads.getThreadAllocatedBytes(threadId) - startBytes;
+        if (round > 0) {
+            System.out.printf("round %d %s: %.0f ns/op, %d bytes/op (n=%d, violations=%d)%n", round, variant,
+                    (double) elapsedNanos / ITERATIONS, allocatedBytes / ITERATIONS, ITERATIONS, violations);
+        }
+    }
+
+    /**
+     * ドメインごとに2件（数字禁止・文字数上限）、サブドメイン指定で1件、全ドメインで1件
+     */
+    private static List<RuleDefinition> definitions() {
+        List<RuleDefinition> definitions = new ArrayList<>();
+        for (int i = 0; i < DOMAINS; i++) {
+            String domain = "tenant" + i + ".example.com";
+            definitions.add(new RuleDefinition("digits-" + i, List.of(domain), RuleDefinition.Field.NAME,
+                    RuleDefinition.Type.NO_DIGITS, null, "digits"));
+            definitions.add(new RuleDefinition("length-" + i, List.of(domain), RuleDefinition.Field.NAME,
+                    RuleDefinition.Type.MAX_LENGTH, "20", "length"));
+        }
+        for (int i = 0; i < WILDCARD_DOMAINS; i++) {
+            definitions.add(new RuleDefinition("local-" + i, List.of("*.group" + i + ".co.jp"),
+                    RuleDefinition.Field.EMAIL_LOCAL_PART, RuleDefinition.Type.ALLOWED_CHARS, "a-z0-9.", "local"));
+        }
+        definitions.add(new RuleDefinition("plus", List.of("*"), RuleDefinition.Field.EMAIL_LOCAL_PART,
+                RuleDefinition.Type.FORBIDDEN_CHARS, "+", "plus"));
+        return definitions;
+    }
+
+    private static String[][] inputs() {
+        return new String[][]{
+                {"Taro Yamada", "taro@tenant17.example.com"},
+                {"Taro 2", "taro@tenant203.example.com"},
+                {"Hanako", "hanako@gmail.com"},
+                {"Jiro", "jiro.s@dev.group7.co.jp"},
+                {"Saburo", "Saburo@ops.group42.co.jp"},
+                {"Shiro", "shiro@TENANT99.EXAMPLE.COM"},
+                {"Goro", "goro@example.org"},
+                {"Rokuro", "rokuro@tenant249.example.com"},
+        };
+    }
+
+    /**
+     * 素朴な実装: 全ルールをドメインで照合し、名前の数字は正規表現で判定する
+     */
+    private static String naiveViolation(List<RuleDefinition> definitions, String name, String email) {
+        String lowerEmail = email.toLowerCase(Locale.ROOT);
+        String localPart = email.substring(0, email.lastIndexOf('@'));
+        for (RuleDefinition definition : definitions) {
+            for (String domain : definition.domains()) {
+                boolean applies = domain.equals("*")
+                        || (domain.startsWith("*.") ? lowerEmail.endsWith(domain.substring(1))
+                        : lowerEmail.endsWith("@" + domain));
+                if (applies && !satisfies(definition, definition.field() == RuleDefinition.Field.NAME
+                        ? name : localPart)) {
+                    return definition.id();
+                }
+            }
+        }
+        return null;
+    }
+
+    private static boolean satisfies(RuleDefinition definition, String value) {
+        switch (definition.type()) {
+            case NO_DIGITS:
+                return !value.matches(".*\\d.*");
+            case MAX_LENGTH:
+                return value.length() <= Integer.parseInt(definition.value());
+            case ALLOWED_CHARS:
+                return value.matches("[" + definition.value() + "]*");
+            case FORBIDDEN_CHARS:
+                return !value.matches(".*[" + definition.value() + "].*");
+            default:
+                throw new IllegalArgumentException(definition.type().name());
+        }
+    }
+
+    @FunctionalInterface
+    private interface Evaluation {
+        boolean violates(String[] input);
+    }
+}
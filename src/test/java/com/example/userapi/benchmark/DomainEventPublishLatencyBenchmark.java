@@ -0,0 +1,97 @@
+package com.example.userapi.benchmark;
+
+import com.example.userapi.domain.event.DomainEvent;
+import com.example.userapi.domain.event.DomainEventSubscriber;
+import com.example.userapi.infrastructure.event.DomainEventProperties;
+import com.example.userapi.infrastructure.event.RingBufferEventDispatcher;
+import com.example.userapi.infrastructure.event.WaitStrategyType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * ドメインイベント発行の遅延ベンチマーク
+ * 書き込み処理側（発行）の所要時間と、発行から購読者に届くまでの時間を待機方式ごとに計測する。
+ * 書き込みトランザクションの頻度を模擬するため、発行スレッドごとに一定間隔で発行する
+ *
+ * <pre>
+ * mvn test -Pbenchmark -Dtest=DomainEventPublishLatencyBenchmark
+ * </pre>
+ */
+@Tag("benchmark")
+class DomainEventPublishLatencyBenchmark {
+
+    private static final int PRODUCERS = 4;
+    private static final int EVENTS_PER_PRODUCER = 50_000;
+    private static final long INTERVAL_NANOS = TimeUnit.MICROSECONDS.toNanos(20);
+
+    @ParameterizedTest
+    @EnumSource(WaitStrategyType.class)
+    void publishAndDeliveryLatency(WaitStrategyType waitStrategy) throws Exception {
+        int total = PRODUCERS * EVENTS_PER_PRODUCER;
+        long[] deliveryNanos = new long[total];
+        int[] delivered = new int[1];
+        DomainEventSubscriber subscriber = new DomainEventSubscriber() {
+            @Override
+            public String name() {
+                return "benchmark";
+            }
+
+            @Override
+            public void onEvents(List<DomainEvent> events, boolean endOfBatch) {
+                long now = System.nanoTime();
+                for (DomainEvent event : events) {
+                    deliveryNanos[delivered[0]++] = now - ((TimedEvent) event).publishedNanos();
+                }
+            }
+        };
+        RingBufferEventDispatcher dispatcher = new RingBufferEventDispatcher(
+                new DomainEventProperties(8192, 256, waitStrategy, Duration.ofSeconds(10)),
+                List.of(subscriber), new SimpleMeterRegistry());
+        dispatcher.start();
+
+        long[][] publishNanos = new long[PRODUCERS][EVENTS_PER_PRODUCER];
+        List<Thread> producers = new ArrayList<>();
+        for (int p = 0; p < PRODUCERS; p++) {
+            long[] latencies = publishNanos[p];
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < EVENTS_PER_PRODUCER; i++) {
+                    long start = System.nanoTime();
+                    dispatcher.publish(new TimedEvent(start, null));
+                    latencies[i] = System.nanoTime() - start;
+                    LockSupport.parkNanos(INTERVAL_NANOS);
+                }
+            });
+            thread.start();
+            producers.add(thread);
+        }
+        for (Thread thread : producers) {
+            thread.join();
+        }
+        dispatcher.stop();
+
+        long[] publish = Arrays.stream(publishNanos).flatMapToLong(Arrays::stream).sorted().toArray();
+        long[] delivery = Arrays.copyOf(deliveryNanos, delivered[0]);
+        Arrays.sort(delivery);
+        System.out.printf("%-9s publish p50=%dns p99=%dns p99.9=%dns | delivery p50=%.1fus p99=%.1fus max=%.1fus (events=%d)%n",
+                waitStrategy, percentile(publish, 0.50), percentile(publish, 0.99), percentile(publish, 0.999),
+                percentile(delivery, 0.50) / 1000.0, percentile(delivery, 0.99) / 1000.0,
+                delivery[delivery.length - 1] / 1000.0, delivery.length);
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(quantile * sorted.length) - 1)];
+    }
+
+    private record TimedEvent(long publishedNanos, LocalDateTime occurredAt) implements DomainEvent {
+    }
+}
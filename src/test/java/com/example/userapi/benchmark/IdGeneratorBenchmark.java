@@ -0,0 +1,105 @@
+package com.example.userapi.benchmark;
+
+import com.example.userapi.CleanArchitectureDddDemoApplication;
+import com.example.userapi.domain.model.Email;
+import com.example.userapi.domain.model.HashedPassword;
+import com.example.userapi.domain.model.User;
+import com.example.userapi.domain.repository.UserRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * ユーザーIDの採番方式のベンチマーク
+ * AUTO_INCREMENT・ブロック単位（hi-lo）・時刻順の採番で、ユーザー登録のスループットを
+ * 1件ずつの登録（save）と、1トランザクション内のJDBCバッチ（applyBatch）で比較する。
+ * 採番方式ごとにアプリケーションコンテキストを起動し直す
+ *
+ * <pre>
+ * mvn test -Pbenchmark -Dtest=IdGeneratorBenchmark
+ * </pre>
+ */
+@Tag("benchmark")
+class IdGeneratorBenchmark {
+
+    private static final int ROUNDS = 3;
+    private static final int INSERTS = 5_000;
+    private static final int BATCH_SIZE = 500;
+    private static final String PASSWORD_HASH = "$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z6Ih0C2bGZ4ZqG5ZfXKcWq2a";
+
+    @Test
+    void throughput() {
+        String[] results = {
+                run("auto-increment", "--id-generator.type=auto-increment"),
+                run("block (1000)", "--id-generator.type=block", "--id-generator.block-size=1000"),
+                run("time-ordered", "--id-generator.type=time-ordered"),
+        };
+        for (String result : results) {
+            System.out.println(result);
+        }
+    }
+
+    private static String run(String variant, String... args) {
+        String[] common = {
+                "--spring.datasource.url=jdbc:h2:mem:idgen-" + UUID.randomUUID() + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                "--cache.user.enabled=false",
+                "--datasource.adaptive.enabled=false",
+                "--tracing.enabled=false",
+                "--logging.level.com.example.userapi=INFO",
+        };
+        String[] all = new String[common.length + args.length];
+        System.arraycopy(common, 0, all, 0, common.length);
+        System.arraycopy(args, 0, all, common.length, args.length);
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(CleanArchitectureDddDemoApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("h2")
+                .run(all)) {
+            UserRepository userRepository = context.getBean(UserRepository.class);
+            TransactionTemplate transactionTemplate = new TransactionTemplate(
+                    context.getBean(PlatformTransactionManager.class));
+
+            double bestSingle = 0;
+            double bestBatch = 0;
+            // 1回目はウォームアップ
+            for (int round = 0; round <= ROUNDS; round++) {
+                long start = System.nanoTime();
+                for (int i = 0; i < INSERTS; i++) {
+                    userRepository.save(user("single", round, i));
+                }
+                double single = INSERTS / ((System.nanoTime() - start) / 1_000_000_000.0);
+
+                start = System.nanoTime();
+                for (int offset = 0; offset < INSERTS; offset += BATCH_SIZE) {
+                    List<User> creates = new ArrayList<>(BATCH_SIZE);
+                    for (int i = offset; i < offset + BATCH_SIZE; i++) {
+                        creates.add(user("batch", round, i));
+                    }
+                    transactionTemplate.executeWithoutResult(status ->
+                            userRepository.applyBatch(creates, List.of(), List.of()));
+                }
+                double batch = INSERTS / ((System.nanoTime() - start) / 1_000_000_000.0);
+
+                if (round > 0) {
+                    bestSingle = Math.max(bestSingle, single);
+                    bestBatch = Math.max(bestBatch, batch);
+                }
+            }
+            return String.format("%s: save %.0f inserts/s, applyBatch(%d) %.0f inserts/s (best of %d rounds, %d inserts each)",
+                    variant, bestSingle, BATCH_SIZE, bestBatch, ROUNDS, INSERTS);
+        }
+    }
+
+    private static User user(String kind, int round, int i) {
+        return new User("bench", new Email("idgen-" + kind + "-" + round + "-" + i + "@example.com"),
+                new HashedPassword(PASSWORD_HASH));
+    }
+}
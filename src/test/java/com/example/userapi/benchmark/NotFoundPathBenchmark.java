@@ -0,0 +1,120 @@
+package com.example.userapi.benchmark;
+
+import com.example.userapi.application.result.UseCaseResult;
+import com.example.userapi.application.usecase.UserUseCase;
+import com.example.userapi.presentation.dto.ErrorResponse;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * 404（ユーザー未検出）応答のコストのベンチマーク
+ * 処理結果で返す現在の経路と、スタックトレース付きの例外を例外ハンドラーで変換する従来の経路を比較する
+ *
+ * <pre>
+ * mvn test -Pbenchmark -Dtest=NotFoundPathBenchmark
+ * </pre>
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {"admission.enabled=false", "logging.level.com.example.userapi=INFO"})
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+@Import(NotFoundPathBenchmark.LegacyControllerConfiguration.class)
+class NotFoundPathBenchmark {
+
+    private static final int ROUNDS = 3;
+    private static final int ITERATIONS = 30_000;
+    private static final String RESULT_PATH = "/api/users/" + Long.MAX_VALUE;
+    private static final String LEGACY_PATH = "/benchmark/legacy/users/" + Long.MAX_VALUE;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void notFoundResponse() throws Exception {
+        // 1回目はウォームアップ。JITの影響を均すため、両方の経路を交互に計測する
+        for (int round = 0; round <= ROUNDS; round++) {
+            measure(round, "result", RESULT_PATH);
+            measure(round, "exception(legacy)", LEGACY_PATH);
+        }
+    }
+
+    private void measure(int round, String variant, String uri) throws Exception {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long startBytes = threads.getThreadAllocatedBytes(threadId);
+        long startNanos = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            request(uri);
+        }
+        long elapsedNanos = System.nanoTime() - startNanos;
+        long allocatedBytes = threads.getThreadAllocatedBytes(threadId) - startBytes;
+        if (round > 0) {
+            System.out.printf("round %d %s: %.1f us/op, %d bytes/op (n=%d)%n", round, variant,
+                    elapsedNanos / 1_000.0 / ITERATIONS, allocatedBytes / ITERATIONS, ITERATIONS);
+        }
+    }
+
+    private void request(String uri) throws Exception {
+        int status = mockMvc.perform(get(uri)).andReturn().getResponse().getStatus();
+        assertThat(status).isEqualTo(HttpStatus.NOT_FOUND.value());
+    }
+
+    /**
+     * 従来の経路: 未検出をスタックトレース付きの例外で通知し、例外ハンドラーで404に変換する
+     */
+    @TestConfiguration
+    static class LegacyControllerConfiguration {
+
+        @RestController
+        static class LegacyUserController {
+
+            private final UserUseCase userUseCase;
+
+            LegacyUserController(UserUseCase userUseCase) {
+                this.userUseCase = userUseCase;
+            }
+
+            @GetMapping("/benchmark/legacy/users/{id}")
+            public Object getUser(@PathVariable Long id) {
+                UseCaseResult<?> result = userUseCase.getUser(id);
+                if (result instanceof UseCaseResult.NotFound<?> notFound) {
+                    throw new LegacyUserNotFoundException(notFound.message());
+                }
+                return result.orElseThrow();
+            }
+
+            @ExceptionHandler(LegacyUserNotFoundException.class)
+            public ResponseEntity<ErrorResponse> handle(LegacyUserNotFoundException ex) {
+                ErrorResponse response = new ErrorResponse(HttpStatus.NOT_FOUND.value(), "User Not Found",
+                        ex.getMessage(), Collections.emptyList());
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+            }
+        }
+    }
+
+    static class LegacyUserNotFoundException extends RuntimeException {
+        LegacyUserNotFoundException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.userapi.benchmark;
+
+import com.example.userapi.application.dto.UpdateUserCommand;
+import com.example.userapi.application.dto.UserResponse;
+import com.example.userapi.application.result.UseCaseResult;
+import com.example.userapi.application.usecase.UserUseCase;
+import com.example.userapi.domain.model.Email;
+import com.example.userapi.domain.model.HashedPassword;
+import com.example.userapi.domain.model.User;
+import com.example.userapi.domain.repository.UserRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 楽観ロック更新の競合ベンチマーク
+ * 行ロックを保持せずに read-modify-write を繰り返し、競合時は再読み込みして再試行する
+ * 実行: mvn test -Pbenchmark -Dtest=OptimisticUpdateContentionBenchmark
+ */
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("h2")
+class OptimisticUpdateContentionBenchmark {
+
+    private static final int THREADS = 16;
+    private static final int UPDATES_PER_THREAD = 200;
+    private static final HashedPassword PASSWORD =
+            new HashedPassword("$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z6Ih0C2bGZ4ZqG5ZfXKcWq2a");
+
+    @Autowired
+    private UserUseCase userUseCase;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @ParameterizedTest(name = "hotUsers={0}")
+    @ValueSource(ints = {1, 4, 64})
+    void updateThroughputUnderContention(int hotUsers) throws Exception {
+        List<Long> ids = createUsers(hotUsers);
+        LongAdder commits = new LongAdder();
+        LongAdder conflicts = new LongAdder();
+        CountDownLatch start = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            int thread = t;
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < UPDATES_PER_THREAD; i++) {
+                    Long id = ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+                    UpdateUserCommand command = new UpdateUserCommand("user-" + thread + "-" + i, null, null);
+                    while (true) {
+                        UserResponse current = userUseCase.getUser(id).orElseThrow();
+                        try {
+                            if (userUseCase.updateUser(id, current.version(), command)
+                                    instanceof UseCaseResult.Success<UserResponse>) {
+                                commits.increment();
+                                break;
+                            }
+                            conflicts.increment();
+                        } catch (OptimisticLockingFailureException ex) {
+                            conflicts.increment();
+                        }
+                    }
+                }
+                return null;
+            }));
+        }
+
+        long startNanos = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        long elapsedNanos = System.nanoTime() - startNanos;
+        executor.shutdown();
+
+        double seconds = elapsedNanos / 1_000_000_000.0;
+        System.out.printf("hotUsers=%d threads=%d commits=%d conflicts=%d elapsed=%.2fs throughput=%.0f updates/s retryRatio=%.2f%n",
+                hotUsers, THREADS, commits.sum(), conflicts.sum(), seconds,
+                commits.sum() / seconds, (double) conflicts.sum() / commits.sum());
+
+        // 更新の消失がないこと: バージョンの合計がコミット件数と一致する
+        long versionSum = ids.stream()
+                .mapToLong(id -> userUseCase.getUser(id).orElseThrow().version())
+                .sum();
+        assertThat(versionSum).isEqualTo((long) THREADS * UPDATES_PER_THREAD);
+    }
+
+    private List<Long> createUsers(int count) {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Email email = new Email("bench-" + UUID.randomUUID() + "@example.com");
+            ids.add(userRepository.save(new User("bench", email, PASSWORD)).getId());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.userapi.benchmark;
+
+import com.example.userapi.CleanArchitectureDddDemoApplication;
+import com.example.userapi.application.dto.CreateUserCommand;
+import com.example.userapi.application.dto.UpdateUserCommand;
+import com.example.userapi.application.usecase.UserUseCase;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.UUID;
+
+/**
+ * SQLログのベンチマーク
+ * 同じ処理（キャッシュなしの取得 + 名前の更新）のスループットを、SQLログなし・MyBatis標準のDEBUGログ（同期）・
+ * 非同期SQLログ（1%サンプリング / 全件）で比較する。設定ごとにアプリケーションコンテキストを起動し直す
+ *
+ * <pre>
+ * mvn test -Pbenchmark -Dtest=SqlLoggingBenchmark
+ * </pre>
+ */
+@Tag("benchmark")
+class SqlLoggingBenchmark {
+
+    private static final int ROUNDS = 3;
+    private static final int REQUESTS = 2_000;
+
+    @Test
+    void throughput() {
+        String[] results = {
+                run("off", "--sql-log.enabled=false"),
+                run("mybatis DEBUG (sync)", "--sql-log.enabled=false",
+                        "--logging.level.com.example.userapi.infrastructure.persistence.mapper=DEBUG"),
+                run("async sampled 1%", "--sql-log.enabled=true", "--sql-log.sample-rate=0.01"),
+                run("async all", "--sql-log.enabled=true", "--sql-log.sample-rate=1"),
+        };
+        for (String result : results) {
+            System.out.println(result);
+        }
+    }
+
+    private static String run(String variant, String... args) {
+        String[] common = {
+                "--spring.datasource.url=jdbc:h2:mem:sqllog-" + UUID.randomUUID() + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                "--cache.user.enabled=false",
+                "--datasource.adaptive.enabled=false",
+                "--tracing.enabled=false",
+                "--logging.level.com.example.userapi=INFO",
+        };
+        String[] all = new String[common.length + args.length];
+        System.arraycopy(common, 0, all, 0, common.length);
+        System.arraycopy(args, 0, all, common.length, args.length);
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(CleanArchitectureDddDemoApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("h2")
+                .run(all)) {
+            UserUseCase userUseCase = context.getBean(UserUseCase.class);
+            Long id = userUseCase.createUser(new CreateUserCommand("bench",
+                    "sqllog-" + UUID.randomUUID() + "@example.com", "password123")).orElseThrow().id();
+
+            double best = 0;
+            // 1回目はウォームアップ
+            for (int round = 0; round <= ROUNDS; round++) {
+                long start = System.nanoTime();
+                for (int i = 0; i < REQUESTS; i++) {
+                    userUseCase.getUser(id).orElseThrow();
+                    userUseCase.updateUser(id, null, new UpdateUserCommand("bench" + (i & 1), null, null))
+                            .orElseThrow();
+                }
+                double throughput = REQUESTS / ((System.nanoTime() - start) / 1_000_000_000.0);
+                if (round > 0) {
+                    best = Math.max(best, throughput);
+                }
+            }
+            return String.format("%s: %.0f requests/s (best of %d rounds, %d requests each, 4 statements per request)",
+                    variant, best, ROUNDS, REQUESTS);
+        }
+    }
+}
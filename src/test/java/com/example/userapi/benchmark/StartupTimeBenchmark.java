@@ -0,0 +1,136 @@
+package com.example.userapi.benchmark;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assumptions.assumeThat;
+
+/**
+ * 起動時間ベンチマーク（最初のリクエスト成功までの時間）
+ * 通常のJAR起動と、高速起動（Spring AOT + AppCDS）を比較する
+ *
+ * <pre>
+ * mvn -Pfast-start package -DskipTests
+ * mvn test -Pbenchmark -Dtest=StartupTimeBenchmark [-Dstartup.iterations=5] [-Dstartup.path=/api/users]
+ * </pre>
+ *
+ * 既定のリクエスト先はDB不要のlivenessプローブ。DBを含めて計測する場合はstartup.pathを指定する
+ */
+@Tag("benchmark")
+class StartupTimeBenchmark {
+
+    private static final Path TARGET = Paths.get("target");
+    private static final Path FAST_START = TARGET.resolve("fast-start");
+    private static final Duration STARTUP_TIMEOUT = Duration.ofSeconds(120);
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofMillis(200))
+            .build();
+
+    @Test
+    void timeToFirstSuccessfulRequest() throws Exception {
+        int iterations = Integer.getInteger("startup.iterations", 3);
+        String path = System.getProperty("startup.path", "/actuator/health/liveness");
+
+        Optional<Path> executableJar = findJar(TARGET, name -> !name.endsWith("-fast-start.jar"));
+        Optional<Path> fastStartJar = findJar(FAST_START, name -> name.endsWith("-fast-start.jar"));
+        assumeThat(executableJar).as("mvn package を先に実行してください").isPresent();
+
+        report("baseline", iterations, path, TARGET,
+                List.of("-jar", executableJar.get().getFileName().toString()));
+
+        if (fastStartJar.isPresent() && Files.exists(FAST_START.resolve("application.jsa"))) {
+            report("fast-start", iterations, path, FAST_START,
+                    List.of("-XX:SharedArchiveFile=application.jsa", "-Dspring.aot.enabled=true",
+                            "-jar", fastStartJar.get().getFileName().toString()));
+        } else {
+            System.out.println("fast-start: mvn -Pfast-start package で作成後に計測できます");
+        }
+    }
+
+    private void report(String variant, int iterations, String path, Path workingDirectory,
+                        List<String> jvmArguments) throws Exception {
+        long[] millis = new long[iterations];
+        for (int i = 0; i < iterations; i++) {
+            millis[i] = measure(path, workingDirectory, jvmArguments);
+        }
+        Arrays.sort(millis);
+        System.out.printf("%s: time-to-first-successful-request min=%dms median=%dms max=%dms (n=%d, %s)%n",
+                variant, millis[0], millis[iterations / 2], millis[iterations - 1], iterations, path);
+    }
+
+    private long measure(String path, Path workingDirectory, List<String> jvmArguments) throws Exception {
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmArguments);
+        command.add("--server.port=" + port);
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .timeout(Duration.ofSeconds(5))
+                .GET()
+                .build();
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .directory(workingDirectory.toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        try {
+            long deadline = start + STARTUP_TIMEOUT.toNanos();
+            while (System.nanoTime() < deadline) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("アプリケーションが終了しました: exit=" + process.exitValue());
+                }
+                try {
+                    HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                    if (response.statusCode() == 200) {
+                        return (System.nanoTime() - start) / 1_000_000;
+                    }
+                } catch (IOException ignored) {
+                    // 起動中（ポート未オープン）
+                }
+                Thread.sleep(10);
+            }
+            throw new IllegalStateException("起動がタイムアウトしました: " + path);
+        } finally {
+            process.destroy();
+            process.waitFor();
+        }
+    }
+
+    private static Optional<Path> findJar(Path directory, Predicate<String> filter) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return Optional.empty();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(".jar"))
+                    .filter(file -> filter.test(file.getFileName().toString()))
+                    .findFirst();
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
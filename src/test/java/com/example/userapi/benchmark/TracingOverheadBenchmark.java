@@ -0,0 +1,83 @@
+package com.example.userapi.benchmark;
+
+import com.example.userapi.application.usecase.UserUseCase;
+import com.example.userapi.domain.model.Email;
+import com.example.userapi.domain.model.HashedPassword;
+import com.example.userapi.domain.model.User;
+import com.example.userapi.domain.repository.UserRepository;
+import com.example.userapi.infrastructure.tracing.Span;
+import com.example.userapi.infrastructure.tracing.TraceContext;
+import com.example.userapi.infrastructure.tracing.Tracer;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.lang.management.ManagementFactory;
+import java.util.UUID;
+
+/**
+ * トレーシングのオーバーヘッドのベンチマーク
+ * キャッシュに載ったユーザーの取得（SQLなし、ユースケースのプロキシのみ）を、
+ * サンプリング対象外のリクエスト（何も記録しない）と記録するリクエスト（リクエスト + ユースケースの2スパン）で比較する
+ *
+ * <pre>
+ * mvn test -Pbenchmark -Dtest=TracingOverheadBenchmark
+ * </pre>
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {"logging.level.com.example.userapi=INFO",
+        "tracing.enabled=true", "tracing.exporter=memory", "tracing.max-spans=1000"})
+@ActiveProfiles("h2")
+class TracingOverheadBenchmark {
+
+    private static final int ROUNDS = 5;
+    private static final int ITERATIONS = 200_000;
+    private static final String PASSWORD_HASH = "$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z6Ih0C2bGZ4ZqG5ZfXKcWq2a";
+    private static final TraceContext SAMPLED =
+            TraceContext.parse("00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01");
+    private static final TraceContext NOT_SAMPLED =
+            TraceContext.parse("00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-00");
+
+    @Autowired
+    private UserUseCase userUseCase;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private Tracer tracer;
+
+    @Test
+    void cachedRead() {
+        Long id = userRepository.save(new User("bench", new Email("tracing-" + UUID.randomUUID() + "@example.com"),
+                new HashedPassword(PASSWORD_HASH))).getId();
+        userUseCase.getUser(id).orElseThrow();
+
+        // 1回目はウォームアップ。JITの影響を均すため交互に計測する
+        for (int round = 0; round <= ROUNDS; round++) {
+            measure(round, "not sampled", id, NOT_SAMPLED);
+            measure(round, "sampled", id, SAMPLED);
+        }
+    }
+
+    private void measure(int round, String variant, Long id, TraceContext parent) {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long startBytes = threads.getThreadAllocatedBytes(threadId);
+        long startNanos = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            try (Span request = tracer.startServerSpan("GET /api/users/{id}", parent)) {
+                userUseCase.getUser(id);
+            }
+        }
+        long elapsedNanos = System.nanoTime() - startNanos;
+        long allocatedBytes = threads.getThreadAllocatedBytes(threadId) - startBytes;
+        if (round > 0) {
+            System.out.printf("round %d %s: %.0f ns/op, %d bytes/op (n=%d)%n", round, variant,
+                    (double) elapsedNanos / ITERATIONS, allocatedBytes / ITERATIONS, ITERATIONS);
+        }
+    }
+}
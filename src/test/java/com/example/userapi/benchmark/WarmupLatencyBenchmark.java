@@ -0,0 +1,135 @@
+package com.example.userapi.benchmark;
+
+import com.example.userapi.CleanArchitectureDddDemoApplication;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * ウォームアップのベンチマーク
+ * 新しいJVMでアプリケーションを起動し、Readinessが通ってからの最初のリクエスト群のレイテンシ（p50/p99/最大）と、
+ * Readinessまでの時間を、ウォームアップなし・ありで比較する（JITの状態を揃えるため、設定ごとにJVMを起動し直す）
+ *
+ * <pre>
+ * mvn test -Pbenchmark -Dtest=WarmupLatencyBenchmark [-Dwarmup.requests=2000]
+ * </pre>
+ */
+@Tag("benchmark")
+class WarmupLatencyBenchmark {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofSeconds(180);
+    private static final Pattern ID = Pattern.compile("\"id\":(\\d+)");
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofMillis(200))
+            .build();
+
+    @Test
+    void firstRequestsLatency() throws Exception {
+        int requests = Integer.getInteger("warmup.requests", 2_000);
+        String[] results = {
+                run("cold", requests, "--warmup.enabled=false"),
+                run("warmed up", requests, "--warmup.enabled=true"),
+        };
+        for (String result : results) {
+            System.out.println(result);
+        }
+    }
+
+    private String run(String variant, int requests, String... args) throws Exception {
+        int port = freePort();
+        List<String> command = new ArrayList<>(List.of(
+                Paths.get(System.getProperty("java.home"), "bin", "java").toString(),
+                "-cp", System.getProperty("java.class.path"),
+                CleanArchitectureDddDemoApplication.class.getName(),
+                "--server.port=" + port,
+                "--spring.profiles.active=h2",
+                "--admission.enabled=false",
+                "--logging.level.com.example.userapi=INFO"));
+        command.addAll(List.of(args));
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        try {
+            String base = "http://localhost:" + port;
+            awaitReady(process, base + "/actuator/health/readiness", start);
+            long readyMillis = (System.nanoTime() - start) / 1_000_000;
+
+            String created = send(HttpRequest.newBuilder(URI.create(base + "/api/users"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"name\":\"bench\",\"email\":\"warmup-"
+                            + UUID.randomUUID() + "@example.com\",\"password\":\"password123\"}"))
+                    .build());
+            Matcher matcher = ID.matcher(created);
+            if (!matcher.find()) {
+                throw new IllegalStateException("ユーザーを作成できませんでした: " + created);
+            }
+            HttpRequest byId = HttpRequest.newBuilder(URI.create(base + "/api/users/" + matcher.group(1))).GET().build();
+            HttpRequest page = HttpRequest.newBuilder(URI.create(base + "/api/users?limit=10")).GET().build();
+
+            long[] latencies = new long[requests];
+            for (int i = 0; i < requests; i++) {
+                long requestStart = System.nanoTime();
+                send((i & 1) == 0 ? byId : page);
+                latencies[i] = System.nanoTime() - requestStart;
+            }
+            Arrays.sort(latencies);
+            return String.format("%s: ready=%dms, first %d requests p50=%dµs p99=%dµs max=%dµs",
+                    variant, readyMillis, requests, latencies[requests / 2] / 1_000,
+                    latencies[(int) (requests * 0.99)] / 1_000, latencies[requests - 1] / 1_000);
+        } finally {
+            process.destroy();
+            process.waitFor();
+        }
+    }
+
+    private void awaitReady(Process process, String url, long start) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url)).timeout(Duration.ofSeconds(5)).GET().build();
+        long deadline = start + STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("アプリケーションが終了しました: exit=" + process.exitValue());
+            }
+            try {
+                if (httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException ignored) {
+                // 起動中（ポート未オープン）
+            }
+            Thread.sleep(10);
+        }
+        throw new IllegalStateException("起動がタイムアウトしました");
+    }
+
+    private String send(HttpRequest request) throws Exception {
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() >= 300) {
+            throw new IllegalStateException("リクエストが失敗しました: " + response.statusCode() + " " + response.body());
+        }
+        return response.body();
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
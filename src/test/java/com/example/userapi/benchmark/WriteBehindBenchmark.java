@@ -0,0 +1,90 @@
+package com.example.userapi.benchmark;
+
+import com.example.userapi.CleanArchitectureDddDemoApplication;
+import com.example.userapi.application.dto.CreateUserCommand;
+import com.example.userapi.application.dto.UpdateUserCommand;
+import com.example.userapi.application.usecase.UserUseCase;
+import com.example.userapi.infrastructure.persistence.writebehind.WriteBehindUserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.UUID;
+
+/**
+ * write-behindのベンチマーク
+ * 少数のユーザーに更新が集中する場合（連携先からの高頻度な名前の更新）のスループットと、DBに送ったUPDATE数を、
+ * 更新ごとの同期反映とwrite-behindで比較する。設定ごとにアプリケーションコンテキストを起動し直す
+ *
+ * <pre>
+ * mvn test -Pbenchmark -Dtest=WriteBehindBenchmark
+ * </pre>
+ */
+@Tag("benchmark")
+class WriteBehindBenchmark {
+
+    private static final int ROUNDS = 3;
+    private static final int USERS = 20;
+    private static final int UPDATES = 4_000;
+
+    @Test
+    void throughputAndWrites() {
+        String[] results = {
+                run("sync", false),
+                run("write-behind", true),
+        };
+        for (String result : results) {
+            System.out.println(result);
+        }
+    }
+
+    private static String run(String variant, boolean writeBehind) {
+        String[] args = {
+                "--spring.datasource.url=jdbc:h2:mem:writebehind-" + UUID.randomUUID() + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                "--write-behind.enabled=" + writeBehind,
+                "--cache.user.enabled=false",
+                "--datasource.adaptive.enabled=false",
+                "--tracing.enabled=false",
+                "--logging.level.com.example.userapi=INFO",
+        };
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(CleanArchitectureDddDemoApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("h2")
+                .run(args)) {
+            UserUseCase userUseCase = context.getBean(UserUseCase.class);
+            long[] ids = new long[USERS];
+            for (int i = 0; i < USERS; i++) {
+                ids[i] = userUseCase.createUser(new CreateUserCommand("bench",
+                        "writebehind-" + UUID.randomUUID() + "@example.com", "password123")).orElseThrow().id();
+            }
+
+            double best = 0;
+            // 1回目はウォームアップ
+            for (int round = 0; round <= ROUNDS; round++) {
+                long start = System.nanoTime();
+                for (int i = 0; i < UPDATES; i++) {
+                    userUseCase.updateUser(ids[i % USERS], null, new UpdateUserCommand("bench" + (i & 7), null, null))
+                            .orElseThrow();
+                }
+                double throughput = UPDATES / ((System.nanoTime() - start) / 1_000_000_000.0);
+                if (round > 0) {
+                    best = Math.max(best, throughput);
+                }
+            }
+
+            long total = (long) UPDATES * (ROUNDS + 1);
+            long written = total;
+            if (writeBehind) {
+                context.getBean(WriteBehindUserRepository.class).flush();
+                written = (long) context.getBean(MeterRegistry.class).get("userapi.write-behind.rows")
+                        .tag("result", "written").counter().count();
+            }
+            return String.format("%s: %.0f updates/s (best of %d rounds, %d updates over %d users each), "
+                            + "UPDATE statements %d for %d updates (coalescing factor %.1f)",
+                    variant, best, ROUNDS, UPDATES, USERS, written, total, (double) total / written);
+        }
+    }
+}
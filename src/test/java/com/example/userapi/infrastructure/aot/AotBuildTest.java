@@ -0,0 +1,203 @@
+package com.example.userapi.infrastructure.aot;
+
+import com.example.userapi.CleanArchitectureDddDemoApplication;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.aot.AotDetector;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.SpringApplicationAotProcessor;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.jar.Attributes;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * AOTビルドのテスト（mvn -Pfast-start package と同じAOT処理）
+ * AOT生成コードでコンテキストが起動してリクエストに応答すること、
+ * ビルド時と異なる切り替え設定では起動に失敗することを確認する
+ */
+class AotBuildTest {
+
+    private static final String APPLICATION = CleanArchitectureDddDemoApplication.class.getName();
+
+    @TempDir
+    private static Path output;
+
+    private static Path sources;
+    private static Path resources;
+    private static Path classes;
+
+    @BeforeAll
+    static void processAheadOfTime() throws Exception {
+        sources = output.resolve("sources");
+        resources = output.resolve("resources");
+        classes = output.resolve("classes");
+        // 他のテストで生成済みの@ConfigurationのCGLIBサブクラスを再利用せずAOT処理で出力させるため、
+        // mvn -Pfast-start package と同様に、テストとは別のクラスローダーで処理する
+        String[] processorArgs = Stream.concat(
+                Stream.of(APPLICATION, sources.toString(), resources.toString(), classes.toString(),
+                        "com.example", "user-api-mybatis"),
+                Stream.of(args(0))).toArray(String[]::new);
+        try (URLClassLoader processing = isolatedClassLoader()) {
+            withContextClassLoader(processing, () -> processing.loadClass(SpringApplicationAotProcessor.class.getName())
+                    .getMethod("main", String[].class).invoke(null, (Object) processorArgs));
+        }
+        compile();
+    }
+
+    @AfterEach
+    void clearAotFlag() {
+        System.clearProperty(AotDetector.AOT_ENABLED);
+    }
+
+    @Test
+    void aotContextStartsAndServesRequests() throws Exception {
+        int port = freePort();
+        try (URLClassLoader classLoader = isolatedClassLoader(classes, resources);
+             AutoCloseable context = runAot(classLoader, args(port))) {
+            HttpResponse<String> response = HttpClient.newHttpClient().send(
+                    HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/users/" + Long.MAX_VALUE)).build(),
+                    HttpResponse.BodyHandlers.ofString());
+
+            assertThat(response.statusCode()).isEqualTo(404);
+            assertThat(response.body()).contains("User Not Found");
+        }
+    }
+
+    @Test
+    void aotContextRefusesSwitchesDifferentFromBuild() throws Exception {
+        String[] args = Stream.concat(Stream.of(args(freePort())), Stream.of("--write-behind.enabled=true"))
+                .toArray(String[]::new);
+
+        try (URLClassLoader classLoader = isolatedClassLoader(classes, resources)) {
+            assertThatThrownBy(() -> runAot(classLoader, args).close())
+                    .rootCause()
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("AOTビルド時と異なる設定")
+                    .hasMessageContaining("write-behind.enabled");
+        }
+    }
+
+    private static String[] args(int port) {
+        return new String[]{
+                "--spring.profiles.active=h2",
+                "--spring.datasource.url=jdbc:h2:mem:aotbuild;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                "--server.port=" + port,
+                "--warmup.enabled=false",
+                "--logging.level.com.example.userapi=INFO"
+        };
+    }
+
+    /**
+     * AOT生成コードでアプリケーションを起動する（java -Dspring.aot.enabled=true -jar と同様）
+     * @return 起動したコンテキスト
+     */
+    private static AutoCloseable runAot(ClassLoader classLoader, String[] args) throws Exception {
+        System.setProperty(AotDetector.AOT_ENABLED, "true");
+        return withContextClassLoader(classLoader, () -> {
+            // URLのハンドラーファクトリーはJVMで1つのため、先に起動したTomcat（別のクラスローダー）と競合させない
+            classLoader.loadClass("org.apache.catalina.webresources.TomcatURLStreamHandlerFactory")
+                    .getMethod("disable").invoke(null);
+            Class<?> application = classLoader.loadClass(APPLICATION);
+            Class<?> springApplicationClass = classLoader.loadClass(SpringApplication.class.getName());
+            Object springApplication = springApplicationClass.getConstructor(Class[].class)
+                    .newInstance((Object) new Class<?>[]{application});
+            springApplicationClass.getMethod("setMainApplicationClass", Class.class).invoke(springApplication, application);
+            try {
+                return (AutoCloseable) springApplicationClass.getMethod("run", String[].class)
+                        .invoke(springApplication, (Object) args);
+            } catch (InvocationTargetException ex) {
+                throw (Exception) ex.getCause();
+            }
+        });
+    }
+
+    private static void compile() throws IOException {
+        List<String> arguments = new ArrayList<>(List.of(
+                // @ConfigurationのCGLIBサブクラスはAOT処理で classes に出力される
+                "-d", classes.toString(), "-classpath", classes + File.pathSeparator + System.getProperty("java.class.path"),
+                "-parameters", "-nowarn", "-proc:none"));
+        try (Stream<Path> files = Files.walk(sources)) {
+            files.filter(file -> file.toString().endsWith(".java")).forEach(file -> arguments.add(file.toString()));
+        }
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        assertThat(compiler.run(null, null, null, arguments.toArray(String[]::new))).isZero();
+    }
+
+    /**
+     * テストのクラスパス（アプリケーション・依存ライブラリ）をすべて自分で読み込むクラスローダー
+     * AOT生成コードはSpringのパッケージにも置かれ、パッケージプライベートのメンバーを参照するため、
+     * 生成コードとライブラリを同じクラスローダーから読み込む
+     * @param generated 生成したクラス・リソースのディレクトリ（テストのクラスパスより優先する）
+     */
+    private static URLClassLoader isolatedClassLoader(Path... generated) throws IOException {
+        List<URL> urls = new ArrayList<>();
+        for (Path directory : generated) {
+            urls.add(directory.toUri().toURL());
+        }
+        for (String entry : System.getProperty("java.class.path").split(File.pathSeparator)) {
+            addClassPathEntry(Path.of(entry), urls);
+        }
+        return new URLClassLoader(urls.toArray(URL[]::new), ClassLoader.getPlatformClassLoader());
+    }
+
+    /**
+     * クラスパスの要素を追加する（surefireのマニフェストのみのJARは Class-Path を展開する）
+     */
+    private static void addClassPathEntry(Path entry, List<URL> urls) throws IOException {
+        urls.add(entry.toUri().toURL());
+        if (!Files.isRegularFile(entry)) {
+            return;
+        }
+        try (JarFile jar = new JarFile(entry.toFile())) {
+            Manifest manifest = jar.getManifest();
+            String classPath = manifest != null ? manifest.getMainAttributes().getValue(Attributes.Name.CLASS_PATH) : null;
+            if (classPath == null) {
+                return;
+            }
+            for (String reference : classPath.trim().split("\\s+")) {
+                urls.add(entry.toUri().resolve(reference).toURL());
+            }
+        }
+    }
+
+    private static <T> T withContextClassLoader(ClassLoader classLoader, Callable<T> action) throws Exception {
+        Thread thread = Thread.currentThread();
+        ClassLoader previous = thread.getContextClassLoader();
+        thread.setContextClassLoader(classLoader);
+        try {
+            return action.call();
+        } finally {
+            thread.setContextClassLoader(previous);
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,291 @@
+package com.example.userapi.infrastructure.bulkhead;
+
+import com.example.userapi.application.dto.CreateUserCommand;
+import com.example.userapi.application.dto.ImportProgressResponse;
+import com.example.userapi.application.dto.ImportUsersCommand;
+import com.example.userapi.application.dto.UserResponse;
+import com.example.userapi.application.usecase.UserBulkUseCase;
+import com.example.userapi.application.usecase.UserImportUseCase;
+import com.example.userapi.application.usecase.UserUseCase;
+import com.example.userapi.domain.model.Email;
+import com.example.userapi.domain.repository.UserRepository;
+import com.example.userapi.infrastructure.importer.ImportFormat;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * バルクヘッドのテスト
+ * 区画の空きを待つ呼び出しが待ち行列・待ち時間の上限で拒否されること、
+ * 更新系の区画が埋まっていても参照系は実行でき、更新系は503で拒否されること、
+ * 一括変更・インポートのチャンクも更新系の区画の許可を取得してから実行されることを確認する
+ */
+@SpringBootTest(properties = {
+        "bulkhead.write.max-concurrent=2",
+        "bulkhead.write.max-queue=0",
+        "bulkhead.write.max-wait=100ms"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+class BulkheadTest {
+
+    private static final String PASSWORD_HASH = "$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z6Ih0C2bGZ4ZqG5ZfXKcWq2a";
+
+    @TempDir
+    static Path importDirectory;
+
+    @DynamicPropertySource
+    static void importProperties(DynamicPropertyRegistry registry) {
+        registry.add("importer.base-directory", importDirectory::toString);
+        registry.add("importer.chunk-size", () -> "2");
+        registry.add("bulk.chunk-size", () -> "2");
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserBulkUseCase userBulkUseCase;
+
+    @Autowired
+    private UserImportUseCase userImportUseCase;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserUseCase userUseCase;
+
+    @Autowired
+    private Bulkheads bulkheads;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void rejectsWhenQueueIsFullOrWaitTimesOut() throws Exception {
+        BulkheadLimiter limiter = new BulkheadLimiter(Workload.WRITE,
+                new BulkheadProperties.Partition(1, 1, Duration.ofMillis(200)), new SimpleMeterRegistry());
+        limiter.acquire();
+
+        // 1件目は空きを待ち、待ち時間の上限で拒否される
+        CompletableFuture<Void> waiting = CompletableFuture.runAsync(limiter::acquire);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (limiter.queued() == 0 && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertThat(limiter.queued()).isEqualTo(1);
+
+        // 待ち行列が埋まっているため、2件目はすぐに拒否される
+        assertThatThrownBy(limiter::acquire).isInstanceOf(BulkheadFullException.class);
+        assertThatThrownBy(() -> waiting.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(BulkheadFullException.class);
+
+        // 解放後は待たずに取得できる
+        limiter.release();
+        limiter.acquire();
+        assertThat(limiter.active()).isEqualTo(1);
+        limiter.release();
+        assertThat(limiter.active()).isZero();
+    }
+
+    @Test
+    void waiterProceedsWhenPermitIsReleased() throws Exception {
+        BulkheadLimiter limiter = new BulkheadLimiter(Workload.READ,
+                new BulkheadProperties.Partition(1, 1, Duration.ofSeconds(5)), new SimpleMeterRegistry());
+        limiter.acquire();
+
+        CompletableFuture<Void> waiting = CompletableFuture.runAsync(limiter::acquire);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (limiter.queued() == 0 && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        limiter.release();
+
+        waiting.get(5, TimeUnit.SECONDS);
+        assertThat(limiter.active()).isEqualTo(1);
+        assertThat(limiter.queued()).isZero();
+    }
+
+    @Test
+    void readsProceedWhileWritePartitionIsFull() throws Exception {
+        UserResponse user = userUseCase.createUser(new CreateUserCommand("Bulkhead",
+                "bulkhead-" + UUID.randomUUID() + "@example.com", "password123")).orElseThrow();
+        double rejectedBefore = rejected(Workload.WRITE);
+
+        BulkheadLimiter writes = bulkheads.get(Workload.WRITE);
+        writes.acquire();
+        writes.acquire();
+        try {
+            assertThat(userUseCase.getUser(user.id()).orElseThrow().name()).isEqualTo("Bulkhead");
+            mockMvc.perform(get("/api/users/" + user.id()))
+                    .andExpect(status().isOk());
+
+            mockMvc.perform(post("/api/users")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"name\":\"Rejected\",\"email\":\"bulkhead-" + UUID.randomUUID()
+                                    + "@example.com\",\"password\":\"password123\"}"))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+        } finally {
+            writes.release();
+            writes.release();
+        }
+
+        assertThat(rejected(Workload.WRITE) - rejectedBefore).isEqualTo(1);
+        assertThat(userUseCase.createUser(new CreateUserCommand("Accepted",
+                "bulkhead-" + UUID.randomUUID() + "@example.com", "password123")).orElseThrow().name())
+                .isEqualTo("Accepted");
+    }
+
+    @Test
+    void bulkChunksWaitForWritePermit() throws Exception {
+        String email = "bulkhead-bulk-" + UUID.randomUUID() + "@example.com";
+        String request = createLine("Bulk", email) + "\n";
+
+        BulkheadLimiter writes = bulkheads.get(Workload.WRITE);
+        writes.acquire();
+        writes.acquire();
+        try {
+            // チャンクのトランザクションは区画の許可を取得できないため実行されない
+            mockMvc.perform(post("/api/users/_bulk")
+                            .contentType(MediaType.APPLICATION_NDJSON)
+                            .content(request))
+                    .andExpect(status().isOk())
+                    .andExpect(content().string(containsString("\"status\":503")));
+            assertThat(userRepository.existsByEmail(new Email(email))).isFalse();
+        } finally {
+            writes.release();
+            writes.release();
+        }
+
+        mockMvc.perform(post("/api/users/_bulk")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(request))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("\"status\":201")));
+        assertThat(userRepository.existsByEmail(new Email(email))).isTrue();
+        assertThat(writes.active()).isZero();
+    }
+
+    @Test
+    void readsProceedDuringBulkStorm() throws Exception {
+        UserResponse user = userUseCase.createUser(new CreateUserCommand("Reader",
+                "bulkhead-" + UUID.randomUUID() + "@example.com", "password123")).orElseThrow();
+        BulkheadLimiter writes = bulkheads.get(Workload.WRITE);
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicInteger maxActive = new AtomicInteger();
+        List<Integer> statuses = new CopyOnWriteArrayList<>();
+        List<CompletableFuture<Void>> storm = new ArrayList<>();
+        for (int t = 0; t < 6; t++) {
+            storm.add(CompletableFuture.runAsync(() -> {
+                while (running.get()) {
+                    StringBuilder request = new StringBuilder();
+                    for (int i = 0; i < 6; i++) {
+                        request.append(createLine("Storm", "bulkhead-storm-" + UUID.randomUUID() + "@example.com"))
+                                .append('\n');
+                    }
+                    try {
+                        userBulkUseCase.execute(new BufferedReader(new StringReader(request.toString())),
+                                results -> results.forEach(result -> statuses.add(result.status())));
+                    } catch (Exception ex) {
+                        throw new IllegalStateException(ex);
+                    }
+                    maxActive.accumulateAndGet(writes.active(), Math::max);
+                }
+            }));
+        }
+        try {
+            long end = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(1500);
+            while (System.nanoTime() < end) {
+                maxActive.accumulateAndGet(writes.active(), Math::max);
+                assertThat(userUseCase.getUser(user.id()).orElseThrow().name()).isEqualTo("Reader");
+            }
+        } finally {
+            running.set(false);
+            CompletableFuture.allOf(storm.toArray(CompletableFuture[]::new)).get(30, TimeUnit.SECONDS);
+        }
+
+        // 一括変更のチャンクは更新系の同時実行数（2）を超えてコネクションを使わない
+        assertThat(maxActive.get()).isLessThanOrEqualTo(2);
+        assertThat(statuses).isNotEmpty().allMatch(status -> status == 201 || status == 503);
+        assertThat(statuses).contains(201);
+        assertThat(writes.active()).isZero();
+    }
+
+    @Test
+    void importChunksWaitForWritePermit() throws Exception {
+        String prefix = "bulkhead-import-" + UUID.randomUUID();
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            lines.add(createLine("Import", prefix + "-" + i + "@example.com").replace("\"op\":\"create\",", ""));
+        }
+        Path file = Files.write(importDirectory.resolve(prefix + ".ndjson"), lines, StandardCharsets.UTF_8);
+
+        BulkheadLimiter writes = bulkheads.get(Workload.WRITE);
+        writes.acquire();
+        writes.acquire();
+        ImportProgressResponse started;
+        try {
+            started = userImportUseCase.startImport(
+                    new ImportUsersCommand(file.getFileName().toString(), ImportFormat.NDJSON));
+            // 区画に空きがない間は失敗にせず、待ち直す
+            Thread.sleep(500);
+            ImportProgressResponse waiting = userImportUseCase.getProgress(started.jobId());
+            assertThat(waiting.status()).isEqualTo("RUNNING");
+            assertThat(waiting.imported()).isZero();
+        } finally {
+            writes.release();
+            writes.release();
+        }
+
+        ImportProgressResponse completed = userImportUseCase.awaitCompletion(started.jobId());
+        assertThat(completed.status()).isEqualTo("COMPLETED");
+        assertThat(completed.imported()).isEqualTo(4);
+    }
+
+    private static String createLine(String name, String email) {
+        return "{\"op\":\"create\",\"name\":\"" + name + "\",\"email\":\"" + email
+                + "\",\"passwordHash\":\"" + PASSWORD_HASH + "\"}";
+    }
+
+    private double rejected(Workload workload) {
+        return meterRegistry.find("userapi.bulkhead.rejected").tag("workload", workload.tag()).counters().stream()
+                .mapToDouble(counter -> counter.count())
+                .sum();
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.userapi.infrastructure.cache;
+
+import com.example.userapi.CleanArchitectureDddDemoApplication;
+import com.example.userapi.application.dto.CreateUserCommand;
+import com.example.userapi.application.dto.UpdateUserCommand;
+import com.example.userapi.application.dto.UserResponse;
+import com.example.userapi.application.result.UseCaseResult;
+import com.example.userapi.application.usecase.UserUseCase;
+import com.example.userapi.domain.model.Email;
+import com.example.userapi.domain.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.awaitility.core.ConditionFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * 複数ノード間のキャッシュ整合性テスト
+ * 同じ組み込みDBを共有する複数のアプリケーションコンテキストをノードとみなし、
+ * あるノードの更新・削除が他ノードのキャッシュに許容時間内に反映されることを確認する
+ */
+class UserCacheCoherenceTest {
+
+    private static final Duration MAX_STALENESS = Duration.ofSeconds(2);
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(10);
+
+    private static ConfigurableApplicationContext nodeA;
+    private static ConfigurableApplicationContext nodeB;
+    // ポーリングが止まったノード（古さの上限を過ぎるとキャッシュを使わない）
+    private static ConfigurableApplicationContext stalledNode;
+
+    @BeforeAll
+    static void startNodes() {
+        nodeA = startNode("PT0.1S", MAX_STALENESS);
+        nodeB = startNode("PT0.1S", MAX_STALENESS);
+        stalledNode = startNode("PT1H", Duration.ofMillis(300));
+    }
+
+    @AfterAll
+    static void stopNodes() {
+        for (ConfigurableApplicationContext node : new ConfigurableApplicationContext[]{nodeA, nodeB, stalledNode}) {
+            if (node != null) {
+                node.close();
+            }
+        }
+    }
+
+    @Test
+    void updatesAndDeletesOnOneNodeEvictOtherNodesWithinStalenessBound() {
+        String email = "coherence-" + UUID.randomUUID() + "@example.com";
+        UserResponse created = useCase(nodeA).createUser(new CreateUserCommand("Before", email, "password123")).orElseThrow();
+        Long id = created.id();
+
+        // ノードBのキャッシュに載せる
+        assertThat(useCase(nodeB).getUser(id).orElseThrow().name()).isEqualTo("Before");
+        assertThat(repository(nodeB).findByEmail(new Email(email))).isPresent();
+        double hitsBefore = hits(nodeB);
+        assertThat(useCase(nodeB).getUser(id).orElseThrow().name()).isEqualTo("Before");
+        assertThat(hits(nodeB)).isGreaterThan(hitsBefore);
+
+        // ノードAで名前とメールアドレスを変更
+        String newEmail = "changed-" + UUID.randomUUID() + "@example.com";
+        useCase(nodeA).updateUser(id, created.version(), new UpdateUserCommand("After", newEmail, null)).orElseThrow();
+        awaitWithinStaleness().until(() -> useCase(nodeB).getUser(id).orElseThrow().name().equals("After"));
+        assertThat(repository(nodeB).findByEmail(new Email(email))).isEmpty();
+        assertThat(repository(nodeB).findByEmail(new Email(newEmail))).isPresent();
+
+        // ノードAで削除
+        useCase(nodeA).deleteUser(id).orElseThrow();
+        awaitWithinStaleness().until(() -> repository(nodeB).findById(id).isEmpty());
+        assertThat(useCase(nodeB).getUser(id)).isInstanceOf(UseCaseResult.NotFound.class);
+        assertThat(nodeB.getBean(MeterRegistry.class).get("userapi.cache.user.invalidation.lag").timer().count())
+                .isPositive();
+    }
+
+    @Test
+    void stalledNodeBypassesCacheAfterStalenessBound() {
+        String email = "stalled-" + UUID.randomUUID() + "@example.com";
+        UserResponse created = useCase(nodeA).createUser(new CreateUserCommand("Before", email, "password123")).orElseThrow();
+        useCase(stalledNode).getUser(created.id()).orElseThrow();
+
+        // ポーリングしないノードでも、最後のポーリングから古さの上限を過ぎた後は無効化を受け取らずにDBの値を返す
+        useCase(nodeA).updateUser(created.id(), null, new UpdateUserCommand("After", null, null)).orElseThrow();
+        await().atMost(MAX_STALENESS).pollInterval(POLL_INTERVAL)
+                .until(() -> useCase(stalledNode).getUser(created.id()).orElseThrow().name().equals("After"));
+        assertThat(stalledNode.getBean(MeterRegistry.class).get("userapi.cache.user.requests")
+                .tag("result", "bypass").counter().count()).isPositive();
+    }
+
+    /**
+     * 古さの上限内に反映されることを待つ
+     */
+    private static ConditionFactory awaitWithinStaleness() {
+        return await("古さの上限内に反映されること").atMost(MAX_STALENESS).pollInterval(POLL_INTERVAL);
+    }
+
+    private static ConfigurableApplicationContext startNode(String pollInterval, Duration maxStaleness) {
+        return new SpringApplicationBuilder(CleanArchitectureDddDemoApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("h2")
+                .run("--spring.datasource.url=jdbc:h2:mem:coherence;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                        "--cache.user.enabled=true",
+                        "--cache.user.poll-interval=" + pollInterval,
+                        "--cache.user.max-staleness=" + maxStaleness.toMillis() + "ms",
+                        "--datasource.adaptive.enabled=false",
+                        "--logging.level.com.example.userapi=WARN");
+    }
+
+    private static UserUseCase useCase(ConfigurableApplicationContext node) {
+        return node.getBean(UserUseCase.class);
+    }
+
+    private static UserRepository repository(ConfigurableApplicationContext node) {
+        return node.getBean(UserRepository.class);
+    }
+
+    private static double hits(ConfigurableApplicationContext node) {
+        return node.getBean(MeterRegistry.class).get("userapi.cache.user.requests")
+                .tag("result", "hit").counter().count();
+    }
+}
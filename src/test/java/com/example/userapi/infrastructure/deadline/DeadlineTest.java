@@ -0,0 +1,98 @@
+package com.example.userapi.infrastructure.deadline;
+
+import com.example.userapi.domain.model.Email;
+import com.example.userapi.domain.repository.UserRepository;
+import org.apache.ibatis.annotations.Select;
+import org.junit.jupiter.api.Test;
+import org.mybatis.spring.SqlSessionTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * リクエストの期限のテスト
+ * 実行中のSQLが期限の時刻にキャンセルされること、期限切れ後のSQLは実行されずに504を返すことを確認する
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+class DeadlineTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private DeadlineTimer deadlineTimer;
+
+    @Autowired
+    private SqlSessionTemplate sqlSessionTemplate;
+
+    @Test
+    void cancelsRunningStatementAtDeadline() {
+        if (!sqlSessionTemplate.getConfiguration().hasMapper(SlowQueryMapper.class)) {
+            sqlSessionTemplate.getConfiguration().addMapper(SlowQueryMapper.class);
+        }
+        SlowQueryMapper mapper = sqlSessionTemplate.getMapper(SlowQueryMapper.class);
+
+        long start = System.nanoTime();
+        try (Deadline deadline = deadlineTimer.start(Duration.ofMillis(300))) {
+            assertThatThrownBy(mapper::crossJoin).isInstanceOf(QueryTimeoutException.class);
+        }
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        // クエリタイムアウト（1秒単位）を待たずに、期限の時刻にキャンセルされる
+        assertThat(elapsed).isLessThan(Duration.ofMillis(900));
+        assertThat(Deadline.current()).isNull();
+    }
+
+    @Test
+    void skipsStatementsAfterDeadline() throws Exception {
+        String email = "deadline-" + UUID.randomUUID() + "@example.com";
+
+        // パスワードのハッシュ化の間に期限が過ぎるため、INSERTは実行されない
+        mockMvc.perform(post("/api/users")
+                        .header("X-Request-Timeout", "1ms")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Late\",\"email\":\"" + email + "\",\"password\":\"password123\"}"))
+                .andExpect(status().isGatewayTimeout())
+                .andExpect(jsonPath("$.error").value("Deadline Exceeded"));
+
+        assertThat(userRepository.existsByEmail(new Email(email))).isFalse();
+        assertThat(Deadline.current()).isNull();
+    }
+
+    @Test
+    void rejectsInvalidTimeoutHeader() throws Exception {
+        mockMvc.perform(put("/api/users/{id}", 1)
+                        .header("X-Request-Timeout", "soon")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Updated\"}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    /**
+     * 終わらないSQL（キャンセルの確認用）
+     */
+    interface SlowQueryMapper {
+
+        @Select("SELECT MAX(RAND()) FROM SYSTEM_RANGE(1, 1000000) a CROSS JOIN SYSTEM_RANGE(1, 1000000) b")
+        Double crossJoin();
+    }
+}
@@ -0,0 +1,285 @@
+package com.example.userapi.infrastructure.event;
+
+import com.example.userapi.domain.event.DomainEvent;
+import com.example.userapi.domain.event.DomainEventSubscriber;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * リングバッファ配信のテスト
+ * バッファを何周もする量を複数スレッドから発行し、全購読者に欠落・順序の入れ替わりなく届くことを確認する
+ */
+class RingBufferEventDispatcherTest {
+
+    private static final int PRODUCERS = 4;
+    private static final int EVENTS_PER_PRODUCER = 20_000;
+
+    @ParameterizedTest
+    @EnumSource(WaitStrategyType.class)
+    void deliversAllEventsInOrderToEverySubscriber(WaitStrategyType waitStrategy) throws Exception {
+        RecordingSubscriber fast = new RecordingSubscriber("fast", 0);
+        RecordingSubscriber slow = new RecordingSubscriber("slow", 20_000);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        RingBufferEventDispatcher dispatcher = new RingBufferEventDispatcher(
+                new DomainEventProperties(64, 32, waitStrategy, Duration.ofSeconds(5)),
+                List.of(fast, slow), meterRegistry);
+        dispatcher.start();
+
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> producers = new ArrayList<>();
+        for (int p = 0; p < PRODUCERS; p++) {
+            int producer = p;
+            Thread thread = new Thread(() -> {
+                awaitQuietly(start);
+                for (int i = 0; i < EVENTS_PER_PRODUCER; i += 2) {
+                    if (i % 4 == 0) {
+                        dispatcher.publish(new SampleEvent(producer, i));
+                        dispatcher.publish(new SampleEvent(producer, i + 1));
+                    } else {
+                        dispatcher.publishAll(List.of(new SampleEvent(producer, i), new SampleEvent(producer, i + 1)));
+                    }
+                }
+            });
+            thread.start();
+            producers.add(thread);
+        }
+        start.countDown();
+        for (Thread thread : producers) {
+            thread.join();
+        }
+        dispatcher.stop();
+
+        for (RecordingSubscriber subscriber : List.of(fast, slow)) {
+            assertThat(subscriber.received).hasSize(PRODUCERS * EVENTS_PER_PRODUCER);
+            int[] nextSequence = new int[PRODUCERS];
+            for (DomainEvent event : subscriber.received) {
+                SampleEvent sample = (SampleEvent) event;
+                assertThat(sample.sequence()).isEqualTo(nextSequence[sample.producer()]++);
+            }
+            assertThat(dispatcher.lag(subscriber.name())).isZero();
+        }
+        // 遅い購読者には溜まったイベントがまとめて届く
+        assertThat(slow.maxBatchSize).isGreaterThan(1).isLessThanOrEqualTo(32);
+        assertThat(meterRegistry.get("userapi.events.delivered").tag("subscriber", "slow").counter().count())
+                .isEqualTo(PRODUCERS * EVENTS_PER_PRODUCER);
+    }
+
+    @Test
+    void subscriberFailureDoesNotStopDelivery() throws Exception {
+        RecordingSubscriber recording = new RecordingSubscriber("recording", 0);
+        DomainEventSubscriber failing = new DomainEventSubscriber() {
+            @Override
+            public String name() {
+                return "failing";
+            }
+
+            @Override
+            public void onEvents(List<DomainEvent> events, boolean endOfBatch) {
+                throw new IllegalStateException("failure");
+            }
+        };
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        RingBufferEventDispatcher dispatcher = new RingBufferEventDispatcher(
+                new DomainEventProperties(8, 4, WaitStrategyType.SLEEPING, Duration.ofSeconds(5)),
+                List.of(failing, recording), meterRegistry);
+        dispatcher.start();
+        for (int i = 0; i < 100; i++) {
+            dispatcher.publish(new SampleEvent(0, i));
+        }
+        dispatcher.stop();
+
+        assertThat(recording.received).hasSize(100);
+        assertThat(dispatcher.lag("failing")).isZero();
+        assertThat(meterRegistry.get("userapi.events.subscriber.errors").tag("subscriber", "failing").counter().count())
+                .isPositive();
+    }
+
+    @Test
+    void publishesRacingWithStopAreAllDelivered() throws Exception {
+        RecordingSubscriber subscriber = new RecordingSubscriber("recording", 0);
+        RingBufferEventDispatcher dispatcher = new RingBufferEventDispatcher(
+                new DomainEventProperties(64, 32, WaitStrategyType.YIELDING, Duration.ofSeconds(5)),
+                List.of(subscriber), new SimpleMeterRegistry());
+        dispatcher.start();
+
+        // 停止の前後にまたがって発行し続ける（停止前に位置を確保して停止後に書き込むものを含む）
+        AtomicBoolean publishing = new AtomicBoolean(true);
+        AtomicInteger published = new AtomicInteger();
+        List<Thread> producers = new ArrayList<>();
+        for (int p = 0; p < PRODUCERS; p++) {
+            int producer = p;
+            Thread thread = new Thread(() -> {
+                for (int i = 0; publishing.get(); i++) {
+                    dispatcher.publish(new SampleEvent(producer, i));
+                    published.incrementAndGet();
+                }
+            });
+            thread.start();
+            producers.add(thread);
+        }
+        LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(20));
+        dispatcher.stop();
+        LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(20));
+        publishing.set(false);
+        for (Thread thread : producers) {
+            thread.join();
+        }
+
+        assertThat(subscriber.received).hasSize(published.get());
+        int[] nextSequence = new int[PRODUCERS];
+        for (DomainEvent event : subscriber.received) {
+            SampleEvent sample = (SampleEvent) event;
+            assertThat(sample.sequence()).isEqualTo(nextSequence[sample.producer()]++);
+        }
+    }
+
+    @Test
+    void publishAfterStopDeliversOnCallerThread() {
+        RecordingSubscriber subscriber = new RecordingSubscriber("recording", 0);
+        RingBufferEventDispatcher dispatcher = new RingBufferEventDispatcher(
+                new DomainEventProperties(8, 8, WaitStrategyType.BLOCKING, Duration.ofSeconds(5)),
+                List.of(subscriber), new SimpleMeterRegistry());
+        dispatcher.start();
+        dispatcher.publish(new SampleEvent(0, 0));
+        dispatcher.stop();
+
+        dispatcher.publish(new SampleEvent(0, 1));
+        dispatcher.publishAll(List.of(new SampleEvent(0, 2), new SampleEvent(0, 3)));
+
+        assertThat(subscriber.received).extracting(event -> ((SampleEvent) event).sequence())
+                .containsExactly(0, 1, 2, 3);
+        assertThat(subscriber.threads.subList(1, 3)).containsOnly(Thread.currentThread().getName());
+    }
+
+    @Test
+    void publishAllLargerThanBufferIsDeliveredInOrder() {
+        RecordingSubscriber subscriber = new RecordingSubscriber("recording", 0);
+        RingBufferEventDispatcher dispatcher = new RingBufferEventDispatcher(
+                new DomainEventProperties(8, 4, WaitStrategyType.YIELDING, Duration.ofSeconds(5)),
+                List.of(subscriber), new SimpleMeterRegistry());
+        dispatcher.start();
+        TransactionalDomainEventPublisher publisher = new TransactionalDomainEventPublisher(dispatcher);
+        List<DomainEvent> events = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            events.add(new SampleEvent(0, i));
+        }
+
+        // 1トランザクション（チャンク）のイベントがバッファのサイズを超えても、コミット後に全件配信する
+        new TransactionTemplate(new NoOpTransactionManager())
+                .executeWithoutResult(status -> publisher.publishAll(events));
+        dispatcher.stop();
+
+        assertThat(subscriber.received).containsExactlyElementsOf(events);
+    }
+
+    @Test
+    void transactionalPublisherDeliversOnlyAfterCommit() throws Exception {
+        RecordingSubscriber subscriber = new RecordingSubscriber("recording", 0);
+        RingBufferEventDispatcher dispatcher = new RingBufferEventDispatcher(
+                new DomainEventProperties(16, 16, WaitStrategyType.BLOCKING, Duration.ofSeconds(5)),
+                List.of(subscriber), new SimpleMeterRegistry());
+        dispatcher.start();
+        TransactionalDomainEventPublisher publisher = new TransactionalDomainEventPublisher(dispatcher);
+        TransactionTemplate transaction = new TransactionTemplate(new NoOpTransactionManager());
+
+        transaction.executeWithoutResult(status -> {
+            publisher.publish(new SampleEvent(0, 0));
+            publisher.publishAll(List.of(new SampleEvent(0, 1), new SampleEvent(0, 2)));
+            // コミット前は配信されない
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(50));
+            assertThat(subscriber.received).isEmpty();
+        });
+        transaction.executeWithoutResult(status -> {
+            publisher.publish(new SampleEvent(1, 0));
+            status.setRollbackOnly();
+        });
+        publisher.publish(new SampleEvent(0, 3));
+        dispatcher.stop();
+
+        assertThat(subscriber.received).extracting(event -> ((SampleEvent) event).producer())
+                .containsExactly(0, 0, 0, 0);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private record SampleEvent(int producer, int sequence, LocalDateTime occurredAt) implements DomainEvent {
+        SampleEvent(int producer, int sequence) {
+            this(producer, sequence, null);
+        }
+    }
+
+    private static final class RecordingSubscriber implements DomainEventSubscriber {
+
+        private final String name;
+        private final long delayNanosPerBatch;
+        private final List<DomainEvent> received = Collections.synchronizedList(new ArrayList<>());
+        // バッチごとの配信スレッド名
+        private final List<String> threads = Collections.synchronizedList(new ArrayList<>());
+        private volatile int maxBatchSize;
+
+        RecordingSubscriber(String name, long delayNanosPerBatch) {
+            this.name = name;
+            this.delayNanosPerBatch = delayNanosPerBatch;
+        }
+
+        @Override
+        public String name() {
+            return name;
+        }
+
+        @Override
+        public void onEvents(List<DomainEvent> events, boolean endOfBatch) {
+            received.addAll(events);
+            threads.add(Thread.currentThread().getName());
+            maxBatchSize = Math.max(maxBatchSize, events.size());
+            if (delayNanosPerBatch > 0) {
+                LockSupport.parkNanos(delayNanosPerBatch);
+            }
+        }
+    }
+
+    private static final class NoOpTransactionManager extends AbstractPlatformTransactionManager {
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+}
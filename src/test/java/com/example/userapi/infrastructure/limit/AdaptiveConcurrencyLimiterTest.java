@@ -0,0 +1,97 @@
+package com.example.userapi.infrastructure.limit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * AdaptiveConcurrencyLimiter（AimdLimit）のテスト
+ * 上限を超える要求を即座に拒否すること、上限まで使われている間は増やし、処理時間が閾値を超えたら縮小すること、
+ * 需要が少ない間は縮小しないことを確認する
+ */
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long FAST_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+    private static final long SLOW_NANOS = TimeUnit.MILLISECONDS.toNanos(500);
+    private static final long THRESHOLD_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    @Test
+    void rejectsBeyondLimitUntilReleased() {
+        // 区間を長くして上限を固定する
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(
+                new AimdLimit(2, 1, 10, THRESHOLD_NANOS, 0.5), TimeUnit.HOURS.toNanos(1));
+
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isFalse();
+        assertThat(limiter.getInFlight()).isEqualTo(2);
+
+        limiter.release(FAST_NANOS);
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.getLimit()).isEqualTo(2);
+    }
+
+    @Test
+    void raisesLimitAfterSaturatedWindow() {
+        // 区間0: 返却のたびに上限を更新する
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(
+                new AimdLimit(4, 2, 20, THRESHOLD_NANOS, 0.5), 0);
+
+        for (int i = 0; i < 4; i++) {
+            assertThat(limiter.tryAcquire()).isTrue();
+        }
+        assertThat(limiter.tryAcquire()).isFalse();
+
+        // 上限まで使い切り、拒否も出ている → sqrt(4) = 2 増える
+        limiter.release(FAST_NANOS);
+        assertThat(limiter.getLimit()).isEqualTo(6);
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.tryAcquire()).isTrue();
+        }
+        assertThat(limiter.tryAcquire()).isFalse();
+    }
+
+    @Test
+    void growsWhileSaturatedAndBacksOffWhenSlow() {
+        AimdLimit limit = new AimdLimit(4, 2, 20, THRESHOLD_NANOS, 0.5);
+
+        assertThat(limit.update(FAST_NANOS, 4, 0)).isEqualTo(6);
+        // 処理時間が閾値を超えた → 半分に縮小する
+        assertThat(limit.update(SLOW_NANOS, 6, 0)).isEqualTo(3);
+        // 需要が上限未満で拒否もない → 維持する
+        assertThat(limit.update(FAST_NANOS, 1, 0)).isEqualTo(3);
+        // 観測なし → 維持する
+        assertThat(limit.update(0, 3, 5)).isEqualTo(3);
+    }
+
+    @Test
+    void keepsLimitWhileDemandIsLow() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(
+                new AimdLimit(16, 2, 64, THRESHOLD_NANOS, 0.5), 0);
+
+        // 1件ずつの軽い負荷が続いても縮小も計測し直しもしない（アイドル後のバーストを受け入れる）
+        for (int i = 0; i < 1000; i++) {
+            assertThat(limiter.tryAcquire()).isTrue();
+            limiter.release(FAST_NANOS);
+        }
+        assertThat(limiter.getLimit()).isEqualTo(16);
+        for (int i = 0; i < 16; i++) {
+            assertThat(limiter.tryAcquire()).isTrue();
+        }
+    }
+
+    @Test
+    void staysWithinBounds() {
+        AimdLimit limit = new AimdLimit(4, 2, 8, THRESHOLD_NANOS, 0.5);
+        for (int i = 0; i < 100; i++) {
+            limit.update(FAST_NANOS, limit.getLimit(), 1);
+        }
+        assertThat(limit.getLimit()).isEqualTo(8);
+        for (int i = 0; i < 100; i++) {
+            limit.update(SLOW_NANOS, limit.getLimit(), 0);
+        }
+        assertThat(limit.getLimit()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.userapi.infrastructure.limit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.IntSummaryStatistics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * GradientLimitの収束シミュレーション
+ * 同時実行数がcapacityを超えるとレイテンシが比例して伸びるDBを模擬する
+ */
+class GradientLimitSimulationTest {
+
+    private static final long BASE_RTT_NANOS = 2_000_000;
+    private static final int CAPACITY = 20;
+    private static final int PEAK_MAX = (int) (CAPACITY * 1.2 + 10);
+
+    @Test
+    void convergesNearCapacityAndFollowsDemand() {
+        GradientLimit limit = new GradientLimit(10, 5, 100, 1.2, 0.2, 120);
+
+        // 昼間: 需要が容量を大きく上回る → 容量付近に収束する
+        simulate(limit, 200, 100);
+        IntSummaryStatistics peak = observe(limit, 200, 360);
+        assertThat(peak.getMin()).isGreaterThanOrEqualTo(CAPACITY);
+        assertThat(peak.getMax()).isLessThanOrEqualTo(PEAK_MAX);
+
+        // 夜間: 需要が1/20に減少 → 需要に合わせて縮小する（需要は上限内に収まる）
+        simulate(limit, 10, 100);
+        IntSummaryStatistics night = observe(limit, 10, 100);
+        assertThat(night.getMax()).isLessThanOrEqualTo(20);
+        assertThat(night.getMin()).isGreaterThanOrEqualTo(10);
+
+        // 再び需要が増加 → 容量付近まで戻る
+        simulate(limit, 200, 100);
+        IntSummaryStatistics recovered = observe(limit, 200, 360);
+        assertThat(recovered.getMin()).isGreaterThanOrEqualTo(CAPACITY);
+        assertThat(recovered.getMax()).isLessThanOrEqualTo(PEAK_MAX);
+    }
+
+    @Test
+    void skipsProbeWhileInFlightIsAtLimit() {
+        GradientLimit limit = new GradientLimit(20, 5, 100, 1.2, 0.2, 10);
+
+        // 実行中の件数が上限に達している間は、プローブの間隔を過ぎても上限を半減しない
+        IntSummaryStatistics saturated = observe(limit, 200, 50);
+        assertThat(saturated.getMin()).isGreaterThanOrEqualTo(CAPACITY);
+    }
+
+    @Test
+    void probesOnceInFlightIsBelowLimit() {
+        GradientLimit limit = new GradientLimit(20, 5, 100, 1.2, 0.2, 10);
+
+        // 需要が上限を下回った時点でプローブし、上限を半減して最小レイテンシを計測し直す
+        IntSummaryStatistics belowLimit = observe(limit, 15, 10);
+        assertThat(belowLimit.getMin()).isEqualTo(10);
+    }
+
+    @Test
+    void staysWithinBounds() {
+        GradientLimit limit = new GradientLimit(50, 5, 30, 1.2, 0.2, 120);
+        simulate(limit, 1000, 200);
+        assertThat(limit.getLimit()).isBetween(5, 30);
+        simulate(limit, 0, 200);
+        assertThat(limit.getLimit()).isEqualTo(5);
+    }
+
+    private static void simulate(GradientLimit limit, int demand, int ticks) {
+        for (int i = 0; i < ticks; i++) {
+            tick(limit, demand);
+        }
+    }
+
+    // 各更新後の上限の最小値・最大値（プローブによる一時的な縮小を含む）
+    private static IntSummaryStatistics observe(GradientLimit limit, int demand, int ticks) {
+        IntSummaryStatistics statistics = new IntSummaryStatistics();
+        for (int i = 0; i < ticks; i++) {
+            statistics.accept(tick(limit, demand));
+        }
+        return statistics;
+    }
+
+    private static int tick(GradientLimit limit, int demand) {
+        int inFlight = Math.min(demand, limit.getLimit());
+        int queued = demand - inFlight;
+        long rtt = inFlight == 0 ? 0 : BASE_RTT_NANOS * Math.max(CAPACITY, inFlight) / CAPACITY;
+        return limit.update(rtt, inFlight, queued);
+    }
+}
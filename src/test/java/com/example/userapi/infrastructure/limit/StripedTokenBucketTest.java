@@ -0,0 +1,57 @@
+package com.example.userapi.infrastructure.limit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * StripedTokenBucketのテスト
+ * バースト数まで許可した後は次に許可されるまでの時間を返すこと、キーごとに独立していること、時間とともに補充されることを確認する
+ */
+class StripedTokenBucketTest {
+
+    @Test
+    void allowsBurstThenReturnsWaitTime() {
+        StripedTokenBucket bucket = new StripedTokenBucket(16, 1, 3);
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(bucket.tryAcquire("client")).isZero();
+        }
+        long waitNanos = bucket.tryAcquire("client");
+        assertThat(waitNanos).isPositive().isLessThanOrEqualTo(TimeUnit.SECONDS.toNanos(1));
+    }
+
+    @Test
+    void keysInDifferentStripesHaveIndependentBudgets() {
+        StripedTokenBucket bucket = new StripedTokenBucket(16, 1, 1);
+
+        assertThat(bucket.tryAcquire(1)).isZero();
+        assertThat(bucket.tryAcquire(1)).isPositive();
+        // Integer.hashCode() = 値のため、1と2は別のバケットになる
+        assertThat(bucket.tryAcquire(2)).isZero();
+    }
+
+    @Test
+    void refillsOverTime() {
+        StripedTokenBucket bucket = new StripedTokenBucket(16, 100, 1);
+        assertThat(bucket.tryAcquire("client")).isZero();
+        assertThat(bucket.tryAcquire("client")).isPositive();
+
+        // 1トークンは10msで補充される
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+        long waitNanos;
+        while ((waitNanos = bucket.tryAcquire("client")) > 0 && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertThat(waitNanos).isZero();
+    }
+
+    @Test
+    void rejectsInvalidRateAndBurst() {
+        assertThatThrownBy(() -> new StripedTokenBucket(16, 0, 1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new StripedTokenBucket(16, 1, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,205 @@
+package com.example.userapi.infrastructure.logging;
+
+import com.example.userapi.domain.model.Email;
+import com.example.userapi.domain.model.HashedPassword;
+import com.example.userapi.domain.model.User;
+import com.example.userapi.domain.repository.UserRepository;
+import com.example.userapi.infrastructure.persistence.entity.UserEntity;
+import com.example.userapi.infrastructure.persistence.mapper.UserEntityMapper;
+import com.example.userapi.infrastructure.persistence.mapper.UserMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.ibatis.builder.StaticSqlSource;
+import org.apache.ibatis.executor.BatchResult;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.session.Configuration;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * SQLログのテスト
+ * 実行したSQLが出力スレッドから構造化レコードとして出力され、パラメーターの文字列が伏せ字になること、
+ * バッファが満杯の場合に処理スレッドを待たせずに捨てること（遅いSQL用の優先枠は残すこと）、
+ * バッチ実行はまとめて送信した時間・件数でJDBCバッチごとに出力されること、
+ * パラメーターは実行後に呼び出し側が変更しても実行時の値で出力されることを確認する
+ */
+@SpringBootTest(properties = {"sql-log.sample-rate=1", "logging.level.com.example.userapi.sql=INFO"})
+@ActiveProfiles("h2")
+@ExtendWith(OutputCaptureExtension.class)
+class SqlLogTest {
+
+    private static final String PASSWORD_HASH = "$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z6Ih0C2bGZ4ZqG5ZfXKcWq2a";
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserMapper userMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void writesStructuredRecordsWithRedactedParameters(CapturedOutput output) throws Exception {
+        String email = "sqllog-" + UUID.randomUUID() + "@example.com";
+        User saved = userRepository.save(new User("Secret Name", new Email(email), new HashedPassword(PASSWORD_HASH)));
+        userRepository.findById(saved.getId());
+
+        String selectById = "\"statement\":\"UserMapper.selectById\",\"command\":\"SELECT\"";
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!output.getOut().contains("\"parameters\":{\"id\":" + saved.getId() + "}")
+                && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+
+        assertThat(output.getOut())
+                .contains("\"statement\":\"UserMapper.insert\",\"command\":\"INSERT\"")
+                .contains("\"rows\":1")
+                .contains("\"email\":\"***\"")
+                .contains(selectById)
+                .contains("\"parameters\":{\"id\":" + saved.getId() + "}")
+                .doesNotContain(email)
+                .doesNotContain("Secret Name")
+                .doesNotContain(PASSWORD_HASH);
+    }
+
+    @Test
+    void dropsNormalRecordsWhenFullButKeepsPriorityShare() throws Exception {
+        CountDownLatch firstDelivered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Integer> delivered = new CopyOnWriteArrayList<>();
+        AsyncLogPipeline<Integer> pipeline = new AsyncLogPipeline<>("test.log", 8, 0.25, batch -> {
+            firstDelivered.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            delivered.addAll(batch);
+        }, new SimpleMeterRegistry());
+        pipeline.start();
+        try {
+            // 出力スレッドが1件目で止まっている間にバッファを埋める
+            assertThat(pipeline.offer(0, false)).isTrue();
+            assertThat(firstDelivered.await(5, TimeUnit.SECONDS)).isTrue();
+            for (int i = 1; i <= 6; i++) {
+                assertThat(pipeline.offer(i, false)).isTrue();
+            }
+            assertThat(pipeline.offer(7, false)).as("normal records beyond 3/4 of the buffer").isFalse();
+            assertThat(pipeline.offer(8, true)).isTrue();
+            assertThat(pipeline.offer(9, true)).isTrue();
+            assertThat(pipeline.offer(10, true)).as("buffer is full").isFalse();
+        } finally {
+            release.countDown();
+            pipeline.stop();
+        }
+        assertThat(delivered).containsExactly(0, 1, 2, 3, 4, 5, 6, 8, 9);
+    }
+
+    @Test
+    void writesOneRecordPerFlushedBatch(CapturedOutput output) throws Exception {
+        String prefix = "sqllog-batch-" + UUID.randomUUID();
+        List<User> creates = List.of(newUser(prefix + "-1@example.com"), newUser(prefix + "-2@example.com"),
+                newUser(prefix + "-3@example.com"));
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                userRepository.applyBatch(creates, List.of(), List.of()));
+
+        // 文の追加ごとではなく、送信したJDBCバッチ1件につき1レコード（更新件数は合計）
+        Pattern batchInsert = Pattern.compile(
+                "\"statement\":\"UserMapper\\.insert\",\"command\":\"INSERT\",\"durationMicros\":\\d+,"
+                        + "\"rows\":3,\"statements\":3,");
+        awaitOutput(output, batchInsert);
+        assertThat(batchInsert.matcher(output.getOut()).results().count()).isEqualTo(1);
+        assertThat(output.getOut()).doesNotContain(prefix);
+    }
+
+    @Test
+    void keepsParametersAsExecutedWhenCallerChangesThem(CapturedOutput output) throws Exception {
+        User saved = userRepository.save(newUser("sqllog-param-" + UUID.randomUUID() + "@example.com"));
+        UserEntity entity = UserEntityMapper.toEntity(saved);
+        assertThat(userMapper.update(entity)).isEqualTo(1);
+        // 実行後にパラメーターのオブジェクトを変更しても、出力スレッドは実行時の値を出力する
+        entity.setId(-1L);
+        entity.setVersion(12345L);
+
+        Pattern update = Pattern.compile(Pattern.quote(
+                "\"statement\":\"UserMapper.update\",\"command\":\"UPDATE\"") + ".*"
+                + Pattern.quote("\"parameters\":{\"name\":\"***\",\"email\":\"***\",\"password\":\"***\","
+                + "\"id\":" + saved.getId() + ",\"version\":" + saved.getVersion() + "}"));
+        awaitOutput(output, update);
+        assertThat(output.getOut()).doesNotContain("\"version\":12345");
+    }
+
+    @Test
+    void logsSlowBatchFlushRegardlessOfSampling() throws Exception {
+        List<ExecutedStatement> written = new CopyOnWriteArrayList<>();
+        AsyncLogPipeline<ExecutedStatement> pipeline = new AsyncLogPipeline<>("test.sql.log", 16, 0.25,
+                written::addAll, new SimpleMeterRegistry());
+        SqlLogInterceptor interceptor = new SqlLogInterceptor(pipeline,
+                new SqlLogProperties(true, 0.0, Duration.ofMillis(50), 16), null);
+
+        Configuration configuration = new Configuration();
+        MappedStatement insert = new MappedStatement.Builder(configuration, "test.UserMapper.insert",
+                new StaticSqlSource(configuration, "INSERT INTO users"), SqlCommandType.INSERT).build();
+        BatchResult batch = new BatchResult(insert, "INSERT INTO users", "first");
+        batch.addParameterObject("second");
+        batch.setUpdateCounts(new int[]{1, 1});
+        Executor executor = mock(Executor.class);
+        when(executor.flushStatements()).thenAnswer(invocation -> {
+            Thread.sleep(80);
+            return List.of(batch);
+        });
+
+        pipeline.start();
+        try {
+            ((Executor) interceptor.plugin(executor)).flushStatements();
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (written.isEmpty() && System.nanoTime() < deadline) {
+                Thread.sleep(20);
+            }
+        } finally {
+            pipeline.stop();
+        }
+
+        assertThat(written).hasSize(1);
+        SqlLogRecord record = SqlLogWriter.toRecord(written.get(0));
+        assertThat(record.statement()).isEqualTo("UserMapper.insert");
+        assertThat(record.slow()).isTrue();
+        assertThat(record.durationMicros()).isGreaterThanOrEqualTo(80_000);
+        assertThat(record.rows()).isEqualTo(2);
+        assertThat(record.statements()).isEqualTo(2);
+        assertThat(record.parameters()).isNull();
+    }
+
+    private static User newUser(String email) {
+        return new User("Secret Name", new Email(email), new HashedPassword(PASSWORD_HASH));
+    }
+
+    private static void awaitOutput(CapturedOutput output, Pattern pattern) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!pattern.matcher(output.getOut()).find() && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(output.getOut()).containsPattern(pattern);
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.userapi.infrastructure.persistence;
+
+import com.example.userapi.domain.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.Supplier;
+
+/**
+ * ユーザーリポジトリの契約テスト（MyBatis版、ブロック単位の採番）
+ * AUTO_INCREMENTの採番と混在しないよう、専用の組み込みDBを使用する
+ */
+@SpringBootTest(properties = {
+        "id-generator.type=block",
+        "id-generator.block-size=2",
+        "spring.datasource.url=jdbc:h2:mem:blockid;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1"
+})
+@ActiveProfiles("h2")
+class BlockIdUserRepositoryContractTest extends UserRepositoryContractTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Override
+    protected UserRepository repository() {
+        return userRepository;
+    }
+
+    @Override
+    protected <T> T inTransaction(Supplier<T> action) {
+        return new TransactionTemplate(transactionManager).execute(status -> action.get());
+    }
+
+    @Override
+    protected void inRolledBackTransaction(Runnable action) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            action.run();
+            status.setRollbackOnly();
+        });
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.userapi.infrastructure.persistence;
+
+import com.example.userapi.domain.repository.UserRepository;
+import com.example.userapi.infrastructure.persistence.memory.InMemoryUserRepository;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.Supplier;
+
+/**
+ * ユーザーリポジトリの契約テスト（メモリ版）
+ * トランザクションはデータソースを持たないトランザクションマネージャーで管理する（同期処理のみ）
+ */
+class InMemoryUserRepositoryContractTest extends UserRepositoryContractTest {
+
+    private final UserRepository userRepository = new InMemoryUserRepository();
+    private final TransactionTemplate transaction = new TransactionTemplate(new SynchronizationOnlyTransactionManager());
+
+    @Override
+    protected UserRepository repository() {
+        return userRepository;
+    }
+
+    @Override
+    protected <T> T inTransaction(Supplier<T> action) {
+        return transaction.execute(status -> action.get());
+    }
+
+    @Override
+    protected void inRolledBackTransaction(Runnable action) {
+        transaction.executeWithoutResult(status -> {
+            action.run();
+            status.setRollbackOnly();
+        });
+    }
+
+    private static final class SynchronizationOnlyTransactionManager extends AbstractPlatformTransactionManager {
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package com.example.userapi.infrastructure.persistence;
+
+import com.example.userapi.domain.model.Email;
+import com.example.userapi.domain.model.HashedPassword;
+import com.example.userapi.domain.model.User;
+import com.example.userapi.domain.repository.UserBatchResult;
+import com.example.userapi.domain.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * ユーザーリポジトリの契約テスト
+ * 実装（MyBatis版・メモリ版）ごとにサブクラスを作り、同じ振る舞い（一意制約・楽観ロック・ID順）を満たすことを確認する
+ */
+abstract class UserRepositoryContractTest {
+
+    private static final String PASSWORD_HASH = "$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z6Ih0C2bGZ4ZqG5ZfXKcWq2a";
+
+    private final String prefix = UUID.randomUUID().toString();
+
+    protected abstract UserRepository repository();
+
+    /**
+     * 更新系トランザクション内で実行する（一括変更用）
+     */
+    protected abstract <T> T inTransaction(Supplier<T> action);
+
+    /**
+     * 更新系トランザクション内で実行し、ロールバックする
+     */
+    protected abstract void inRolledBackTransaction(Runnable action);
+
+    @Test
+    void savesAndFindsByIdAndEmail() {
+        User saved = repository().save(user("Alice", "alice"));
+
+        assertThat(saved.getId()).isNotNull();
+        assertThat(saved.getVersion()).isZero();
+        assertThat(repository().findById(saved.getId())).get()
+                .extracting(User::getName).isEqualTo("Alice");
+        assertThat(repository().findByEmail(email("alice"))).get()
+                .extracting(User::getId).isEqualTo(saved.getId());
+        assertThat(repository().existsByEmail(email("alice"))).isTrue();
+        assertThat(repository().existsByEmail(email("nobody"))).isFalse();
+        assertThat(repository().findById(Long.MAX_VALUE)).isEmpty();
+    }
+
+    @Test
+    void rejectsDuplicateEmail() {
+        repository().save(user("Alice", "alice"));
+
+        assertThatThrownBy(() -> repository().save(user("Other", "alice")))
+                .isInstanceOf(DuplicateKeyException.class);
+        assertThatThrownBy(() -> repository().saveAll(List.of(user("New", "new"), user("Other", "alice"))))
+                .isInstanceOf(DuplicateKeyException.class);
+        assertThat(repository().existsByEmail(email("new"))).isFalse();
+    }
+
+    @Test
+    void updatesWithOptimisticLock() {
+        User saved = repository().save(user("Alice", "alice"));
+
+        User updated = repository().update(renamed(saved, "Alice2", "alice2"));
+        assertThat(updated.getVersion()).isEqualTo(1L);
+        assertThat(updated.getName()).isEqualTo("Alice2");
+        // 変更前のメールアドレスは解放される
+        assertThat(repository().existsByEmail(email("alice"))).isFalse();
+        assertThat(repository().findByEmail(email("alice2"))).get()
+                .extracting(User::getId).isEqualTo(saved.getId());
+
+        // 読み込み時のバージョンが古い場合は更新しない
+        assertThatThrownBy(() -> repository().update(renamed(saved, "Stale", "alice2")))
+                .isInstanceOf(OptimisticLockingFailureException.class);
+        assertThat(repository().findById(saved.getId())).get()
+                .extracting(User::getName).isEqualTo("Alice2");
+    }
+
+    @Test
+    void rejectsUpdateToEmailOfAnotherUser() {
+        repository().save(user("Alice", "alice"));
+        User bob = repository().save(user("Bob", "bob"));
+
+        assertThatThrownBy(() -> repository().update(renamed(bob, "Bob", "alice")))
+                .isInstanceOf(DuplicateKeyException.class);
+        assertThat(repository().findByEmail(email("bob"))).isPresent();
+    }
+
+    @Test
+    void deletesById() {
+        User saved = repository().save(user("Alice", "alice"));
+
+        repository().deleteById(saved.getId());
+
+        assertThat(repository().findById(saved.getId())).isEmpty();
+        assertThat(repository().existsByEmail(email("alice"))).isFalse();
+        assertThatThrownBy(() -> repository().deleteById(saved.getId()))
+                .isInstanceOf(RuntimeException.class);
+        // 削除したユーザーのメールアドレスは再登録できる
+        assertThat(repository().save(user("Again", "alice")).getId()).isNotEqualTo(saved.getId());
+    }
+
+    @Test
+    void pagesInIdOrder() {
+        List<User> saved = repository().saveAll(List.of(user("A", "a"), user("B", "b"), user("C", "c")));
+        long first = saved.get(0).getId();
+
+        assertThat(repository().findAllAfter(first, 2)).extracting(User::getId)
+                .containsExactly(saved.get(1).getId(), saved.get(2).getId());
+        assertThat(repository().findAllAfter(first - 1, 1)).extracting(User::getId)
+                .containsExactly(first);
+        assertThat(repository().findAll()).extracting(User::getId)
+                .containsSubsequence(saved.get(0).getId(), saved.get(1).getId(), saved.get(2).getId());
+        assertThat(repository().findAllById(List.of(saved.get(2).getId(), Long.MAX_VALUE)))
+                .extracting(User::getName).containsExactly("C");
+        assertThat(repository().findExistingEmails(List.of(email("a"), email("z"))))
+                .containsExactly(email("a").getValue());
+    }
+
+    @Test
+    void appliesBatchAndReportsVersionConflicts() {
+        User renamed = repository().save(user("Renamed", "renamed"));
+        User stale = repository().save(user("Stale", "stale"));
+        User removed = repository().save(user("Removed", "removed"));
+
+        UserBatchResult result = inTransaction(() -> repository().applyBatch(
+                List.of(user("Created", "created")),
+                List.of(renamed(renamed, "After", "renamed"), withVersion(renamed(stale, "After", "stale"), 5L)),
+                List.of(removed)));
+
+        assertThat(result.created()).hasSize(1);
+        assertThat(result.conflicts()).containsExactly(stale.getId());
+        assertThat(repository().findById(result.created().get(0).getId())).isPresent();
+        assertThat(repository().findById(renamed.getId())).get()
+                .extracting(User::getName, User::getVersion).containsExactly("After", 1L);
+        assertThat(repository().findById(stale.getId())).get()
+                .extracting(User::getName).isEqualTo("Stale");
+        assertThat(repository().findById(removed.getId())).isEmpty();
+    }
+
+    @Test
+    void discardsChangesOnRollback() {
+        User kept = repository().save(user("Kept", "kept"));
+        User removed = repository().save(user("Removed", "removed"));
+
+        // 一括変更（MyBatis版はバッチ実行）は個別の操作とは別のトランザクションで行う
+        inRolledBackTransaction(() -> repository().applyBatch(
+                List.of(user("Batch", "batch")), List.of(renamed(kept, "Batched", "kept")), List.of()));
+        inRolledBackTransaction(() -> {
+            repository().save(user("Created", "created"));
+            repository().update(renamed(kept, "Changed", "changed"));
+            repository().deleteById(removed.getId());
+        });
+
+        assertThat(repository().existsByEmail(email("created"))).isFalse();
+        assertThat(repository().existsByEmail(email("batch"))).isFalse();
+        assertThat(repository().findById(kept.getId())).get()
+                .extracting(User::getName, User::getVersion).containsExactly("Kept", 0L);
+        assertThat(repository().findByEmail(email("kept"))).get()
+                .extracting(User::getId).isEqualTo(kept.getId());
+        assertThat(repository().existsByEmail(email("changed"))).isFalse();
+        assertThat(repository().findById(removed.getId())).isPresent();
+        assertThat(repository().findAllAfter(kept.getId() - 1, 2)).extracting(User::getId)
+                .containsExactly(kept.getId(), removed.getId());
+        // 取り消された変更のメールアドレスは他のユーザーが使える
+        assertThat(repository().save(user("Other", "changed")).getId()).isNotNull();
+        assertThat(repository().save(user("Other", "created")).getId()).isNotNull();
+    }
+
+    @Test
+    void allowsOnlyOneConcurrentSaveOfSameEmail() throws Exception {
+        int threads = 4;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                String name = "Racer" + i;
+                Callable<Boolean> race = () -> {
+                    start.await();
+                    try {
+                        repository().save(user(name, "race"));
+                        return true;
+                    } catch (DuplicateKeyException ex) {
+                        return false;
+                    }
+                };
+                results.add(executor.submit(race));
+            }
+            start.countDown();
+
+            int succeeded = 0;
+            for (Future<Boolean> result : results) {
+                succeeded += result.get() ? 1 : 0;
+            }
+            assertThat(succeeded).isEqualTo(1);
+            assertThat(repository().findByEmail(email("race"))).isPresent();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private User user(String name, String localPart) {
+        return new User(name, email(localPart), new HashedPassword(PASSWORD_HASH));
+    }
+
+    private Email email(String localPart) {
+        return new Email(prefix + "-" + localPart + "@example.com");
+    }
+
+    private User renamed(User user, String name, String localPart) {
+        return new User(user.getId(), name, email(localPart), user.getPassword(),
+                user.getCreatedAt(), user.getUpdatedAt(), user.getVersion());
+    }
+
+    private static User withVersion(User user, long version) {
+        return new User(user.getId(), user.getName(), user.getEmail(), user.getPassword(),
+                user.getCreatedAt(), user.getUpdatedAt(), version);
+    }
+}
@@ -0,0 +1,294 @@
+package com.example.userapi.infrastructure.persistence.id;
+
+import com.example.userapi.infrastructure.persistence.mapper.IdSequenceMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * ユーザーIDの採番のテスト
+ * ブロック単位の採番が既存ユーザーの最大IDの次から範囲を確保し、並行して払い出しても重複しないこと、
+ * 範囲の確保が呼び出し元のトランザクションの外（先読み用のスレッド）で行われること、
+ * 最初の範囲を起動時に確保し、次の範囲を半分使った時点で確保し始めること、確保の待ちがタイムアウトで打ち切られること、
+ * 時刻順の採番がスレッドごとに単調増加し、時計の戻り・ミリ秒内の連番の溢れでも重複しないことを確認する
+ */
+@SpringBootTest(properties = {
+        "id-generator.type=block",
+        "id-generator.block-size=100",
+        "spring.datasource.url=jdbc:h2:mem:idgenerator;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1"
+})
+@ActiveProfiles("h2")
+class UserIdGeneratorTest {
+
+    private static final int THREADS = 4;
+    private static final Duration ALLOCATION_TIMEOUT = Duration.ofSeconds(5);
+
+    @Autowired
+    private BlockIdGenerator blockIdGenerator;
+
+    @Autowired
+    private IdSequenceMapper idSequenceMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void blockAllocationIsUniqueAcrossThreads() throws Exception {
+        double blocksBefore = meterRegistry.counter("userapi.id.blocks").count();
+
+        List<List<Long>> perThread = generate(blockIdGenerator, 1_000);
+
+        Set<Long> all = new HashSet<>();
+        perThread.forEach(all::addAll);
+        assertThat(all).hasSize(THREADS * 1_000);
+        for (List<Long> ids : perThread) {
+            assertThat(ids).isSorted();
+        }
+        // 払い出したIDはすべて確保済みの範囲（シーケンスの値より前）にある
+        long nextValue = jdbcTemplate.queryForObject(
+                "SELECT next_value FROM id_sequences WHERE name = ?", Long.class, BlockIdGenerator.SEQUENCE);
+        assertThat(all).allSatisfy(id -> assertThat(id).isLessThan(nextValue));
+        // 40範囲分のIDを使う（起動時・他のテストで確保済みの範囲の残りと、半分使った時点で先読みした範囲により前後する）
+        assertThat(meterRegistry.counter("userapi.id.blocks").count() - blocksBefore).isBetween(39.0, 41.0);
+    }
+
+    @Test
+    void blockAllocationStartsAfterExistingUsers() {
+        jdbcTemplate.update("INSERT INTO users (id, name, email, password) VALUES (?, 'Existing', ?, 'x')",
+                1_000_000L, "existing-" + System.nanoTime() + "@example.com");
+        jdbcTemplate.update("DELETE FROM id_sequences WHERE name = ?", BlockIdGenerator.SEQUENCE);
+        BlockIdGenerator generator = new BlockIdGenerator(idSequenceMapper,
+                new TransactionTemplate(transactionManager), 10, ALLOCATION_TIMEOUT, new SimpleMeterRegistry());
+        try {
+            assertThat(generator.nextId()).isEqualTo(1_000_001L);
+            assertThat(generator.nextId()).isEqualTo(1_000_002L);
+        } finally {
+            generator.close();
+        }
+    }
+
+    @Test
+    void blockAllocationRunsOutsideCallerTransaction() {
+        Set<String> allocatingThreads = ConcurrentHashMap.newKeySet();
+        TransactionTemplate allocationTemplate = new TransactionTemplate(transactionManager) {
+            @Override
+            public <T> T execute(TransactionCallback<T> action) {
+                allocatingThreads.add(Thread.currentThread().getName());
+                return super.execute(action);
+            }
+        };
+        BlockIdGenerator generator = new BlockIdGenerator(
+                idSequenceMapper, allocationTemplate, 10, ALLOCATION_TIMEOUT, new SimpleMeterRegistry());
+        List<Long> ids = new ArrayList<>();
+        try {
+            // 起動時に確保していない（確保に失敗した）場合も含め、
+            // 呼び出し元のトランザクションの中で範囲を3回使い切り、ロールバックする
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                for (int i = 0; i < 25; i++) {
+                    ids.add(generator.nextId());
+                }
+                status.setRollbackOnly();
+            });
+        } finally {
+            generator.close();
+        }
+
+        assertThat(ids).doesNotHaveDuplicates().isSorted();
+        // 範囲の確保は専用スレッドだけが行い、呼び出し元のロールバックでも戻らない
+        assertThat(allocatingThreads).containsOnly("id-block-prefetch");
+        long nextValue = jdbcTemplate.queryForObject(
+                "SELECT next_value FROM id_sequences WHERE name = ?", Long.class, BlockIdGenerator.SEQUENCE);
+        assertThat(nextValue).isGreaterThan(ids.get(ids.size() - 1));
+    }
+
+    @Test
+    void blockAllocationStartsAtStartupAndPrefetchesAtHalf() throws Exception {
+        AtomicBoolean unavailable = new AtomicBoolean();
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        BlockIdGenerator generator = new BlockIdGenerator(
+                idSequenceMapper, failingWhen(unavailable), 10, ALLOCATION_TIMEOUT, registry);
+        try {
+            generator.start();
+            assertThat(registry.counter("userapi.id.blocks").count()).isEqualTo(1.0);
+
+            // 確保できない状態でも、起動時に確保した範囲の前半は払い出せる
+            unavailable.set(true);
+            for (int i = 0; i < 5; i++) {
+                generator.nextId();
+            }
+            unavailable.set(false);
+            // 半分を払い出した時点で次の範囲の確保を始める
+            generator.nextId();
+            awaitCount(registry, 2.0);
+
+            // 次の範囲は確保済みのため、以降は確保できない状態でも入れ替えるだけで払い出せる
+            unavailable.set(true);
+            List<Long> ids = new ArrayList<>();
+            for (int i = 0; i < 9; i++) {
+                ids.add(generator.nextId());
+            }
+            assertThat(ids).doesNotHaveDuplicates().isSorted();
+        } finally {
+            generator.close();
+        }
+    }
+
+    @Test
+    void blockAllocationWaitIsBounded() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicBoolean saturated = new AtomicBoolean();
+        TransactionTemplate allocationTemplate = new TransactionTemplate(transactionManager) {
+            @Override
+            public <T> T execute(TransactionCallback<T> action) {
+                if (saturated.get()) {
+                    // プールが枯渇して接続を取得できない状態
+                    try {
+                        release.await();
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return super.execute(action);
+            }
+        };
+        BlockIdGenerator generator = new BlockIdGenerator(
+                idSequenceMapper, allocationTemplate, 10, Duration.ofMillis(200), new SimpleMeterRegistry());
+        try {
+            generator.start();
+            saturated.set(true);
+            for (int i = 0; i < 10; i++) {
+                generator.nextId();
+            }
+
+            long start = System.nanoTime();
+            assertThatThrownBy(generator::nextId).isInstanceOf(QueryTimeoutException.class);
+            assertThat(System.nanoTime() - start).isLessThan(Duration.ofSeconds(2).toNanos());
+
+            // 確保は続けているため、完了すれば次の呼び出しで使う
+            release.countDown();
+            assertThat(generator.nextId()).isPositive();
+        } finally {
+            generator.close();
+        }
+    }
+
+    @Test
+    void timeOrderedIdsAreMonotonicPerThreadAndUnique() throws Exception {
+        List<List<Long>> perThread = generate(new TimeOrderedIdGenerator(1), 20_000);
+
+        Set<Long> all = new HashSet<>();
+        perThread.forEach(all::addAll);
+        assertThat(all).hasSize(THREADS * 20_000);
+        for (List<Long> ids : perThread) {
+            assertThat(ids).isSorted().doesNotHaveDuplicates();
+        }
+    }
+
+    @Test
+    void timeOrderedIdsSurviveClockGoingBackwardsAndSequenceOverflow() {
+        AtomicLong now = new AtomicLong(TimeOrderedIdGenerator.EPOCH_MILLIS + 1_000);
+        LongSupplier clock = now::get;
+        TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator(7, clock);
+
+        long first = generator.nextId();
+        assertThat(first >>> 22).isEqualTo(1_000);
+        assertThat((first >>> 12) & 1023).isEqualTo(7);
+        assertThat(first & 4095).isZero();
+
+        long previous = first;
+        // 1ミリ秒の上限（4096件）を超えると次のミリ秒に繰り上がる
+        for (int i = 1; i < 5_000; i++) {
+            long id = generator.nextId();
+            assertThat(id).isGreaterThan(previous);
+            previous = id;
+        }
+        assertThat(previous >>> 22).isEqualTo(1_001);
+
+        now.set(TimeOrderedIdGenerator.EPOCH_MILLIS + 500);
+        assertThat(generator.nextId()).isGreaterThan(previous);
+
+        now.set(TimeOrderedIdGenerator.EPOCH_MILLIS + 2_000);
+        assertThat(generator.nextId() >>> 22).isEqualTo(2_000);
+    }
+
+    @Test
+    void rejectsInvalidWorkerId() {
+        assertThatThrownBy(() -> new TimeOrderedIdGenerator(1024)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new TimeOrderedIdGenerator(-1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private TransactionTemplate failingWhen(AtomicBoolean unavailable) {
+        return new TransactionTemplate(transactionManager) {
+            @Override
+            public <T> T execute(TransactionCallback<T> action) {
+                if (unavailable.get()) {
+                    throw new IllegalStateException("範囲を確保できない状態です");
+                }
+                return super.execute(action);
+            }
+        };
+    }
+
+    private static void awaitCount(SimpleMeterRegistry registry, double expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (registry.counter("userapi.id.blocks").count() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(registry.counter("userapi.id.blocks").count()).isEqualTo(expected);
+    }
+
+    private static List<List<Long>> generate(UserIdGenerator generator, int perThread) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<List<Long>>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(executor.submit(() -> {
+                    List<Long> ids = new ArrayList<>(perThread);
+                    for (int i = 0; i < perThread; i++) {
+                        ids.add(generator.nextId());
+                    }
+                    return ids;
+                }));
+            }
+            List<List<Long>> results = new ArrayList<>();
+            for (Future<List<Long>> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.userapi.infrastructure.persistence.pool;
+
+import com.example.userapi.domain.model.Email;
+import com.example.userapi.domain.model.HashedPassword;
+import com.example.userapi.domain.model.User;
+import com.example.userapi.domain.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Update;
+import org.apache.ibatis.executor.BatchResult;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.junit.jupiter.api.Test;
+import org.mybatis.spring.SqlSessionTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * コネクションプール自動サイズ調整のテスト
+ * バッチ実行では文の追加ではなく、まとめて送信する flushStatements の時間がSQL実行時間として記録され、
+ * 調整時のレイテンシに反映されることを確認する
+ */
+@SpringBootTest(properties = {
+        "datasource.adaptive.enabled=true",
+        // 定期実行による集計のリセットを避ける
+        "datasource.adaptive.interval=PT1H",
+        "cache.user.enabled=false"
+})
+@ActiveProfiles("h2")
+class AdaptivePoolSizerTest {
+
+    private static final String PASSWORD_HASH = "$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z6Ih0C2bGZ4ZqG5ZfXKcWq2a";
+
+    @Autowired
+    private StatementLatencyInterceptor latencyInterceptor;
+
+    @Autowired
+    private AdaptivePoolSizer poolSizer;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SqlSessionFactory sqlSessionFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void recordsFlushedBatchAsOneSamplePerBatch() throws Exception {
+        StatementLatencyInterceptor interceptor = new StatementLatencyInterceptor();
+        Executor executor = mock(Executor.class);
+        when(executor.flushStatements()).thenAnswer(invocation -> {
+            Thread.sleep(100);
+            return List.of(new BatchResult(null, "UPDATE a", null), new BatchResult(null, "UPDATE b", null));
+        }).thenReturn(List.of());
+        Executor plugged = (Executor) interceptor.plugin(executor);
+
+        plugged.flushStatements();
+        // 2件のJDBCバッチで按分する
+        assertThat(interceptor.drainAverageNanos()).isGreaterThanOrEqualTo(Duration.ofMillis(50).toNanos());
+
+        // 送信する文がない場合は記録しない
+        plugged.flushStatements();
+        assertThat(interceptor.drainAverageNanos()).isZero();
+    }
+
+    @Test
+    void feedsBatchFlushLatencyToPoolSizer() {
+        if (!sqlSessionFactory.getConfiguration().hasMapper(SlowBatchMapper.class)) {
+            sqlSessionFactory.getConfiguration().addMapper(SlowBatchMapper.class);
+        }
+        SqlSessionTemplate batchSession = new SqlSessionTemplate(sqlSessionFactory, ExecutorType.BATCH);
+        SlowBatchMapper mapper = batchSession.getMapper(SlowBatchMapper.class);
+        User user = userRepository.save(new User("Batch",
+                new Email("pool-" + UUID.randomUUID() + "@example.com"), new HashedPassword(PASSWORD_HASH)));
+
+        latencyInterceptor.drainAverageNanos();
+        long[] flushNanos = new long[1];
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            for (int i = 0; i < 3; i++) {
+                mapper.touch(user.getId());
+            }
+            long start = System.nanoTime();
+            batchSession.flushStatements();
+            flushNanos[0] = System.nanoTime() - start;
+        });
+        double decisionsBefore = decisions();
+        poolSizer.adjust();
+
+        double latency = meterRegistry.get("userapi.datasource.pool.statement.latency").gauge().value();
+        assertThat(flushNanos[0]).isGreaterThan(Duration.ofMillis(10).toNanos());
+        // 文の追加（マイクロ秒単位）ではなく、送信の時間が記録される
+        assertThat(latency).isGreaterThanOrEqualTo(flushNanos[0] / 2.0);
+        assertThat(decisions()).isEqualTo(decisionsBefore + 1);
+    }
+
+    private double decisions() {
+        return meterRegistry.find("userapi.datasource.pool.decisions").counters().stream()
+                .mapToDouble(counter -> counter.count())
+                .sum();
+    }
+
+    /**
+     * 実行に時間のかかる更新（バッチ送信の計測用）
+     */
+    interface SlowBatchMapper {
+
+        @Update("UPDATE users SET name = name WHERE id = #{id} "
+                + "AND (SELECT MAX(RAND()) FROM SYSTEM_RANGE(1, 300000)) >= 0")
+        int touch(@Param("id") Long id);
+    }
+}
@@ -0,0 +1,290 @@
+package com.example.userapi.infrastructure.persistence.writebehind;
+
+import com.example.userapi.application.dto.CreateUserCommand;
+import com.example.userapi.application.dto.UpdateUserCommand;
+import com.example.userapi.application.dto.UserResponse;
+import com.example.userapi.application.result.UseCaseResult;
+import com.example.userapi.application.usecase.UserUseCase;
+import com.example.userapi.domain.model.Email;
+import com.example.userapi.domain.model.HashedPassword;
+import com.example.userapi.domain.model.User;
+import com.example.userapi.infrastructure.persistence.UserRepositoryImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * ユーザー更新のwrite-behindのテスト
+ * 同じユーザーへの連続した更新がまとめた状態で応答され、反映時にUPDATE 1回になること、
+ * メールアドレスの一意性が同期的にチェックされること（登録と反映待ちの更新の競合を含む）、
+ * 削除のコミットまで反映待ちの更新とメールアドレスの予約を残すこと、
+ * 反映待ちが上限に達した場合に待ってから拒否すること、停止時に反映待ちの更新が反映されることを確認する
+ */
+@SpringBootTest(properties = {"write-behind.enabled=true", "write-behind.interval=1h"})
+@ActiveProfiles("h2")
+class WriteBehindTest {
+
+    private static final String PASSWORD_HASH = "$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z6Ih0C2bGZ4ZqG5ZfXKcWq2a";
+
+    @Autowired
+    private UserUseCase userUseCase;
+
+    @Autowired
+    private WriteBehindUserRepository writeBehindUserRepository;
+
+    @Autowired
+    private UserRepositoryImpl userRepositoryImpl;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void coalescesUpdatesOfSameUser() {
+        UserResponse created = create("coalesce");
+        double writtenBefore = writtenRows();
+
+        UserResponse last = null;
+        for (int i = 1; i <= 10; i++) {
+            last = userUseCase.updateUser(created.id(), null, new UpdateUserCommand("Name " + i, null, null))
+                    .orElseThrow();
+            assertThat(last.version()).isEqualTo(i);
+        }
+        // If-Match（応答したバージョン）での更新も受け付ける
+        last = userUseCase.updateUser(created.id(), last.version(), new UpdateUserCommand("Final", null, null))
+                .orElseThrow();
+
+        assertThat(userUseCase.getUser(created.id()).orElseThrow().name()).isEqualTo("Final");
+        assertThat(row(created.id())).containsEntry("name", "coalesce").containsEntry("version", 0L);
+
+        assertThat(writeBehindUserRepository.flush()).isEqualTo(1);
+
+        assertThat(row(created.id())).containsEntry("name", "Final").containsEntry("version", 11L);
+        assertThat(writtenRows() - writtenBefore).isEqualTo(1);
+        assertThat(userUseCase.getUser(created.id()).orElseThrow())
+                .extracting(UserResponse::version, UserResponse::updatedAt)
+                .containsExactly(last.version(), last.updatedAt());
+    }
+
+    @Test
+    void checksEmailUniquenessSynchronously() {
+        UserResponse alice = create("alice");
+        UserResponse bob = create("bob");
+        String aliceNew = "alice-new-" + UUID.randomUUID() + "@example.com";
+
+        userUseCase.updateUser(alice.id(), null, new UpdateUserCommand(null, aliceNew, null)).orElseThrow();
+
+        // 反映待ちのメールアドレス
+        assertThat(userUseCase.updateUser(bob.id(), null, new UpdateUserCommand(null, aliceNew, null)))
+                .isInstanceOf(UseCaseResult.DuplicateEmail.class);
+        assertThat(userUseCase.createUser(new CreateUserCommand("Carol", aliceNew, "password123")))
+                .isInstanceOf(UseCaseResult.DuplicateEmail.class);
+        // 変更前のメールアドレスは反映されるまで使用中
+        assertThat(userUseCase.updateUser(bob.id(), null, new UpdateUserCommand(null, alice.email(), null)))
+                .isInstanceOf(UseCaseResult.DuplicateEmail.class);
+
+        writeBehindUserRepository.flush();
+
+        assertThat(row(alice.id())).containsEntry("email", aliceNew);
+        assertThat(userUseCase.updateUser(bob.id(), null, new UpdateUserCommand(null, alice.email(), null)))
+                .isInstanceOf(UseCaseResult.Success.class);
+        writeBehindUserRepository.flush();
+        assertThat(row(bob.id())).containsEntry("email", alice.email());
+    }
+
+    @Test
+    void reservesEmailOfCreateUntilCommit() {
+        UserResponse bob = create("bob");
+        String email = "reserved-" + UUID.randomUUID() + "@example.com";
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        // 登録のコミット前: 更新は同じメールアドレスを予約できない
+        transactionTemplate.executeWithoutResult(status -> {
+            writeBehindUserRepository.save(user("Carol", email));
+            User user = writeBehindUserRepository.findById(bob.id()).orElseThrow();
+            assertThatThrownBy(() -> writeBehindUserRepository.update(user.updateEmail(new Email(email))))
+                    .isInstanceOf(DuplicateKeyException.class);
+        });
+        // 一括変更のコミット前も同様
+        String batchEmail = "batch-" + UUID.randomUUID() + "@example.com";
+        User loaded = writeBehindUserRepository.findById(bob.id()).orElseThrow();
+        transactionTemplate.executeWithoutResult(status -> {
+            writeBehindUserRepository.applyBatch(List.of(user("Frank", batchEmail)), List.of(), List.of());
+            assertThatThrownBy(() -> writeBehindUserRepository.update(loaded.updateEmail(new Email(batchEmail))))
+                    .isInstanceOf(DuplicateKeyException.class);
+        });
+        assertThat(writeBehindUserRepository.pendingCount()).isZero();
+
+        // ロールバックした登録の予約は外れる
+        String rolledBack = "rolled-back-" + UUID.randomUUID() + "@example.com";
+        transactionTemplate.executeWithoutResult(status -> {
+            writeBehindUserRepository.save(user("Dave", rolledBack));
+            status.setRollbackOnly();
+        });
+        assertThat(userUseCase.updateUser(bob.id(), null, new UpdateUserCommand(null, rolledBack, null)))
+                .isInstanceOf(UseCaseResult.Success.class);
+
+        // 反映待ちの更新が予約したメールアドレスは登録できない（DBにはまだない）
+        assertThatThrownBy(() -> writeBehindUserRepository.save(user("Eve", rolledBack)))
+                .isInstanceOf(DuplicateKeyException.class);
+        writeBehindUserRepository.flush();
+        assertThat(row(bob.id())).containsEntry("email", rolledBack);
+    }
+
+    @Test
+    void keepsPendingUpdateUntilDeleteCommits() {
+        UserResponse created = create("delete");
+        String email = "deleting-" + UUID.randomUUID() + "@example.com";
+        userUseCase.updateUser(created.id(), null, new UpdateUserCommand("Deleting", email, null)).orElseThrow();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        // 削除がロールバックした場合は、反映待ちの更新とメールアドレスの予約を残す
+        transactionTemplate.executeWithoutResult(status -> {
+            writeBehindUserRepository.deleteById(created.id());
+            assertThat(writeBehindUserRepository.existsByEmail(new Email(email))).isTrue();
+            status.setRollbackOnly();
+        });
+        assertThat(writeBehindUserRepository.findById(created.id())).get()
+                .extracting(User::getName).isEqualTo("Deleting");
+        assertThatThrownBy(() -> writeBehindUserRepository.save(user("Other", email)))
+                .isInstanceOf(DuplicateKeyException.class);
+        writeBehindUserRepository.flush();
+        assertThat(row(created.id())).containsEntry("name", "Deleting").containsEntry("email", email);
+
+        // コミットした削除は反映待ちの更新を破棄し、メールアドレスを使えるようにする
+        userUseCase.updateUser(created.id(), null, new UpdateUserCommand("Deleted", null, null)).orElseThrow();
+        transactionTemplate.executeWithoutResult(status -> writeBehindUserRepository.deleteById(created.id()));
+        assertThat(writeBehindUserRepository.findById(created.id())).isEmpty();
+        assertThat(userUseCase.updateUser(created.id(), null, new UpdateUserCommand("Again", null, null)))
+                .isInstanceOf(UseCaseResult.NotFound.class);
+        assertThat(userUseCase.createUser(new CreateUserCommand("Reuse", email, "password123")))
+                .isInstanceOf(UseCaseResult.Success.class);
+    }
+
+    @Test
+    void createAndUpdateRacingForSameEmailNeverBothSucceed() throws Exception {
+        double conflictsBefore = conflictedRows();
+        for (int i = 0; i < 20; i++) {
+            UserResponse bob = create("race");
+            String email = "race-" + UUID.randomUUID() + "@example.com";
+            CountDownLatch start = new CountDownLatch(1);
+            CompletableFuture<UseCaseResult<UserResponse>> creating = CompletableFuture.supplyAsync(() -> {
+                await(start);
+                return userUseCase.createUser(new CreateUserCommand("Carol", email, "password123"));
+            });
+            CompletableFuture<UseCaseResult<UserResponse>> updating = CompletableFuture.supplyAsync(() -> {
+                await(start);
+                return userUseCase.updateUser(bob.id(), null, new UpdateUserCommand(null, email, null));
+            });
+            start.countDown();
+
+            List<UseCaseResult<UserResponse>> results = List.of(creating.get(10, TimeUnit.SECONDS),
+                    updating.get(10, TimeUnit.SECONDS));
+            writeBehindUserRepository.flush();
+
+            // 負けた側は重複として応答する（チェック後に予約できなかった場合も含む）
+            assertThat(results).filteredOn(UseCaseResult.Success.class::isInstance).hasSize(1);
+            assertThat(results).filteredOn(UseCaseResult.DuplicateEmail.class::isInstance).hasSize(1);
+            assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users WHERE email = ?", Long.class, email))
+                    .isEqualTo(1);
+        }
+        // 応答済みの更新が反映時に破棄されていない
+        assertThat(conflictedRows()).isEqualTo(conflictsBefore);
+    }
+
+    @Test
+    void rejectsNewUsersAfterWaitingWhenPendingIsFull() {
+        UserResponse alice = create("full-alice");
+        UserResponse bob = create("full-bob");
+        // 定期反映は開始しない（反映が追いつかない状態）
+        WriteBehindUserRepository repository = new WriteBehindUserRepository(userRepositoryImpl,
+                new TransactionTemplate(transactionManager),
+                new WriteBehindProperties(true, Duration.ofHours(1), 500, 1, Duration.ofMillis(50)),
+                new SimpleMeterRegistry());
+
+        repository.update(repository.findById(alice.id()).orElseThrow().updateName("Alice 1"));
+        // 反映待ちのユーザーの更新はまとめるため受け付ける
+        repository.update(repository.findById(alice.id()).orElseThrow().updateName("Alice 2"));
+        User bobUser = repository.findById(bob.id()).orElseThrow();
+        assertThatThrownBy(() -> repository.update(bobUser.updateName("Bob 1")))
+                .isInstanceOf(WriteBehindUserRepository.WriteBehindFullException.class);
+        assertThat(repository.pendingCount()).isEqualTo(1);
+
+        repository.flush();
+        repository.update(bobUser.updateName("Bob 1"));
+        repository.flush();
+        assertThat(row(alice.id())).containsEntry("name", "Alice 2");
+        assertThat(row(bob.id())).containsEntry("name", "Bob 1");
+    }
+
+    @Test
+    void flushesPendingUpdatesOnStop() {
+        UserResponse created = create("stop");
+        WriteBehindUserRepository repository = new WriteBehindUserRepository(userRepositoryImpl,
+                new TransactionTemplate(transactionManager),
+                new WriteBehindProperties(true, Duration.ofHours(1), 500, 10_000, Duration.ofSeconds(1)), new SimpleMeterRegistry());
+        repository.start();
+
+        User user = repository.findById(created.id()).orElseThrow();
+        repository.update(user.updateName("Stopped"));
+        assertThat(repository.pendingCount()).isEqualTo(1);
+
+        repository.stop();
+
+        assertThat(repository.pendingCount()).isZero();
+        assertThat(row(created.id())).containsEntry("name", "Stopped").containsEntry("version", 1L);
+    }
+
+    private UserResponse create(String name) {
+        return userUseCase.createUser(new CreateUserCommand(name,
+                name + "-" + UUID.randomUUID() + "@example.com", "password123")).orElseThrow();
+    }
+
+    private static User user(String name, String email) {
+        return new User(name, new Email(email), new HashedPassword(PASSWORD_HASH));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private Map<String, Object> row(Long id) {
+        return jdbcTemplate.queryForMap("SELECT name, email, version FROM users WHERE id = ?", id);
+    }
+
+    private double writtenRows() {
+        return meterRegistry.get("userapi.write-behind.rows").tag("result", "written").counter().count();
+    }
+
+    private double conflictedRows() {
+        return meterRegistry.get("userapi.write-behind.rows").tag("result", "conflict").counter().count();
+    }
+}
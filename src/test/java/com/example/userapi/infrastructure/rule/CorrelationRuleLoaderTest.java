@@ -0,0 +1,158 @@
+package com.example.userapi.infrastructure.rule;
+
+import com.example.userapi.application.rule.CorrelationRuleValidator;
+import com.example.userapi.application.usecase.UserUseCase;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 相関チェックルールの読み込みと判定のテスト
+ * ドメインの完全一致・サブドメイン一致・全ドメインの振り分けと、ファイル更新時の再読み込みを確認する
+ */
+class CorrelationRuleLoaderTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void appliesRulesByEmailDomain() throws IOException {
+        Path file = write("""
+                {"rules": [
+                  {"id": "corp-no-digits", "domains": ["company.com"], "field": "NAME", "type": "NO_DIGITS",
+                   "message": "corp"},
+                  {"id": "group-name-length", "domains": ["*.group.co.jp"], "field": "NAME", "type": "MAX_LENGTH",
+                   "value": "5", "message": "group"},
+                  {"id": "local-part-chars", "domains": ["*"], "field": "EMAIL_LOCAL_PART", "type": "FORBIDDEN_CHARS",
+                   "value": "+", "message": "plus"}
+                ]}
+                """);
+        CorrelationRuleValidator validator = new CorrelationRuleValidator();
+        newLoader(validator, file);
+
+        // 完全一致（大文字小文字を区別しない）
+        assertThatThrownBy(() -> validator.validate("taro1", "taro@Company.COM"))
+                .isInstanceOf(UserUseCase.InvalidNameFormatException.class)
+                .hasMessage("corp");
+        assertThatCode(() -> validator.validate("taro1", "taro@sub.company.com")).doesNotThrowAnyException();
+
+        // サブドメイン一致（親ドメイン自体は対象外）
+        assertThatThrownBy(() -> validator.validate("hanako", "h@a.b.group.co.jp"))
+                .hasMessage("group");
+        assertThatCode(() -> validator.validate("hanako", "h@group.co.jp")).doesNotThrowAnyException();
+
+        // 全ドメイン（メールアドレスのルールはIllegalArgumentException）
+        assertThatThrownBy(() -> validator.validate("taro", "taro+tag@example.com"))
+                .isExactlyInstanceOf(IllegalArgumentException.class)
+                .hasMessage("plus");
+
+        // 名前を変更しない更新では名前のルールを評価しない
+        assertThatCode(() -> validator.validate(null, "taro@company.com")).doesNotThrowAnyException();
+    }
+
+    @Test
+    void compilesEveryRuleType() throws IOException {
+        Path file = write("""
+                {"rules": [
+                  {"id": "min", "domains": ["min.test"], "field": "NAME", "type": "MIN_LENGTH", "value": "3",
+                   "message": "min"},
+                  {"id": "allowed", "domains": ["allowed.test"], "field": "EMAIL_LOCAL_PART",
+                   "type": "ALLOWED_CHARS", "value": "a-z0-9._-", "message": "allowed"},
+                  {"id": "regex", "domains": ["regex.test"], "field": "NAME", "type": "REGEX",
+                   "value": "[A-Z][a-z]+", "message": "regex"}
+                ]}
+                """);
+        CorrelationRuleValidator validator = new CorrelationRuleValidator();
+        newLoader(validator, file);
+
+        assertThatThrownBy(() -> validator.validate("ab", "x@min.test")).hasMessage("min");
+        assertThatCode(() -> validator.validate("abc", "x@min.test")).doesNotThrowAnyException();
+        assertThatThrownBy(() -> validator.validate("x", "Taro@allowed.test")).hasMessage("allowed");
+        assertThatCode(() -> validator.validate("x", "taro.y-1_2@allowed.test")).doesNotThrowAnyException();
+        assertThatThrownBy(() -> validator.validate("taro", "x@regex.test")).hasMessage("regex");
+        assertThatCode(() -> validator.validate("Taro", "x@regex.test")).doesNotThrowAnyException();
+    }
+
+    @Test
+    void reloadsModifiedFileAndKeepsRulesWhenInvalid() throws IOException {
+        Path file = write("""
+                {"rules": [
+                  {"id": "corp", "domains": ["company.com"], "field": "NAME", "type": "NO_DIGITS", "message": "corp"}
+                ]}
+                """);
+        CorrelationRuleValidator validator = new CorrelationRuleValidator();
+        CorrelationRuleLoader loader = newLoader(validator, file);
+        assertThat(validator.rules().size()).isEqualTo(1);
+
+        // 変更がなければ再読み込みしない
+        loader.reloadIfModified();
+        assertThatThrownBy(() -> validator.validate("taro1", "t@company.com")).hasMessage("corp");
+
+        rewrite(file, """
+                {"rules": [
+                  {"id": "corp", "domains": ["company.com"], "field": "NAME", "type": "MAX_LENGTH", "value": "3",
+                   "message": "corp-length"},
+                  {"id": "partner", "domains": ["partner.com"], "field": "NAME", "type": "NO_DIGITS",
+                   "message": "partner"}
+                ]}
+                """);
+        loader.reloadIfModified();
+        assertThat(validator.rules().size()).isEqualTo(2);
+        assertThatCode(() -> validator.validate("ab1", "t@company.com")).doesNotThrowAnyException();
+        assertThatThrownBy(() -> validator.validate("taro", "t@company.com")).hasMessage("corp-length");
+        assertThatThrownBy(() -> validator.validate("a1", "t@partner.com")).hasMessage("partner");
+
+        // 不正な定義（重複ID）は反映せず、直前のルールを使い続ける
+        rewrite(file, """
+                {"rules": [
+                  {"id": "dup", "domains": ["*"], "field": "NAME", "type": "NO_DIGITS", "message": "a"},
+                  {"id": "dup", "domains": ["*"], "field": "NAME", "type": "NO_DIGITS", "message": "b"}
+                ]}
+                """);
+        loader.reloadIfModified();
+        assertThat(validator.rules().size()).isEqualTo(2);
+        assertThatThrownBy(() -> validator.validate("a1", "t@partner.com")).hasMessage("partner");
+    }
+
+    @Test
+    void failsStartupWhenRulesAreInvalid() throws IOException {
+        Path file = write("""
+                {"rules": [
+                  {"id": "bad", "domains": ["*"], "field": "NAME", "type": "REGEX", "value": "[", "message": "x"}
+                ]}
+                """);
+
+        assertThatThrownBy(() -> newLoader(new CorrelationRuleValidator(), file))
+                .isInstanceOf(IllegalStateException.class)
+                .hasRootCauseInstanceOf(IllegalArgumentException.class);
+    }
+
+    private CorrelationRuleLoader newLoader(CorrelationRuleValidator validator, Path file) {
+        return new CorrelationRuleLoader(validator,
+                new CorrelationRuleProperties("file:" + file.toAbsolutePath(), Duration.ofSeconds(10)),
+                new DefaultResourceLoader(), new ObjectMapper(), new SimpleMeterRegistry());
+    }
+
+    private Path write(String json) throws IOException {
+        return Files.writeString(directory.resolve("rules.json"), json);
+    }
+
+    private static void rewrite(Path file, String json) throws IOException {
+        // 更新日時の精度に依存しないよう、明示的に進める
+        FileTime previous = Files.getLastModifiedTime(file);
+        Files.writeString(file, json);
+        Files.setLastModifiedTime(file, FileTime.from(previous.toInstant().plus(Duration.ofSeconds(1))));
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.userapi.infrastructure.tracing;
+
+import com.example.userapi.domain.model.Email;
+import com.example.userapi.domain.model.HashedPassword;
+import com.example.userapi.domain.model.User;
+import com.example.userapi.domain.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 分散トレーシングのテスト
+ * 呼び出し元の traceparent を引き継いで、リクエスト・ユースケース・SQL・パスワードのハッシュ化がスパンの親子関係として記録されることを確認する
+ */
+@SpringBootTest(properties = {"tracing.enabled=true", "tracing.sample-rate=0", "tracing.exporter=memory"})
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+class TracingTest {
+
+    private static final String PASSWORD_HASH = "$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z6Ih0C2bGZ4ZqG5ZfXKcWq2a";
+    private static final String TRACE_ID = "4bf92f3577b34da6a3ce929d0e0e4736";
+    private static final String CALLER_SPAN_ID = "00f067aa0ba902b7";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private InMemorySpanExporter exporter;
+
+    @BeforeEach
+    void clear() {
+        exporter.clear();
+    }
+
+    @Test
+    void recordsNestedSpansUnderCallersTrace() throws Exception {
+        User user = save();
+
+        MvcResult result = update(user, "00-" + TRACE_ID + "-" + CALLER_SPAN_ID + "-01");
+
+        List<SpanData> spans = exporter.trace(TRACE_ID);
+        Map<String, SpanData> byName = spans.stream()
+                .collect(Collectors.toMap(SpanData::name, Function.identity(), (first, second) -> first));
+        SpanData request = byName.get("PUT /api/users/{id}");
+        SpanData useCase = byName.get("UserUseCase.updateUser");
+        SpanData hash = byName.get("PasswordEncoder.encode");
+        SpanData update = byName.get("UserMapper.update");
+
+        assertThat(request).isNotNull();
+        assertThat(request.parentSpanId()).isEqualTo(CALLER_SPAN_ID);
+        assertThat(request.attributes()).containsEntry("http.status_code", "200");
+        assertThat(useCase.parentSpanId()).isEqualTo(request.spanId());
+        assertThat(hash.parentSpanId()).isEqualTo(useCase.spanId());
+        assertThat(update.parentSpanId()).isEqualTo(useCase.spanId());
+        assertThat(byName).containsKey("UserMapper.selectById");
+        assertThat(request.durationMicros()).isGreaterThanOrEqualTo(useCase.durationMicros());
+        assertThat(result.getResponse().getHeader(TraceContext.TRACEPARENT))
+                .isEqualTo("00-" + TRACE_ID + "-" + request.spanId() + "-01");
+    }
+
+    @Test
+    void recordsNothingWhenNotSampled() throws Exception {
+        User user = save();
+
+        MvcResult unsampled = update(user, "00-" + TRACE_ID + "-" + CALLER_SPAN_ID + "-00");
+        // sample-rate=0 のため、呼び出し元の指定がないリクエストも記録しない
+        MvcResult withoutHeader = update(userRepository.findById(user.getId()).orElseThrow(), null);
+
+        assertThat(exporter.recent(100)).isEmpty();
+        assertThat(unsampled.getResponse().getHeader(TraceContext.TRACEPARENT)).isNull();
+        assertThat(withoutHeader.getResponse().getHeader(TraceContext.TRACEPARENT)).isNull();
+    }
+
+    private User save() {
+        return userRepository.save(new User("Before", new Email("tracing-" + UUID.randomUUID() + "@example.com"),
+                new HashedPassword(PASSWORD_HASH)));
+    }
+
+    private MvcResult update(User user, String traceparent) throws Exception {
+        var request = put("/api/users/{id}", user.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"After\",\"password\":\"newpassword123\"}");
+        if (traceparent != null) {
+            request.header(TraceContext.TRACEPARENT, traceparent);
+        }
+        return mockMvc.perform(request).andExpect(status().isOk()).andReturn();
+    }
+}
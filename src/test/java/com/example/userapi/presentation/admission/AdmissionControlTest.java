@@ -0,0 +1,93 @@
+package com.example.userapi.presentation.admission;
+
+import com.example.userapi.presentation.dto.ErrorResponse;
+import com.example.userapi.presentation.exception.GlobalExceptionHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 流入制御のテスト
+ * レート超過は429、同時実行数超過は503で、いずれもRetry-Afterを付けて拒否されること、
+ * 参照系と更新系の予算が独立していることを確認する
+ */
+@SpringBootTest(properties = {
+        "admission.enabled=true",
+        "admission.write.client-rate=0.1",
+        "admission.write.client-burst=1"
+})
+@ActiveProfiles("h2")
+@AutoConfigureMockMvc
+class AdmissionControlTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private GlobalExceptionHandler exceptionHandler;
+
+    @Test
+    void rateLimitedClientGets429WithRetryAfter() throws Exception {
+        mockMvc.perform(create()).andExpect(status().isCreated());
+
+        // 1件/10秒の予算を使い切った → 次のトークンまでの秒数を返す
+        mockMvc.perform(create())
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "10"))
+                .andExpect(jsonPath("$.status").value(429))
+                .andExpect(jsonPath("$.error").value("Too Many Requests"));
+
+        // 参照系は別の予算
+        mockMvc.perform(get("/api/users/{id}", Long.MAX_VALUE)).andExpect(status().isNotFound());
+    }
+
+    @Test
+    void overloadedBudgetRejectsWith503AndReleasesOnCompletion() {
+        AdmissionProperties properties = new AdmissionProperties(true, 16, Duration.ofSeconds(1), null, null);
+        AdmissionBudget budget = new AdmissionBudget("test",
+                new AdmissionProperties.Budget(1000, 1000, 1000, 1000, 1, 1, 1, Duration.ofSeconds(1)),
+                properties, new SimpleMeterRegistry());
+
+        budget.admit("client", "getUser");
+        assertThatThrownBy(() -> budget.admit("client", "getUser"))
+                .isInstanceOfSatisfying(AdmissionRejectedException.class, ex -> {
+                    assertThat(ex.getStatus()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+                    assertThat(ex.getRetryAfterSeconds()).isEqualTo(1);
+
+                    ResponseEntity<ErrorResponse> response = exceptionHandler.handleAdmissionRejectedException(ex);
+                    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+                    assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+                    assertThat(response.getBody().error()).isEqualTo("Service Unavailable");
+                });
+
+        budget.release(1_000_000);
+        budget.admit("client", "getUser");
+    }
+
+    private static RequestBuilder create() {
+        return post("/api/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"Admission\",\"email\":\"admission-" + UUID.randomUUID()
+                        + "@example.com\",\"password\":\"password123\"}");
+    }
+}
@@ -0,0 +1,247 @@
+package com.example.userapi.presentation.controller;
+
+import com.example.userapi.application.result.UseCaseResult;
+import com.example.userapi.domain.model.User;
+import com.example.userapi.domain.repository.UserRepository;
+import com.example.userapi.presentation.dto.ErrorResponse;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.doAnswer;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * ユーザーコントローラーのテスト
+ * ETag（バージョン）の返却、If-Matchヘッダーの解釈、バージョン不一致の412、
+ * 読み込み後に他の処理が先に更新した場合（楽観ロックの失敗）の409、
+ * ユースケースの処理結果（未検出・メール重複・バージョン不一致）からエラーレスポンスへの変換を確認する
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+class UserControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @SpyBean
+    private UserRepository userRepository;
+
+    @Test
+    void parsesIfMatchAsVersion() {
+        assertThat(UserController.parseIfMatch("\"3\"")).isEqualTo(3L);
+        assertThat(UserController.parseIfMatch(" \"3\" ")).isEqualTo(3L);
+        // 弱いETagも同じバージョンとして扱う
+        assertThat(UserController.parseIfMatch("W/\"3\"")).isEqualTo(3L);
+        // "*" と未指定はバージョンを確認しない
+        assertThat(UserController.parseIfMatch("*")).isNull();
+        assertThat(UserController.parseIfMatch(null)).isNull();
+        assertThat(UserController.parseIfMatch(" ")).isNull();
+    }
+
+    @Test
+    void rejectsMalformedIfMatch() {
+        for (String malformed : new String[]{"3", "\"3", "\"\"", "\"abc\"", "W/3", "\"1\", \"2\""}) {
+            assertThatThrownBy(() -> UserController.parseIfMatch(malformed))
+                    .as(malformed)
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Test
+    void returnsBadRequestForMalformedIfMatch() throws Exception {
+        JsonNode created = createUser();
+
+        mockMvc.perform(update(created.get("id").asLong(), "abc", "Renamed"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void returnsVersionAsETag() throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(createBody()))
+                .andExpect(status().isCreated())
+                .andReturn();
+        JsonNode created = objectMapper.readTree(result.getResponse().getContentAsString());
+        long id = created.get("id").asLong();
+        String etag = "\"" + created.get("version").asLong() + "\"";
+        assertThat(result.getResponse().getHeader(HttpHeaders.ETAG)).isEqualTo(etag);
+
+        mockMvc.perform(get("/api/users/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, etag));
+        mockMvc.perform(update(id, etag, "Renamed"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + (created.get("version").asLong() + 1) + "\""))
+                .andExpect(jsonPath("$.name").value("Renamed"));
+    }
+
+    @Test
+    void updatesWithWeakOrWildcardIfMatch() throws Exception {
+        JsonNode created = createUser();
+        long id = created.get("id").asLong();
+        long version = created.get("version").asLong();
+
+        mockMvc.perform(update(id, "W/\"" + version + "\"", "Weak"))
+                .andExpect(status().isOk());
+        mockMvc.perform(update(id, "*", "Wildcard"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Wildcard"));
+    }
+
+    @Test
+    void returnsPreconditionFailedWhenIfMatchIsStale() throws Exception {
+        JsonNode created = createUser();
+        long id = created.get("id").asLong();
+        String staleETag = "\"" + created.get("version").asLong() + "\"";
+        mockMvc.perform(update(id, staleETag, "First"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(update(id, staleETag, "Second"))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.error").value("Precondition Failed"));
+        mockMvc.perform(get("/api/users/{id}", id))
+                .andExpect(jsonPath("$.name").value("First"));
+    }
+
+    @Test
+    void returnsConflictWhenConcurrentUpdateCommitsFirst() throws Exception {
+        JsonNode created = createUser();
+        long id = created.get("id").asLong();
+        // 読み込み（バージョンの確認）の直後に、別のトランザクションが先に更新をコミットする
+        doAnswer(invocation -> {
+            @SuppressWarnings("unchecked")
+            Optional<User> found = (Optional<User>) invocation.callRealMethod();
+            CompletableFuture.runAsync(() -> jdbcTemplate.update(
+                    "UPDATE users SET name = 'Concurrent', version = version + 1 WHERE id = ?", id)).join();
+            return found;
+        }).when(userRepository).findById(id);
+
+        mockMvc.perform(update(id, "\"" + created.get("version").asLong() + "\"", "Loser"))
+                .andExpect(status().isConflict());
+        assertThat(jdbcTemplate.queryForObject("SELECT name FROM users WHERE id = ?", String.class, id))
+                .isEqualTo("Concurrent");
+    }
+
+    @Test
+    void mapsFailureResultsToErrorResponses() {
+        assertFailure(UserController.failure(UseCaseResult.notFound("missing")),
+                HttpStatus.NOT_FOUND, "User Not Found", "missing");
+        assertFailure(UserController.failure(UseCaseResult.duplicateEmail("duplicate")),
+                HttpStatus.CONFLICT, "Duplicate Email", "duplicate");
+        assertFailure(UserController.failure(UseCaseResult.versionMismatch("stale")),
+                HttpStatus.PRECONDITION_FAILED, "Precondition Failed", "stale");
+        assertThatThrownBy(() -> UserController.failure(UseCaseResult.success(1L)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void returnsNotFoundForMissingUser() throws Exception {
+        long missing = Long.MAX_VALUE;
+
+        mockMvc.perform(get("/api/users/{id}", missing))
+                .andExpect(status().isNotFound())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG))
+                .andExpect(jsonPath("$.error").value("User Not Found"));
+        mockMvc.perform(update(missing, "*", "Nobody"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.error").value("User Not Found"));
+        mockMvc.perform(delete("/api/users/{id}", missing))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.error").value("User Not Found"));
+    }
+
+    @Test
+    void returnsConflictForDuplicateEmail() throws Exception {
+        JsonNode existing = createUser();
+        JsonNode other = createUser();
+        String email = existing.get("email").asText();
+
+        mockMvc.perform(post("/api/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"Bob\", \"email\": \"" + email + "\", \"password\": \"password123\"}"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.error").value("Duplicate Email"));
+        mockMvc.perform(put("/api/users/{id}", other.get("id").asLong())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\": \"" + email + "\"}"))
+                .andExpect(status().isConflict())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG))
+                .andExpect(jsonPath("$.error").value("Duplicate Email"));
+    }
+
+    @Test
+    void deletesExistingUser() throws Exception {
+        long id = createUser().get("id").asLong();
+
+        mockMvc.perform(delete("/api/users/{id}", id))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(get("/api/users/{id}", id))
+                .andExpect(status().isNotFound());
+    }
+
+    private static void assertFailure(ResponseEntity<ErrorResponse> response, HttpStatus status,
+                                      String error, String message) {
+        assertThat(response.getStatusCode()).isEqualTo(status);
+        assertThat(response.getBody()).isNotNull();
+        assertThat(response.getBody().status()).isEqualTo(status.value());
+        assertThat(response.getBody().error()).isEqualTo(error);
+        assertThat(response.getBody().message()).isEqualTo(message);
+        assertThat(response.getBody().fieldErrors()).isEmpty();
+    }
+
+    private JsonNode createUser() throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(createBody()))
+                .andExpect(status().isCreated())
+                .andReturn();
+        return objectMapper.readTree(result.getResponse().getContentAsString());
+    }
+
+    private static String createBody() {
+        return """
+                {"name": "Alice", "email": "etag-%s@example.com", "password": "password123"}
+                """.formatted(UUID.randomUUID());
+    }
+
+    private static RequestBuilder update(long id, String ifMatch, String name) {
+        return put("/api/users/{id}", id)
+                .header(HttpHeaders.IF_MATCH, ifMatch)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\": \"" + name + "\"}");
+    }
+}
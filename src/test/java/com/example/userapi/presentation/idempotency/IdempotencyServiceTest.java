@@ -0,0 +1,263 @@
+package com.example.userapi.presentation.idempotency;
+
+import com.example.userapi.application.dto.CreateUserCommand;
+import com.example.userapi.application.dto.UserResponse;
+import com.example.userapi.application.result.UseCaseResult;
+import com.example.userapi.application.usecase.UserUseCase;
+import com.example.userapi.infrastructure.idempotency.IdempotencyProperties;
+import com.example.userapi.infrastructure.idempotency.InMemoryIdempotencyStore;
+import com.example.userapi.infrastructure.idempotency.MyBatisIdempotencyStore;
+import com.example.userapi.infrastructure.idempotency.StoredResponse;
+import com.example.userapi.infrastructure.persistence.mapper.IdempotencyKeyMapper;
+import com.example.userapi.presentation.dto.ErrorResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 冪等キー（Idempotency-Key）のテスト
+ * 成功レスポンスの再送時の再生（ETagを含む）、内容が異なる再送の422、処理中の同一キーの409、
+ * 同時に届いた同一キーの待ち合わせ（先行リクエストが失敗した場合は再実行）、保存済みレスポンスの有効期限、
+ * DBテーブル版ストアを確認する
+ */
+@SpringBootTest(properties = "idempotency.wait-timeout=1s")
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+class IdempotencyServiceTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private IdempotencyKeyMapper idempotencyKeyMapper;
+
+    @Autowired
+    private UserUseCase userUseCase;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void replaysStoredSuccessResponse() throws Exception {
+        String key = UUID.randomUUID().toString();
+        String email = "idempotent-" + UUID.randomUUID() + "@example.com";
+
+        MvcResult first = mockMvc.perform(create(key, "Alice", email))
+                .andExpect(status().isCreated())
+                .andExpect(header().doesNotExist(IdempotencyService.REPLAYED_HEADER))
+                .andExpect(header().string("ETag", "\"0\""))
+                .andReturn();
+        // 再送にも初回と同じETagを返す（そのままIf-Matchで更新できる）
+        mockMvc.perform(create(key, "Alice", email))
+                .andExpect(status().isCreated())
+                .andExpect(header().string(IdempotencyService.REPLAYED_HEADER, "true"))
+                .andExpect(header().string("ETag", "\"0\""))
+                .andExpect(jsonPath("$.email").value(email))
+                .andExpect(result -> assertThat(result.getResponse().getContentAsString())
+                        .isEqualTo(first.getResponse().getContentAsString()));
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users WHERE email = ?", Integer.class, email))
+                .isEqualTo(1);
+    }
+
+    @Test
+    void rejectsSameKeyWithDifferentRequest() throws Exception {
+        String key = UUID.randomUUID().toString();
+        String email = "idempotent-" + UUID.randomUUID() + "@example.com";
+
+        mockMvc.perform(create(key, "Alice", email))
+                .andExpect(status().isCreated());
+        mockMvc.perform(create(key, "Bob", email))
+                .andExpect(status().isUnprocessableEntity());
+    }
+
+    @Test
+    void returnsConflictWhileSameKeyIsInProgress() throws Exception {
+        String key = UUID.randomUUID().toString();
+        String email = "idempotent-" + UUID.randomUUID() + "@example.com";
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<ResponseEntity<?>> leader = CompletableFuture.supplyAsync(() ->
+                idempotencyService.execute(key, "Alice\n" + email, Map.class, () -> {
+                    started.countDown();
+                    await(release);
+                    return ResponseEntity.status(HttpStatus.CREATED).body(Map.of("id", 1));
+                }));
+        try {
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+            // 先行リクエストの完了を待つ時間（wait-timeout）を過ぎると409
+            mockMvc.perform(create(key, "Alice", email))
+                    .andExpect(status().isConflict())
+                    .andExpect(jsonPath("$.error").value("Idempotency Key In Progress"));
+        } finally {
+            release.countDown();
+        }
+        assertThat(leader.get(5, TimeUnit.SECONDS).getStatusCode()).isEqualTo(HttpStatus.CREATED);
+    }
+
+    @Test
+    void concurrentRequestWithSameKeyReplaysLeaderResponse() throws Exception {
+        String key = UUID.randomUUID().toString();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger executions = new AtomicInteger();
+
+        CompletableFuture<ResponseEntity<?>> leader = CompletableFuture.supplyAsync(() ->
+                idempotencyService.execute(key, "same", Map.class, () -> {
+                    executions.incrementAndGet();
+                    started.countDown();
+                    await(release);
+                    return ResponseEntity.status(HttpStatus.CREATED).body(Map.of("id", 42));
+                }));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<ResponseEntity<?>> waiter = CompletableFuture.supplyAsync(() ->
+                idempotencyService.execute(key, "same", Map.class, () -> {
+                    executions.incrementAndGet();
+                    return ResponseEntity.status(HttpStatus.CREATED).body(Map.of("id", 43));
+                }));
+        release.countDown();
+
+        assertThat(leader.get(5, TimeUnit.SECONDS).getBody()).isEqualTo(Map.of("id", 42));
+        ResponseEntity<?> replayed = waiter.get(5, TimeUnit.SECONDS);
+        assertThat(replayed.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(replayed.getBody()).isEqualTo(Map.of("id", 42));
+        assertThat(replayed.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(executions).hasValue(1);
+    }
+
+    @Test
+    void concurrentRequestWithSameKeyReexecutesWhenLeaderFails() throws Exception {
+        String email = "idempotent-" + UUID.randomUUID() + "@example.com";
+        userUseCase.createUser(new CreateUserCommand("Existing", email, "password123")).orElseThrow();
+        String key = UUID.randomUUID().toString();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger executions = new AtomicInteger();
+
+        CompletableFuture<ResponseEntity<?>> leader = CompletableFuture.supplyAsync(() ->
+                idempotencyService.execute(key, "Alice\n" + email, UserResponse.class, () -> {
+                    ResponseEntity<?> response = createDuplicate(email, executions);
+                    started.countDown();
+                    await(release);
+                    return response;
+                }));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<ResponseEntity<?>> waiter = new CompletableFuture<>();
+        Thread waiterThread = new Thread(() -> waiter.complete(
+                idempotencyService.execute(key, "Alice\n" + email, UserResponse.class,
+                        () -> createDuplicate(email, executions))));
+        waiterThread.start();
+        // 先行リクエストの完了を待ち始めてから、先行リクエストを完了させる
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (waiterThread.getState() != Thread.State.TIMED_WAITING && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+
+        assertThat(leader.get(5, TimeUnit.SECONDS).getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        ResponseEntity<?> response = waiter.get(5, TimeUnit.SECONDS);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        assertThat(response.getBody()).isInstanceOfSatisfying(ErrorResponse.class, body -> {
+            assertThat(body.error()).isEqualTo("Duplicate Email");
+            assertThat(body.message()).contains(email);
+        });
+        assertThat(response.getHeaders().containsKey(IdempotencyService.REPLAYED_HEADER)).isFalse();
+        // 失敗レスポンスは保存・共有せず、待っていたリクエストも実行する
+        assertThat(executions).hasValue(2);
+    }
+
+    @Test
+    void storedResponseExpiresAfterTtl() {
+        InMemoryIdempotencyStore store = new InMemoryIdempotencyStore(
+                new IdempotencyProperties("memory", Duration.ofMinutes(1), 10, Duration.ofSeconds(1)));
+        LocalDateTime now = LocalDateTime.now();
+        store.save("old", new StoredResponse("hash", 201, "{}", null, now.plusMinutes(1)));
+        store.save("new", new StoredResponse("hash", 201, "{}", null, now.plusMinutes(5)));
+
+        assertThat(store.find("old", now)).isPresent();
+        assertThat(store.find("old", now.plusMinutes(2))).isEmpty();
+        assertThat(store.purgeExpired(now.plusMinutes(2))).isZero();
+        assertThat(store.purgeExpired(now.plusMinutes(10))).isEqualTo(1);
+        assertThat(store.find("new", now)).isEmpty();
+    }
+
+    @Test
+    void databaseStoreSavesFindsAndPurges() {
+        MyBatisIdempotencyStore store = new MyBatisIdempotencyStore(idempotencyKeyMapper);
+        String key = UUID.randomUUID().toString();
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+
+        store.save(key, new StoredResponse("hash-1", 201, "{\"id\":1}", "\"0\"", now.plusMinutes(1)));
+        assertThat(store.find(key, now)).get()
+                .extracting(StoredResponse::requestHash, StoredResponse::status, StoredResponse::body,
+                        StoredResponse::etag)
+                .containsExactly("hash-1", 201, "{\"id\":1}", "\"0\"");
+
+        // 同じキーの再保存は上書きする
+        store.save(key, new StoredResponse("hash-2", 201, "{\"id\":2}", null, now.plusMinutes(1)));
+        assertThat(store.find(key, now)).get()
+                .extracting(StoredResponse::requestHash, StoredResponse::etag)
+                .containsExactly("hash-2", null);
+
+        assertThat(store.find(key, now.plusMinutes(2))).isEmpty();
+        assertThat(store.purgeExpired(now.plusMinutes(2))).isGreaterThanOrEqualTo(1);
+        assertThat(store.find(key, now)).isEmpty();
+    }
+
+    private static RequestBuilder create(String key, String name, String email) {
+        return post("/api/users")
+                .header(IdempotencyService.IDEMPOTENCY_KEY_HEADER, key)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"" + name + "\",\"email\":\"" + email + "\",\"password\":\"password123\"}");
+    }
+
+    private ResponseEntity<?> createDuplicate(String email, AtomicInteger executions) {
+        executions.incrementAndGet();
+        UseCaseResult<UserResponse> result = userUseCase.createUser(new CreateUserCommand("Alice", email, "password123"));
+        assertThat(result).isInstanceOf(UseCaseResult.DuplicateEmail.class);
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(new ErrorResponse(HttpStatus.CONFLICT.value(),
+                "Duplicate Email", ((UseCaseResult.Failure<?>) result).message(), List.of()));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            if (!latch.await(5, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("待ち合わせがタイムアウトしました");
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(ex);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.userapi.presentation.warmup;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Webサーバー経由のウォームアップの切り替えのテスト
+ * 自身へのリクエストが想定外のステータス（ゲートウェイのフィルターによる503など）で応答した場合は、
+ * 失敗扱いにせずユースケースの直接呼び出しに切り替えて続けることを確認する
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "warmup.enabled=true",
+        "warmup.min-iterations=100",
+        "warmup.max-iterations=200",
+        "warmup.round-size=50",
+        "warmup.password-iterations=1"
+})
+@ActiveProfiles("h2")
+class WarmupLoopbackFallbackTest {
+
+    private static final AtomicInteger REJECTED = new AtomicInteger();
+
+    @Autowired
+    private WarmupRunner warmupRunner;
+
+    @Test
+    void fallsBackToUseCaseOnUnexpectedStatus() {
+        WarmupReport report = warmupRunner.report();
+
+        assertThat(report.outcome()).isIn(WarmupReport.Outcome.STABLE, WarmupReport.Outcome.MAX_ITERATIONS);
+        assertThat(report.iterations()).isGreaterThanOrEqualTo(100);
+        assertThat(report.viaWebServer()).isFalse();
+        // 最初の応答で切り替え、以降は送らない
+        assertThat(REJECTED.get()).isEqualTo(1);
+    }
+
+    @TestConfiguration
+    static class Config {
+
+        @Bean
+        OncePerRequestFilter unavailableFilter() {
+            return new OncePerRequestFilter() {
+                @Override
+                protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                                FilterChain chain) {
+                    REJECTED.incrementAndGet();
+                    response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.userapi.presentation.warmup;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Webサーバー経由のウォームアップのテスト
+ * Webサーバーが起動している場合は、自身へのGETリクエスト（コンテキストパスを含む）でDispatcherServletからユースケースまでを実行し、
+ * 流入制御（参照のレートを1回分に絞る）とHTTPのメトリクスの対象にならないことを確認する
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "server.servlet.context-path=/app",
+        "admission.enabled=true",
+        "admission.read.client-rate=0.1",
+        "admission.read.client-burst=1",
+        "warmup.enabled=true",
+        "warmup.min-iterations=100",
+        "warmup.max-iterations=200",
+        "warmup.round-size=50",
+        "warmup.password-iterations=1"
+})
+@ActiveProfiles("h2")
+class WarmupLoopbackTest {
+
+    @Autowired
+    private WarmupRunner warmupRunner;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ResponseCounter responseCounter;
+
+    @Test
+    void warmsUpThroughWebServer() {
+        WarmupReport report = warmupRunner.report();
+
+        assertThat(report.outcome()).isIn(WarmupReport.Outcome.STABLE, WarmupReport.Outcome.MAX_ITERATIONS);
+        assertThat(report.viaWebServer()).isTrue();
+        // 存在しないIDの取得（404）と一覧の取得（200）を、ウォームアップの回数だけ受け付けている
+        assertThat(responseCounter.count(404)).isEqualTo(report.iterations());
+        assertThat(responseCounter.count(200)).isEqualTo(report.iterations());
+        // HTTPのメトリクスには記録しない
+        assertThat(meterRegistry.find("http.server.requests").timers()).isEmpty();
+    }
+
+    @TestConfiguration
+    static class Config {
+
+        @Bean
+        ResponseCounter responseCounter() {
+            return new ResponseCounter();
+        }
+    }
+
+    /**
+     * ウォームアップのリクエストの応答ステータスを数える
+     */
+    static class ResponseCounter extends OncePerRequestFilter {
+
+        private final Map<Integer, AtomicInteger> counts = new ConcurrentHashMap<>();
+
+        @Override
+        protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+                throws ServletException, IOException {
+            chain.doFilter(request, response);
+            if (request.getHeader(WarmupRequests.HEADER) != null) {
+                counts.computeIfAbsent(response.getStatus(), status -> new AtomicInteger()).incrementAndGet();
+            }
+        }
+
+        int count(int status) {
+            AtomicInteger count = counts.get(status);
+            return count == null ? 0 : count.get();
+        }
+    }
+}
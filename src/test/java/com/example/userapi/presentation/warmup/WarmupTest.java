@@ -0,0 +1,55 @@
+package com.example.userapi.presentation.warmup;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ウォームアップのテスト
+ * 起動時にウォームアップを実行してからトラフィックを受け付けること、レイテンシの安定判定を確認する
+ */
+@SpringBootTest(properties = {
+        "warmup.enabled=true",
+        "warmup.min-iterations=100",
+        "warmup.max-iterations=400",
+        "warmup.round-size=50",
+        "warmup.password-iterations=1"
+})
+@ActiveProfiles("h2")
+class WarmupTest {
+
+    @Autowired
+    private WarmupRunner warmupRunner;
+
+    @Autowired
+    private ApplicationAvailability applicationAvailability;
+
+    @Test
+    void warmsUpBeforeAcceptingTraffic() {
+        WarmupReport report = warmupRunner.report();
+
+        assertThat(report).isNotNull();
+        assertThat(report.outcome()).isIn(WarmupReport.Outcome.STABLE, WarmupReport.Outcome.MAX_ITERATIONS);
+        assertThat(report.iterations()).isBetween(100, 400);
+        assertThat(report.lastRoundMicros()).isPositive();
+        assertThat(applicationAvailability.getReadinessState()).isEqualTo(ReadinessState.ACCEPTING_TRAFFIC);
+    }
+
+    @Test
+    void stableAfterConsecutiveRoundsWithinTolerance() {
+        LatencyStability stability = new LatencyStability(0.1, 2);
+
+        assertThat(stability.record(1_000)).isFalse();
+        assertThat(stability.record(500)).isFalse();
+        assertThat(stability.record(520)).isFalse();
+        // 許容範囲を外れたら数え直す
+        assertThat(stability.record(300)).isFalse();
+        assertThat(stability.record(310)).isFalse();
+        assertThat(stability.record(305)).isTrue();
+    }
+}
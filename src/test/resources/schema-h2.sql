@@ -0,0 +1,48 @@
+-- H2用スキーマ（README記載のMySQL DDLと同じ構成）
+CREATE TABLE IF NOT EXISTS users (
+  id          BIGINT AUTO_INCREMENT PRIMARY KEY,
+  name        VARCHAR(100) NOT NULL,
+  email       VARCHAR(255) NOT NULL UNIQUE,
+  password    VARCHAR(255) NOT NULL,
+  created_at  DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  updated_at  DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  version     BIGINT NOT NULL DEFAULT 0
+);
+
+CREATE TABLE IF NOT EXISTS idempotency_keys (
+  idempotency_key VARCHAR(255) PRIMARY KEY,
+  request_hash    CHAR(64) NOT NULL,
+  status          INT NOT NULL,
+  body            TEXT NOT NULL,
+  etag            VARCHAR(64),
+  expires_at      DATETIME NOT NULL
+);
+
+-- H2のMySQLモードでは、同時INSERTとロールバックが重なるとAUTO_INCREMENTの値が重複することがあるため、シーケンスで採番する
+CREATE SEQUENCE IF NOT EXISTS user_invalidations_seq;
+CREATE TABLE IF NOT EXISTS user_invalidations (
+  id          BIGINT DEFAULT NEXT VALUE FOR user_invalidations_seq PRIMARY KEY,
+  user_id     BIGINT NOT NULL,
+  email       VARCHAR(255) NOT NULL,
+  created_at  DATETIME(3) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS user_imports (
+  job_id            VARCHAR(36) PRIMARY KEY,
+  file_path         VARCHAR(1024) NOT NULL,
+  format            VARCHAR(16) NOT NULL,
+  status            VARCHAR(16) NOT NULL,
+  committed_offset  BIGINT NOT NULL DEFAULT 0,
+  rows_read         BIGINT NOT NULL DEFAULT 0,
+  imported          BIGINT NOT NULL DEFAULT 0,
+  duplicates        BIGINT NOT NULL DEFAULT 0,
+  rejected          BIGINT NOT NULL DEFAULT 0,
+  error             VARCHAR(1000),
+  created_at        DATETIME NOT NULL,
+  updated_at        DATETIME NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS id_sequences (
+  name        VARCHAR(64) PRIMARY KEY,
+  next_value  BIGINT NOT NULL
+);